@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.monetary.domain;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link Money} operations that dominate schedule generation and
+ * repayment processing: every operation allocates a new instance and rescales
+ * its amount to the currency.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({ "12", "52", "260", "520" })
+    public int numberOfRepayments;
+
+    private final MonetaryCurrency currency = new MonetaryCurrency("USD", 2, null);
+    private final BigDecimal ratePerPeriod = new BigDecimal("0.0046153846");
+    private Money principal;
+    private List<Money> installmentAmounts;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        final Field field = MoneyHelper.class.getDeclaredField("roundingMode");
+        field.setAccessible(true);
+        field.set(null, RoundingMode.HALF_EVEN);
+
+        this.principal = Money.of(this.currency, BigDecimal.valueOf(100000));
+        this.installmentAmounts = new ArrayList<>(this.numberOfRepayments);
+        final Money installment = this.principal.dividedBy(this.numberOfRepayments, RoundingMode.HALF_EVEN);
+        for (int i = 0; i < this.numberOfRepayments; i++) {
+            this.installmentAmounts.add(installment);
+        }
+    }
+
+    /**
+     * Declining balance amortization of the principal, the pattern followed
+     * for each period by the schedule generators.
+     */
+    @Benchmark
+    public Money amortize() {
+        final Money principalPerPeriod = this.principal.dividedBy(this.numberOfRepayments, RoundingMode.HALF_EVEN);
+        Money outstanding = this.principal;
+        Money totalInterest = outstanding.zero();
+        for (int period = 0; period < this.numberOfRepayments && outstanding.isGreaterThanZero(); period++) {
+            final Money interest = outstanding.multiplyRetainScale(this.ratePerPeriod, RoundingMode.HALF_EVEN);
+            totalInterest = totalInterest.plus(interest);
+            if (principalPerPeriod.isGreaterThan(outstanding)) {
+                outstanding = outstanding.minus(outstanding);
+            } else {
+                outstanding = outstanding.minus(principalPerPeriod);
+            }
+        }
+        return totalInterest;
+    }
+
+    @Benchmark
+    public Money total() {
+        return Money.total(this.installmentAmounts);
+    }
+}
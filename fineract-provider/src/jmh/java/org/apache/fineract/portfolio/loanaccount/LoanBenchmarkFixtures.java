@@ -0,0 +1,305 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.fineract.accounting.glaccount.domain.GLAccount;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.portfolio.calendar.domain.Calendar;
+import org.apache.fineract.portfolio.calendar.domain.CalendarInstance;
+import org.apache.fineract.portfolio.charge.domain.Charge;
+import org.apache.fineract.portfolio.charge.domain.ChargeAppliesTo;
+import org.apache.fineract.portfolio.charge.domain.ChargeCalculationType;
+import org.apache.fineract.portfolio.charge.domain.ChargePaymentMode;
+import org.apache.fineract.portfolio.charge.domain.ChargeTimeType;
+import org.apache.fineract.portfolio.common.domain.DayOfWeekType;
+import org.apache.fineract.portfolio.common.domain.DaysInMonthType;
+import org.apache.fineract.portfolio.common.domain.DaysInYearType;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.apache.fineract.portfolio.loanaccount.data.DisbursementData;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.apache.fineract.portfolio.loanaccount.data.LoanTermVariationsData;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanCharge;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanInterestRecalcualtionAdditionalDetails;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.LoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanApplicationTerms;
+import org.apache.fineract.portfolio.loanproduct.domain.AmortizationMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestCalculationPeriodMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestRecalculationCompoundingMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanPreClosureInterestCalculationStrategy;
+import org.apache.fineract.portfolio.loanproduct.domain.RecalculationFrequencyType;
+import org.apache.fineract.portfolio.tax.domain.TaxGroup;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.MonthDay;
+
+/**
+ * Builds the in-memory loan fixtures shared by the loan microbenchmarks.
+ * 
+ * The domain objects involved are normally loaded through JPA, so the few
+ * constructors that are not public are invoked reflectively here rather than
+ * widening their visibility for the sake of the benchmarks.
+ */
+public final class LoanBenchmarkFixtures {
+
+    public static final LocalDate DISBURSEMENT_DATE = new LocalDate(2015, 1, 5);
+    public static final BigDecimal PRINCIPAL = BigDecimal.valueOf(100000);
+    public static final BigDecimal ANNUAL_INTEREST_RATE = BigDecimal.valueOf(24);
+    public static final BigDecimal OVERDUE_PENALTY = BigDecimal.valueOf(25);
+
+    /**
+     * Every n-th installment of a generated repayment history is left unpaid
+     * and, when requested, carries an overdue penalty.
+     */
+    public static final int OVERDUE_EVERY = 5;
+
+    private LoanBenchmarkFixtures() {
+        //
+    }
+
+    /**
+     * {@link MoneyHelper} normally resolves the rounding mode from the tenant
+     * configuration; the benchmarks run without a tenant so it is set up front
+     * in the same way the unit tests do.
+     */
+    public static void useRoundingMode(final RoundingMode roundingMode) {
+        try {
+            final Field field = MoneyHelper.class.getDeclaredField("roundingMode");
+            field.setAccessible(true);
+            field.set(null, roundingMode);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static ApplicationCurrency applicationCurrency() {
+        return instantiate(ApplicationCurrency.class, new Class<?>[] { String.class, String.class, int.class, Integer.class, String.class,
+                String.class }, "USD", "US Dollar", 2, null, "currency.USD", "$");
+    }
+
+    public static MonetaryCurrency currency() {
+        return new MonetaryCurrencyBuilder().withCode("USD").withDigitsAfterDecimal(2).build();
+    }
+
+    public static HolidayDetailDTO holidayDetails() {
+        final WorkingDays workingDays = instantiate(WorkingDays.class, new Class<?>[] { String.class, Integer.class, Boolean.class,
+                Boolean.class }, "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR,SA,SU", RepaymentRescheduleType.SAME_DAY.getValue(),
+                Boolean.FALSE, Boolean.FALSE);
+        return new HolidayDetailDTO(false, new ArrayList<Holiday>(), workingDays);
+    }
+
+    /**
+     * Weekly repayment terms for a loan of <code>numberOfRepayments</code>
+     * installments.
+     * 
+     * @param multiDisburse
+     *            when true the principal is released in three equal tranches
+     *            at the start, a quarter and half way through the term
+     * @param interestRecalculation
+     *            when true the terms use daily interest with recalculation on
+     *            the repayment frequency, as configured for products with
+     *            interest recalculation enabled
+     */
+    public static LoanApplicationTerms loanApplicationTerms(final int numberOfRepayments, final InterestMethod interestMethod,
+            final boolean multiDisburse, final boolean interestRecalculation, final HolidayDetailDTO holidayDetailDTO) {
+
+        final ApplicationCurrency applicationCurrency = applicationCurrency();
+        final Money principal = Money.of(currency(), PRINCIPAL);
+
+        final List<DisbursementData> disbursementDatas = new ArrayList<>();
+        BigDecimal maxOutstandingBalance = null;
+        if (multiDisburse) {
+            final BigDecimal tranche = PRINCIPAL.divide(BigDecimal.valueOf(3), 2, RoundingMode.HALF_EVEN);
+            final BigDecimal lastTranche = PRINCIPAL.subtract(tranche.multiply(BigDecimal.valueOf(2)));
+            disbursementDatas.add(new DisbursementData(null, DISBURSEMENT_DATE, null, tranche, null, null));
+            disbursementDatas.add(new DisbursementData(null, DISBURSEMENT_DATE.plusWeeks(numberOfRepayments / 4), null, tranche, null,
+                    null));
+            disbursementDatas.add(new DisbursementData(null, DISBURSEMENT_DATE.plusWeeks(numberOfRepayments / 2), null, lastTranche,
+                    null, null));
+            maxOutstandingBalance = PRINCIPAL;
+        }
+
+        final InterestCalculationPeriodMethod interestCalculationPeriodMethod = interestRecalculation ? InterestCalculationPeriodMethod.DAILY
+                : InterestCalculationPeriodMethod.SAME_AS_REPAYMENT_PERIOD;
+        final RecalculationFrequencyType recalculationFrequencyType = interestRecalculation ? RecalculationFrequencyType.SAME_AS_REPAYMENT_PERIOD
+                : null;
+        final InterestRecalculationCompoundingMethod compoundingMethod = interestRecalculation ? InterestRecalculationCompoundingMethod.NONE
+                : null;
+        final LoanPreClosureInterestCalculationStrategy preClosureStrategy = interestRecalculation ? LoanPreClosureInterestCalculationStrategy.TILL_PRE_CLOSURE_DATE
+                : null;
+
+        final Integer nthDay = null;
+        final DayOfWeekType weekDayType = null;
+        final LocalDate repaymentsStartingFromDate = null;
+        final LocalDate calculatedRepaymentsStartingFromDate = null;
+        final Integer graceOnPrincipalPayment = null;
+        final Integer recurringMoratoriumOnPrincipalPeriods = null;
+        final Integer graceOnInterestPayment = null;
+        final Integer graceOnInterestCharged = null;
+        final LocalDate interestChargedFromDate = null;
+        final BigDecimal emiAmount = null;
+        final Integer graceOnArrearsAgeing = 0;
+        final CalendarInstance restCalendarInstance = null;
+        final CalendarInstance compoundingCalendarInstance = null;
+        final RecalculationFrequencyType compoundingFrequencyType = null;
+        final BigDecimal principalThresholdForLastInstalment = BigDecimal.valueOf(50);
+        final Integer installmentAmountInMultiplesOf = null;
+        final Calendar loanCalendar = null;
+        final List<LoanTermVariationsData> loanTermVariations = new ArrayList<>();
+        final Integer numberOfDays = 0;
+
+        return LoanApplicationTerms.assembleFrom(applicationCurrency, numberOfRepayments, PeriodFrequencyType.WEEKS, numberOfRepayments, 1,
+                PeriodFrequencyType.WEEKS, nthDay, weekDayType, AmortizationMethod.EQUAL_INSTALLMENTS, interestMethod,
+                ANNUAL_INTEREST_RATE, PeriodFrequencyType.YEARS, ANNUAL_INTEREST_RATE, interestCalculationPeriodMethod, false, principal,
+                DISBURSEMENT_DATE, repaymentsStartingFromDate, calculatedRepaymentsStartingFromDate, graceOnPrincipalPayment,
+                recurringMoratoriumOnPrincipalPeriods, graceOnInterestPayment, graceOnInterestCharged, interestChargedFromDate,
+                principal.zero(), multiDisburse, emiAmount, disbursementDatas, maxOutstandingBalance, graceOnArrearsAgeing,
+                DaysInMonthType.ACTUAL, DaysInYearType.ACTUAL, interestRecalculation, recalculationFrequencyType, restCalendarInstance,
+                compoundingMethod, compoundingCalendarInstance, compoundingFrequencyType, principalThresholdForLastInstalment,
+                installmentAmountInMultiplesOf, preClosureStrategy, loanCalendar, PRINCIPAL, loanTermVariations, Boolean.FALSE,
+                numberOfDays, false, holidayDetailDTO, false);
+    }
+
+    /**
+     * A weekly equal principal schedule with interest on the declining
+     * balance, in the shape persisted for an active loan.
+     */
+    public static List<LoanRepaymentScheduleInstallment> installments(final int numberOfRepayments) {
+        final List<LoanRepaymentScheduleInstallment> installments = new ArrayList<>(numberOfRepayments);
+        final BigDecimal weeklyRate = ANNUAL_INTEREST_RATE.divide(BigDecimal.valueOf(5200), 10, RoundingMode.HALF_EVEN);
+        final BigDecimal principalPerPeriod = PRINCIPAL.divide(BigDecimal.valueOf(numberOfRepayments), 2, RoundingMode.HALF_EVEN);
+
+        BigDecimal outstanding = PRINCIPAL;
+        LocalDate fromDate = DISBURSEMENT_DATE;
+        for (int number = 1; number <= numberOfRepayments; number++) {
+            final LocalDate dueDate = fromDate.plusWeeks(1);
+            final BigDecimal principal = number == numberOfRepayments ? outstanding : principalPerPeriod;
+            final BigDecimal interest = outstanding.multiply(weeklyRate).setScale(2, RoundingMode.HALF_EVEN);
+            installments.add(new LoanRepaymentScheduleInstallment(null, number, fromDate, dueDate, principal, interest, BigDecimal.ZERO,
+                    BigDecimal.ZERO, false, new HashSet<LoanInterestRecalcualtionAdditionalDetails>()));
+            outstanding = outstanding.subtract(principal);
+            fromDate = dueDate;
+        }
+        return installments;
+    }
+
+    /**
+     * One flat penalty, due on the installment due date, for every installment
+     * left unpaid by {@link #repaymentHistory}.
+     */
+    public static Set<LoanCharge> overdueCharges(final List<LoanRepaymentScheduleInstallment> installments) {
+        final Charge penalty = instantiate(Charge.class, new Class<?>[] { String.class, BigDecimal.class, String.class,
+                ChargeAppliesTo.class, ChargeTimeType.class, ChargeCalculationType.class, boolean.class, boolean.class,
+                ChargePaymentMode.class, MonthDay.class, Integer.class, BigDecimal.class, BigDecimal.class, Integer.class,
+                GLAccount.class, TaxGroup.class }, "Overdue penalty", OVERDUE_PENALTY, "USD", ChargeAppliesTo.LOAN,
+                ChargeTimeType.SPECIFIED_DUE_DATE, ChargeCalculationType.FLAT, true, true, ChargePaymentMode.REGULAR, null, null, null,
+                null, null, null, null);
+
+        final Set<LoanCharge> charges = new HashSet<>();
+        for (final LoanRepaymentScheduleInstallment installment : installments) {
+            if (isOverdue(installment)) {
+                charges.add(LoanCharge.createNewWithoutLoan(penalty, PRINCIPAL, OVERDUE_PENALTY, ChargeTimeType.SPECIFIED_DUE_DATE,
+                        ChargeCalculationType.FLAT, installment.getDueDate(), ChargePaymentMode.REGULAR, installments.size()));
+            }
+        }
+        return charges;
+    }
+
+    /**
+     * Repayments covering the first three quarters of the schedule, with each
+     * installment settled in <code>paymentsPerInstallment</code> parts and
+     * every {@link #OVERDUE_EVERY}-th installment skipped.
+     * 
+     * The history is replayed once through <code>processor</code> before the
+     * transactions are given ids, so that they carry the principal, interest
+     * and charges split a persisted history would have. Replaying them again
+     * then takes the path of unchanged persisted transactions instead of
+     * reversing every one of them.
+     */
+    public static List<LoanTransaction> repaymentHistory(final LoanRepaymentScheduleTransactionProcessor processor,
+            final List<LoanRepaymentScheduleInstallment> installments, final Set<LoanCharge> charges, final MonetaryCurrency currency,
+            final int paymentsPerInstallment) {
+        final List<LoanTransaction> transactions = new ArrayList<>();
+        final LocalDateTime createdDate = new LocalDateTime(2015, 1, 1, 0, 0);
+        final int paidInstallments = installments.size() * 3 / 4;
+        for (final LoanRepaymentScheduleInstallment installment : installments.subList(0, paidInstallments)) {
+            if (isOverdue(installment)) {
+                continue;
+            }
+            final BigDecimal due = installment.getPrincipal(currency).plus(installment.getInterestCharged(currency)).getAmount();
+            final BigDecimal part = due.divide(BigDecimal.valueOf(paymentsPerInstallment), 2, RoundingMode.DOWN);
+            for (int payment = 0; payment < paymentsPerInstallment; payment++) {
+                final BigDecimal amount = payment == paymentsPerInstallment - 1 ? due.subtract(part.multiply(BigDecimal
+                        .valueOf(payment))) : part;
+                final LocalDate paymentDate = installment.getDueDate().minusDays(paymentsPerInstallment - 1 - payment);
+                transactions.add(LoanTransaction.repayment(null, Money.of(currency, amount), null, paymentDate, null, createdDate, null));
+            }
+        }
+
+        processor.handleTransaction(DISBURSEMENT_DATE, transactions, currency, installments, charges);
+        long id = 1;
+        for (final LoanTransaction transaction : transactions) {
+            assignId(transaction, id++);
+        }
+        return transactions;
+    }
+
+    private static boolean isOverdue(final LoanRepaymentScheduleInstallment installment) {
+        return installment.getInstallmentNumber() % OVERDUE_EVERY == 0;
+    }
+
+    private static void assignId(final AbstractPersistableCustom<Long> entity, final Long id) {
+        try {
+            final Method setId = AbstractPersistableCustom.class.getDeclaredMethod("setId", Long.class);
+            setId.setAccessible(true);
+            setId.invoke(entity, id);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> T instantiate(final Class<T> type, final Class<?>[] parameterTypes, final Object... args) {
+        try {
+            final Constructor<T> constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+            return constructor.newInstance(args);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
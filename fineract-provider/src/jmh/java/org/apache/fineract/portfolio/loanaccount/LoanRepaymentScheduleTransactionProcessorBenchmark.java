@@ -0,0 +1,144 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount;
+
+import java.math.RoundingMode;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.portfolio.loanaccount.domain.ChangedTransactionDetail;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanCharge;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.LoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.CreocoreLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.EarlyPaymentLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.FineractStyleLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.HeavensFamilyLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.InterestPrincipalPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.PrincipalInterestPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.RBILoanRepaymentScheduleTransactionProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a full replay of a loan's repayment history through each
+ * {@link LoanRepaymentScheduleTransactionProcessor}, the work done whenever a
+ * back dated transaction or adjustment forces the schedule to be reprocessed.
+ * 
+ * A replay resets the derived amounts on the installments and charges before
+ * applying the transactions again, and the transactions already carry the
+ * split a previous replay gave them, so the same fixture is reused across
+ * invocations without any of them being reversed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class LoanRepaymentScheduleTransactionProcessorBenchmark {
+
+    @Param({ "12", "52", "260", "520" })
+    public int numberOfRepayments;
+
+    @Param({ "fineract", "rbi", "early-payment", "heavens-family", "creocore", "interest-principal-penalties-fees",
+            "principal-interest-penalties-fees" })
+    public String strategy;
+
+    /**
+     * The number of part payments made against every paid installment; four
+     * payments on a 520 installment loan gives a history of over a thousand
+     * transactions.
+     */
+    @Param({ "1", "4" })
+    public int paymentsPerInstallment;
+
+    @Param({ "false", "true" })
+    public boolean overdueCharges;
+
+    private final MonetaryCurrency currency = LoanBenchmarkFixtures.currency();
+    private LoanRepaymentScheduleTransactionProcessor processor;
+    private List<LoanRepaymentScheduleInstallment> installments;
+    private List<LoanTransaction> transactions;
+    private Set<LoanCharge> charges;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoanBenchmarkFixtures.useRoundingMode(RoundingMode.HALF_EVEN);
+        this.processor = processorFor(this.strategy);
+        this.installments = LoanBenchmarkFixtures.installments(this.numberOfRepayments);
+        if (this.overdueCharges) {
+            this.charges = LoanBenchmarkFixtures.overdueCharges(this.installments);
+        } else {
+            this.charges = new HashSet<>();
+        }
+        this.transactions = LoanBenchmarkFixtures.repaymentHistory(this.processor, this.installments, this.charges, this.currency,
+                this.paymentsPerInstallment);
+    }
+
+    @Benchmark
+    public ChangedTransactionDetail replayTransactionHistory() {
+        return this.processor.handleTransaction(LoanBenchmarkFixtures.DISBURSEMENT_DATE, this.transactions, this.currency,
+                this.installments, this.charges);
+    }
+
+    private static LoanRepaymentScheduleTransactionProcessor processorFor(final String strategy) {
+        LoanRepaymentScheduleTransactionProcessor processor = null;
+        switch (strategy) {
+            case "fineract":
+                processor = new FineractStyleLoanRepaymentScheduleTransactionProcessor();
+            break;
+            case "rbi":
+                processor = new RBILoanRepaymentScheduleTransactionProcessor();
+            break;
+            case "early-payment":
+                processor = new EarlyPaymentLoanRepaymentScheduleTransactionProcessor();
+            break;
+            case "heavens-family":
+                processor = new HeavensFamilyLoanRepaymentScheduleTransactionProcessor();
+            break;
+            case "creocore":
+                processor = new CreocoreLoanRepaymentScheduleTransactionProcessor();
+            break;
+            case "interest-principal-penalties-fees":
+                processor = new InterestPrincipalPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor();
+            break;
+            case "principal-interest-penalties-fees":
+                processor = new PrincipalInterestPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor();
+            break;
+            default:
+                throw new IllegalArgumentException("Unknown repayment strategy: " + strategy);
+        }
+        return processor;
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount;
+
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanCharge;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DefaultLoanScheduleGeneratorFactory;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanApplicationTerms;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleModel;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link LoanScheduleGenerator#generate} for declining balance and
+ * flat loans across term lengths, with and without interest recalculation,
+ * tranches and overdue penalties.
+ * 
+ * Schedule generation updates the {@link LoanApplicationTerms} it is given
+ * (end date, principal of the current tranche, total interest), so fresh
+ * terms are assembled before every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class LoanScheduleGeneratorBenchmark {
+
+    @Param({ "12", "52", "260", "520" })
+    public int numberOfRepayments;
+
+    @Param({ "DECLINING_BALANCE", "FLAT" })
+    public InterestMethod interestMethod;
+
+    @Param({ "false", "true" })
+    public boolean interestRecalculation;
+
+    @Param({ "false", "true" })
+    public boolean multiDisburse;
+
+    @Param({ "false", "true" })
+    public boolean overdueCharges;
+
+    private final MathContext mc = new MathContext(8, RoundingMode.HALF_EVEN);
+    private LoanScheduleGenerator generator;
+    private HolidayDetailDTO holidayDetailDTO;
+    private Set<LoanCharge> charges;
+    private LoanApplicationTerms loanApplicationTerms;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        LoanBenchmarkFixtures.useRoundingMode(RoundingMode.HALF_EVEN);
+        this.generator = new DefaultLoanScheduleGeneratorFactory().create(this.interestMethod);
+        this.holidayDetailDTO = LoanBenchmarkFixtures.holidayDetails();
+        if (this.overdueCharges) {
+            final List<LoanRepaymentScheduleInstallment> installments = LoanBenchmarkFixtures.installments(this.numberOfRepayments);
+            this.charges = LoanBenchmarkFixtures.overdueCharges(installments);
+        } else {
+            this.charges = new HashSet<>();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        this.loanApplicationTerms = LoanBenchmarkFixtures.loanApplicationTerms(this.numberOfRepayments, this.interestMethod,
+                this.multiDisburse, this.interestRecalculation, this.holidayDetailDTO);
+    }
+
+    @Benchmark
+    public LoanScheduleModel generate() {
+        return this.generator.generate(this.mc, this.loanApplicationTerms, this.charges, this.holidayDetailDTO);
+    }
+}
@@ -184,6 +184,18 @@ public class JournalEntry extends AbstractAuditableCustom<AppUser, Long> {
         this.reversed = reversed;
     }
 
+    public boolean isReversed() {
+        return this.reversed;
+    }
+
+    public boolean isManualEntry() {
+        return this.manualEntry;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
     public String getReferenceNumber() {
         return this.referenceNumber;
     }
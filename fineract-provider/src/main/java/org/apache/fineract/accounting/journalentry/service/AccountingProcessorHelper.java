@@ -19,6 +19,10 @@
 package org.apache.fineract.accounting.journalentry.service;
 
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.LinkedHashMap;
@@ -58,6 +62,7 @@ import org.apache.fineract.accounting.producttoaccountmapping.domain.ProductToGL
 import org.apache.fineract.accounting.producttoaccountmapping.exception.ProductToGLAccountMappingNotFoundException;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.organisation.monetary.data.CurrencyData;
 import org.apache.fineract.organisation.office.domain.Office;
 import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
@@ -73,8 +78,12 @@ import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionEnumD
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransactionRepository;
 import org.apache.fineract.portfolio.shareaccounts.data.ShareAccountTransactionEnumData;
+import org.apache.fineract.useradministration.domain.AppUser;
 import org.joda.time.LocalDate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -85,6 +94,19 @@ public class AccountingProcessorHelper {
     public static final String CLIENT_TRANSACTION_IDENTIFIER = "C";
     public static final String PROVISIONING_TRANSACTION_IDENTIFIER = "P";
     public static final String SHARE_TRANSACTION_IDENTIFIER = "SH";
+
+    /**
+     * Loan journal entries of the current thread that are written with one
+     * JDBC batch, see {@link #startBatchingLoanJournalEntries()}
+     */
+    private static final ThreadLocal<List<JournalEntry>> batchedLoanJournalEntries = new ThreadLocal<>();
+
+    private static final String insertJournalEntrySql = "insert into acc_gl_journal_entry (account_id, office_id, transaction_id, "
+            + "reversed, manual_entry, entry_date, type_enum, amount, description, entity_type_enum, entity_id, ref_num, currency_code, "
+            + "payment_details_id, loan_transaction_id, savings_transaction_id, client_transaction_id, share_transaction_id, "
+            + "createdby_id, lastmodifiedby_id, created_date, lastmodified_date) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final JournalEntryRepository glJournalEntryRepository;
     private final ProductToGLAccountMappingRepository accountMappingRepository;
     private final FinancialActivityAccountRepositoryWrapper financialActivityAccountRepository;
@@ -95,6 +117,8 @@ public class AccountingProcessorHelper {
     private final ClientTransactionRepositoryWrapper clientTransactionRepository;
     private final SavingsAccountTransactionRepository savingsAccountTransactionRepository;
     private final AccountTransfersReadPlatformService accountTransfersReadPlatformService;
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<AppUser> auditorAware;
 
     @Autowired
     public AccountingProcessorHelper(final JournalEntryRepository glJournalEntryRepository,
@@ -104,7 +128,8 @@ public class AccountingProcessorHelper {
             final FinancialActivityAccountRepositoryWrapper financialActivityAccountRepository,
             final AccountTransfersReadPlatformService accountTransfersReadPlatformService,
             final GLAccountRepositoryWrapper accountRepositoryWrapper,
-            final ClientTransactionRepositoryWrapper clientTransactionRepositoryWrapper) {
+            final ClientTransactionRepositoryWrapper clientTransactionRepositoryWrapper, final RoutingDataSource dataSource,
+            final AuditorAware<AppUser> auditorAware) {
         this.glJournalEntryRepository = glJournalEntryRepository;
         this.accountMappingRepository = accountMappingRepository;
         this.closureRepository = closureRepository;
@@ -115,6 +140,8 @@ public class AccountingProcessorHelper {
         this.accountTransfersReadPlatformService = accountTransfersReadPlatformService;
         this.accountRepositoryWrapper = accountRepositoryWrapper;
         this.clientTransactionRepository = clientTransactionRepositoryWrapper;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.auditorAware = auditorAware;
     }
 
     public LoanDTO populateLoanDtoFromMap(final Map<String, Object> accountingBridgeData, final boolean cashBasedAccountingEnabled,
@@ -855,7 +882,7 @@ public class AccountingProcessorHelper {
         final JournalEntry journalEntry = JournalEntry.createNew(office, paymentDetail, account, currencyCode, modifiedTransactionId,
                 manualEntry, transactionDate, JournalEntryType.CREDIT, amount, null, PortfolioProductType.LOAN.getValue(), loanId, null,
                 loanTransaction, savingsAccountTransaction, clientTransaction, shareTransactionId);
-        this.glJournalEntryRepository.saveAndFlush(journalEntry);
+        saveLoanJournalEntry(journalEntry);
     }
 
     public void createProvisioningDebitJournalEntry(Date transactionDate, Long provisioningentryId, Office office, String currencyCode,
@@ -905,7 +932,95 @@ public class AccountingProcessorHelper {
         final JournalEntry journalEntry = JournalEntry.createNew(office, paymentDetail, account, currencyCode, modifiedTransactionId,
                 manualEntry, transactionDate, JournalEntryType.DEBIT, amount, null, PortfolioProductType.LOAN.getValue(), loanId, null,
                 loanTransaction, savingsAccountTransaction, clientTransaction, shareTransactionId);
-        this.glJournalEntryRepository.saveAndFlush(journalEntry);
+        saveLoanJournalEntry(journalEntry);
+    }
+
+    /**
+     * Collects the loan journal entries created by the current thread until
+     * {@link #insertBatchedLoanJournalEntries()} writes them, so that a bulk
+     * operation inserts them with one JDBC batch instead of an insert and a
+     * flush per entry.
+     */
+    public void startBatchingLoanJournalEntries() {
+        batchedLoanJournalEntries.set(new ArrayList<JournalEntry>());
+    }
+
+    public void insertBatchedLoanJournalEntries() {
+        final List<JournalEntry> journalEntries = batchedLoanJournalEntries.get();
+        batchedLoanJournalEntries.remove();
+        if (journalEntries == null || journalEntries.isEmpty()) { return; }
+
+        final AppUser currentUser = this.auditorAware.getCurrentAuditor();
+        final Long currentUserId = currentUser == null ? null : currentUser.getId();
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+        this.jdbcTemplate.batchUpdate(insertJournalEntrySql, new BatchPreparedStatementSetter() {
+
+            @Override
+            public void setValues(final PreparedStatement ps, final int i) throws SQLException {
+                final JournalEntry journalEntry = journalEntries.get(i);
+                ps.setLong(1, journalEntry.getGlAccount().getId());
+                ps.setLong(2, journalEntry.getOffice().getId());
+                ps.setString(3, journalEntry.getTransactionId());
+                ps.setBoolean(4, journalEntry.isReversed());
+                ps.setBoolean(5, journalEntry.isManualEntry());
+                ps.setDate(6, new java.sql.Date(journalEntry.getTransactionDate().getTime()));
+                ps.setInt(7, journalEntry.getType());
+                ps.setBigDecimal(8, journalEntry.getAmount());
+                ps.setString(9, journalEntry.getDescription());
+                setNullableInt(ps, 10, journalEntry.getEntityType());
+                setNullableLong(ps, 11, journalEntry.getEntityId());
+                ps.setString(12, journalEntry.getReferenceNumber());
+                ps.setString(13, journalEntry.getCurrencyCode());
+                setNullableLong(ps, 14, journalEntry.getPaymentDetails() == null ? null : journalEntry.getPaymentDetails().getId());
+                setNullableLong(ps, 15, journalEntry.getLoanTransaction() == null ? null : journalEntry.getLoanTransaction().getId());
+                setNullableLong(ps, 16, journalEntry.getSavingsTransaction() == null ? null : journalEntry.getSavingsTransaction().getId());
+                setNullableLong(ps, 17, journalEntry.getClientTransaction() == null ? null : journalEntry.getClientTransaction().getId());
+                setNullableLong(ps, 18, journalEntry.getShareTransactionId());
+                setNullableLong(ps, 19, currentUserId);
+                setNullableLong(ps, 20, currentUserId);
+                ps.setTimestamp(21, now);
+                ps.setTimestamp(22, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return journalEntries.size();
+            }
+        });
+    }
+
+    /**
+     * Drops the collected loan journal entries without writing them, used
+     * when the bulk operation fails before
+     * {@link #insertBatchedLoanJournalEntries()} is reached.
+     */
+    public void stopBatchingLoanJournalEntries() {
+        batchedLoanJournalEntries.remove();
+    }
+
+    private void saveLoanJournalEntry(final JournalEntry journalEntry) {
+        final List<JournalEntry> journalEntries = batchedLoanJournalEntries.get();
+        if (journalEntries == null) {
+            this.glJournalEntryRepository.saveAndFlush(journalEntry);
+        } else {
+            journalEntries.add(journalEntry);
+        }
+    }
+
+    private static void setNullableLong(final PreparedStatement ps, final int index, final Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private static void setNullableInt(final PreparedStatement ps, final int index, final Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
     }
 
     private void createDebitJournalEntryForSavings(final Office office, final String currencyCode, final GLAccount account,
@@ -26,7 +26,9 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.fineract.accounting.common.AccountingEnumerations;
@@ -45,6 +47,7 @@ import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.KeysetPagination;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
@@ -71,6 +74,14 @@ import org.springframework.util.CollectionUtils;
 @Service
 public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlatformService {
 
+    private final static Map<String, String> keysetSortColumns = new HashMap<>();
+
+    static {
+        keysetSortColumns.put("id", "journalEntry.id");
+        keysetSortColumns.put("transactionDate", "journalEntry.entry_date");
+        keysetSortColumns.put("createdDate", "journalEntry.created_date");
+    }
+
     private final JdbcTemplate jdbcTemplate;
     private final GLAccountReadPlatformService glAccountReadPlatformService;
     private final OfficeReadPlatformService officeReadPlatformService;
@@ -247,8 +258,15 @@ public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlat
             final JournalEntryAssociationParametersData associationParametersData) {
 
         GLJournalEntryMapper rm = new GLJournalEntryMapper(associationParametersData);
+        final KeysetPagination keysetPagination = searchParameters.isKeysetPaged() ? KeysetPagination.from(searchParameters,
+                "journalentries", "journalEntry.id", keysetSortColumns, "transactionDate", "ASC") : null;
+
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        if (keysetPagination != null) {
+            sqlBuilder.append("select ").append(keysetPagination.selectSql());
+        } else {
+            sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        }
         sqlBuilder.append(rm.schema());
 
         final Object[] objectArray = new Object[15];
@@ -354,6 +372,13 @@ public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlat
             whereClose = " and ";
         }
 
+        if (keysetPagination != null) {
+            sqlBuilder.append(keysetPagination.predicateSql(whereClose));
+            sqlBuilder.append(keysetPagination.orderByAndLimitSql());
+            return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), Arrays.copyOf(objectArray, arrayPos), rm,
+                    keysetPagination);
+        }
+
         if (searchParameters.isOrderByRequested()) {
             sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
 
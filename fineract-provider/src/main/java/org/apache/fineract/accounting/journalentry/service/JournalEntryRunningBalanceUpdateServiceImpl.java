@@ -19,24 +19,19 @@
 package org.apache.fineract.accounting.journalentry.service;
 
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
-import org.apache.fineract.accounting.common.AccountingEnumerations;
 import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
 import org.apache.fineract.accounting.journalentry.api.JournalEntryJsonInputParams;
-import org.apache.fineract.accounting.journalentry.data.JournalEntryData;
 import org.apache.fineract.accounting.journalentry.data.JournalEntryDataValidator;
 import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
-import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
@@ -47,9 +42,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntryRunningBalanceUpdateService {
@@ -64,35 +64,54 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
 
     private final FromJsonHelper fromApiJsonHelper;
 
+    private final TransactionTemplate transactionTemplate;
+
     private final GLJournalEntryMapper entryMapper = new GLJournalEntryMapper();
-    
-    // if a limit is not added to the running balance select statements below and the resultset is more than 400,000, 
-    // the script will eat up all of the server memory
-    private final String selectRunningBalanceSqlLimit = "limit 0, 10000";
-    
-    private final String officeRunningBalanceSql = "select je.office_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-            + "inner join (select max(id) as id from acc_gl_journal_entry where office_id=?  and entry_date < ? group by account_id,entry_date) je2 "
-            + "inner join (select max(entry_date) as date from acc_gl_journal_entry where office_id=? and entry_date < ? group by account_id) je3 "
-            + "where je2.id = je.id and je.entry_date = je3.date group by je.id order by je.entry_date DESC " + selectRunningBalanceSqlLimit;
-
-    private final String organizationRunningBalanceSql = "select je.organization_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-            + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by account_id,entry_date) je2 "
-            + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by account_id) je3 "
-            + "where je2.id = je.id and je.entry_date = je3.date group by je.id order by je.entry_date DESC " + selectRunningBalanceSqlLimit;
-
-    private final String officesRunningBalanceSql = "select je.office_running_balance as runningBalance,je.account_id as accountId,je.office_id as officeId "
-            + "from acc_gl_journal_entry je "
-            + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by office_id,account_id,entry_date) je2 "
-            + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by office_id,account_id) je3 "
-            + "where je2.id = je.id and je.entry_date = je3.date group by je.id order by je.entry_date DESC " + selectRunningBalanceSqlLimit;
+
+    // entries are streamed in chunks of this size ordered by (entry_date, id)
+    // so that memory does not grow with the number of uncalculated entries
+    private static final int RUNNING_BALANCE_CHUNK_SIZE = 5000;
+
+    private static final String ORGANIZATION_CHECKPOINT = "organization";
+
+    // latest entry per office and account strictly before the (entry_date, id)
+    // position the calculation starts from
+    private final String officesRunningBalanceSql = "select je.office_running_balance as officeRunningBalance, "
+            + "je.organization_running_balance as organizationRunningBalance, je.account_id as accountId, je.office_id as officeId "
+            + "from acc_gl_journal_entry je inner join (select max(j.id) as id from acc_gl_journal_entry j "
+            + "inner join (select office_id, account_id, max(entry_date) as entry_date from acc_gl_journal_entry "
+            + "where (entry_date < ? or (entry_date = ? and id <= ?)) group by office_id, account_id) latest "
+            + "on j.office_id = latest.office_id and j.account_id = latest.account_id and j.entry_date = latest.entry_date "
+            + "where (j.entry_date < ? or (j.entry_date = ? and j.id <= ?)) group by j.office_id, j.account_id) je2 on je2.id = je.id "
+            + "order by je.entry_date, je.id";
+
+    private final String officeRunningBalanceSql = "select je.office_running_balance as officeRunningBalance, je.account_id as accountId "
+            + "from acc_gl_journal_entry je inner join (select max(j.id) as id from acc_gl_journal_entry j "
+            + "inner join (select account_id, max(entry_date) as entry_date from acc_gl_journal_entry "
+            + "where office_id = ? and entry_date < ? group by account_id) latest "
+            + "on j.account_id = latest.account_id and j.entry_date = latest.entry_date "
+            + "where j.office_id = ? group by j.account_id) je2 on je2.id = je.id";
+
+    private final String organizationRunningBalanceUpdateSql = "UPDATE acc_gl_journal_entry SET is_running_balance_calculated=1, "
+            + "organization_running_balance=?, office_running_balance=? WHERE id=?";
+
+    private final String officeRunningBalanceUpdateSql = "UPDATE acc_gl_journal_entry SET office_running_balance=? WHERE id=?";
+
+    private final String checkpointSql = "select cp.entry_date as entryDate, cp.journal_entry_id as journalEntryId "
+            + "from acc_gl_running_balance_checkpoint cp where cp.name = ?";
+
+    private final String checkpointUpdateSql = "INSERT INTO acc_gl_running_balance_checkpoint (name, entry_date, journal_entry_id) "
+            + "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE entry_date = VALUES(entry_date), journal_entry_id = VALUES(journal_entry_id)";
 
     @Autowired
     public JournalEntryRunningBalanceUpdateServiceImpl(final RoutingDataSource dataSource, final OfficeRepositoryWrapper officeRepositoryWrapper,
-            final JournalEntryDataValidator dataValidator, final FromJsonHelper fromApiJsonHelper) {
+            final JournalEntryDataValidator dataValidator, final FromJsonHelper fromApiJsonHelper,
+            final TransactionTemplate transactionTemplate) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         this.officeRepositoryWrapper = officeRepositoryWrapper;
         this.dataValidator = dataValidator;
         this.fromApiJsonHelper = fromApiJsonHelper;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
@@ -132,100 +151,166 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
         return commandProcessingResultBuilder.build();
     }
 
-    private void updateOrganizationRunningBalance(Date entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
-        Map<Long, Map<Long, BigDecimal>> officesRunningBalance = new HashMap<>();
+    private void updateOrganizationRunningBalance(final Date entityDate) {
+        // resume from the last persisted chunk of an interrupted run unless
+        // new uncalculated entries were posted before it in the meantime
+        Date lastEntryDate = entityDate;
+        long lastEntryId = 0;
+        final RunningBalanceCheckpoint checkpoint = retrieveCheckpoint(ORGANIZATION_CHECKPOINT);
+        if (checkpoint != null && (entityDate == null || checkpoint.entryDate.before(entityDate))) {
+            lastEntryDate = checkpoint.entryDate;
+            lastEntryId = checkpoint.journalEntryId;
+        }
+        if (lastEntryDate == null) { return; }
+
+        final RunningBalanceMap organizationRunningBalances = new RunningBalanceMap();
+        final RunningBalanceMap officeRunningBalances = new RunningBalanceMap();
+        this.jdbcTemplate.query(this.officesRunningBalanceSql, new RowCallbackHandler() {
 
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(organizationRunningBalanceSql, entityDate, entityDate);
-        for (Map<String, Object> entries : list) {
-        	Long accountId = Long.parseLong(entries.get("accountId").toString()); //Drizzle is returning Big Integer where as MySQL returns Long.
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
+            @Override
+            public void processRow(final ResultSet rs) throws SQLException {
+                final long accountId = rs.getLong("accountId");
+                final long officeId = rs.getLong("officeId");
+                officeRunningBalances.put(RunningBalanceMap.officeAccountKey(officeId, accountId),
+                        nonNull(rs.getBigDecimal("officeRunningBalance")));
+                // rows are ordered by (entry_date, id) so the last one seen
+                // across offices carries the organization balance
+                organizationRunningBalances.put(accountId, nonNull(rs.getBigDecimal("organizationRunningBalance")));
             }
-        }
+        }, lastEntryDate, lastEntryDate, lastEntryId, lastEntryDate, lastEntryDate, lastEntryId);
 
-        List<Map<String, Object>> officesRunningBalanceList = jdbcTemplate.queryForList(officesRunningBalanceSql, entityDate, entityDate);
-        for (Map<String, Object> entries : officesRunningBalanceList) {
-            Long accountId = Long.parseLong(entries.get("accountId").toString());
-            Long officeId = Long.parseLong(entries.get("officeId").toString());
-            Map<Long, BigDecimal> runningBalance = null;
-            if (officesRunningBalance.containsKey(officeId)) {
-                runningBalance = officesRunningBalance.get(officeId);
-            } else {
-                runningBalance = new HashMap<>();
-                officesRunningBalance.put(officeId, runningBalance);
+        long processed = 0;
+        List<RunningBalanceEntry> entries;
+        do {
+            entries = this.jdbcTemplate.query(this.entryMapper.organizationRunningBalanceSchema(), this.entryMapper, lastEntryDate,
+                    lastEntryDate, lastEntryId, RUNNING_BALANCE_CHUNK_SIZE);
+            if (entries.isEmpty()) {
+                break;
             }
-            if (!runningBalance.containsKey(accountId)) {
-                runningBalance.put(accountId, (BigDecimal) entries.get("runningBalance"));
+            for (final RunningBalanceEntry entry : entries) {
+                entry.officeRunningBalance = calculateRunningBalance(entry,
+                        RunningBalanceMap.officeAccountKey(entry.officeId, entry.glAccountId), officeRunningBalances);
+                entry.organizationRunningBalance = calculateRunningBalance(entry, entry.glAccountId, organizationRunningBalances);
             }
-        }
+            final RunningBalanceEntry lastEntry = entries.get(entries.size() - 1);
+            persistOrganizationRunningBalances(entries, lastEntry);
+            lastEntryDate = lastEntry.entryDate;
+            lastEntryId = lastEntry.id;
+            processed += entries.size();
+        } while (entries.size() == RUNNING_BALANCE_CHUNK_SIZE);
 
-        List<JournalEntryData> entryDatas = jdbcTemplate.query(entryMapper.organizationRunningBalanceSchema(), entryMapper,
-                new Object[] { entityDate });
-        if (entryDatas.size() > 0) {
-            // run a batch update of 1000 SQL statements at a time
-            final Integer batchUpdateSize = 1000;
-            ArrayList<String> updateSql = new ArrayList<>();
-            int batchIndex = 0;
-            for (int index = 0 ; index < entryDatas.size() ; index++) {
-            	JournalEntryData entryData = entryDatas.get(index) ;
-                Map<Long, BigDecimal> officeRunningBalanceMap = null;
-                if (officesRunningBalance.containsKey(entryData.getOfficeId())) {
-                    officeRunningBalanceMap = officesRunningBalance.get(entryData.getOfficeId());
-                } else {
-                    officeRunningBalanceMap = new HashMap<>();
-                    officesRunningBalance.put(entryData.getOfficeId(), officeRunningBalanceMap);
-                }
-                BigDecimal officeRunningBalance = calculateRunningBalance(entryData, officeRunningBalanceMap);
-                BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
-                String sql = "UPDATE acc_gl_journal_entry je SET je.is_running_balance_calculated=1, je.organization_running_balance="
-                        + runningBalance + ",je.office_running_balance=" + officeRunningBalance + " WHERE  je.id=" + entryData.getId();
-                updateSql.add(sql) ;
-                batchIndex++ ;
-                if (batchIndex == batchUpdateSize || index == entryDatas.size()-1) {
-                    // run a batch update of the 1000 update SQL statements
-                	String[] batch = new String[updateSql.size()] ;
-                	updateSql.toArray(batch) ;
-                    this.jdbcTemplate.batchUpdate(batch);
-                    // reset counter and string array
-                    batchIndex = 0;
-                    updateSql.clear();
-                }
+        this.jdbcTemplate.update("delete from acc_gl_running_balance_checkpoint where name = ?", ORGANIZATION_CHECKPOINT);
+        logger.info("Running balance updated for " + processed + " journal entries");
+    }
+
+    /**
+     * Writes the balances of a chunk together with the checkpoint in one
+     * transaction so that a restarted job never skips or repeats a chunk.
+     */
+    private void persistOrganizationRunningBalances(final List<RunningBalanceEntry> entries, final RunningBalanceEntry lastEntry) {
+        this.transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+            @Override
+            protected void doInTransactionWithoutResult(@SuppressWarnings("unused") final TransactionStatus status) {
+                JournalEntryRunningBalanceUpdateServiceImpl.this.jdbcTemplate.batchUpdate(organizationRunningBalanceUpdateSql,
+                        new BatchPreparedStatementSetter() {
+
+                            @Override
+                            public void setValues(final PreparedStatement ps, final int i) throws SQLException {
+                                final RunningBalanceEntry entry = entries.get(i);
+                                ps.setBigDecimal(1, entry.organizationRunningBalance);
+                                ps.setBigDecimal(2, entry.officeRunningBalance);
+                                ps.setLong(3, entry.id);
+                            }
+
+                            @Override
+                            public int getBatchSize() {
+                                return entries.size();
+                            }
+                        });
+                JournalEntryRunningBalanceUpdateServiceImpl.this.jdbcTemplate.update(checkpointUpdateSql, ORGANIZATION_CHECKPOINT,
+                        lastEntry.entryDate, lastEntry.id);
             }
-        }
+        });
+    }
+
+    private RunningBalanceCheckpoint retrieveCheckpoint(final String name) {
+        final List<RunningBalanceCheckpoint> checkpoints = this.jdbcTemplate.query(this.checkpointSql,
+                new RowMapper<RunningBalanceCheckpoint>() {
 
+                    @Override
+                    public RunningBalanceCheckpoint mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum)
+                            throws SQLException {
+                        return new RunningBalanceCheckpoint(rs.getDate("entryDate"), rs.getLong("journalEntryId"));
+                    }
+                }, name);
+        return checkpoints.isEmpty() ? null : checkpoints.get(0);
     }
 
-    private void updateRunningBalance(Long officeId, Date entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
+    private void updateRunningBalance(final Long officeId, final Date entityDate) {
+        if (entityDate == null) { return; }
+        final RunningBalanceMap runningBalances = new RunningBalanceMap();
+        this.jdbcTemplate.query(this.officeRunningBalanceSql, new RowCallbackHandler() {
+
+            @Override
+            public void processRow(final ResultSet rs) throws SQLException {
+                runningBalances.put(rs.getLong("accountId"), nonNull(rs.getBigDecimal("officeRunningBalance")));
+            }
+        }, officeId, entityDate, officeId);
 
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(officeRunningBalanceSql, officeId, entityDate, officeId, entityDate);
-        for (Map<String, Object> entries : list) {
-            Long accountId = (Long) entries.get("accountId");
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
+        // the first chunk starts at the beginning of entityDate
+        Date lastEntryDate = entityDate;
+        long lastEntryId = 0;
+        List<RunningBalanceEntry> entries;
+        do {
+            entries = this.jdbcTemplate.query(this.entryMapper.officeRunningBalanceSchema(), this.entryMapper, officeId, lastEntryDate,
+                    lastEntryDate, lastEntryId, RUNNING_BALANCE_CHUNK_SIZE);
+            if (entries.isEmpty()) {
+                break;
+            }
+            for (final RunningBalanceEntry entry : entries) {
+                entry.officeRunningBalance = calculateRunningBalance(entry, entry.glAccountId, runningBalances);
             }
+            final List<RunningBalanceEntry> chunk = entries;
+            this.jdbcTemplate.batchUpdate(this.officeRunningBalanceUpdateSql, new BatchPreparedStatementSetter() {
+
+                @Override
+                public void setValues(final PreparedStatement ps, final int i) throws SQLException {
+                    final RunningBalanceEntry entry = chunk.get(i);
+                    ps.setBigDecimal(1, entry.officeRunningBalance);
+                    ps.setLong(2, entry.id);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            });
+            final RunningBalanceEntry lastEntry = entries.get(entries.size() - 1);
+            lastEntryDate = lastEntry.entryDate;
+            lastEntryId = lastEntry.id;
+        } while (entries.size() == RUNNING_BALANCE_CHUNK_SIZE);
+    }
+
+    private static BigDecimal nonNull(final BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+
+    private BigDecimal calculateRunningBalance(final RunningBalanceEntry entry, final long key, final RunningBalanceMap runningBalances) {
+        BigDecimal runningBalance = runningBalances.get(key);
+        if (runningBalance == null) {
+            runningBalance = BigDecimal.ZERO;
         }
-        List<JournalEntryData> entryDatas = jdbcTemplate.query(entryMapper.officeRunningBalanceSchema(), entryMapper, new Object[] {
-                officeId, entityDate });
-        String[] updateSql = new String[entryDatas.size()];
-        int i = 0;
-        for (JournalEntryData entryData : entryDatas) {
-            BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
-            String sql = "UPDATE acc_gl_journal_entry je SET je.office_running_balance=" + runningBalance + " WHERE  je.id="
-                    + entryData.getId();
-            updateSql[i++] = sql;
+        if (isIncrease(entry.accountType, entry.entryType)) {
+            runningBalance = runningBalance.add(entry.amount);
+        } else {
+            runningBalance = runningBalance.subtract(entry.amount);
         }
-        this.jdbcTemplate.batchUpdate(updateSql);
+        runningBalances.put(key, runningBalance);
+        return runningBalance;
     }
 
-    private BigDecimal calculateRunningBalance(JournalEntryData entry, Map<Long, BigDecimal> runningBalanceMap) {
-        BigDecimal runningBalance = BigDecimal.ZERO;
-        if (runningBalanceMap.containsKey(entry.getGlAccountId())) {
-            runningBalance = runningBalanceMap.get(entry.getGlAccountId());
-        }
-        GLAccountType accounttype = GLAccountType.fromInt(entry.getGlAccountType().getId().intValue());
-        JournalEntryType entryType = JournalEntryType.fromInt(entry.getEntryType().getId().intValue());
+    private static boolean isIncrease(final GLAccountType accounttype, final JournalEntryType entryType) {
         boolean isIncrease = false;
         switch (accounttype) {
             case ASSET:
@@ -254,45 +339,73 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
                 }
             break;
         }
-        if (isIncrease) {
-            runningBalance = runningBalance.add(entry.getAmount());
-        } else {
-            runningBalance = runningBalance.subtract(entry.getAmount());
+        return isIncrease;
+    }
+
+    private static final class RunningBalanceCheckpoint {
+
+        private final Date entryDate;
+        private final long journalEntryId;
+
+        RunningBalanceCheckpoint(final Date entryDate, final long journalEntryId) {
+            this.entryDate = entryDate;
+            this.journalEntryId = journalEntryId;
+        }
+    }
+
+    private static final class RunningBalanceEntry {
+
+        private final long id;
+        private final long glAccountId;
+        private final long officeId;
+        private final Date entryDate;
+        private final GLAccountType accountType;
+        private final JournalEntryType entryType;
+        private final BigDecimal amount;
+        private BigDecimal officeRunningBalance;
+        private BigDecimal organizationRunningBalance;
+
+        RunningBalanceEntry(final long id, final long glAccountId, final long officeId, final Date entryDate,
+                final GLAccountType accountType, final JournalEntryType entryType, final BigDecimal amount) {
+            this.id = id;
+            this.glAccountId = glAccountId;
+            this.officeId = officeId;
+            this.entryDate = entryDate;
+            this.accountType = accountType;
+            this.entryType = entryType;
+            this.amount = amount;
         }
-        runningBalanceMap.put(entry.getGlAccountId(), runningBalance);
-        return runningBalance;
     }
 
-    private static final class GLJournalEntryMapper implements RowMapper<JournalEntryData> {
+    private static final class GLJournalEntryMapper implements RowMapper<RunningBalanceEntry> {
 
         public String officeRunningBalanceSchema() {
             return "select je.id as id,je.account_id as glAccountId,je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId "
+                    + "glAccount.classification_enum as classification,je.office_id as officeId,je.entry_date as entryDate "
                     + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.office_id=? and je.entry_date >= ? order by je.entry_date,je.id";
+                    + "and je.office_id=? and (je.entry_date > ? or (je.entry_date = ? and je.id > ?)) "
+                    + "order by je.entry_date,je.id limit ?";
         }
 
         public String organizationRunningBalanceSchema() {
             return "select je.id as id,je.account_id as glAccountId," + "je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId  "
+                    + "glAccount.classification_enum as classification,je.office_id as officeId,je.entry_date as entryDate "
                     + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.entry_date >= ? order by je.entry_date,je.id";
+                    + "and (je.entry_date > ? or (je.entry_date = ? and je.id > ?)) order by je.entry_date,je.id limit ?";
         }
 
         @Override
-        public JournalEntryData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+        public RunningBalanceEntry mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
 
-            final Long id = rs.getLong("id");
-            final Long glAccountId = rs.getLong("glAccountId");
-            final Long officeId = rs.getLong("officeId");
-            final int accountTypeId = JdbcSupport.getInteger(rs, "classification");
-            final EnumOptionData accountType = AccountingEnumerations.gLAccountType(accountTypeId);
+            final long id = rs.getLong("id");
+            final long glAccountId = rs.getLong("glAccountId");
+            final long officeId = rs.getLong("officeId");
+            final Date entryDate = rs.getDate("entryDate");
+            final GLAccountType accountType = GLAccountType.fromInt(JdbcSupport.getInteger(rs, "classification"));
             final BigDecimal amount = rs.getBigDecimal("amount");
-            final int entryTypeId = JdbcSupport.getInteger(rs, "entryType");
-            final EnumOptionData entryType = AccountingEnumerations.journalEntryType(entryTypeId);
+            final JournalEntryType entryType = JournalEntryType.fromInt(JdbcSupport.getInteger(rs, "entryType"));
 
-            return new JournalEntryData(id, officeId, null, null, glAccountId, null, accountType, null, entryType, amount, null, null,
-                    null, null, null, null, null, null, null, null, null, null, null, null, null);
+            return new RunningBalanceEntry(id, glAccountId, officeId, entryDate, accountType, entryType, amount);
         }
     }
 
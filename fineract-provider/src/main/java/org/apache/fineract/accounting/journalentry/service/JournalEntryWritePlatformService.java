@@ -34,6 +34,12 @@ public interface JournalEntryWritePlatformService {
 
     void createJournalEntriesForLoan(Map<String, Object> accountingBridgeData);
 
+    void startBatchingLoanJournalEntries();
+
+    void insertBatchedLoanJournalEntries();
+
+    void stopBatchingLoanJournalEntries();
+
     void createJournalEntriesForSavings(Map<String, Object> accountingBridgeData);
 
     void createJournalEntriesForClientTransactions(Map<String, Object> accountingBridgeData);
@@ -481,6 +481,22 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
         }
     }
 
+    @Override
+    public void startBatchingLoanJournalEntries() {
+        this.helper.startBatchingLoanJournalEntries();
+    }
+
+    @Transactional
+    @Override
+    public void insertBatchedLoanJournalEntries() {
+        this.helper.insertBatchedLoanJournalEntries();
+    }
+
+    @Override
+    public void stopBatchingLoanJournalEntries() {
+        this.helper.stopBatchingLoanJournalEntries();
+    }
+
     @Transactional
     @Override
     public void createJournalEntriesForSavings(final Map<String, Object> accountingBridgeData) {
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Open addressing map from primitive <code>long</code> keys to running
+ * balances, used while streaming journal entries so that the per (office,
+ * account) balances do not cost a boxed key and an entry object each.
+ */
+final class RunningBalanceMap {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private long[] keys;
+    private BigDecimal[] values;
+    private int size;
+
+    RunningBalanceMap() {
+        this.keys = new long[DEFAULT_CAPACITY];
+        this.values = new BigDecimal[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Builds the key of an office level balance, office and account
+     * identifiers are both expected to fit in 32 bits.
+     */
+    static long officeAccountKey(final long officeId, final long accountId) {
+        return (officeId << 32) | (accountId & 0xFFFFFFFFL);
+    }
+
+    BigDecimal get(final long key) {
+        int index = indexOf(key, this.keys.length);
+        while (this.values[index] != null) {
+            if (this.keys[index] == key) { return this.values[index]; }
+            index = (index + 1) & (this.keys.length - 1);
+        }
+        return null;
+    }
+
+    void put(final long key, final BigDecimal value) {
+        if (value == null) { throw new IllegalArgumentException("Running balance can not be null"); }
+        int index = indexOf(key, this.keys.length);
+        while (this.values[index] != null) {
+            if (this.keys[index] == key) {
+                this.values[index] = value;
+                return;
+            }
+            index = (index + 1) & (this.keys.length - 1);
+        }
+        this.keys[index] = key;
+        this.values[index] = value;
+        // keep the load factor at or below one half
+        if (++this.size * 2 > this.keys.length) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        final long[] oldKeys = this.keys;
+        final BigDecimal[] oldValues = this.values;
+        final int capacity = oldKeys.length * 2;
+        this.keys = new long[capacity];
+        this.values = new BigDecimal[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int index = indexOf(oldKeys[i], capacity);
+                while (this.values[index] != null) {
+                    index = (index + 1) & (capacity - 1);
+                }
+                this.keys[index] = oldKeys[i];
+                this.values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private static int indexOf(final long key, final int capacity) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (capacity - 1);
+    }
+}
@@ -91,6 +91,7 @@ public class BatchApiResource {
      * 
      * @param jsonRequestString
      * @param enclosingTransaction
+     * @param parallel
      * @param uriInfo
      * @return serialized JSON
      */
@@ -98,7 +99,8 @@ public class BatchApiResource {
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
     public String handleBatchRequests(@DefaultValue("false") @QueryParam("enclosingTransaction") final boolean enclosingTransaction,
-            final String jsonRequestString, @Context UriInfo uriInfo) {
+            @DefaultValue("false") @QueryParam("parallel") final boolean parallel, final String jsonRequestString,
+            @Context UriInfo uriInfo) {
 
         // Handles user authentication
         this.context.authenticatedUser();
@@ -113,6 +115,9 @@ public class BatchApiResource {
         // be rolled back on error
         if (enclosingTransaction) {
             result = service.handleBatchRequestsWithEnclosingTransaction(requestList, uriInfo);
+        } else if (parallel) {
+            // Independent request trees are processed concurrently
+            result = service.handleBatchRequestsInParallelWithoutEnclosingTransaction(requestList, uriInfo);
         } else {
             result = service.handleBatchRequestsWithoutEnclosingTransaction(requestList, uriInfo);
         }
@@ -49,6 +49,21 @@ public interface BatchApiService {
      */
     List<BatchResponse> handleBatchRequestsWithoutEnclosingTransaction(List<BatchRequest> requestList, UriInfo uriInfo);
 
+    /**
+     * Returns the same list of
+     * {@link org.apache.fineract.batch.domain.BatchResponse}s as
+     * {@link #handleBatchRequestsWithoutEnclosingTransaction(List, UriInfo)},
+     * but processes independent request trees concurrently on a worker pool
+     * sized by the "batch-api-thread-pool-size" configuration. Requests within
+     * a tree still run parent first. It will be used when the Query Parameter
+     * "parallel" is set to 'true' and "enclosingTransaction" is not.
+     * 
+     * @param requestList
+     * @param uriInfo
+     * @return List<BatchResponse>
+     */
+    List<BatchResponse> handleBatchRequestsInParallelWithoutEnclosingTransaction(List<BatchRequest> requestList, UriInfo uriInfo);
+
     /**
      * returns a list of {@link org.apache.fineract.batch.domain.BatchResponse}s
      * by getting the appropriate CommandStrategy for every
@@ -22,7 +22,17 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
@@ -35,6 +45,11 @@ import org.apache.fineract.batch.domain.BatchResponse;
 import org.apache.fineract.batch.exception.ErrorHandler;
 import org.apache.fineract.batch.exception.ErrorInfo;
 import org.apache.fineract.batch.service.ResolutionHelper.BatchRequestNode;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.exception.PlatformInternalServerException;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.TenantAwareCallable;
+import org.apache.fineract.infrastructure.core.service.TenantAwareExecutors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.NonTransientDataAccessException;
 import org.springframework.stereotype.Service;
@@ -62,8 +77,27 @@ public class BatchApiServiceImpl implements BatchApiService {
     private final CommandStrategyProvider strategyProvider;
     private final ResolutionHelper resolutionHelper;
     private final TransactionTemplate transactionTemplate;
+    private final ConfigurationDomainService configurationDomainService;
+    private final RoutingDataSource dataSource;
+    private final ThreadPoolExecutor batchWorkers;
     private List<BatchResponse> checkList = new ArrayList<>();
 
+    /**
+     * Upper bound on the batch workers of this node, shared by all tenants and
+     * parallel batch calls. When all of them are busy and the queue is full the
+     * request thread processes its trees itself.
+     */
+    private static final int MAX_BATCH_WORKERS = 4 * Runtime.getRuntime().availableProcessors();
+    private static final int BATCH_QUEUE_CAPACITY = 100;
+
+    private static final Comparator<BatchResponse> requestIdComparator = new Comparator<BatchResponse>() {
+
+        @Override
+        public int compare(BatchResponse source, BatchResponse testee) {
+            return source.getRequestId().compareTo(testee.getRequestId());
+        }
+    };
+
     /**
      * Constructs a 'BatchApiServiceImpl' with an argument of
      * {@link org.apache.fineract.batch.command.CommandStrategyProvider} type.
@@ -71,13 +105,31 @@ public class BatchApiServiceImpl implements BatchApiService {
      * @param strategyProvider
      * @param resolutionHelper
      * @param transactionTemplate
+     * @param configurationDomainService
+     * @param dataSource
      */
     @Autowired
     public BatchApiServiceImpl(final CommandStrategyProvider strategyProvider, final ResolutionHelper resolutionHelper,
-            final TransactionTemplate transactionTemplate) {
+            final TransactionTemplate transactionTemplate, final ConfigurationDomainService configurationDomainService,
+            final RoutingDataSource dataSource) {
         this.strategyProvider = strategyProvider;
         this.resolutionHelper = resolutionHelper;
         this.transactionTemplate = transactionTemplate;
+        this.configurationDomainService = configurationDomainService;
+        this.dataSource = dataSource;
+        this.batchWorkers = new ThreadPoolExecutor(MAX_BATCH_WORKERS, MAX_BATCH_WORKERS, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(BATCH_QUEUE_CAPACITY), new ThreadFactory() {
+
+                    private final AtomicInteger threadNumber = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(final Runnable runnable) {
+                        final Thread thread = new Thread(runnable, "batch-api-worker-" + this.threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.batchWorkers.allowCoreThreadTimeOut(true);
     }
 
     /**
@@ -106,19 +158,102 @@ public class BatchApiServiceImpl implements BatchApiService {
             responseList.addAll(this.processChildRequests(rootNode, rootResponse, uriInfo));
         }
 
-        Collections.sort(responseList, new Comparator<BatchResponse>() {
-
-            @Override
-            public int compare(BatchResponse source, BatchResponse testee) {
-                return source.getRequestId().compareTo(testee.getRequestId());
-            }
-        });
+        Collections.sort(responseList, requestIdComparator);
 
         checkList = responseList;
         return responseList;
 
     }
 
+    /**
+     * Processes the root {@link BatchRequestNode}s together with their children
+     * on the shared worker pool, so that independent request trees are
+     * processed concurrently. At most as many workers as the batch thread pool
+     * size allows take trees from the batch; within a tree a child still runs
+     * only after its parent and is resolved against the parent's response.
+     * 
+     * @param requestList
+     * @param uriInfo
+     * @return List<BatchResponse>
+     */
+    private List<BatchResponse> handleBatchRequestsInParallel(final List<BatchRequest> requestList, final UriInfo uriInfo) {
+
+        final List<BatchRequestNode> batchRequestNodes = this.resolutionHelper.getDependingRequests(requestList);
+        final int parallelism = TenantAwareExecutors.poolSizeForCurrentTenant(this.dataSource,
+                Math.min(this.configurationDomainService.retrieveBatchApiThreadPoolSize(), batchRequestNodes.size()));
+
+        final Queue<BatchRequestNode> pendingTrees = new ConcurrentLinkedQueue<>(batchRequestNodes);
+        final List<Future<List<BatchResponse>>> workers = new ArrayList<>(parallelism);
+        try {
+            for (int i = 0; i < parallelism; i++) {
+                workers.add(this.batchWorkers.submit(new TenantAwareCallable<List<BatchResponse>>() {
+
+                    @Override
+                    protected List<BatchResponse> doCall() {
+                        final List<BatchResponse> responseList = new ArrayList<>();
+                        BatchRequestNode rootNode;
+                        while ((rootNode = pendingTrees.poll()) != null) {
+                            responseList.addAll(processRequestTree(rootNode, uriInfo));
+                        }
+                        return responseList;
+                    }
+                }));
+            }
+
+            final List<BatchResponse> responseList = new ArrayList<>(requestList.size());
+            for (final Future<List<BatchResponse>> worker : workers) {
+                try {
+                    responseList.addAll(worker.get());
+                } catch (final ExecutionException e) {
+                    final Throwable realCause = e.getCause() == null ? e : e.getCause();
+                    throw new PlatformInternalServerException("error.msg.batch.request.tree.failed",
+                            "Batch request tree failed with message " + realCause.getMessage(), realCause.getMessage());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new PlatformInternalServerException("error.msg.batch.interrupted", "Batch request processing was interrupted");
+                }
+            }
+
+            Collections.sort(responseList, requestIdComparator);
+            return responseList;
+        } finally {
+            // only has an effect when the batch failed part way
+            pendingTrees.clear();
+            for (final Future<List<BatchResponse>> worker : workers) {
+                worker.cancel(true);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.batchWorkers.shutdownNow();
+    }
+
+    private List<BatchResponse> processRequestTree(final BatchRequestNode rootNode, final UriInfo uriInfo) {
+
+        final List<BatchResponse> responseList = new ArrayList<>();
+        final BatchRequest rootRequest = rootNode.getRequest();
+        BatchResponse rootResponse;
+        try {
+            final CommandStrategy commandStrategy = this.strategyProvider.getCommandStrategy(CommandContext
+                    .resource(rootRequest.getRelativeUrl()).method(rootRequest.getMethod()).build());
+            rootResponse = commandStrategy.execute(rootRequest, uriInfo);
+        } catch (final RuntimeException ex) {
+            // keep a failing tree from taking the other trees of the batch
+            // with it; its children are answered with a conflict
+            final ErrorInfo e = ErrorHandler.handler(ex);
+            rootResponse = new BatchResponse();
+            rootResponse.setRequestId(rootRequest.getRequestId());
+            rootResponse.setStatusCode(e.getStatusCode());
+            rootResponse.setBody(e.getMessage());
+        }
+
+        responseList.add(rootResponse);
+        responseList.addAll(this.processChildRequests(rootNode, rootResponse, uriInfo));
+        return responseList;
+    }
+
     private List<BatchResponse> processChildRequests(final BatchRequestNode rootRequest, BatchResponse rootResponse, UriInfo uriInfo) {
 
         final List<BatchResponse> childResponses = new ArrayList<>();
@@ -173,6 +308,13 @@ public class BatchApiServiceImpl implements BatchApiService {
         return handleBatchRequests(requestList, uriInfo);
     }
 
+    @Override
+    public List<BatchResponse> handleBatchRequestsInParallelWithoutEnclosingTransaction(final List<BatchRequest> requestList,
+            final UriInfo uriInfo) {
+
+        return handleBatchRequestsInParallel(requestList, uriInfo);
+    }
+
     @Override
     public List<BatchResponse> handleBatchRequestsWithEnclosingTransaction(final List<BatchRequest> requestList, final UriInfo uriInfo) {
 
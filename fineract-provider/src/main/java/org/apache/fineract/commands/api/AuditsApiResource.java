@@ -89,10 +89,13 @@ public class AuditsApiResource {
             @QueryParam("groupId") final Integer groupId, @QueryParam("clientId") final Integer clientId,
             @QueryParam("loanid") final Integer loanId, @QueryParam("savingsAccountId") final Integer savingsAccountId,
             @QueryParam("paged") final Boolean paged, @QueryParam("offset") final Integer offset, @QueryParam("limit") final Integer limit,
-            @QueryParam("orderBy") final String orderBy, @QueryParam("sortOrder") final String sortOrder) {
+            @QueryParam("orderBy") final String orderBy, @QueryParam("sortOrder") final String sortOrder,
+            @QueryParam("keyset") final Boolean keyset, @QueryParam("continuationToken") final String continuationToken,
+            @QueryParam("countTotal") final Boolean countTotal) {
 
         this.context.authenticatedUser().validateHasReadPermission(this.resourceNameForPermissions);
-        final PaginationParameters parameters = PaginationParameters.instance(paged, offset, limit, orderBy, sortOrder);
+        final PaginationParameters parameters = PaginationParameters.instance(paged, offset, limit, orderBy, sortOrder)
+                .withKeysetPagination(keyset, continuationToken, countTotal);
         final String extraCriteria = getExtraCriteria(actionName, entityName, resourceId, makerId, makerDateTimeFrom, makerDateTimeTo,
                 checkerId, checkerDateTimeFrom, checkerDateTimeTo, processingResult, officeId, groupId, clientId, loanId, savingsAccountId);
 
@@ -23,6 +23,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +38,7 @@ import org.apache.fineract.infrastructure.core.data.PaginationParametersDataVali
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.core.service.KeysetPagination;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
@@ -79,6 +81,17 @@ public class AuditReadPlatformServiceImpl implements AuditReadPlatformService {
             Arrays.asList("id", "actionName", "entityName", "resourceId", "subresourceId", "madeOnDate", "checkedOnDate", "officeName",
                     "groupName", "clientName", "loanAccountNo", "savingsAccountNo", "clientId", "loanId"));
 
+    private final static Map<String, String> keysetSortColumns = new HashMap<>();
+
+    static {
+        keysetSortColumns.put("id", "aud.id");
+        keysetSortColumns.put("madeOnDate", "aud.made_on_date");
+        keysetSortColumns.put("checkedOnDate", "aud.checked_on_date");
+        keysetSortColumns.put("resourceId", "aud.resource_id");
+        keysetSortColumns.put("clientId", "aud.client_id");
+        keysetSortColumns.put("loanId", "aud.loan_id");
+    }
+
     private final JdbcTemplate jdbcTemplate;
     private final PlatformSecurityContext context;
     private final FromJsonHelper fromApiJsonHelper;
@@ -208,6 +221,17 @@ public class AuditReadPlatformServiceImpl implements AuditReadPlatformService {
 
         final AuditMapper rm = new AuditMapper();
         final StringBuilder sqlBuilder = new StringBuilder(200);
+        if (parameters.isKeysetPaged()) {
+            final KeysetPagination keysetPagination = KeysetPagination.from(parameters, "audits", "aud.id", keysetSortColumns, "id",
+                    "DESC");
+            sqlBuilder.append("select ").append(keysetPagination.selectSql());
+            sqlBuilder.append(rm.schema(includeJson, hierarchy));
+            sqlBuilder.append(' ').append(updatedExtraCriteria);
+            sqlBuilder.append(keysetPagination.predicateSql(StringUtils.isBlank(updatedExtraCriteria) ? " where " : " and "));
+            sqlBuilder.append(keysetPagination.orderByAndLimitSql());
+            return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), new Object[] {}, rm, keysetPagination);
+        }
+
         sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
         sqlBuilder.append(rm.schema(includeJson, hierarchy));
         sqlBuilder.append(' ').append(updatedExtraCriteria);
@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.commands.service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.fineract.commands.domain.CommandSource;
@@ -33,15 +35,21 @@ import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.hooks.domain.HookDelivery;
 import org.apache.fineract.infrastructure.hooks.event.HookEvent;
 import org.apache.fineract.infrastructure.hooks.event.HookEventSource;
+import org.apache.fineract.infrastructure.hooks.service.HookDeliveryService;
+import org.apache.fineract.infrastructure.hooks.service.HookSubscriptionRegistry;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.portfolio.search.service.SearchIndexWritePlatformService;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.joda.time.DateTime;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class SynchronousCommandProcessingService implements CommandProcessingService {
@@ -53,13 +61,18 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     private CommandSourceRepository commandSourceRepository;
     private final ConfigurationDomainService configurationDomainService;
     private final CommandHandlerProvider commandHandlerProvider;
+    private final SearchIndexWritePlatformService searchIndexWritePlatformService;
+    private final HookSubscriptionRegistry hookSubscriptionRegistry;
+    private final HookDeliveryService hookDeliveryService;
 
     @Autowired
     public SynchronousCommandProcessingService(final PlatformSecurityContext context, final ApplicationContext applicationContext,
             final ToApiJsonSerializer<Map<String, Object>> toApiJsonSerializer,
             final ToApiJsonSerializer<CommandProcessingResult> toApiResultJsonSerializer,
             final CommandSourceRepository commandSourceRepository, final ConfigurationDomainService configurationDomainService,
-            final CommandHandlerProvider commandHandlerProvider) {
+            final CommandHandlerProvider commandHandlerProvider,
+            final SearchIndexWritePlatformService searchIndexWritePlatformService,
+            final HookSubscriptionRegistry hookSubscriptionRegistry, final HookDeliveryService hookDeliveryService) {
         this.context = context;
         this.context = context;
         this.applicationContext = applicationContext;
@@ -69,6 +82,9 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         this.commandSourceRepository = commandSourceRepository;
         this.configurationDomainService = configurationDomainService;
         this.commandHandlerProvider = commandHandlerProvider;
+        this.searchIndexWritePlatformService = searchIndexWritePlatformService;
+        this.hookSubscriptionRegistry = hookSubscriptionRegistry;
+        this.hookDeliveryService = hookDeliveryService;
     }
 
     @Transactional
@@ -126,6 +142,8 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         }
         result.setRollbackTransaction(null);
 
+        this.searchIndexWritePlatformService.updateIndexForCommand(wrapper.entityName(), wrapper.actionName(), result);
+
         publishEvent(wrapper.entityName(), wrapper.actionName(), result);
 
         return result;
@@ -209,6 +227,10 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
 
     private void publishEvent(final String entityName, final String actionName, final CommandProcessingResult result) {
 
+        // most commands have no hook listening, skip serializing the result
+        // and handing the event to a new thread
+        if (!this.hookSubscriptionRegistry.hasSubscribers(entityName, actionName)) { return; }
+
         final String authToken = ThreadLocalContextUtil.getAuthToken();
         final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
         final AppUser appUser = this.context.authenticatedUser(CommandWrapper.wrap(actionName, 
@@ -218,8 +240,33 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
 
         final String serializedResult = this.toApiResultJsonSerializer.serialize(result);
 
-        final HookEvent applicationEvent = new HookEvent(hookEventSource, serializedResult, tenantIdentifier, appUser, authToken);
+        // the outbox entries of web hooks are part of the command transaction,
+        // so they are only there for commands that were committed
+        final List<HookDelivery> deliveries = this.hookDeliveryService.enqueue(entityName, actionName, serializedResult);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCommit() {
+                    publishHookEvent(hookEventSource, serializedResult, tenantIdentifier, appUser, authToken, deliveries);
+                }
+            });
+        } else {
+            publishHookEvent(hookEventSource, serializedResult, tenantIdentifier, appUser, authToken, deliveries);
+        }
+    }
+
+    private void publishHookEvent(final HookEventSource hookEventSource, final String serializedResult, final String tenantIdentifier,
+            final AppUser appUser, final String authToken, final List<HookDelivery> deliveries) {
+        final List<Long> deliveryIds = new ArrayList<>(deliveries.size());
+        for (final HookDelivery delivery : deliveries) {
+            deliveryIds.add(delivery.getId());
+        }
+
+        final HookEvent applicationEvent = new HookEvent(hookEventSource, serializedResult, tenantIdentifier, appUser, authToken,
+                deliveryIds);
 
-        applicationContext.publishEvent(applicationEvent);
+        this.applicationContext.publishEvent(applicationEvent);
     }
 }
@@ -0,0 +1,143 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.CacheConfiguration.CacheEventListenerFactoryConfiguration;
+import net.sf.ehcache.config.Configuration;
+import net.sf.ehcache.config.FactoryConfiguration;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.cache.ehcache.EhCacheCacheManager;
+
+/**
+ * Builds the {@link EhCacheCacheManager} behind the multi node cache type.
+ * 
+ * Every cache of the single node configuration is mirrored, with its size,
+ * expiry and eviction policy, and replicated
+ * over RMI by invalidation: updates and removals on one node evict the key on
+ * its peers while puts stay local, so cached values never travel between
+ * nodes and do not need to be serializable.
+ * 
+ * Peers are configured through system properties prefixed with
+ * <code>fineract.cache.</code>. By default nodes find each other with
+ * multicast, setting <code>fineract.cache.peers</code> to a comma separated
+ * list of <code>host:port</code> switches to a fixed peer group.
+ */
+public final class ReplicatedEhCacheManagerFactory {
+
+    public static final String SYSTEM_PROPERTY_PREFIX = "fineract.cache.";
+
+    public static final String NAME = "name";
+    public static final String PEERS = "peers";
+    public static final String MULTICAST_GROUP_ADDRESS = "multicastGroupAddress";
+    public static final String MULTICAST_GROUP_PORT = "multicastGroupPort";
+    public static final String TIME_TO_LIVE = "timeToLive";
+    public static final String LISTENER_HOST_NAME = "listenerHostName";
+    public static final String LISTENER_PORT = "listenerPort";
+    public static final String REPLICATE_ASYNCHRONOUSLY = "replicateAsynchronously";
+
+    private static final String PEER_PROVIDER_FACTORY = "net.sf.ehcache.distribution.RMICacheManagerPeerProviderFactory";
+    private static final String PEER_LISTENER_FACTORY = "net.sf.ehcache.distribution.RMICacheManagerPeerListenerFactory";
+    private static final String REPLICATOR_FACTORY = "net.sf.ehcache.distribution.RMICacheReplicatorFactory";
+
+    private ReplicatedEhCacheManagerFactory() {
+        //
+    }
+
+    /**
+     * Reads the <code>fineract.cache.*</code> system properties with the
+     * prefix stripped.
+     */
+    public static Properties systemProperties() {
+        final Properties properties = new Properties();
+        for (final String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(SYSTEM_PROPERTY_PREFIX)) {
+                properties.setProperty(name.substring(SYSTEM_PROPERTY_PREFIX.length()), System.getProperty(name));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * @param template
+     *            the single node cache manager whose caches are mirrored
+     * @param properties
+     *            peer group settings, see the constants of this class
+     */
+    @SuppressWarnings("rawtypes")
+    public static EhCacheCacheManager create(final net.sf.ehcache.CacheManager template, final Properties properties) {
+
+        final String[] cacheNames = template.getCacheNames();
+
+        final Configuration configuration = new Configuration().name(properties.getProperty(NAME, "fineractReplicatedCache"));
+        configuration.setUpdateCheck(false);
+        configuration.addCacheManagerPeerProviderFactory(new FactoryConfiguration().className(PEER_PROVIDER_FACTORY)
+                .properties(peerProviderProperties(properties, cacheNames)).propertySeparator(","));
+        configuration.addCacheManagerPeerListenerFactory(new FactoryConfiguration().className(PEER_LISTENER_FACTORY)
+                .properties(peerListenerProperties(properties)).propertySeparator(","));
+        configuration.addDefaultCache(new CacheConfiguration("default", 100).eternal(true));
+
+        final String replicatorProperties = "replicateAsynchronously=" + properties.getProperty(REPLICATE_ASYNCHRONOUSLY, "true")
+                + ",replicatePuts=false,replicatePutsViaCopy=false,replicateUpdates=true,replicateUpdatesViaCopy=false,replicateRemovals=true";
+        for (final String cacheName : cacheNames) {
+            final CacheConfiguration source = template.getCache(cacheName).getCacheConfiguration();
+            final CacheConfiguration cacheConfiguration = new CacheConfiguration(cacheName, (int) source.getMaxEntriesLocalHeap())
+                    .eternal(source.isEternal()).timeToLiveSeconds(source.getTimeToLiveSeconds())
+                    .timeToIdleSeconds(source.getTimeToIdleSeconds()).memoryStoreEvictionPolicy(source.getMemoryStoreEvictionPolicy());
+            cacheConfiguration.addCacheEventListenerFactory(new CacheEventListenerFactoryConfiguration().className(REPLICATOR_FACTORY)
+                    .properties(replicatorProperties).propertySeparator(","));
+            configuration.addCache(cacheConfiguration);
+        }
+
+        final EhCacheCacheManager cacheManager = new EhCacheCacheManager(new net.sf.ehcache.CacheManager(configuration));
+        cacheManager.afterPropertiesSet();
+        return cacheManager;
+    }
+
+    private static String peerProviderProperties(final Properties properties, final String[] cacheNames) {
+        final String peers = properties.getProperty(PEERS);
+        if (StringUtils.isBlank(peers)) {
+            return "peerDiscovery=automatic,multicastGroupAddress=" + properties.getProperty(MULTICAST_GROUP_ADDRESS, "230.0.0.1")
+                    + ",multicastGroupPort=" + properties.getProperty(MULTICAST_GROUP_PORT, "4446") + ",timeToLive="
+                    + properties.getProperty(TIME_TO_LIVE, "1");
+        }
+        final List<String> rmiUrls = new ArrayList<>();
+        for (final String peer : StringUtils.split(peers, ',')) {
+            for (final String cacheName : cacheNames) {
+                rmiUrls.add("//" + peer.trim() + "/" + cacheName);
+            }
+        }
+        return "peerDiscovery=manual,rmiUrls=" + StringUtils.join(rmiUrls, '|');
+    }
+
+    private static String peerListenerProperties(final Properties properties) {
+        final StringBuilder listenerProperties = new StringBuilder("port=").append(properties.getProperty(LISTENER_PORT, "40001"))
+                .append(",socketTimeoutMillis=2000");
+        final String hostName = properties.getProperty(LISTENER_HOST_NAME);
+        if (StringUtils.isNotBlank(hostName)) {
+            listenerProperties.append(",hostName=").append(hostName);
+        }
+        return listenerProperties.toString();
+    }
+}
@@ -23,6 +23,8 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.annotation.PreDestroy;
+
 import org.apache.fineract.infrastructure.cache.CacheApiConstants;
 import org.apache.fineract.infrastructure.cache.CacheEnumerations;
 import org.apache.fineract.infrastructure.cache.data.CacheData;
@@ -42,13 +44,17 @@ import org.springframework.stereotype.Component;
  * By default it is {@link NoOpCacheManager} but we can change that by checking
  * some persisted configuration in the database on startup and allow user to
  * switch implementation through UI/API
+ * 
+ * The multi node cache is only built, and its peer listener only opened, the
+ * first time it is switched to.
  */
 @Component(value = "runtimeDelegatingCacheManager")
 public class RuntimeDelegatingCacheManager implements CacheManager {
 
     private final EhCacheCacheManager ehcacheCacheManager;
     private final CacheManager noOpCacheManager = new NoOpCacheManager();
-    private CacheManager currentCacheManager;
+    private EhCacheCacheManager distributedCacheManager;
+    private volatile CacheManager currentCacheManager;
 
     @Autowired
     public RuntimeDelegatingCacheManager(final EhCacheCacheManager ehCacheCacheManager) {
@@ -69,30 +75,28 @@ public class RuntimeDelegatingCacheManager implements CacheManager {
     public Collection<CacheData> retrieveAll() {
 
         final boolean noCacheEnabled = this.currentCacheManager instanceof NoOpCacheManager;
-        final boolean ehcacheEnabled = this.currentCacheManager instanceof EhCacheCacheManager;
-
-        // final boolean distributedCacheEnabled = false;
+        final boolean ehcacheEnabled = this.currentCacheManager == this.ehcacheCacheManager;
+        final boolean distributedCacheEnabled = this.distributedCacheManager != null
+                && this.currentCacheManager == this.distributedCacheManager;
 
         final EnumOptionData noCacheType = CacheEnumerations.cacheType(CacheType.NO_CACHE);
         final EnumOptionData singleNodeCacheType = CacheEnumerations.cacheType(CacheType.SINGLE_NODE);
-        // final EnumOptionData multiNodeCacheType =
-        // CacheEnumerations.cacheType(CacheType.MULTI_NODE);
+        final EnumOptionData multiNodeCacheType = CacheEnumerations.cacheType(CacheType.MULTI_NODE);
 
         final CacheData noCache = CacheData.instance(noCacheType, noCacheEnabled);
         final CacheData singleNodeCache = CacheData.instance(singleNodeCacheType, ehcacheEnabled);
-        // final CacheData distributedCache =
-        // CacheData.instance(multiNodeCacheType, distributedCacheEnabled);
+        final CacheData distributedCache = CacheData.instance(multiNodeCacheType, distributedCacheEnabled);
 
-        final Collection<CacheData> caches = Arrays.asList(noCache, singleNodeCache);
+        final Collection<CacheData> caches = Arrays.asList(noCache, singleNodeCache, distributedCache);
         return caches;
     }
 
-    public Map<String, Object> switchToCache(final boolean ehcacheEnabled, final CacheType toCacheType) {
+    public synchronized Map<String, Object> switchToCache(final boolean ehcacheEnabled, final boolean distributedCacheEnabled,
+            final CacheType toCacheType) {
 
         final Map<String, Object> changes = new HashMap<>();
 
-        final boolean noCacheEnabled = !ehcacheEnabled;
-        final boolean distributedCacheEnabled = !ehcacheEnabled;
+        final boolean noCacheEnabled = !ehcacheEnabled && !distributedCacheEnabled;
 
         switch (toCacheType) {
             case INVALID:
@@ -114,13 +118,36 @@ public class RuntimeDelegatingCacheManager implements CacheManager {
                 if (!distributedCacheEnabled) {
                     changes.put(CacheApiConstants.cacheTypeParameter, toCacheType.getValue());
                 }
+                final EhCacheCacheManager cacheManager = distributedCacheManager();
+                if (this.currentCacheManager != cacheManager) {
+                    // entries may have gone stale on this node while it was
+                    // not receiving invalidations from its peers
+                    cacheManager.getCacheManager().clearAll();
+                }
+                this.currentCacheManager = cacheManager;
             break;
         }
 
         return changes;
     }
 
+    private EhCacheCacheManager distributedCacheManager() {
+        if (this.distributedCacheManager == null) {
+            this.distributedCacheManager = ReplicatedEhCacheManagerFactory.create(this.ehcacheCacheManager.getCacheManager(),
+                    ReplicatedEhCacheManagerFactory.systemProperties());
+        }
+        return this.distributedCacheManager;
+    }
+
     private void clearEhCache() {
         this.ehcacheCacheManager.getCacheManager().clearAll();
     }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (this.distributedCacheManager != null) {
+            this.distributedCacheManager.getCacheManager().shutdown();
+            this.distributedCacheManager = null;
+        }
+    }
 }
\ No newline at end of file
@@ -31,6 +31,7 @@ import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
+import org.apache.fineract.infrastructure.dataqueries.service.DatatableMetadataCache;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,16 +51,18 @@ public class CodeValueWritePlatformServiceJpaRepositoryImpl implements CodeValue
     private final CodeValueRepository codeValueRepository;
     private final CodeRepository codeRepository;
     private final CodeValueCommandFromApiJsonDeserializer fromApiJsonDeserializer;
+    private final DatatableMetadataCache datatableMetadataCache;
 
     @Autowired
     public CodeValueWritePlatformServiceJpaRepositoryImpl(final PlatformSecurityContext context, final CodeRepository codeRepository,
             final CodeValueRepositoryWrapper codeValueRepositoryWrapper, final CodeValueRepository codeValueRepository,
-            final CodeValueCommandFromApiJsonDeserializer fromApiJsonDeserializer) {
+            final CodeValueCommandFromApiJsonDeserializer fromApiJsonDeserializer, final DatatableMetadataCache datatableMetadataCache) {
         this.context = context;
         this.codeRepository = codeRepository;
         this.codeValueRepositoryWrapper = codeValueRepositoryWrapper;
         this.codeValueRepository = codeValueRepository;
         this.fromApiJsonDeserializer = fromApiJsonDeserializer;
+        this.datatableMetadataCache = datatableMetadataCache;
     }
 
     @Transactional
@@ -79,6 +82,7 @@ public class CodeValueWritePlatformServiceJpaRepositoryImpl implements CodeValue
             }
             final CodeValue codeValue = CodeValue.fromJson(code, command);
             this.codeValueRepository.save(codeValue);
+            this.datatableMetadataCache.invalidate();
 
             return new CommandProcessingResultBuilder() //
                     .withCommandId(command.commandId()) //
@@ -125,6 +129,7 @@ public class CodeValueWritePlatformServiceJpaRepositoryImpl implements CodeValue
 
             if (!changes.isEmpty()) {
                 this.codeValueRepository.saveAndFlush(codeValue);
+                this.datatableMetadataCache.invalidate();
             }
 
             return new CommandProcessingResultBuilder() //
@@ -157,6 +162,7 @@ public class CodeValueWritePlatformServiceJpaRepositoryImpl implements CodeValue
             final boolean removed = code.remove(codeValueToDelete);
             if (removed) {
                 this.codeRepository.saveAndFlush(code);
+                this.datatableMetadataCache.invalidate();
             }
 
             return new CommandProcessingResultBuilder() //
@@ -32,6 +32,7 @@ import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
+import org.apache.fineract.infrastructure.dataqueries.service.DatatableMetadataCache;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,13 +50,15 @@ public class CodeWritePlatformServiceJpaRepositoryImpl implements CodeWritePlatf
     private final PlatformSecurityContext context;
     private final CodeRepository codeRepository;
     private final CodeCommandFromApiJsonDeserializer fromApiJsonDeserializer;
+    private final DatatableMetadataCache datatableMetadataCache;
 
     @Autowired
     public CodeWritePlatformServiceJpaRepositoryImpl(final PlatformSecurityContext context, final CodeRepository codeRepository,
-            final CodeCommandFromApiJsonDeserializer fromApiJsonDeserializer) {
+            final CodeCommandFromApiJsonDeserializer fromApiJsonDeserializer, final DatatableMetadataCache datatableMetadataCache) {
         this.context = context;
         this.codeRepository = codeRepository;
         this.fromApiJsonDeserializer = fromApiJsonDeserializer;
+        this.datatableMetadataCache = datatableMetadataCache;
     }
 
     @Transactional
@@ -97,6 +100,8 @@ public class CodeWritePlatformServiceJpaRepositoryImpl implements CodeWritePlatf
 
             if (!changes.isEmpty()) {
                 this.codeRepository.save(code);
+                // datatable columns refer to codes by name
+                this.datatableMetadataCache.invalidate();
             }
 
             return new CommandProcessingResultBuilder() //
@@ -126,6 +131,7 @@ public class CodeWritePlatformServiceJpaRepositoryImpl implements CodeWritePlatf
 
         try {
             this.codeRepository.delete(code);
+            this.datatableMetadataCache.invalidate();
             this.codeRepository.flush();
         } catch (final DataIntegrityViolationException e) {
             throw new PlatformDataIntegrityException("error.msg.cund.unknown.data.integrity.issue",
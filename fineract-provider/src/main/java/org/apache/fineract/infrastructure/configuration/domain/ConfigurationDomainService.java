@@ -40,6 +40,8 @@ public interface ConfigurationDomainService {
 
     boolean isEhcacheEnabled();
 
+    boolean isDistributedCacheEnabled();
+
     void updateCache(CacheType cacheType);
 
     Long retrievePenaltyWaitPeriod();
@@ -84,6 +86,32 @@ public interface ConfigurationDomainService {
     
     Long getDailyTPTLimit();
 
+    boolean isAsyncBusinessEventDispatchEnabled();
+
     void removeGlobalConfigurationPropertyDataFromCache(String propertyName);
+
+    void removeMakerCheckerPermissionsFromCache();
+
+    Integer retrieveSavingsInterestPostingThreadPoolSize();
+
+    Integer retrieveSavingsInterestPostingBatchSize();
+
+    Integer retrieveOverdueChargesThreadPoolSize();
+
+    Integer retrieveOverdueChargesBatchSize();
+
+    Integer retrieveInterestRecalculationThreadPoolSize();
+
+    Integer retrieveReportExportFetchSize();
+
+    boolean isSavingsIncrementalBalanceUpdateEnabled();
+
+    Integer retrieveBatchApiThreadPoolSize();
+
+    Integer retrieveHookDeliveryMaxAttempts();
+
+    Integer retrieveHookDeliveryRetryIntervalInSeconds();
+
+    boolean isSearchIndexEnabled();
     
 }
\ No newline at end of file
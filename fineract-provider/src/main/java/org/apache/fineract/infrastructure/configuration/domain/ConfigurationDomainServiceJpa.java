@@ -20,7 +20,12 @@ package org.apache.fineract.infrastructure.configuration.domain;
 
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.fineract.infrastructure.cache.domain.CacheType;
@@ -34,14 +39,30 @@ import org.apache.fineract.useradministration.exception.PermissionNotFoundExcept
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class ConfigurationDomainServiceJpa implements ConfigurationDomainService {
 
+    /**
+     * Configuration and permissions changed through another node are only
+     * seen by this one after the snapshot is reloaded, so it is not kept for
+     * longer than this.
+     */
+    private static final long REFRESH_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
     private final PermissionRepository permissionRepository;
     private final GlobalConfigurationRepositoryWrapper globalConfigurationRepository;
     private final PlatformCacheRepository cacheTypeRepository;
-    private static Map<String, GlobalConfigurationPropertyData> configurations = new HashMap<>();
+
+    /**
+     * Per tenant snapshot of <code>c_configuration</code> and of the maker
+     * checker flag of every permission, replaced as a whole whenever either
+     * of them is changed.
+     */
+    private final ConcurrentMap<String, ConfigurationSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> snapshotVersions = new ConcurrentHashMap<>();
 
     @Autowired
     public ConfigurationDomainServiceJpa(final PermissionRepository permissionRepository,
@@ -55,13 +76,17 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
     public boolean isMakerCheckerEnabledForTask(final String taskPermissionCode) {
         if (StringUtils.isBlank(taskPermissionCode)) { throw new PermissionNotFoundException(taskPermissionCode); }
 
-        final Permission thisTask = this.permissionRepository.findOneByCode(taskPermissionCode);
-        if (thisTask == null) { throw new PermissionNotFoundException(taskPermissionCode); }
+        Boolean makerCheckerEnabledForTask = snapshot().makerCheckerEnabledByPermissionCode.get(taskPermissionCode);
+        if (makerCheckerEnabledForTask == null) {
+            final Permission thisTask = this.permissionRepository.findOneByCode(taskPermissionCode);
+            if (thisTask == null) { throw new PermissionNotFoundException(taskPermissionCode); }
+            makerCheckerEnabledForTask = thisTask.hasMakerCheckerEnabled();
+        }
 
         final String makerCheckerConfigurationProperty = "maker-checker";
         final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(makerCheckerConfigurationProperty);
 
-        return thisTask.hasMakerCheckerEnabled() && property.isEnabled();
+        return makerCheckerEnabledForTask && property.isEnabled();
     }
 
     @Override
@@ -115,6 +140,11 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
         return this.cacheTypeRepository.findOne(Long.valueOf(1)).isEhcacheEnabled();
     }
 
+    @Override
+    public boolean isDistributedCacheEnabled() {
+        return this.cacheTypeRepository.findOne(Long.valueOf(1)).isDistributedCacheEnabled();
+    }
+
     @Transactional
     @Override
     public void updateCache(final CacheType cacheType) {
@@ -281,19 +311,205 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
 	}
 
     @Override
-    public void removeGlobalConfigurationPropertyDataFromCache(final String propertyName) {
-        String identifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
-        String key = identifier + "_" + propertyName;
-        configurations.remove(key);
+    public Integer retrieveSavingsInterestPostingThreadPoolSize() {
+        final String propertyName = "savings-interest-posting-thread-pool-size";
+        final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(propertyName);
+        if (property.isEnabled() && property.getValue() != null && property.getValue() > 0) { return property.getValue().intValue(); }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public Integer retrieveSavingsInterestPostingBatchSize() {
+        final String propertyName = "savings-interest-posting-batch-size";
+        int defaultValue = 500;
+        final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(propertyName);
+        if (property.isEnabled() && property.getValue() != null && property.getValue() > 0) { return property.getValue().intValue(); }
+        return defaultValue;
+    }
+
+    @Override
+    public Integer retrieveOverdueChargesThreadPoolSize() {
+        final String propertyName = "overdue-charges-thread-pool-size";
+        final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(propertyName);
+        if (property.isEnabled() && property.getValue() != null && property.getValue() > 0) { return property.getValue().intValue(); }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public Integer retrieveOverdueChargesBatchSize() {
+        final String propertyName = "overdue-charges-batch-size";
+        int defaultValue = 100;
+        final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(propertyName);
+        if (property.isEnabled() && property.getValue() != null && property.getValue() > 0) { return property.getValue().intValue(); }
+        return defaultValue;
+    }
+
+    @Override
+    public Integer retrieveInterestRecalculationThreadPoolSize() {
+        final String propertyName = "interest-recalculation-thread-pool-size";
+        final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(propertyName);
+        if (property.isEnabled() && property.getValue() != null && property.getValue() > 0) { return property.getValue().intValue(); }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public Integer retrieveReportExportFetchSize() {
+        final String propertyName = "report-export-fetch-size";
+        int defaultValue = 0;
+        final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(propertyName);
+        if (property.isEnabled() && property.getValue() != null && property.getValue() > 0) { return property.getValue().intValue(); }
+        return defaultValue;
+    }
+
+    @Override
+    public boolean isSavingsIncrementalBalanceUpdateEnabled() {
+        final String propertyName = "savings-incremental-balance-update";
+        final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(propertyName);
+        return property.isEnabled();
+    }
+
+    @Override
+    public Integer retrieveBatchApiThreadPoolSize() {
+        final String propertyName = "batch-api-thread-pool-size";
+        int defaultValue = 4;
+        final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(propertyName);
+        if (property.isEnabled() && property.getValue() != null && property.getValue() > 0) { return property.getValue().intValue(); }
+        return defaultValue;
+    }
+
+    @Override
+    public Integer retrieveHookDeliveryMaxAttempts() {
+        final String propertyName = "hook-delivery-max-attempts";
+        final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(propertyName);
+        if (property.isEnabled() && property.getValue() != null && property.getValue() > 0) { return property.getValue().intValue(); }
+        return 8;
+    }
+
+    @Override
+    public Integer retrieveHookDeliveryRetryIntervalInSeconds() {
+        final String propertyName = "hook-delivery-retry-interval";
+        final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(propertyName);
+        if (property.isEnabled() && property.getValue() != null && property.getValue() > 0) { return property.getValue().intValue(); }
+        return 60;
+    }
+
+    @Override
+    public boolean isSearchIndexEnabled() {
+        final String propertyName = "search-index";
+        final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(propertyName);
+        return property.isEnabled();
+    }
+
+    @Override
+    public boolean isAsyncBusinessEventDispatchEnabled() {
+        final String propertyName = "async-business-event-dispatch";
+        final GlobalConfigurationPropertyData property = getGlobalConfigurationPropertyData(propertyName);
+        return property.isEnabled();
+    }
+
+    @Override
+    public void removeGlobalConfigurationPropertyDataFromCache(@SuppressWarnings("unused") final String propertyName) {
+        invalidateSnapshot();
+    }
+
+    @Override
+    public void removeMakerCheckerPermissionsFromCache() {
+        invalidateSnapshot();
     }
 
     private GlobalConfigurationPropertyData getGlobalConfigurationPropertyData(final String propertyName) {
-        String identifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
-        String key = identifier + "_" + propertyName;
-        if (!configurations.containsKey(key)) {
-            GlobalConfigurationProperty configuration = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
-            configurations.put(key, configuration.toData());
+        final GlobalConfigurationPropertyData property = snapshot().properties.get(propertyName);
+        if (property != null) { return property; }
+        // added after the snapshot was taken, or not found at all
+        final GlobalConfigurationProperty configuration = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
+        invalidateSnapshot();
+        return configuration.toData();
+    }
+
+    private ConfigurationSnapshot snapshot() {
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        final ConfigurationSnapshot current = this.snapshots.get(tenantIdentifier);
+        if (current != null && System.currentTimeMillis() - current.loadedAt < REFRESH_INTERVAL_MILLIS) { return current; }
+
+        final AtomicLong version = snapshotVersion(tenantIdentifier);
+        final long versionBeforeLoad = version.get();
+        final ConfigurationSnapshot loaded = loadSnapshot();
+        if (current == null) {
+            final ConfigurationSnapshot existing = this.snapshots.putIfAbsent(tenantIdentifier, loaded);
+            if (existing != null) { return existing; }
+        } else if (!this.snapshots.replace(tenantIdentifier, current, loaded)) {
+            // refreshed or invalidated by another thread in the meantime
+            return loaded;
+        }
+        if (version.get() != versionBeforeLoad) {
+            // invalidated while loading, the snapshot may hold old values so
+            // it is only used for this call
+            this.snapshots.remove(tenantIdentifier, loaded);
+        }
+        return loaded;
+    }
+
+    private ConfigurationSnapshot loadSnapshot() {
+        final long loadedAt = System.currentTimeMillis();
+        final Map<String, GlobalConfigurationPropertyData> properties = new HashMap<>();
+        for (final GlobalConfigurationProperty configuration : this.globalConfigurationRepository.findAll()) {
+            properties.put(configuration.getName(), configuration.toData());
+        }
+        final List<Permission> permissions = this.permissionRepository.findAll();
+        final Map<String, Boolean> makerCheckerEnabledByPermissionCode = new HashMap<>(permissions.size());
+        for (final Permission permission : permissions) {
+            makerCheckerEnabledByPermissionCode.put(permission.getCode(), permission.hasMakerCheckerEnabled());
+        }
+        return new ConfigurationSnapshot(properties, makerCheckerEnabledByPermissionCode, loadedAt);
+    }
+
+    /**
+     * Drops the snapshot of the current tenant now and again once the
+     * surrounding transaction completes, so that a snapshot loaded while the
+     * change was not yet committed is not kept.
+     */
+    private void invalidateSnapshot() {
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        invalidateSnapshot(tenantIdentifier);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(@SuppressWarnings("unused") final int status) {
+                    invalidateSnapshot(tenantIdentifier);
+                }
+            });
+        }
+    }
+
+    private void invalidateSnapshot(final String tenantIdentifier) {
+        snapshotVersion(tenantIdentifier).incrementAndGet();
+        this.snapshots.remove(tenantIdentifier);
+    }
+
+    private AtomicLong snapshotVersion(final String tenantIdentifier) {
+        AtomicLong version = this.snapshotVersions.get(tenantIdentifier);
+        if (version == null) {
+            final AtomicLong newVersion = new AtomicLong();
+            version = this.snapshotVersions.putIfAbsent(tenantIdentifier, newVersion);
+            if (version == null) {
+                version = newVersion;
+            }
+        }
+        return version;
+    }
+
+    private static final class ConfigurationSnapshot {
+
+        private final Map<String, GlobalConfigurationPropertyData> properties;
+        private final Map<String, Boolean> makerCheckerEnabledByPermissionCode;
+        private final long loadedAt;
+
+        ConfigurationSnapshot(final Map<String, GlobalConfigurationPropertyData> properties,
+                final Map<String, Boolean> makerCheckerEnabledByPermissionCode, final long loadedAt) {
+            this.properties = properties;
+            this.makerCheckerEnabledByPermissionCode = makerCheckerEnabledByPermissionCode;
+            this.loadedAt = loadedAt;
         }
-        return configurations.get(key);
     }
 }
\ No newline at end of file
@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.infrastructure.configuration.domain;
 
+import java.util.List;
+
 import org.apache.fineract.infrastructure.configuration.exception.GlobalConfigurationPropertyNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -50,6 +52,10 @@ public class GlobalConfigurationRepositoryWrapper {
         return property;
     }
 
+    public List<GlobalConfigurationProperty> findAll() {
+        return this.repository.findAll();
+    }
+
     public void save(final GlobalConfigurationProperty globalConfigurationProperty) {
         this.repository.save(globalConfigurationProperty);
     }
@@ -91,6 +91,7 @@ public class GlobalConfigurationWritePlatformServiceJpaRepositoryImpl implements
         try{
             final GlobalConfigurationProperty ppi = GlobalConfigurationProperty.newSurveyConfiguration(name);
             this.repository.save(ppi);
+            this.configurationDomainService.removeGlobalConfigurationPropertyDataFromCache(name);
         }
         catch (final DataIntegrityViolationException dve)
         {
@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.data;
+
+/**
+ * Immutable data object representing the usage of a tenant connection pool.
+ */
+public class DataSourcePoolData {
+
+    @SuppressWarnings("unused")
+    private final Long connectionId;
+    @SuppressWarnings("unused")
+    private final String poolName;
+    @SuppressWarnings("unused")
+    private final int size;
+    @SuppressWarnings("unused")
+    private final int active;
+    @SuppressWarnings("unused")
+    private final int idle;
+    @SuppressWarnings("unused")
+    private final int maxActive;
+    @SuppressWarnings("unused")
+    private final int waiting;
+    @SuppressWarnings("unused")
+    private final long connectionRequests;
+    @SuppressWarnings("unused")
+    private final long averageWaitMillis;
+    @SuppressWarnings("unused")
+    private final long maxWaitMillis;
+    @SuppressWarnings("unused")
+    private final long timeouts;
+
+    public DataSourcePoolData(final Long connectionId, final String poolName, final int size, final int active, final int idle,
+            final int maxActive, final int waiting, final long connectionRequests, final long averageWaitMillis, final long maxWaitMillis,
+            final long timeouts) {
+        this.connectionId = connectionId;
+        this.poolName = poolName;
+        this.size = size;
+        this.active = active;
+        this.idle = idle;
+        this.maxActive = maxActive;
+        this.waiting = waiting;
+        this.connectionRequests = connectionRequests;
+        this.averageWaitMillis = averageWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.timeouts = timeouts;
+    }
+}
@@ -32,6 +32,9 @@ public class PaginationParameters {
     private final Integer limit;
     private final String orderBy;
     private final String sortOrder;
+    private final boolean keysetPaged;
+    private final String continuationToken;
+    private final boolean countTotal;
 
     public static PaginationParameters instance(Boolean paged, Integer offset, Integer limit, String orderBy, String sortOrder) {
         if (null == paged) {
@@ -40,15 +43,30 @@ public class PaginationParameters {
 
         final Integer maxLimitAllowed = getCheckedLimit(limit);
 
-        return new PaginationParameters(paged, offset, maxLimitAllowed, orderBy, sortOrder);
+        return new PaginationParameters(paged, offset, maxLimitAllowed, orderBy, sortOrder, false, null, true);
     }
 
-    private PaginationParameters(boolean paged, Integer offset, Integer limit, String orderBy, String sortOrder) {
+    private PaginationParameters(boolean paged, Integer offset, Integer limit, String orderBy, String sortOrder, boolean keysetPaged,
+            String continuationToken, boolean countTotal) {
         this.paged = paged;
         this.offset = offset;
         this.limit = limit;
         this.orderBy = orderBy;
         this.sortOrder = sortOrder;
+        this.keysetPaged = keysetPaged;
+        this.continuationToken = continuationToken;
+        this.countTotal = countTotal;
+    }
+
+    /**
+     * Switches to keyset pagination when requested through the
+     * <code>keyset</code> or <code>continuationToken</code> query parameters;
+     * see {@link org.apache.fineract.infrastructure.core.service.KeysetPagination}.
+     */
+    public PaginationParameters withKeysetPagination(final Boolean keyset, final String continuationToken, final Boolean countTotal) {
+        if (!Boolean.TRUE.equals(keyset) && StringUtils.isBlank(continuationToken)) { return this; }
+        return new PaginationParameters(true, null, this.limit, this.orderBy, this.sortOrder, true, continuationToken,
+                Boolean.TRUE.equals(countTotal));
     }
 
     public static Integer getCheckedLimit(final Integer limit) {
@@ -87,6 +105,18 @@ public class PaginationParameters {
         return this.sortOrder;
     }
 
+    public boolean isKeysetPaged() {
+        return this.keysetPaged;
+    }
+
+    public String getContinuationToken() {
+        return this.continuationToken;
+    }
+
+    public boolean isCountTotal() {
+        return this.countTotal;
+    }
+
     public boolean isOrderByRequested() {
         return StringUtils.isNotBlank(this.orderBy);
     }
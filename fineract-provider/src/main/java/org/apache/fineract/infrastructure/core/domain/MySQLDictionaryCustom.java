@@ -33,6 +33,9 @@ public class MySQLDictionaryCustom extends MySQLDictionary {
             this.supportsGetGeneratedKeys = false ;
             this.allowsAliasInBulkClause = true ;
             this.useWildCardForCount = true ;
+            // sends the updates of a flush, e.g. the repayment schedule
+            // installments of a loan, as JDBC batches
+            this.batchLimit = 100 ;
         }
         
         @Override
@@ -42,5 +45,6 @@ public class MySQLDictionaryCustom extends MySQLDictionary {
                 this.supportsGetGeneratedKeys = false ;
                 this.allowsAliasInBulkClause = true ;
                 this.useWildCardForCount = true ;
+                this.batchLimit = 100 ;
         }
 }
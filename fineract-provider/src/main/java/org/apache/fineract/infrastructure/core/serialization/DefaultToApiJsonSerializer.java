@@ -76,7 +76,7 @@ public final class DefaultToApiJsonSerializer<T> implements ToApiJsonSerializer<
     public String serialize(final ApiRequestJsonSerializationSettings settings, final Collection<T> collection,
             final Set<String> supportedResponseParameters) {
         final Gson delegatedSerializer = findAppropriateSerializer(settings, supportedResponseParameters);
-        return serializeWithSettings(delegatedSerializer, settings, collection.toArray());
+        return serializeWithSettings(delegatedSerializer, settings, collection);
     }
 
     @Override
@@ -96,7 +96,7 @@ public final class DefaultToApiJsonSerializer<T> implements ToApiJsonSerializer<
     @Override
     public String serialize(final ApiRequestJsonSerializationSettings settings, final Collection<T> collection) {
         final Gson delegatedSerializer = findAppropriateSerializer(settings);
-        return serializeWithSettings(delegatedSerializer, settings, collection.toArray());
+        return serializeWithSettings(delegatedSerializer, settings, collection);
     }
 
     @Override
@@ -111,11 +111,12 @@ public final class DefaultToApiJsonSerializer<T> implements ToApiJsonSerializer<
         return serializeWithSettings(delegatedSerializer, settings, singleObject);
     }
 
-    private String serializeWithSettings(final Gson gson, final ApiRequestJsonSerializationSettings settings, final Object[] dataObject) {
+    private String serializeWithSettings(final Gson gson, final ApiRequestJsonSerializationSettings settings, final Collection<T> collection) {
         String json = null;
         if (gson != null) {
-            json = this.helper.serializedJsonFrom(gson, dataObject);
+            json = this.helper.serializedJsonFrom(gson, settings.isPrettyPrint(), collection);
         } else {
+            final Object[] dataObject = collection.toArray();
             if (settings.isPrettyPrint()) {
                 json = this.excludeNothingWithPrettyPrintingOn.serialize(dataObject);
             } else {
@@ -18,9 +18,14 @@
  */
 package org.apache.fineract.infrastructure.core.serialization;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.fineract.infrastructure.core.api.JodaDateTimeAdapter;
 import org.apache.fineract.infrastructure.core.api.JodaLocalDateAdapter;
@@ -33,9 +38,16 @@ import org.joda.time.LocalDate;
 import org.joda.time.MonthDay;
 import org.springframework.stereotype.Service;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.gson.ExclusionStrategy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * Helper class for serialization of java objects into JSON using google-gson.
@@ -43,6 +55,10 @@ import com.google.gson.GsonBuilder;
 @Service
 public final class GoogleGsonSerializerHelper {
 
+    private static final int MAX_CACHED_SERIALIZERS = 500;
+
+    private final Cache<SerializerKey, Gson> serializers = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_SERIALIZERS).build();
+
     public Gson createGsonBuilder(final boolean prettyPrint) {
         final GsonBuilder builder = new GsonBuilder();
         builder.registerTypeAdapter(LocalDate.class, new JodaLocalDateAdapter());
@@ -54,25 +70,33 @@ public final class GoogleGsonSerializerHelper {
         return builder.create();
     }
 
+    /**
+     * Returns a serializer that only writes the fields named in
+     * <code>responseParameters</code>. Serializers are cached per field set as
+     * building one and its reflective type adapters costs far more than the
+     * serialization itself.
+     */
     public Gson createGsonBuilderForPartialResponseFiltering(final boolean prettyPrint, final Set<String> responseParameters) {
 
-        final ExclusionStrategy strategy = new ParameterListInclusionStrategy(responseParameters);
+        final SerializerKey key = new SerializerKey(null, prettyPrint, responseParameters);
+        return cachedSerializer(key, new Callable<Gson>() {
 
-        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
-        builder.registerTypeAdapter(LocalDate.class, new JodaLocalDateAdapter());
-        builder.registerTypeAdapter(DateTime.class, new JodaDateTimeAdapter());
-        builder.registerTypeAdapter(MonthDay.class, new JodaMonthDayAdapter());
-        if (prettyPrint) {
-            builder.setPrettyPrinting();
-        }
-        return builder.create();
+            @Override
+            public Gson call() {
+                final ExclusionStrategy strategy = new ParameterListInclusionStrategy(key.responseParameters);
+                return createGsonBuilder(prettyPrint, strategy);
+            }
+        });
     }
 
+    /**
+     * Returns a serializer that skips the <code>supportedParameters</code>
+     * not named in <code>responseParameters</code>, cached like
+     * {@link #createGsonBuilderForPartialResponseFiltering(boolean, Set)}.
+     */
     public Gson createGsonBuilderWithParameterExclusionSerializationStrategy(final Set<String> supportedParameters,
             final boolean prettyPrint, final Set<String> responseParameters) {
 
-        final Set<String> parameterNamesToSkip = new HashSet<>();
-
         if (!responseParameters.isEmpty()) {
 
             // strip out all known support parameters from expected response to
@@ -82,13 +106,26 @@ public final class GoogleGsonSerializerHelper {
 
             if (!differentParametersDetectedSet.isEmpty()) { throw new UnsupportedParameterException(new ArrayList<>(
                     differentParametersDetectedSet)); }
-
-            parameterNamesToSkip.addAll(supportedParameters);
-            parameterNamesToSkip.removeAll(responseParameters);
         }
 
-        final ExclusionStrategy strategy = new ParameterListExclusionStrategy(parameterNamesToSkip);
+        final SerializerKey key = new SerializerKey(supportedParameters, prettyPrint, responseParameters);
+        return cachedSerializer(key, new Callable<Gson>() {
+
+            @Override
+            public Gson call() {
+                final Set<String> parameterNamesToSkip = new HashSet<>();
+                if (!key.responseParameters.isEmpty()) {
+                    parameterNamesToSkip.addAll(key.supportedParameters);
+                    parameterNamesToSkip.removeAll(key.responseParameters);
+                }
+
+                final ExclusionStrategy strategy = new ParameterListExclusionStrategy(parameterNamesToSkip);
+                return createGsonBuilder(prettyPrint, strategy);
+            }
+        });
+    }
 
+    private Gson createGsonBuilder(final boolean prettyPrint, final ExclusionStrategy strategy) {
         final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
         builder.registerTypeAdapter(LocalDate.class, new JodaLocalDateAdapter());
         builder.registerTypeAdapter(DateTime.class, new JodaDateTimeAdapter());
@@ -99,6 +136,16 @@ public final class GoogleGsonSerializerHelper {
         return builder.create();
     }
 
+    private Gson cachedSerializer(final SerializerKey key, final Callable<Gson> serializerBuilder) {
+        try {
+            return this.serializers.get(key, serializerBuilder);
+        } catch (final ExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        } catch (final UncheckedExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
     public String serializedJsonFrom(final Gson serializer, final Object[] dataObjects) {
         return serializer.toJson(dataObjects);
     }
@@ -106,4 +153,78 @@ public final class GoogleGsonSerializerHelper {
     public String serializedJsonFrom(final Gson serializer, final Object singleDataObject) {
         return serializer.toJson(singleDataObject);
     }
+
+    /**
+     * Writes the collection element by element through one {@link JsonWriter},
+     * producing the same JSON array as
+     * {@link #serializedJsonFrom(Gson, Object[])} without first copying the
+     * collection into an array and looking up the type adapter again for every
+     * element of the same type.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public String serializedJsonFrom(final Gson serializer, final boolean prettyPrint, final Collection<?> dataObjects) {
+        final StringWriter json = new StringWriter(256 + dataObjects.size() * 128);
+        final JsonWriter writer = new JsonWriter(json);
+        // same writer settings Gson applies to its own writers
+        writer.setLenient(true);
+        writer.setHtmlSafe(true);
+        writer.setSerializeNulls(false);
+        if (prettyPrint) {
+            writer.setIndent("  ");
+        }
+
+        try {
+            writer.beginArray();
+            Class<?> elementType = null;
+            TypeAdapter adapter = null;
+            for (final Object dataObject : dataObjects) {
+                if (dataObject == null) {
+                    writer.nullValue();
+                    continue;
+                }
+                if (dataObject.getClass() != elementType) {
+                    elementType = dataObject.getClass();
+                    adapter = serializer.getAdapter(elementType);
+                }
+                adapter.write(writer, dataObject);
+            }
+            writer.endArray();
+            writer.flush();
+        } catch (final IOException e) {
+            throw new JsonIOException(e);
+        }
+        return json.toString();
+    }
+
+    private static final class SerializerKey {
+
+        private final Set<String> supportedParameters;
+        private final boolean prettyPrint;
+        private final Set<String> responseParameters;
+
+        SerializerKey(final Set<String> supportedParameters, final boolean prettyPrint, final Set<String> responseParameters) {
+            this.supportedParameters = supportedParameters;
+            this.prettyPrint = prettyPrint;
+            // request scoped set, copied as the key and serializer outlive it
+            this.responseParameters = new HashSet<>(responseParameters);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) { return true; }
+            if (!(obj instanceof SerializerKey)) { return false; }
+            final SerializerKey other = (SerializerKey) obj;
+            return this.prettyPrint == other.prettyPrint && this.responseParameters.equals(other.responseParameters)
+                    && (this.supportedParameters == null ? other.supportedParameters == null : this.supportedParameters
+                            .equals(other.supportedParameters));
+        }
+
+        @Override
+        public int hashCode() {
+            int result = this.responseParameters.hashCode();
+            result = 31 * result + (this.prettyPrint ? 1 : 0);
+            result = 31 * result + (this.supportedParameters == null ? 0 : this.supportedParameters.hashCode());
+            return result;
+        }
+    }
 }
\ No newline at end of file
@@ -25,6 +25,7 @@ import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
@@ -49,6 +50,10 @@ import com.google.gson.JsonPrimitive;
  */
 public class JsonParserHelper {
 
+    // Locale hands out a fresh copy of these on every call
+    private static final Set<String> ISO_LANGUAGES = new HashSet<>(Arrays.asList(Locale.getISOLanguages()));
+    private static final Set<String> ISO_COUNTRIES = new HashSet<>(Arrays.asList(Locale.getISOCountries()));
+
     public boolean parameterExists(final String parameterName, final JsonElement element) {
         if (element == null) { return false; }
         return element.getAsJsonObject().has(parameterName);
@@ -677,16 +682,14 @@ public class JsonParserHelper {
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
 
-        final List<String> allowedLanguages = Arrays.asList(Locale.getISOLanguages());
-        if (!allowedLanguages.contains(languageCode.toLowerCase())) {
+        if (!ISO_LANGUAGES.contains(languageCode.toLowerCase())) {
             final ApiParameterError error = ApiParameterError.parameterError("validation.msg.invalid.locale.format",
                     "The parameter locale has an invalid language value " + languageCode + " .", "locale", languageCode);
             dataValidationErrors.add(error);
         }
 
         if (StringUtils.isNotBlank(courntryCode.toUpperCase())) {
-            final List<String> allowedCountries = Arrays.asList(Locale.getISOCountries());
-            if (!allowedCountries.contains(courntryCode)) {
+            if (!ISO_COUNTRIES.contains(courntryCode)) {
                 final ApiParameterError error = ApiParameterError.parameterError("validation.msg.invalid.locale.format",
                         "The parameter locale has an invalid country value " + courntryCode + " .", "locale", courntryCode);
                 dataValidationErrors.add(error);
@@ -0,0 +1,323 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.data.PaginationParameters;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * Keyset (cursor based) alternative to <code>limit ... offset ...</code>
+ * paging. Rows are ordered by one whitelisted sort column with the primary key
+ * as tie breaker, and every page continues strictly after the last row of the
+ * previous page, so the database can seek straight to the next page through
+ * an index instead of reading and discarding all rows in front of it.
+ * 
+ * The position of the last row is handed out as an opaque continuation token.
+ * The total number of rows is only counted when explicitly requested, and then
+ * covers the rows from the current position onwards.
+ */
+public final class KeysetPagination {
+
+    private static final String SORT_VALUE_ALIAS = "keysetSortValue";
+    private static final String ID_ALIAS = "keysetId";
+
+    private static final String STRING_VALUE = "s";
+    private static final String NUMBER_VALUE = "n";
+    private static final String DATE_VALUE = "d";
+    private static final String TIMESTAMP_VALUE = "t";
+
+    private final String signature;
+    private final String sortColumn;
+    private final String idColumn;
+    private final boolean descending;
+    private final Integer limit;
+    private final boolean countTotal;
+
+    // position of the last row of the previous page, not set for the first page
+    private final String afterValueType;
+    private final String afterValue;
+    private final Long afterId;
+
+    public static KeysetPagination from(final SearchParameters searchParameters, final String resourceName, final String idColumn,
+            final Map<String, String> sortColumns, final String defaultOrderBy, final String defaultSortOrder) {
+        return from(searchParameters.getOrderBy(), searchParameters.getSortOrder(), searchParameters.getLimit(),
+                searchParameters.getContinuationToken(), searchParameters.isCountTotal(), resourceName, idColumn, sortColumns,
+                defaultOrderBy, defaultSortOrder);
+    }
+
+    public static KeysetPagination from(final PaginationParameters parameters, final String resourceName, final String idColumn,
+            final Map<String, String> sortColumns, final String defaultOrderBy, final String defaultSortOrder) {
+        return from(parameters.getOrderBy(), parameters.getSortOrder(), parameters.getLimit(), parameters.getContinuationToken(),
+                parameters.isCountTotal(), resourceName, idColumn, sortColumns, defaultOrderBy, defaultSortOrder);
+    }
+
+    private static KeysetPagination from(final String orderBy, final String sortOrder, final Integer limit,
+            final String continuationToken, final boolean countTotal, final String resourceName, final String idColumn,
+            final Map<String, String> sortColumns, final String defaultOrderBy, final String defaultSortOrder) {
+
+        final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
+
+        final String sortName = StringUtils.isNotBlank(orderBy) ? orderBy : defaultOrderBy;
+        final String sortColumn = sortColumns.get(sortName);
+        if (sortColumn == null) {
+            final String defaultUserMessage = "The orderBy value '" + sortName
+                    + "' is not supported with keyset pagination. The supported orderBy values are " + sortColumns.keySet();
+            dataValidationErrors.add(ApiParameterError.parameterError("validation.msg." + resourceName
+                    + ".orderBy.value.is.not.supported.for.keyset.pagination", defaultUserMessage, "orderBy", sortName, sortColumns
+                    .keySet().toString()));
+        }
+
+        final String direction = StringUtils.isNotBlank(sortOrder) ? sortOrder.toUpperCase() : defaultSortOrder;
+        if (!"ASC".equals(direction) && !"DESC".equals(direction)) {
+            final String defaultUserMessage = "The sortOrder value '" + sortOrder + "' is not supported. The supported sortOrder values are "
+                    + Arrays.asList("ASC", "DESC");
+            dataValidationErrors.add(ApiParameterError.parameterError("validation.msg." + resourceName
+                    + ".sortOrder.value.is.not.supported", defaultUserMessage, "sortOrder", sortOrder));
+        }
+
+        if (!dataValidationErrors.isEmpty()) { throw new PlatformApiDataValidationException(dataValidationErrors); }
+
+        final String signature = sortName + ' ' + direction;
+        if (StringUtils.isBlank(continuationToken)) {
+            return new KeysetPagination(signature, sortColumn, idColumn, "DESC".equals(direction), limit, countTotal, null, null, null);
+        }
+
+        final JsonObject position = decode(continuationToken, resourceName);
+        if (!signature.equals(stringValue(position, "o"))) {
+            dataValidationErrors.add(ApiParameterError.parameterError("validation.msg." + resourceName
+                    + ".continuationToken.does.not.match.ordering", "The continuationToken was issued for a different orderBy/sortOrder.",
+                    "continuationToken", continuationToken));
+            throw new PlatformApiDataValidationException(dataValidationErrors);
+        }
+
+        return new KeysetPagination(signature, sortColumn, idColumn, "DESC".equals(direction), limit, countTotal, stringValue(position,
+                "t"), stringValue(position, "v"), position.get("i").getAsLong());
+    }
+
+    private KeysetPagination(final String signature, final String sortColumn, final String idColumn, final boolean descending,
+            final Integer limit, final boolean countTotal, final String afterValueType, final String afterValue, final Long afterId) {
+        this.signature = signature;
+        // ordering on the primary key alone needs no tie breaker
+        this.sortColumn = sortColumn.equals(idColumn) ? null : sortColumn;
+        this.idColumn = idColumn;
+        this.descending = descending;
+        this.limit = limit != null && limit > 0 ? limit : null;
+        this.countTotal = countTotal;
+        this.afterValueType = afterValueType;
+        this.afterValue = afterValue;
+        this.afterId = afterId;
+    }
+
+    /**
+     * Select list prefix to place directly after <code>select</code>, carrying
+     * the key columns of each row.
+     */
+    public String selectSql() {
+        final StringBuilder sql = new StringBuilder(100);
+        if (this.countTotal) {
+            sql.append("SQL_CALC_FOUND_ROWS ");
+        }
+        if (this.sortColumn != null) {
+            sql.append(this.sortColumn).append(" as ").append(SORT_VALUE_ALIAS).append(", ");
+        }
+        sql.append(this.idColumn).append(" as ").append(ID_ALIAS).append(", ");
+        return sql.toString();
+    }
+
+    /**
+     * Condition restricting the result to rows after the continuation token,
+     * prefixed by <code>connector</code> (<code>" where "</code> or
+     * <code>" and "</code>). Empty for the first page. Must be the last
+     * condition of the statement as its arguments are appended to the end.
+     */
+    public String predicateSql(final String connector) {
+        if (this.afterId == null) { return ""; }
+
+        final String after = this.descending ? " < " : " > ";
+        final String sortColumn = this.sortColumn;
+        final String predicate;
+        if (sortColumn == null) {
+            predicate = this.idColumn + after + "?";
+        } else if (this.afterValueType == null) {
+            // MySQL sorts nulls first in ascending and last in descending order
+            predicate = this.descending ? sortColumn + " is null and " + this.idColumn + after + "?" : sortColumn + " is not null or "
+                    + this.idColumn + after + "?";
+        } else if (this.descending) {
+            predicate = sortColumn + " is null or (" + sortColumn + " <= ? and (" + sortColumn + " < ? or " + this.idColumn + after
+                    + "?))";
+        } else {
+            predicate = sortColumn + " >= ? and (" + sortColumn + " > ? or " + this.idColumn + after + "?)";
+        }
+        return connector + "(" + predicate + ")";
+    }
+
+    public String orderByAndLimitSql() {
+        final String direction = this.descending ? " DESC" : " ASC";
+        final StringBuilder sql = new StringBuilder(100).append(" order by ");
+        if (this.sortColumn != null) {
+            sql.append(this.sortColumn).append(direction).append(", ");
+        }
+        sql.append(this.idColumn).append(direction);
+        if (this.limit != null) {
+            // one extra row tells whether there is a next page
+            sql.append(" limit ").append(this.limit + 1);
+        }
+        return sql.toString();
+    }
+
+    public Object[] arguments(final Object[] args) {
+        if (this.afterId == null) { return args; }
+
+        final List<Object> arguments = new ArrayList<>(Arrays.asList(args));
+        if (this.sortColumn != null && this.afterValueType != null) {
+            final Object value = sqlValue();
+            arguments.add(value);
+            arguments.add(value);
+        }
+        arguments.add(this.afterId);
+        return arguments.toArray();
+    }
+
+    public boolean isCountTotal() {
+        return this.countTotal;
+    }
+
+    public <E> KeysetRowMapper<E> rowMapper(final RowMapper<E> delegate) {
+        return new KeysetRowMapper<>(delegate);
+    }
+
+    /**
+     * Maps the rows of one page through the given mapper, remembering the key
+     * of the last row so a continuation token can be handed out when more rows
+     * follow.
+     */
+    public final class KeysetRowMapper<E> implements RowMapper<E> {
+
+        private final RowMapper<E> delegate;
+        private String continuationToken;
+        private boolean hasMore;
+
+        private KeysetRowMapper(final RowMapper<E> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public E mapRow(final ResultSet rs, final int rowNum) throws SQLException {
+            final Integer limit = KeysetPagination.this.limit;
+            if (limit != null && rowNum == limit) {
+                this.hasMore = true;
+                return null;
+            }
+            if (limit != null && rowNum == limit - 1) {
+                this.continuationToken = tokenFor(rs);
+            }
+            return this.delegate.mapRow(rs, rowNum);
+        }
+
+        public List<E> pageItems(final List<E> rows) {
+            if (!this.hasMore) { return rows; }
+            return new ArrayList<>(rows.subList(0, rows.size() - 1));
+        }
+
+        public String continuationToken() {
+            return this.hasMore ? this.continuationToken : null;
+        }
+    }
+
+    private String tokenFor(final ResultSet rs) throws SQLException {
+        final JsonObject position = new JsonObject();
+        position.addProperty("o", this.signature);
+        if (this.sortColumn != null) {
+            final Object value = rs.getObject(SORT_VALUE_ALIAS);
+            if (value instanceof Timestamp) {
+                position.addProperty("t", TIMESTAMP_VALUE);
+                position.addProperty("v", String.valueOf(((Timestamp) value).getTime()));
+            } else if (value instanceof java.sql.Date) {
+                position.addProperty("t", DATE_VALUE);
+                position.addProperty("v", value.toString());
+            } else if (value instanceof Number) {
+                position.addProperty("t", NUMBER_VALUE);
+                position.addProperty("v", value.toString());
+            } else if (value != null) {
+                position.addProperty("t", STRING_VALUE);
+                position.addProperty("v", value.toString());
+            }
+        }
+        position.addProperty("i", rs.getLong(ID_ALIAS));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Object sqlValue() {
+        if (TIMESTAMP_VALUE.equals(this.afterValueType)) { return new Timestamp(Long.parseLong(this.afterValue)); }
+        if (DATE_VALUE.equals(this.afterValueType)) { return java.sql.Date.valueOf(this.afterValue); }
+        if (NUMBER_VALUE.equals(this.afterValueType)) { return new BigDecimal(this.afterValue); }
+        return this.afterValue;
+    }
+
+    private static JsonObject decode(final String continuationToken, final String resourceName) {
+        try {
+            final String json = new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8);
+            final JsonObject position = new JsonParser().parse(json).getAsJsonObject();
+            final String type = stringValue(position, "t");
+            final String value = stringValue(position, "v");
+            if (position.has("i") && position.has("o") && (type == null || value != null)) {
+                // validate the typed value up front rather than failing in the query
+                position.get("i").getAsLong();
+                if (TIMESTAMP_VALUE.equals(type)) {
+                    Long.parseLong(value);
+                } else if (DATE_VALUE.equals(type)) {
+                    java.sql.Date.valueOf(value);
+                } else if (NUMBER_VALUE.equals(type)) {
+                    new BigDecimal(value);
+                }
+                return position;
+            }
+        } catch (final IllegalArgumentException | IllegalStateException | UnsupportedOperationException | JsonParseException e) {
+            // reported below
+        }
+        final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
+        dataValidationErrors.add(ApiParameterError.parameterError("validation.msg." + resourceName + ".continuationToken.is.invalid",
+                "The continuationToken is not valid.", "continuationToken", continuationToken));
+        throw new PlatformApiDataValidationException(dataValidationErrors);
+    }
+
+    private static String stringValue(final JsonObject object, final String property) {
+        final JsonElement element = object.get(property);
+        return element == null || element.isJsonNull() ? null : element.getAsString();
+    }
+}
@@ -22,19 +22,34 @@ import java.util.List;
 
 public class Page<E> {
 
-    private final int totalFilteredRecords;
+    private final Integer totalFilteredRecords;
     private final List<E> pageItems;
+    private final String continuationToken;
 
     public Page(final List<E> pageItems, final int totalFilteredRecords) {
+        this(pageItems, Integer.valueOf(totalFilteredRecords), null);
+    }
+
+    /**
+     * Page of a keyset paginated listing: the total is <code>null</code> when
+     * it was not requested and the continuation token is <code>null</code> on
+     * the last page.
+     */
+    public Page(final List<E> pageItems, final Integer totalFilteredRecords, final String continuationToken) {
         this.pageItems = pageItems;
         this.totalFilteredRecords = totalFilteredRecords;
+        this.continuationToken = continuationToken;
     }
 
-    public int getTotalFilteredRecords() {
+    public Integer getTotalFilteredRecords() {
         return this.totalFilteredRecords;
     }
 
     public List<E> getPageItems() {
         return this.pageItems;
     }
+
+    public String getContinuationToken() {
+        return this.continuationToken;
+    }
 }
\ No newline at end of file
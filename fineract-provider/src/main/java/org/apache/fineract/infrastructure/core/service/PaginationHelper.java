@@ -37,6 +37,26 @@ public class PaginationHelper<E> {
         return new Page<>(items, totalFilteredRecords);
     }
 
+    /**
+     * Fetches one page of a keyset paginated listing. The statement must
+     * already contain the select, predicate and order by parts of the given
+     * {@link KeysetPagination}; its arguments are appended to
+     * <code>args</code> here.
+     */
+    public Page<E> fetchPage(final JdbcTemplate jt, final String sqlFetchRows, final Object args[], final RowMapper<E> rowMapper,
+            final KeysetPagination keysetPagination) {
+
+        final KeysetPagination.KeysetRowMapper<E> keysetRowMapper = keysetPagination.rowMapper(rowMapper);
+        final List<E> items = keysetRowMapper.pageItems(jt.query(sqlFetchRows, keysetPagination.arguments(args), keysetRowMapper));
+
+        Integer totalFilteredRecords = null;
+        if (keysetPagination.isCountTotal()) {
+            totalFilteredRecords = jt.queryForObject("SELECT FOUND_ROWS()", Integer.class);
+        }
+
+        return new Page<>(items, totalFilteredRecords, keysetRowMapper.continuationToken());
+    }
+
     public Page<Long> fetchPage(JdbcTemplate jdbcTemplate, String sql, String sqlCountRows, Class<Long> type) {
         final List<Long> items = jdbcTemplate.queryForList(sql, type);
 
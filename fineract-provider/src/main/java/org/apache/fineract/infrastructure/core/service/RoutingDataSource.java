@@ -49,6 +49,17 @@ public class RoutingDataSource extends AbstractDataSource {
         return determineTargetDataSource().getConnection();
     }
 
+    /**
+     * Maximum number of connections the pool of the current tenant opens at
+     * the same time, or <code>null</code> when the pool is not one created by
+     * {@link TomcatJdbcDataSourcePerTenantService}.
+     */
+    public Integer getMaxActiveForCurrentTenant() {
+        final DataSource target = determineTargetDataSource();
+        if (target instanceof TenantConnectionPool) { return ((TenantConnectionPool) target).getMaxActive(); }
+        return null;
+    }
+
     private DataSource determineTargetDataSource() {
         return this.dataSourceServiceFactory.determineDataSourceService().retrieveDataSource();
     }
@@ -49,6 +49,11 @@ public final class SearchParameters {
     private final Long categoryId;
     private final boolean isSelfUser;
 
+    // Keyset pagination
+    private final boolean keysetPaged;
+    private final String continuationToken;
+    private final boolean countTotal;
+
     public static SearchParameters from(final String sqlSearch, final Long officeId, final String externalId, final String name,
             final String hierarchy) {
         final Long staffId = null;
@@ -250,7 +255,9 @@ public final class SearchParameters {
         this.productId = null;
         this.categoryId = null;
         this.isSelfUser = isSelfUser;
-
+        this.keysetPaged = false;
+        this.continuationToken = null;
+        this.countTotal = true;
     }
 
     private SearchParameters(final Long provisioningEntryId, final Long officeId, final Long productId, final Long categoryId,
@@ -276,7 +283,9 @@ public final class SearchParameters {
         this.productId = productId;
         this.categoryId = categoryId;
         this.isSelfUser = false;
-
+        this.keysetPaged = false;
+        this.continuationToken = null;
+        this.countTotal = true;
     }
 
     public SearchParameters(final String sqlSearch, final Long officeId, final String externalId, final String name,
@@ -304,6 +313,47 @@ public final class SearchParameters {
         this.productId = null;
         this.categoryId = null;
         this.isSelfUser = false;
+        this.keysetPaged = false;
+        this.continuationToken = null;
+        this.countTotal = true;
+    }
+
+    private SearchParameters(final SearchParameters searchParameters, final String continuationToken, final boolean countTotal) {
+        this.sqlSearch = searchParameters.sqlSearch;
+        this.officeId = searchParameters.officeId;
+        this.externalId = searchParameters.externalId;
+        this.name = searchParameters.name;
+        this.hierarchy = searchParameters.hierarchy;
+        this.firstname = searchParameters.firstname;
+        this.lastname = searchParameters.lastname;
+        this.offset = null;
+        this.limit = searchParameters.limit;
+        this.orderBy = searchParameters.orderBy;
+        this.sortOrder = searchParameters.sortOrder;
+        this.staffId = searchParameters.staffId;
+        this.accountNo = searchParameters.accountNo;
+        this.loanId = searchParameters.loanId;
+        this.savingsId = searchParameters.savingsId;
+        this.orphansOnly = searchParameters.orphansOnly;
+        this.currencyCode = searchParameters.currencyCode;
+        this.provisioningEntryId = searchParameters.provisioningEntryId;
+        this.productId = searchParameters.productId;
+        this.categoryId = searchParameters.categoryId;
+        this.isSelfUser = searchParameters.isSelfUser;
+        this.keysetPaged = true;
+        this.continuationToken = continuationToken;
+        this.countTotal = countTotal;
+    }
+
+    /**
+     * Switches these parameters to keyset pagination when requested through
+     * the <code>keyset</code> or <code>continuationToken</code> query
+     * parameters; the offset is ignored in that mode and the total is only
+     * counted when <code>countTotal</code> is set.
+     */
+    public SearchParameters withKeysetPagination(final Boolean keyset, final String continuationToken, final Boolean countTotal) {
+        if (!Boolean.TRUE.equals(keyset) && StringUtils.isBlank(continuationToken)) { return this; }
+        return new SearchParameters(this, continuationToken, Boolean.TRUE.equals(countTotal));
     }
 
     public boolean isOrderByRequested() {
@@ -459,6 +509,18 @@ public final class SearchParameters {
         return this.isSelfUser;
     }
 
+    public boolean isKeysetPaged() {
+        return this.keysetPaged;
+    }
+
+    public String getContinuationToken() {
+        return this.continuationToken;
+    }
+
+    public boolean isCountTotal() {
+        return this.countTotal;
+    }
+
     /** 
      * creates an instance of the SearchParameters from a request for the report mailing job run history
      * 
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.util.concurrent.Callable;
+
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * {@link Callable} that captures the tenant, the data source context, the auth
+ * token and the authenticated principal of the submitting thread and restores
+ * them on the worker thread before {@link #doCall()} runs, so that tenant
+ * routing, auditing and permission checks behave exactly as they would on the
+ * submitting thread.
+ */
+public abstract class TenantAwareCallable<V> implements Callable<V> {
+
+    private final FineractPlatformTenant tenant;
+    private final String dataSourceContext;
+    private final String authToken;
+    private final Authentication authentication;
+
+    protected TenantAwareCallable() {
+        this.tenant = ThreadLocalContextUtil.getTenant();
+        this.dataSourceContext = ThreadLocalContextUtil.getDataSourceContext();
+        this.authToken = ThreadLocalContextUtil.getAuthToken();
+        this.authentication = SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Override
+    public final V call() throws Exception {
+        final FineractPlatformTenant previousTenant = ThreadLocalContextUtil.getTenant();
+        final String previousDataSourceContext = ThreadLocalContextUtil.getDataSourceContext();
+        final String previousAuthToken = ThreadLocalContextUtil.getAuthToken();
+        final Authentication previousAuthentication = SecurityContextHolder.getContext().getAuthentication();
+        try {
+            ThreadLocalContextUtil.setTenant(this.tenant);
+            restoreDataSourceContext(this.dataSourceContext);
+            ThreadLocalContextUtil.setAuthToken(this.authToken);
+            SecurityContextHolder.getContext().setAuthentication(this.authentication);
+            return doCall();
+        } finally {
+            if (previousTenant == null) {
+                ThreadLocalContextUtil.clearTenant();
+            } else {
+                ThreadLocalContextUtil.setTenant(previousTenant);
+            }
+            restoreDataSourceContext(previousDataSourceContext);
+            ThreadLocalContextUtil.setAuthToken(previousAuthToken);
+            SecurityContextHolder.getContext().setAuthentication(previousAuthentication);
+        }
+    }
+
+    private static void restoreDataSourceContext(final String dataSourceContext) {
+        if (dataSourceContext == null) {
+            ThreadLocalContextUtil.clearDataSourceContext();
+        } else {
+            ThreadLocalContextUtil.setDataSourceContext(dataSourceContext);
+        }
+    }
+
+    protected FineractPlatformTenant getTenant() {
+        return this.tenant;
+    }
+
+    protected abstract V doCall() throws Exception;
+}
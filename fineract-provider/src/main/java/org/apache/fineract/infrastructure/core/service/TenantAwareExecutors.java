@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Factory for the worker pools used by batch jobs that fan work out for the
+ * tenant bound to the current thread.
+ * 
+ * Every worker holds a tenant connection for the lifetime of its transaction,
+ * so the requested pool size is capped at half of the connections the tenant's
+ * pool opens to leave room for the API threads. Pools that are not managed by
+ * {@link RoutingDataSource} are not capped.
+ * Tasks submitted to these pools should extend {@link TenantAwareCallable}.
+ */
+public final class TenantAwareExecutors {
+
+    private TenantAwareExecutors() {}
+
+    public static ExecutorService newFixedThreadPoolForCurrentTenant(final RoutingDataSource dataSource, final int requestedPoolSize) {
+        return Executors.newFixedThreadPool(poolSizeForCurrentTenant(dataSource, requestedPoolSize));
+    }
+
+    public static int poolSizeForCurrentTenant(final RoutingDataSource dataSource, final int requestedPoolSize) {
+        final Integer maxActive = dataSource.getMaxActiveForCurrentTenant();
+        if (maxActive == null) { return Math.max(1, requestedPoolSize); }
+        final int availableConnections = Math.max(1, maxActive / 2);
+        return Math.max(1, Math.min(requestedPoolSize, availableConnections));
+    }
+}
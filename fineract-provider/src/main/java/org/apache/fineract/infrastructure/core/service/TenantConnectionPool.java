@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.data.DataSourcePoolData;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.apache.tomcat.jdbc.pool.PoolExhaustedException;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * The tomcat jdbc pool of one tenant connection together with the settings it
+ * was built from and counters of the time spent waiting for a connection.
+ */
+final class TenantConnectionPool extends DelegatingDataSource {
+
+    private final FineractPlatformTenantConnection connection;
+    private final DataSource pool;
+
+    private final AtomicLong connectionRequests = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+
+    TenantConnectionPool(final FineractPlatformTenantConnection connection, final DataSource pool) {
+        super(pool);
+        this.connection = connection;
+        this.pool = pool;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            return super.getConnection();
+        } catch (final PoolExhaustedException e) {
+            this.timeouts.incrementAndGet();
+            throw e;
+        } finally {
+            recordWait(System.nanoTime() - start);
+        }
+    }
+
+    private void recordWait(final long waitNanos) {
+        this.connectionRequests.incrementAndGet();
+        this.totalWaitNanos.addAndGet(waitNanos);
+        long max = this.maxWaitNanos.get();
+        while (waitNanos > max && !this.maxWaitNanos.compareAndSet(max, waitNanos)) {
+            max = this.maxWaitNanos.get();
+        }
+    }
+
+    /**
+     * Whether the pool settings taken from the tenant connection are still
+     * the ones this pool was built with.
+     */
+    boolean isConfiguredBy(final FineractPlatformTenantConnection other) {
+        final FineractPlatformTenantConnection current = this.connection;
+        if (current == other) { return true; }
+        return StringUtils.equals(current.getSchemaServer(), other.getSchemaServer())
+                && StringUtils.equals(current.getSchemaServerPort(), other.getSchemaServerPort())
+                && StringUtils.equals(current.getSchemaName(), other.getSchemaName())
+                && StringUtils.equals(current.getSchemaUsername(), other.getSchemaUsername())
+                && StringUtils.equals(current.getSchemaPassword(), other.getSchemaPassword())
+                && current.getInitialSize() == other.getInitialSize() && current.isTestOnBorrow() == other.isTestOnBorrow()
+                && current.getValidationInterval() == other.getValidationInterval()
+                && current.isRemoveAbandoned() == other.isRemoveAbandoned()
+                && current.getRemoveAbandonedTimeout() == other.getRemoveAbandonedTimeout()
+                && current.isLogAbandoned() == other.isLogAbandoned()
+                && current.getAbandonWhenPercentageFull() == other.getAbandonWhenPercentageFull();
+    }
+
+    /**
+     * Maximum number of connections the pool opens at the same time.
+     */
+    int getMaxActive() {
+        return this.pool.getMaxActive();
+    }
+
+    /**
+     * Closes idle connections now, connections in use are closed as they are
+     * returned.
+     */
+    void close() {
+        this.pool.close();
+    }
+
+    DataSourcePoolData toData() {
+        final long requests = this.connectionRequests.get();
+        final long averageWaitMillis = requests == 0 ? 0 : this.totalWaitNanos.get() / requests / 1000000;
+        return new DataSourcePoolData(this.connection.getConnectionId(), this.pool.getPoolProperties().getName(), this.pool.getSize(),
+                this.pool.getActive(), this.pool.getIdle(), this.pool.getMaxActive(), this.pool.getWaitCount(), requests,
+                averageWaitMillis, this.maxWaitNanos.get() / 1000000, this.timeouts.get());
+    }
+}
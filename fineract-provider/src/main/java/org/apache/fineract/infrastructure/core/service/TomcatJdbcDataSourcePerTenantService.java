@@ -18,16 +18,20 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import javax.annotation.PreDestroy;
 import javax.sql.DataSource;
 
 import org.apache.fineract.infrastructure.core.boot.JDBCDriverConfig;
+import org.apache.fineract.infrastructure.core.data.DataSourcePoolData;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
 import org.apache.tomcat.jdbc.pool.PoolConfiguration;
 import org.apache.tomcat.jdbc.pool.PoolProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
@@ -39,11 +43,16 @@ import org.springframework.stereotype.Service;
  * 
  * {@link ThreadLocalContextUtil} is used to retrieve the
  * {@link FineractPlatformTenant} for the request.
+ * 
+ * Pools are looked up without locking. When the settings of a tenant
+ * connection change the pool is replaced and the old one closed.
  */
 @Service
 public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceService {
 
-    private final Map<Long, DataSource> tenantToDataSourceMap = new HashMap<>(1);
+    private final static Logger logger = LoggerFactory.getLogger(TomcatJdbcDataSourcePerTenantService.class);
+
+    private final ConcurrentMap<Long, TenantConnectionPool> tenantToDataSourceMap = new ConcurrentHashMap<>();
     private final DataSource tenantDataSource;
 
     @Autowired
@@ -62,27 +71,50 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
 
         final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant(); 
         if (tenant != null) {
-            final FineractPlatformTenantConnection tenantConnection = tenant.getConnection();
-
-            synchronized (this.tenantToDataSourceMap) {
-                // if tenantConnection information available switch to
-                // appropriate
-                // datasource
-                // for that tenant.
-                if (this.tenantToDataSourceMap.containsKey(tenantConnection.getConnectionId())) {
-                    tenantDataSource = this.tenantToDataSourceMap.get(tenantConnection.getConnectionId());
-                } else {
-                    tenantDataSource = createNewDataSourceFor(tenantConnection);
-                    this.tenantToDataSourceMap.put(tenantConnection.getConnectionId(), tenantDataSource);
-                }
-            }
+            // if tenantConnection information available switch to
+            // appropriate datasource for that tenant.
+            tenantDataSource = retrieveTenantConnectionPool(tenant.getConnection());
         }
 
         return tenantDataSource;
     }
 
+    /**
+     * Returns usage statistics of the connection pool of the current tenant.
+     */
+    public DataSourcePoolData retrievePoolStatistics() {
+        return retrieveTenantConnectionPool(ThreadLocalContextUtil.getTenant().getConnection()).toData();
+    }
+
+    private TenantConnectionPool retrieveTenantConnectionPool(final FineractPlatformTenantConnection tenantConnection) {
+        final Long connectionId = tenantConnection.getConnectionId();
+        while (true) {
+            final TenantConnectionPool existing = this.tenantToDataSourceMap.get(connectionId);
+            if (existing != null && existing.isConfiguredBy(tenantConnection)) { return existing; }
+
+            // a tomcat pool only opens connections on first use, so a pool
+            // that loses the race below is dropped without having connected
+            final TenantConnectionPool created = new TenantConnectionPool(tenantConnection, createNewDataSourceFor(tenantConnection));
+            if (existing == null) {
+                if (this.tenantToDataSourceMap.putIfAbsent(connectionId, created) == null) { return created; }
+            } else if (this.tenantToDataSourceMap.replace(connectionId, existing, created)) {
+                logger.info("Connection settings of " + tenantConnection.getSchemaName() + " changed, replacing its connection pool");
+                existing.close();
+                return created;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        for (final TenantConnectionPool pool : this.tenantToDataSourceMap.values()) {
+            pool.close();
+        }
+        this.tenantToDataSourceMap.clear();
+    }
+
     // creates the data source oltp and report databases
-    private DataSource createNewDataSourceFor(final FineractPlatformTenantConnection tenantConnectionObj) {
+    private org.apache.tomcat.jdbc.pool.DataSource createNewDataSourceFor(final FineractPlatformTenantConnection tenantConnectionObj) {
         // see
         // http://www.tomcatexpert.com/blog/2010/04/01/configuring-jdbc-pool-high-concurrency
 
@@ -37,10 +37,6 @@ import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import org.apache.fineract.infrastructure.core.api.ApiParameterHelper;
-import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
-import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
-import org.apache.fineract.infrastructure.dataqueries.data.ReportData;
-import org.apache.fineract.infrastructure.dataqueries.service.GenericDataService;
 import org.apache.fineract.infrastructure.dataqueries.service.ReadReportingService;
 import org.apache.fineract.infrastructure.report.provider.ReportingProcessServiceProvider;
 import org.apache.fineract.infrastructure.report.service.ReportingProcessService;
@@ -57,19 +53,14 @@ import org.springframework.stereotype.Component;
 public class RunreportsApiResource {
 
     private final PlatformSecurityContext context;
-    private final ToApiJsonSerializer<ReportData> toApiJsonSerializer;
     private final ReadReportingService readExtraDataAndReportingService;
-    private final GenericDataService genericDataService;
     private final ReportingProcessServiceProvider reportingProcessServiceProvider;
 
     @Autowired
     public RunreportsApiResource(final PlatformSecurityContext context, final ReadReportingService readExtraDataAndReportingService,
-            final GenericDataService genericDataService, final ToApiJsonSerializer<ReportData> toApiJsonSerializer,
             final ReportingProcessServiceProvider reportingProcessServiceProvider) {
         this.context = context;
         this.readExtraDataAndReportingService = readExtraDataAndReportingService;
-        this.genericDataService = genericDataService;
-        this.toApiJsonSerializer = toApiJsonSerializer;
         this.reportingProcessServiceProvider = reportingProcessServiceProvider;
     }
 
@@ -118,23 +109,14 @@ public class RunreportsApiResource {
         if (!exportCsv) {
             final Map<String, String> reportParams = getReportParams(queryParams);
 
-            final GenericResultsetData result = this.readExtraDataAndReportingService.retrieveGenericResultset(reportName,
-                    parameterTypeValue, reportParams);
-
-            String json = "";
             final boolean genericResultSetIsPassed = ApiParameterHelper.genericResultSetPassed(uriInfo.getQueryParameters());
-            final boolean genericResultSet = ApiParameterHelper.genericResultSet(uriInfo.getQueryParameters());
-            if (genericResultSetIsPassed) {
-                if (genericResultSet) {
-                    json = this.toApiJsonSerializer.serializePretty(prettyPrint, result);
-                } else {
-                    json = this.genericDataService.generateJsonFromGenericResultsetData(result);
-                }
-            } else {
-                json = this.toApiJsonSerializer.serializePretty(prettyPrint, result);
-            }
+            final boolean genericResultSet = !genericResultSetIsPassed
+                    || ApiParameterHelper.genericResultSet(uriInfo.getQueryParameters());
+
+            final StreamingOutput result = this.readExtraDataAndReportingService.retrieveReportJSON(reportName, parameterTypeValue,
+                    reportParams, genericResultSet, prettyPrint);
 
-            return Response.ok().entity(json).type(MediaType.APPLICATION_JSON).build();
+            return Response.ok().entity(result).type(MediaType.APPLICATION_JSON).build();
         }
 
         // CSV Export
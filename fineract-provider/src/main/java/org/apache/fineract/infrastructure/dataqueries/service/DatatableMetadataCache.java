@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import java.util.List;
+
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+
+/**
+ * Per tenant cache of the registered datatables and of their column headers,
+ * including the allowed code values, so that datatable reads and writes do not
+ * query <code>x_registered_table</code> and <code>information_schema</code>
+ * every time.
+ */
+public interface DatatableMetadataCache {
+
+    /**
+     * @return the application table the datatable is registered against or
+     *         <code>null</code> when it is not registered
+     */
+    String applicationTableName(String datatable);
+
+    /**
+     * @throws org.apache.fineract.infrastructure.dataqueries.exception.DatatableNotFoundException
+     *             when the table does not exist
+     */
+    List<ResultsetColumnHeaderData> columnHeaders(String datatable);
+
+    /**
+     * Drops the cached metadata of the current tenant, to be called whenever
+     * datatables, their registration or codes change.
+     */
+    void invalidate();
+}
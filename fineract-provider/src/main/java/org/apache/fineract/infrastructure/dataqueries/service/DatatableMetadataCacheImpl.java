@@ -0,0 +1,261 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnValueData;
+import org.apache.fineract.infrastructure.dataqueries.exception.DatatableNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class DatatableMetadataCacheImpl implements DatatableMetadataCache {
+
+    /**
+     * Datatables changed through another node are only seen by this one after
+     * the metadata is reloaded, so it is not kept for longer than this.
+     */
+    private static final long REFRESH_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentMap<String, TenantMetadata> metadataByTenant = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DatatableMetadataCacheImpl(final RoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public String applicationTableName(final String datatable) {
+        final TenantMetadata metadata = tenantMetadata();
+        Map<String, String> applicationTables = metadata.applicationTableByDatatable;
+        if (applicationTables == null) {
+            applicationTables = retrieveApplicationTables();
+            metadata.applicationTableByDatatable = applicationTables;
+        }
+        return applicationTables.get(datatable);
+    }
+
+    @Override
+    public List<ResultsetColumnHeaderData> columnHeaders(final String datatable) {
+        final TenantMetadata metadata = tenantMetadata();
+        List<ResultsetColumnHeaderData> columnHeaders = metadata.columnHeadersByDatatable.get(datatable);
+        if (columnHeaders == null) {
+            columnHeaders = Collections.unmodifiableList(retrieveColumnHeaders(datatable));
+            metadata.columnHeadersByDatatable.put(datatable, columnHeaders);
+        }
+        return columnHeaders;
+    }
+
+    @Override
+    public void invalidate() {
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        this.metadataByTenant.remove(tenantIdentifier);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // metadata read before the change was committed would otherwise be
+            // kept until the next refresh
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(@SuppressWarnings("unused") final int status) {
+                    DatatableMetadataCacheImpl.this.metadataByTenant.remove(tenantIdentifier);
+                }
+            });
+        }
+    }
+
+    /**
+     * Entries are only ever added to the metadata returned here; invalidating
+     * replaces it as a whole, so lookups that were in flight at the time cannot
+     * leave stale entries behind.
+     */
+    private TenantMetadata tenantMetadata() {
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        final TenantMetadata current = this.metadataByTenant.get(tenantIdentifier);
+        final long now = System.currentTimeMillis();
+        if (current != null && now - current.createdAt < REFRESH_INTERVAL_MILLIS) { return current; }
+
+        final TenantMetadata created = new TenantMetadata(now);
+        if (current == null) {
+            final TenantMetadata existing = this.metadataByTenant.putIfAbsent(tenantIdentifier, created);
+            if (existing != null) { return existing; }
+        } else {
+            this.metadataByTenant.replace(tenantIdentifier, current, created);
+        }
+        return created;
+    }
+
+    private Map<String, String> retrieveApplicationTables() {
+        // registered_table_name is compared case insensitively by MySQL
+        final Map<String, String> applicationTables = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        final SqlRowSet rs = this.jdbcTemplate
+                .queryForRowSet("select registered_table_name, application_table_name from x_registered_table");
+        while (rs.next()) {
+            applicationTables.put(rs.getString("registered_table_name"), rs.getString("application_table_name"));
+        }
+        return Collections.unmodifiableMap(applicationTables);
+    }
+
+    private List<ResultsetColumnHeaderData> retrieveColumnHeaders(final String datatable) {
+
+        final SqlRowSet columnDefinitions = getDatatableMetaData(datatable);
+
+        final List<ResultsetColumnHeaderData> columnHeaders = new ArrayList<>();
+
+        // code value lists are shared by every column of the same code
+        final Map<String, List<ResultsetColumnValueData>> columnValuesByCodeName = new TreeMap<>();
+
+        columnDefinitions.beforeFirst();
+        while (columnDefinitions.next()) {
+            final String columnName = columnDefinitions.getString("COLUMN_NAME");
+            final String isNullable = columnDefinitions.getString("IS_NULLABLE");
+            final String isPrimaryKey = columnDefinitions.getString("COLUMN_KEY");
+            final String columnType = columnDefinitions.getString("DATA_TYPE");
+            final Long columnLength = columnDefinitions.getLong("CHARACTER_MAXIMUM_LENGTH");
+
+            final boolean columnNullable = "YES".equalsIgnoreCase(isNullable);
+            final boolean columnIsPrimaryKey = "PRI".equalsIgnoreCase(isPrimaryKey);
+
+            List<ResultsetColumnValueData> columnValues = new ArrayList<>();
+            String codeName = null;
+            if ("varchar".equalsIgnoreCase(columnType)) {
+
+                final int codePosition = columnName.indexOf("_cv");
+                if (codePosition > 0) {
+                    codeName = columnName.substring(0, codePosition);
+
+                    columnValues = retreiveColumnValues(codeName, columnValuesByCodeName);
+                }
+
+            } else if ("int".equalsIgnoreCase(columnType)) {
+
+                final int codePosition = columnName.indexOf("_cd");
+                if (codePosition > 0) {
+                    codeName = columnName.substring(0, codePosition);
+                    columnValues = retreiveColumnValues(codeName, columnValuesByCodeName);
+                }
+            }
+            if (codeName == null) {
+                final SqlRowSet rsValues = getDatatableCodeData(datatable, columnName);
+                Integer codeId = null;
+                while (rsValues.next()) {
+                    codeId = rsValues.getInt("id");
+                    codeName = rsValues.getString("code_name");
+                }
+                columnValues = retreiveColumnValues(codeId);
+
+            }
+
+            final ResultsetColumnHeaderData rsch = ResultsetColumnHeaderData.detailed(columnName, columnType, columnLength, columnNullable,
+                    columnIsPrimaryKey, columnValues, codeName);
+
+            columnHeaders.add(rsch);
+        }
+
+        return columnHeaders;
+    }
+
+    private List<ResultsetColumnValueData> retreiveColumnValues(final String codeName,
+            final Map<String, List<ResultsetColumnValueData>> columnValuesByCodeName) {
+
+        final List<ResultsetColumnValueData> cached = columnValuesByCodeName.get(codeName);
+        if (cached != null) { return cached; }
+
+        final List<ResultsetColumnValueData> columnValues = new ArrayList<>();
+
+        final String sql = "select v.id, v.code_score, v.code_value from m_code m " + " join m_code_value v on v.code_id = m.id "
+                + " where m.code_name = ? order by v.order_position, v.id";
+
+        final SqlRowSet rsValues = this.jdbcTemplate.queryForRowSet(sql, codeName);
+
+        rsValues.beforeFirst();
+        while (rsValues.next()) {
+            final Integer id = rsValues.getInt("id");
+            final String codeValue = rsValues.getString("code_value");
+            final Integer score = rsValues.getInt("code_score");
+
+            columnValues.add(new ResultsetColumnValueData(id, codeValue, score));
+        }
+
+        final List<ResultsetColumnValueData> unmodifiable = Collections.unmodifiableList(columnValues);
+        columnValuesByCodeName.put(codeName, unmodifiable);
+        return unmodifiable;
+    }
+
+    private List<ResultsetColumnValueData> retreiveColumnValues(final Integer codeId) {
+
+        final List<ResultsetColumnValueData> columnValues = new ArrayList<>();
+        if (codeId != null) {
+            final String sql = "select v.id, v.code_value from m_code_value v where v.code_id = ? order by v.order_position, v.id";
+            final SqlRowSet rsValues = this.jdbcTemplate.queryForRowSet(sql, codeId);
+            rsValues.beforeFirst();
+            while (rsValues.next()) {
+                final Integer id = rsValues.getInt("id");
+                final String codeValue = rsValues.getString("code_value");
+                columnValues.add(new ResultsetColumnValueData(id, codeValue));
+            }
+        }
+
+        return Collections.unmodifiableList(columnValues);
+    }
+
+    private SqlRowSet getDatatableMetaData(final String datatable) {
+
+        final String sql = "select COLUMN_NAME, IS_NULLABLE, DATA_TYPE, CHARACTER_MAXIMUM_LENGTH, COLUMN_KEY"
+                + " from INFORMATION_SCHEMA.COLUMNS " + " where TABLE_SCHEMA = schema() and TABLE_NAME = ? order by ORDINAL_POSITION";
+
+        final SqlRowSet columnDefinitions = this.jdbcTemplate.queryForRowSet(sql, datatable);
+        if (columnDefinitions.next()) { return columnDefinitions; }
+
+        throw new DatatableNotFoundException(datatable);
+    }
+
+    private SqlRowSet getDatatableCodeData(final String datatable, final String columnName) {
+
+        final String sql = "select mc.id,mc.code_name from m_code mc join x_table_column_code_mappings xcc on xcc.code_id = mc.id where xcc.column_alias_name = ?";
+
+        return this.jdbcTemplate.queryForRowSet(sql, datatable.toLowerCase().replaceAll("\\s", "_") + "_" + columnName);
+    }
+
+    private static final class TenantMetadata {
+
+        private final long createdAt;
+        private volatile Map<String, String> applicationTableByDatatable;
+        private final ConcurrentMap<String, List<ResultsetColumnHeaderData>> columnHeadersByDatatable = new ConcurrentHashMap<>();
+
+        TenantMetadata(final long createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -27,8 +27,22 @@ public interface GenericDataService {
 
     GenericResultsetData fillGenericResultSet(final String sql);
 
+    /**
+     * Runs the query with a forward only cursor and hands each row to the
+     * handler as it is read, without holding the result in memory.
+     * 
+     * @param fetchSize
+     *            passed to {@link java.sql.Statement#setFetchSize(int)};
+     *            MySQL Connector/J streams row by row for
+     *            {@link Integer#MIN_VALUE} and fetches in batches of the given
+     *            size only when the connection uses server side cursors
+     */
+    void streamGenericResultSet(String sql, int fetchSize, GenericResultsetStreamHandler handler);
+
     String generateJsonFromGenericResultsetData(GenericResultsetData grs);
 
+    String generateJsonFromGenericResultsetRow(List<ResultsetColumnHeaderData> columnHeaders, List<String> row);
+
     String replace(String str, String pattern, String replace);
 
     String wrapSQL(String sql);
@@ -18,6 +18,13 @@
  */
 package org.apache.fineract.infrastructure.dataqueries.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,15 +33,14 @@ import javax.sql.DataSource;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
-import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnValueData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetRowData;
-import org.apache.fineract.infrastructure.dataqueries.exception.DatatableNotFoundException;
 import org.joda.time.LocalDate;
 import org.joda.time.LocalDateTime;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.jdbc.support.rowset.SqlRowSetMetaData;
 import org.springframework.stereotype.Service;
@@ -44,12 +50,13 @@ public class GenericDataServiceImpl implements GenericDataService {
 
     private final JdbcTemplate jdbcTemplate;
     private final DataSource dataSource;
-    private final static Logger logger = LoggerFactory.getLogger(GenericDataServiceImpl.class);
+    private final DatatableMetadataCache datatableMetadataCache;
 
     @Autowired
-    public GenericDataServiceImpl(final RoutingDataSource dataSource) {
+    public GenericDataServiceImpl(final RoutingDataSource dataSource, final DatatableMetadataCache datatableMetadataCache) {
         this.dataSource = dataSource;
         this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+        this.datatableMetadataCache = datatableMetadataCache;
 
     }
 
@@ -87,6 +94,55 @@ public class GenericDataServiceImpl implements GenericDataService {
         return new GenericResultsetData(columnHeaders, resultsetDataRows);
     }
 
+    @Override
+    public void streamGenericResultSet(final String sql, final int fetchSize, final GenericResultsetStreamHandler handler) {
+
+        this.jdbcTemplate.execute(new PreparedStatementCreator() {
+
+            @Override
+            public PreparedStatement createPreparedStatement(final Connection connection) throws SQLException {
+                final PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }
+        }, new PreparedStatementCallback<Void>() {
+
+            @Override
+            public Void doInPreparedStatement(final PreparedStatement statement) throws SQLException {
+                final ResultSet rs = statement.executeQuery();
+                try {
+                    final ResultSetMetaData rsmd = rs.getMetaData();
+                    final int columnCount = rsmd.getColumnCount();
+
+                    final List<ResultsetColumnHeaderData> columnHeaders = new ArrayList<>(columnCount);
+                    for (int i = 1; i <= columnCount; i++) {
+                        columnHeaders.add(ResultsetColumnHeaderData.basic(rsmd.getColumnName(i), rsmd.getColumnTypeName(i)));
+                    }
+                    handler.start(columnHeaders);
+
+                    final List<String> columnValues = new ArrayList<>(columnCount);
+                    while (rs.next()) {
+                        columnValues.clear();
+                        for (int i = 1; i <= columnCount; i++) {
+                            columnValues.add(rs.getString(i));
+                        }
+                        handler.row(columnValues);
+                    }
+                    handler.end();
+                } catch (final IOException e) {
+                    // stop the query on the server, otherwise closing a
+                    // streamed result set reads all of its remaining rows
+                    statement.cancel();
+                    throw new UncheckedIOException(e);
+                } finally {
+                    JdbcUtils.closeResultSet(rs);
+                }
+                return null;
+            }
+        });
+    }
+
     @Override
     public String replace(final String str, final String pattern, final String replace) {
         // JPW - this replace may / may not be any better or quicker than the
@@ -126,63 +182,12 @@ public class GenericDataServiceImpl implements GenericDataService {
         final List<ResultsetColumnHeaderData> columnHeaders = grs.getColumnHeaders();
 
         final List<ResultsetRowData> data = grs.getData();
-        List<String> row;
-        Integer rSize;
-        final String doubleQuote = "\"";
-        final String slashDoubleQuote = "\\\"";
-        String currColType;
-        String currVal;
 
         for (int i = 0; i < data.size(); i++) {
-            writer.append("\n{");
-
-            row = data.get(i).getRow();
-            rSize = row.size();
-            for (int j = 0; j < rSize; j++) {
-
-                writer.append(doubleQuote + columnHeaders.get(j).getColumnName() + doubleQuote + ": ");
-                currColType = columnHeaders.get(j).getColumnDisplayType();
-                final String colType = columnHeaders.get(j).getColumnType();
-                if (currColType == null && colType.equalsIgnoreCase("INT")) {
-                    currColType = "INTEGER";
-                }
-                if (currColType == null && colType.equalsIgnoreCase("VARCHAR")) {
-                    currColType = "VARCHAR";
-                }
-                if (currColType == null && colType.equalsIgnoreCase("DATE")) {
-                    currColType = "DATE";
-                }
-                currVal = row.get(j);
-                if (currVal != null && currColType != null) {
-                    if (currColType.equals("DECIMAL") || currColType.equals("INTEGER")) {
-                        writer.append(currVal);
-                    } else {
-                        if (currColType.equals("DATE")) {
-                            final LocalDate localDate = new LocalDate(currVal);
-                            writer.append("[" + localDate.getYear() + ", " + localDate.getMonthOfYear() + ", " + localDate.getDayOfMonth()
-                                    + "]");
-                        } else if (currColType.equals("DATETIME")) {
-                            final LocalDateTime localDateTime = new LocalDateTime(currVal);
-                            writer.append("[" + localDateTime.getYear() + ", " + localDateTime.getMonthOfYear() + ", "
-                                    + localDateTime.getDayOfMonth() + " " + localDateTime.getHourOfDay() + ", "
-                                    + localDateTime.getMinuteOfHour() + ", " + localDateTime.getSecondOfMinute() + ", "
-                                    + localDateTime.getMillisOfSecond() + "]");
-                        } else {
-                            writer.append(doubleQuote + replace(currVal, doubleQuote, slashDoubleQuote) + doubleQuote);
-                        }
-                    }
-                } else {
-                    writer.append("null");
-                }
-                if (j < (rSize - 1)) {
-                    writer.append(",\n");
-                }
-            }
-
+            writer.append("\n");
+            writer.append(generateJsonFromGenericResultsetRow(columnHeaders, data.get(i).getRow()));
             if (i < (data.size() - 1)) {
-                writer.append("},");
-            } else {
-                writer.append("}");
+                writer.append(",");
             }
         }
 
@@ -192,125 +197,63 @@ public class GenericDataServiceImpl implements GenericDataService {
     }
 
     @Override
-    public List<ResultsetColumnHeaderData> fillResultsetColumnHeaders(final String datatable) {
-
-        logger.debug("::3 Was inside the fill ResultSetColumnHeader");
-
-        final SqlRowSet columnDefinitions = getDatatableMetaData(datatable);
-
-        final List<ResultsetColumnHeaderData> columnHeaders = new ArrayList<>();
-
-        columnDefinitions.beforeFirst();
-        while (columnDefinitions.next()) {
-            final String columnName = columnDefinitions.getString("COLUMN_NAME");
-            final String isNullable = columnDefinitions.getString("IS_NULLABLE");
-            final String isPrimaryKey = columnDefinitions.getString("COLUMN_KEY");
-            final String columnType = columnDefinitions.getString("DATA_TYPE");
-            final Long columnLength = columnDefinitions.getLong("CHARACTER_MAXIMUM_LENGTH");
-
-            final boolean columnNullable = "YES".equalsIgnoreCase(isNullable);
-            final boolean columnIsPrimaryKey = "PRI".equalsIgnoreCase(isPrimaryKey);
-
-            List<ResultsetColumnValueData> columnValues = new ArrayList<>();
-            String codeName = null;
-            if ("varchar".equalsIgnoreCase(columnType)) {
-
-                final int codePosition = columnName.indexOf("_cv");
-                if (codePosition > 0) {
-                    codeName = columnName.substring(0, codePosition);
+    public String generateJsonFromGenericResultsetRow(final List<ResultsetColumnHeaderData> columnHeaders, final List<String> row) {
 
-                    columnValues = retreiveColumnValues(codeName);
-                }
+        final StringBuffer writer = new StringBuffer();
+        final Integer rSize = row.size();
+        final String doubleQuote = "\"";
+        final String slashDoubleQuote = "\\\"";
+        String currColType;
+        String currVal;
 
-            } else if ("int".equalsIgnoreCase(columnType)) {
+        writer.append("{");
+        for (int j = 0; j < rSize; j++) {
 
-                final int codePosition = columnName.indexOf("_cd");
-                if (codePosition > 0) {
-                    codeName = columnName.substring(0, codePosition);
-                    columnValues = retreiveColumnValues(codeName);
-                }
+            writer.append(doubleQuote + columnHeaders.get(j).getColumnName() + doubleQuote + ": ");
+            currColType = columnHeaders.get(j).getColumnDisplayType();
+            final String colType = columnHeaders.get(j).getColumnType();
+            if (currColType == null && colType.equalsIgnoreCase("INT")) {
+                currColType = "INTEGER";
+            }
+            if (currColType == null && colType.equalsIgnoreCase("VARCHAR")) {
+                currColType = "VARCHAR";
             }
-            if (codeName == null) {
-                final SqlRowSet rsValues = getDatatableCodeData(datatable, columnName);
-                Integer codeId = null;
-                while (rsValues.next()) {
-                    codeId = rsValues.getInt("id");
-                    codeName = rsValues.getString("code_name");
+            if (currColType == null && colType.equalsIgnoreCase("DATE")) {
+                currColType = "DATE";
+            }
+            currVal = row.get(j);
+            if (currVal != null && currColType != null) {
+                if (currColType.equals("DECIMAL") || currColType.equals("INTEGER")) {
+                    writer.append(currVal);
+                } else {
+                    if (currColType.equals("DATE")) {
+                        final LocalDate localDate = new LocalDate(currVal);
+                        writer.append("[" + localDate.getYear() + ", " + localDate.getMonthOfYear() + ", " + localDate.getDayOfMonth()
+                                + "]");
+                    } else if (currColType.equals("DATETIME")) {
+                        final LocalDateTime localDateTime = new LocalDateTime(currVal);
+                        writer.append("[" + localDateTime.getYear() + ", " + localDateTime.getMonthOfYear() + ", "
+                                + localDateTime.getDayOfMonth() + " " + localDateTime.getHourOfDay() + ", "
+                                + localDateTime.getMinuteOfHour() + ", " + localDateTime.getSecondOfMinute() + ", "
+                                + localDateTime.getMillisOfSecond() + "]");
+                    } else {
+                        writer.append(doubleQuote + replace(currVal, doubleQuote, slashDoubleQuote) + doubleQuote);
+                    }
                 }
-                columnValues = retreiveColumnValues(codeId);
-
+            } else {
+                writer.append("null");
             }
-
-            final ResultsetColumnHeaderData rsch = ResultsetColumnHeaderData.detailed(columnName, columnType, columnLength, columnNullable,
-                    columnIsPrimaryKey, columnValues, codeName);
-
-            columnHeaders.add(rsch);
-        }
-
-        return columnHeaders;
-    }
-
-    /*
-     * Candidate for using caching there to get allowed 'column values' from
-     * code/codevalue tables
-     */
-    private List<ResultsetColumnValueData> retreiveColumnValues(final String codeName) {
-
-        final List<ResultsetColumnValueData> columnValues = new ArrayList<>();
-
-        final String sql = "select v.id, v.code_score, v.code_value from m_code m " + " join m_code_value v on v.code_id = m.id "
-                + " where m.code_name = '" + codeName + "' order by v.order_position, v.id";
-
-        final SqlRowSet rsValues = this.jdbcTemplate.queryForRowSet(sql);
-
-        rsValues.beforeFirst();
-        while (rsValues.next()) {
-            final Integer id = rsValues.getInt("id");
-            final String codeValue = rsValues.getString("code_value");
-            final Integer score = rsValues.getInt("code_score");
-
-            columnValues.add(new ResultsetColumnValueData(id, codeValue, score));
-        }
-
-        return columnValues;
-    }
-
-    private List<ResultsetColumnValueData> retreiveColumnValues(final Integer codeId) {
-
-        final List<ResultsetColumnValueData> columnValues = new ArrayList<>();
-        if (codeId != null) {
-            final String sql = "select v.id, v.code_value from m_code_value v where v.code_id =" + codeId
-                    + " order by v.order_position, v.id";
-            final SqlRowSet rsValues = this.jdbcTemplate.queryForRowSet(sql);
-            rsValues.beforeFirst();
-            while (rsValues.next()) {
-                final Integer id = rsValues.getInt("id");
-                final String codeValue = rsValues.getString("code_value");
-                columnValues.add(new ResultsetColumnValueData(id, codeValue));
+            if (j < (rSize - 1)) {
+                writer.append(",\n");
             }
         }
+        writer.append("}");
 
-        return columnValues;
-    }
-
-    private SqlRowSet getDatatableMetaData(final String datatable) {
-
-        final String sql = "select COLUMN_NAME, IS_NULLABLE, DATA_TYPE, CHARACTER_MAXIMUM_LENGTH, COLUMN_KEY"
-                + " from INFORMATION_SCHEMA.COLUMNS " + " where TABLE_SCHEMA = schema() and TABLE_NAME = '" + datatable
-                + "'order by ORDINAL_POSITION";
-
-        final SqlRowSet columnDefinitions = this.jdbcTemplate.queryForRowSet(sql);
-        if (columnDefinitions.next()) { return columnDefinitions; }
-
-        throw new DatatableNotFoundException(datatable);
+        return writer.toString();
     }
 
-    private SqlRowSet getDatatableCodeData(final String datatable, final String columnName) {
-
-        final String sql = "select mc.id,mc.code_name from m_code mc join x_table_column_code_mappings xcc on xcc.code_id = mc.id where xcc.column_alias_name='"
-                + datatable.toLowerCase().replaceAll("\\s", "_") + "_" + columnName + "'";
-        final SqlRowSet rsValues = this.jdbcTemplate.queryForRowSet(sql);
-
-        return rsValues;
+    @Override
+    public List<ResultsetColumnHeaderData> fillResultsetColumnHeaders(final String datatable) {
+        return this.datatableMetadataCache.columnHeaders(datatable);
     }
-}
\ No newline at end of file
+}
@@ -18,11 +18,15 @@
  */
 package org.apache.fineract.infrastructure.dataqueries.service;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.InputStream;
+import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -34,6 +38,7 @@ import java.util.Set;
 import javax.sql.DataSource;
 import javax.ws.rs.core.StreamingOutput;
 
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
@@ -51,11 +56,14 @@ import org.apache.fineract.useradministration.domain.AppUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.stereotype.Service;
 
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
 import com.lowagie.text.Document;
 import com.lowagie.text.PageSize;
 import com.lowagie.text.pdf.PdfPTable;
@@ -71,97 +79,242 @@ public class ReadReportingServiceImpl implements ReadReportingService {
     private final PlatformSecurityContext context;
     private final GenericDataService genericDataService;
     private final ReportingProcessServiceProvider reportingProcessServiceProvider;
+    private final ConfigurationDomainService configurationDomainService;
 
     @Autowired
     public ReadReportingServiceImpl(final PlatformSecurityContext context, final RoutingDataSource dataSource,
-            final GenericDataService genericDataService, final ReportingProcessServiceProvider reportingProcessServiceProvider) {
+            final GenericDataService genericDataService, final ReportingProcessServiceProvider reportingProcessServiceProvider,
+            final ConfigurationDomainService configurationDomainService) {
 
         this.context = context;
         this.dataSource = dataSource;
         this.jdbcTemplate = new JdbcTemplate(this.dataSource);
         this.genericDataService = genericDataService;
         this.reportingProcessServiceProvider = reportingProcessServiceProvider;
+        this.configurationDomainService = configurationDomainService;
     }
 
     @Override
     public StreamingOutput retrieveReportCSV(final String name, final String type, final Map<String, String> queryParams) {
 
-        return new StreamingOutput() {
+        final String sql = getSQLtoRun(name, type, queryParams);
+
+        return new ReportStreamingOutput(name, type, sql) {
 
             @Override
-            public void write(final OutputStream out) {
-                try {
+            protected GenericResultsetStreamHandler handlerFor(final Writer writer) {
+                return new CsvReportWriter(writer);
+            }
+        };
+    }
 
-                    final GenericResultsetData result = retrieveGenericResultset(name, type, queryParams);
-                    final StringBuffer sb = generateCsvFileBuffer(result);
+    @Override
+    public StreamingOutput retrieveReportJSON(final String name, final String type, final Map<String, String> queryParams,
+            final boolean genericResultSet, final boolean prettyPrint) {
 
-                    final InputStream in = new ByteArrayInputStream(sb.toString().getBytes("UTF-8"));
+        final String sql = getSQLtoRun(name, type, queryParams);
 
-                    final byte[] outputByte = new byte[4096];
-                    Integer readLen = in.read(outputByte, 0, 4096);
+        return new ReportStreamingOutput(name, type, sql) {
 
-                    while (readLen != -1) {
-                        out.write(outputByte, 0, readLen);
-                        readLen = in.read(outputByte, 0, 4096);
-                    }
-                    // in.close();
-                    // out.flush();
-                    // out.close();
-                } catch (final Exception e) {
-                    throw new PlatformDataIntegrityException("error.msg.exception.error", e.getMessage());
-                }
+            @Override
+            protected GenericResultsetStreamHandler handlerFor(final Writer writer) {
+                if (genericResultSet) { return new GenericResultsetJsonWriter(writer, prettyPrint); }
+                return new JsonObjectsReportWriter(writer);
             }
         };
+    }
+
+    /**
+     * Runs the report query when the response body is written and streams the
+     * rows to the client as they are read, so the memory used does not depend
+     * on the size of the report. The query is cancelled if the client
+     * disconnects.
+     */
+    private abstract class ReportStreamingOutput implements StreamingOutput {
+
+        private final String name;
+        private final String type;
+        private final String sql;
+
+        ReportStreamingOutput(final String name, final String type, final String sql) {
+            this.name = name;
+            this.type = type;
+            this.sql = sql;
+        }
+
+        protected abstract GenericResultsetStreamHandler handlerFor(Writer writer);
+
+        @Override
+        public void write(final OutputStream out) throws IOException {
+
+            final long startTime = System.currentTimeMillis();
+            logger.info("STARTING REPORT: " + this.name + "   Type: " + this.type);
 
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try {
+                ReadReportingServiceImpl.this.genericDataService.streamGenericResultSet(this.sql, reportExportFetchSize(),
+                        handlerFor(writer));
+                writer.flush();
+            } catch (final UncheckedIOException e) {
+                logger.info("Report/Request Name: " + this.name + " - " + this.type + " cancelled: " + e.getCause().getMessage());
+                throw e.getCause();
+            } catch (final DataAccessException e) {
+                throw new PlatformDataIntegrityException("error.msg.exception.error", e.getMessage());
+            }
+
+            final long elapsed = System.currentTimeMillis() - startTime;
+            logger.info("FINISHING Report/Request Name: " + this.name + " - " + this.type + "     Elapsed Time: " + elapsed);
+        }
     }
 
-    private StringBuffer generateCsvFileBuffer(final GenericResultsetData result) {
-        final StringBuffer writer = new StringBuffer();
+    private int reportExportFetchSize() {
+        final int fetchSize = this.configurationDomainService.retrieveReportExportFetchSize();
+        // MySQL Connector/J streams the result row by row for this value
+        if (fetchSize <= 0) { return Integer.MIN_VALUE; }
+        return fetchSize;
+    }
+
+    private final class CsvReportWriter implements GenericResultsetStreamHandler {
+
+        private final Writer writer;
+        private List<ResultsetColumnHeaderData> columnHeaders;
+        private long rows = 0;
+
+        CsvReportWriter(final Writer writer) {
+            this.writer = writer;
+        }
 
-        final List<ResultsetColumnHeaderData> columnHeaders = result.getColumnHeaders();
-        logger.info("NO. of Columns: " + columnHeaders.size());
-        final Integer chSize = columnHeaders.size();
-        for (int i = 0; i < chSize; i++) {
-            writer.append('"' + columnHeaders.get(i).getColumnName() + '"');
-            if (i < (chSize - 1)) {
-                writer.append(",");
+        @Override
+        public void start(final List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            this.columnHeaders = columnHeaders;
+            logger.info("NO. of Columns: " + columnHeaders.size());
+            final Integer chSize = columnHeaders.size();
+            for (int i = 0; i < chSize; i++) {
+                this.writer.append('"' + columnHeaders.get(i).getColumnName() + '"');
+                if (i < (chSize - 1)) {
+                    this.writer.append(",");
+                }
             }
+            this.writer.append('\n');
         }
-        writer.append('\n');
-
-        final List<ResultsetRowData> data = result.getData();
-        List<String> row;
-        Integer rSize;
-        // String currCol;
-        String currColType;
-        String currVal;
-        final String doubleQuote = "\"";
-        final String twoDoubleQuotes = doubleQuote + doubleQuote;
-        logger.info("NO. of Rows: " + data.size());
-        for (int i = 0; i < data.size(); i++) {
-            row = data.get(i).getRow();
-            rSize = row.size();
+
+        @Override
+        public void row(final List<String> row) throws IOException {
+            final String doubleQuote = "\"";
+            final String twoDoubleQuotes = doubleQuote + doubleQuote;
+            final Integer rSize = row.size();
             for (int j = 0; j < rSize; j++) {
-                // currCol = columnHeaders.get(j).getColumnName();
-                currColType = columnHeaders.get(j).getColumnType();
-                currVal = row.get(j);
+                final String currColType = this.columnHeaders.get(j).getColumnType();
+                final String currVal = row.get(j);
                 if (currVal != null) {
                     if (currColType.equals("DECIMAL") || currColType.equals("DOUBLE") || currColType.equals("BIGINT")
                             || currColType.equals("SMALLINT") || currColType.equals("INT")) {
-                        writer.append(currVal);
+                        this.writer.append(currVal);
                     } else {
-                        writer.append('"' + this.genericDataService.replace(currVal, doubleQuote, twoDoubleQuotes) + '"');
+                        this.writer.append('"' + ReadReportingServiceImpl.this.genericDataService.replace(currVal, doubleQuote,
+                                twoDoubleQuotes) + '"');
                     }
 
                 }
                 if (j < (rSize - 1)) {
-                    writer.append(",");
+                    this.writer.append(",");
                 }
             }
-            writer.append('\n');
+            this.writer.append('\n');
+            this.rows++;
         }
 
-        return writer;
+        @Override
+        public void end() {
+            logger.info("NO. of Rows: " + this.rows);
+        }
+    }
+
+    /**
+     * Writes the report in the same shape as a serialized
+     * {@link GenericResultsetData}.
+     */
+    private static final class GenericResultsetJsonWriter implements GenericResultsetStreamHandler {
+
+        private final Gson gson = new Gson();
+        private final JsonWriter writer;
+
+        GenericResultsetJsonWriter(final Writer writer, final boolean prettyPrint) {
+            this.writer = new JsonWriter(writer);
+            this.writer.setHtmlSafe(true);
+            if (prettyPrint) {
+                this.writer.setIndent("  ");
+            }
+        }
+
+        @Override
+        public void start(final List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            this.writer.beginObject();
+            this.writer.name("columnHeaders");
+            this.writer.beginArray();
+            for (final ResultsetColumnHeaderData columnHeader : columnHeaders) {
+                this.gson.toJson(columnHeader, ResultsetColumnHeaderData.class, this.writer);
+            }
+            this.writer.endArray();
+            this.writer.name("data");
+            this.writer.beginArray();
+        }
+
+        @Override
+        public void row(final List<String> row) throws IOException {
+            this.writer.beginObject();
+            this.writer.name("row");
+            this.writer.beginArray();
+            for (final String value : row) {
+                this.writer.value(value);
+            }
+            this.writer.endArray();
+            this.writer.endObject();
+        }
+
+        @Override
+        public void end() throws IOException {
+            this.writer.endArray();
+            this.writer.endObject();
+            this.writer.flush();
+        }
+    }
+
+    /**
+     * Writes the report as an array with an object per row, as produced by
+     * {@link GenericDataService#generateJsonFromGenericResultsetData}.
+     */
+    private final class JsonObjectsReportWriter implements GenericResultsetStreamHandler {
+
+        private final Writer writer;
+        private List<ResultsetColumnHeaderData> columnHeaders;
+        private boolean firstRow = true;
+
+        JsonObjectsReportWriter(final Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start(final List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            this.columnHeaders = columnHeaders;
+            this.writer.append("[");
+        }
+
+        @Override
+        public void row(final List<String> row) throws IOException {
+            if (!this.firstRow) {
+                this.writer.append(",");
+            }
+            this.firstRow = false;
+            this.writer.append("\n");
+            this.writer.append(ReadReportingServiceImpl.this.genericDataService.generateJsonFromGenericResultsetRow(this.columnHeaders,
+                    row));
+        }
+
+        @Override
+        public void end() throws IOException {
+            this.writer.append("\n]");
+        }
     }
 
     @Override
@@ -105,6 +105,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
     private final ConfigurationDomainService configurationDomainService;
     private final CodeReadPlatformService codeReadPlatformService;
     private final DataTableValidator dataTableValidator;
+    private final DatatableMetadataCache datatableMetadataCache;
 
     // private final GlobalConfigurationWritePlatformServiceJpaRepositoryImpl
     // configurationWriteService;
@@ -113,7 +114,8 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
     public ReadWriteNonCoreDataServiceImpl(final RoutingDataSource dataSource, final PlatformSecurityContext context,
             final FromJsonHelper fromJsonHelper, final GenericDataService genericDataService,
             final DatatableCommandFromApiJsonDeserializer fromApiJsonDeserializer, final CodeReadPlatformService codeReadPlatformService,
-            final ConfigurationDomainService configurationDomainService, final DataTableValidator dataTableValidator) {
+            final ConfigurationDomainService configurationDomainService, final DataTableValidator dataTableValidator,
+            final DatatableMetadataCache datatableMetadataCache) {
         this.dataSource = dataSource;
         this.jdbcTemplate = new JdbcTemplate(this.dataSource);
         this.context = context;
@@ -124,6 +126,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         this.codeReadPlatformService = codeReadPlatformService;
         this.configurationDomainService = configurationDomainService;
         this.dataTableValidator = dataTableValidator;
+        this.datatableMetadataCache = datatableMetadataCache;
         // this.configurationWriteService = configurationWriteService;
     }
 
@@ -244,6 +247,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
             final String[] sqlArray = { registerDatatableSql, permissionsSql };
             this.jdbcTemplate.batchUpdate(sqlArray);
+            this.datatableMetadataCache.invalidate();
 
             // add the registered table to the config if it is a ppi
             if (this.isSurveyCategory(category)) {
@@ -345,6 +349,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         sqlArray[3] = deleteFromConfigurationSql;
 
         this.jdbcTemplate.batchUpdate(sqlArray);
+        this.datatableMetadataCache.invalidate();
     }
 
     @Transactional
@@ -449,10 +454,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
     }
 
     private boolean isRegisteredDataTable(final String name) {
-        // PERMITTED datatables
-        final String sql = "select if((exists (select 1 from x_registered_table where registered_table_name = ?)) = 1, 'true', 'false')";
-        final String isRegisteredDataTable = this.jdbcTemplate.queryForObject(sql, String.class, new Object[] { name });
-        return new Boolean(isRegisteredDataTable);
+        return this.datatableMetadataCache.applicationTableName(name) != null;
     }
 
     private void assertDataTableExists(final String datatableName) {
@@ -1009,7 +1011,10 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             }
 
             throwExceptionIfValidationWarningsExist(dataValidationErrors);
-       }
+       } finally {
+            // columns may have been altered even when a later statement failed
+            this.datatableMetadataCache.invalidate();
+        }
     }
 
     @Transactional
@@ -1034,6 +1039,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             final String sql = "DROP TABLE `" + datatableName + "`";
             sqlArray[0] = sql;
             this.jdbcTemplate.batchUpdate(sqlArray);
+            this.datatableMetadataCache.invalidate();
         } catch (final DataIntegrityViolationException e) {
             final Throwable realCause = e.getCause();
             final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
@@ -1333,17 +1339,8 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
     }
 
     private String queryForApplicationTableName(final String datatable) {
-        final String sql = "SELECT application_table_name FROM x_registered_table where registered_table_name = '" + datatable + "'";
-
-        final SqlRowSet rs = this.jdbcTemplate.queryForRowSet(sql);
-
-        String applicationTableName = null;
-        if (rs.next()) {
-            applicationTableName = rs.getString("application_table_name");
-        } else {
-            throw new DatatableNotFoundException(datatable);
-        }
-
+        final String applicationTableName = this.datatableMetadataCache.applicationTableName(datatable);
+        if (applicationTableName == null) { throw new DatatableNotFoundException(datatable); }
         return applicationTableName;
     }
 
@@ -43,6 +43,8 @@ import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
 import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
 import org.apache.fineract.infrastructure.hooks.data.HookData;
+import org.apache.fineract.infrastructure.hooks.data.HookDeliveryMetricsData;
+import org.apache.fineract.infrastructure.hooks.service.HookDeliveryService;
 import org.apache.fineract.infrastructure.hooks.service.HookReadPlatformService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -61,6 +63,8 @@ public class HookApiResource {
 	private final DefaultToApiJsonSerializer<HookData> toApiJsonSerializer;
 	private final ApiRequestParameterHelper apiRequestParameterHelper;
 	private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService;
+	private final HookDeliveryService hookDeliveryService;
+	private final DefaultToApiJsonSerializer<HookDeliveryMetricsData> deliveryMetricsToApiJsonSerializer;
 
 	@Autowired
 	public HookApiResource(
@@ -68,12 +72,16 @@ public class HookApiResource {
 			final HookReadPlatformService readPlatformService,
 			final DefaultToApiJsonSerializer<HookData> toApiJsonSerializer,
 			final ApiRequestParameterHelper apiRequestParameterHelper,
-			final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService) {
+			final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService,
+			final HookDeliveryService hookDeliveryService,
+			final DefaultToApiJsonSerializer<HookDeliveryMetricsData> deliveryMetricsToApiJsonSerializer) {
 		this.context = context;
 		this.readPlatformService = readPlatformService;
 		this.toApiJsonSerializer = toApiJsonSerializer;
 		this.apiRequestParameterHelper = apiRequestParameterHelper;
 		this.commandsSourceWritePlatformService = commandsSourceWritePlatformService;
+		this.hookDeliveryService = hookDeliveryService;
+		this.deliveryMetricsToApiJsonSerializer = deliveryMetricsToApiJsonSerializer;
 	}
 
 	@GET
@@ -130,6 +138,22 @@ public class HookApiResource {
 				RESPONSE_DATA_PARAMETERS);
 	}
 
+	@GET
+	@Path("deliveries")
+	public String retrieveDeliveryMetrics(@Context final UriInfo uriInfo) {
+
+		this.context.authenticatedUser().validateHasReadPermission(
+				HOOK_RESOURCE_NAME);
+
+		final HookDeliveryMetricsData metrics = this.hookDeliveryService
+				.retrieveDeliveryMetrics();
+
+		final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper
+				.process(uriInfo.getQueryParameters());
+		return this.deliveryMetricsToApiJsonSerializer.serialize(settings,
+				metrics);
+	}
+
 	@POST
 	public String createHook(final String apiRequestBodyAsJson) {
 
@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.data;
+
+import java.io.Serializable;
+
+import org.joda.time.DateTime;
+
+/**
+ * Backlog of the web hook outbox of a tenant together with the deliveries
+ * processed by this node since <code>countingSince</code>.
+ */
+public class HookDeliveryMetricsData implements Serializable {
+
+    private final Long pendingDeliveries;
+    private final Long deadDeliveries;
+    private final DateTime oldestPendingDeliveryCreatedDate;
+    private final Long delivered;
+    private final Long failedAttempts;
+    private final Long deadLettered;
+    private final DateTime countingSince;
+
+    public static HookDeliveryMetricsData instance(final Long pendingDeliveries, final Long deadDeliveries,
+            final DateTime oldestPendingDeliveryCreatedDate, final Long delivered, final Long failedAttempts,
+            final Long deadLettered, final DateTime countingSince) {
+        return new HookDeliveryMetricsData(pendingDeliveries, deadDeliveries, oldestPendingDeliveryCreatedDate, delivered,
+                failedAttempts, deadLettered, countingSince);
+    }
+
+    private HookDeliveryMetricsData(final Long pendingDeliveries, final Long deadDeliveries,
+            final DateTime oldestPendingDeliveryCreatedDate, final Long delivered, final Long failedAttempts,
+            final Long deadLettered, final DateTime countingSince) {
+        this.pendingDeliveries = pendingDeliveries;
+        this.deadDeliveries = deadDeliveries;
+        this.oldestPendingDeliveryCreatedDate = oldestPendingDeliveryCreatedDate;
+        this.delivered = delivered;
+        this.failedAttempts = failedAttempts;
+        this.deadLettered = deadLettered;
+        this.countingSince = countingSince;
+    }
+
+}
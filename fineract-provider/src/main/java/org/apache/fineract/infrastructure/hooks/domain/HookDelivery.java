@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.domain;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+
+/**
+ * A web hook event waiting in the outbox to be delivered to the payload URL
+ * of its {@link Hook}. Deliveries are removed once the receiver accepts them;
+ * failed ones are retried with an exponentially growing interval until the
+ * maximum number of attempts is used up and they are left in the
+ * {@link HookDeliveryStatusType#DEAD} state.
+ */
+@Entity
+@Table(name = "m_hook_delivery")
+public class HookDelivery extends AbstractPersistableCustom<Long> {
+
+	private static final int MAX_BACKOFF_EXPONENT = 10;
+
+	@Column(name = "hook_id", nullable = false)
+	private Long hookId;
+
+	@Column(name = "entity_name", nullable = false, length = 45)
+	private String entityName;
+
+	@Column(name = "action_name", nullable = false, length = 45)
+	private String actionName;
+
+	@Column(name = "payload", nullable = false)
+	private String payload;
+
+	@Column(name = "status_enum", nullable = false)
+	private Integer statusType;
+
+	@Column(name = "attempts", nullable = false)
+	private Integer attempts;
+
+	@Column(name = "next_attempt_time", nullable = true)
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date nextAttemptTime;
+
+	@Column(name = "last_error", nullable = true, length = 500)
+	private String lastError;
+
+	@Column(name = "created_date", nullable = false)
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date createdDate;
+
+	public static HookDelivery pending(final Long hookId,
+			final String entityName, final String actionName,
+			final String payload, final Date nextAttemptTime) {
+		return new HookDelivery(hookId, entityName, actionName, payload,
+				nextAttemptTime);
+	}
+
+	protected HookDelivery() {
+		//
+	}
+
+	private HookDelivery(final Long hookId, final String entityName,
+			final String actionName, final String payload,
+			final Date nextAttemptTime) {
+		this.hookId = hookId;
+		this.entityName = entityName;
+		this.actionName = actionName;
+		this.payload = payload;
+		this.statusType = HookDeliveryStatusType.PENDING.getValue();
+		this.attempts = 0;
+		this.nextAttemptTime = nextAttemptTime;
+		this.createdDate = new Date();
+	}
+
+	/**
+	 * Records a failed attempt and either schedules the next one after
+	 * <code>retryIntervalInSeconds * 2^(attempts - 1)</code> or moves the
+	 * delivery to the dead letter state.
+	 * 
+	 * @return true if the delivery is now dead
+	 */
+	public boolean recordFailedAttempt(final String error,
+			final int maxAttempts, final int retryIntervalInSeconds) {
+		this.attempts = this.attempts + 1;
+		this.lastError = StringUtils.abbreviate(error, 500);
+		if (this.attempts >= maxAttempts) {
+			markDead(this.lastError);
+			return true;
+		}
+		final int exponent = Math.min(this.attempts - 1, MAX_BACKOFF_EXPONENT);
+		final long delayInMillis = (retryIntervalInSeconds * 1000L) << exponent;
+		this.nextAttemptTime = new Date(System.currentTimeMillis() + delayInMillis);
+		return false;
+	}
+
+	/**
+	 * Moves the delivery behind a failed delivery to the same endpoint without
+	 * counting an attempt against it.
+	 */
+	public void postponeUntil(final Date nextAttemptTime) {
+		this.nextAttemptTime = nextAttemptTime;
+	}
+
+	public void markDead(final String error) {
+		this.statusType = HookDeliveryStatusType.DEAD.getValue();
+		this.lastError = StringUtils.abbreviate(error, 500);
+		this.nextAttemptTime = null;
+	}
+
+	public boolean isPending() {
+		return HookDeliveryStatusType.PENDING.getValue().equals(this.statusType);
+	}
+
+	public Long getHookId() {
+		return this.hookId;
+	}
+
+	public String getEntityName() {
+		return this.entityName;
+	}
+
+	public String getActionName() {
+		return this.actionName;
+	}
+
+	public String getPayload() {
+		return this.payload;
+	}
+
+	public Date getNextAttemptTime() {
+		return this.nextAttemptTime;
+	}
+
+}
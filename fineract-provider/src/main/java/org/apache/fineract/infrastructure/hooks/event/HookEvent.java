@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.infrastructure.hooks.event;
 
+import java.util.List;
+
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.context.ApplicationEvent;
 
@@ -31,14 +33,17 @@ public class HookEvent extends ApplicationEvent {
 
 	private final String authToken;
 
+	private final List<Long> deliveryIds;
+
 	public HookEvent(final HookEventSource source, final String payload,
 			final String tenantIdentifier, final AppUser appUser,
-			final String authToken) {
+			final String authToken, final List<Long> deliveryIds) {
 		super(source);
 		this.payload = payload;
 		this.tenantIdentifier = tenantIdentifier;
 		this.appUser = appUser;
 		this.authToken = authToken;
+		this.deliveryIds = deliveryIds;
 	}
 
 	public String getPayload() {
@@ -62,4 +67,11 @@ public class HookEvent extends ApplicationEvent {
 		return this.authToken;
 	}
 
+	/**
+	 * The outbox entries written for the web hooks of this event.
+	 */
+	public List<Long> getDeliveryIds() {
+		return this.deliveryIds;
+	}
+
 }
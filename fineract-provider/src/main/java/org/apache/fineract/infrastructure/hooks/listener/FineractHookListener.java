@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.infrastructure.hooks.listener;
 
+import static org.apache.fineract.infrastructure.hooks.api.HookApiConstants.webTemplateName;
+
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.hooks.domain.Hook;
@@ -25,6 +27,7 @@ import org.apache.fineract.infrastructure.hooks.event.HookEvent;
 import org.apache.fineract.infrastructure.hooks.event.HookEventSource;
 import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
 import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
+import org.apache.fineract.infrastructure.hooks.service.HookDeliveryService;
 import org.apache.fineract.infrastructure.hooks.service.HookReadPlatformService;
 import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
 import org.apache.fineract.useradministration.domain.AppUser;
@@ -39,14 +42,17 @@ public class FineractHookListener implements HookListener {
     private final HookProcessorProvider hookProcessorProvider;
     private final HookReadPlatformService hookReadPlatformService;
     private final TenantDetailsService tenantDetailsService;
+    private final HookDeliveryService hookDeliveryService;
 
     @Autowired
     public FineractHookListener(final HookProcessorProvider hookProcessorProvider,
             final HookReadPlatformService hookReadPlatformService,
-            final TenantDetailsService tenantDetailsService) {
+            final TenantDetailsService tenantDetailsService,
+            final HookDeliveryService hookDeliveryService) {
         this.hookReadPlatformService = hookReadPlatformService;
         this.hookProcessorProvider = hookProcessorProvider;
         this.tenantDetailsService = tenantDetailsService;
+        this.hookDeliveryService = hookDeliveryService;
     }
 
     @Override
@@ -69,12 +75,20 @@ public class FineractHookListener implements HookListener {
                 .retrieveHooksByEvent(hookEventSource.getEntityName(),
                         hookEventSource.getActionName());
 
+        // web hooks have their outbox entries written with the command
         for (final Hook hook : hooks) {
+            if (webTemplateName.equals(hook.getHookTemplate().getName())) {
+                continue;
+            }
             final HookProcessor processor = this.hookProcessorProvider
                     .getProcessor(hook);
             processor.process(hook, appUser, payload, entityName, actionName,
                     tenantIdentifier, authToken);
         }
+
+        if (!event.getDeliveryIds().isEmpty()) {
+            this.hookDeliveryService.deliver(event.getDeliveryIds());
+        }
     }
 
 }
@@ -21,6 +21,9 @@ package org.apache.fineract.infrastructure.hooks.processor;
 import java.security.SecureRandom;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
@@ -45,6 +48,14 @@ public class ProcessorHelper {
 	private final static Logger logger = LoggerFactory
 			.getLogger(ProcessorHelper.class);
 
+	/**
+	 * One client, and so one connection pool, is shared by all hooks so that
+	 * connections to a payload URL are kept alive between deliveries.
+	 */
+	private final static OkHttpClient sharedClient = createClient();
+
+	private final static ConcurrentMap<String, WebHookService> webHookServices = new ConcurrentHashMap<>();
+
 	@SuppressWarnings("null")
 	public static OkHttpClient configureClient(final OkHttpClient client) {
 		final TrustManager[] certs = new TrustManager[] { new X509TrustManager() {
@@ -90,6 +101,8 @@ public class ProcessorHelper {
 
 	public static OkHttpClient createClient() {
 		final OkHttpClient client = new OkHttpClient();
+		client.setConnectTimeout(10, TimeUnit.SECONDS);
+		client.setReadTimeout(30, TimeUnit.SECONDS);
 		return configureClient(client);
 	}
 
@@ -112,12 +125,17 @@ public class ProcessorHelper {
 
 	public static WebHookService createWebHookService(final String url) {
 
-		final OkHttpClient client = ProcessorHelper.createClient();
+		final WebHookService cached = webHookServices.get(url);
+		if (cached != null) {
+			return cached;
+		}
 
 		final RestAdapter restAdapter = new RestAdapter.Builder()
-				.setEndpoint(url).setClient(new OkClient(client)).build();
+				.setEndpoint(url).setClient(new OkClient(sharedClient)).build();
 
-		return restAdapter.create(WebHookService.class);
+		final WebHookService service = restAdapter.create(WebHookService.class);
+		final WebHookService existing = webHookServices.putIfAbsent(url, service);
+		return existing == null ? service : existing;
 	}
 
 }
\ No newline at end of file
@@ -131,9 +131,8 @@ public class TwilioHookProcessor implements HookProcessor {
                 final Client client = this.clientRepositoryWrapper.findOneWithNotFoundDetection(clientId);
                 final String mobileNo = client.mobileNo();
                 if (mobileNo != null && !mobileNo.isEmpty()) {
-                    this.templateMergeService.setAuthToken(authToken);
                     final String compiledMessage = this.templateMergeService
-                            .compile(hook.getUgdTemplate(), map)
+                            .compile(hook.getUgdTemplate(), map, authToken)
                             .replace("<p>", "").replace("</p>", "");
                     final Map<String, String> jsonMap = new HashMap<>();
                     jsonMap.put("mobileNo", mobileNo);
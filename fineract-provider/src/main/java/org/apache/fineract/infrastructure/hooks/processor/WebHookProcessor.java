@@ -23,7 +23,6 @@ import static org.apache.fineract.infrastructure.hooks.api.HookApiConstants.payl
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 
 import org.apache.fineract.infrastructure.hooks.domain.Hook;
 import org.apache.fineract.infrastructure.hooks.domain.HookConfiguration;
@@ -46,26 +45,55 @@ public class WebHookProcessor implements HookProcessor {
 			final String actionName, final String tenantIdentifier,
 			final String authToken) {
 
-		final Set<HookConfiguration> config = hook.getHookConfig();
-
-		String url = "";
-		String contentType = "";
-
-		for (final HookConfiguration conf : config) {
-			final String fieldName = conf.getFieldName();
-			if (fieldName.equals(payloadURLName)) {
-				url = conf.getFieldValue();
-			}
-			if (fieldName.equals(contentTypeName)) {
-				contentType = conf.getFieldValue();
-			}
-		}
+		final String url = configValue(hook, payloadURLName);
+		final String contentType = configValue(hook, contentTypeName);
 
 		sendRequest(url, contentType, payload, entityName, actionName,
 				tenantIdentifier, authToken);
 
 	}
 
+	/**
+	 * Posts the payload and waits for the receiver to answer.
+	 * 
+	 * @throws retrofit.RetrofitError
+	 *             if the receiver could not be reached or did not answer with
+	 *             a 2xx status
+	 */
+	@SuppressWarnings("unchecked")
+	public void deliver(final Hook hook, final String payload,
+			final String entityName, final String actionName,
+			final String tenantIdentifier) {
+
+		final String url = configValue(hook, payloadURLName);
+		final String contentType = configValue(hook, contentTypeName);
+
+		final String fineractEndpointUrl = System.getProperty("baseUrl");
+		final WebHookService service = ProcessorHelper
+				.createWebHookService(url);
+
+		if (contentType.contains("json")) {
+			final JsonObject json = new JsonParser().parse(payload)
+					.getAsJsonObject();
+			service.deliverJsonRequest(entityName, actionName,
+					tenantIdentifier, fineractEndpointUrl, json);
+		} else {
+			Map<String, String> map = new HashMap<>();
+			map = new Gson().fromJson(payload, map.getClass());
+			service.deliverFormRequest(entityName, actionName,
+					tenantIdentifier, fineractEndpointUrl, map);
+		}
+	}
+
+	private static String configValue(final Hook hook, final String name) {
+		for (final HookConfiguration conf : hook.getHookConfig()) {
+			if (conf.getFieldName().equals(name)) {
+				return conf.getFieldValue();
+			}
+		}
+		return "";
+	}
+
 	@SuppressWarnings("unchecked")
 	private void sendRequest(final String url, final String contentType,
 			final String payload, final String entityName,
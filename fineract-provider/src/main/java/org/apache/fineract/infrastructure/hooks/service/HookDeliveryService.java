@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import java.util.List;
+
+import org.apache.fineract.infrastructure.hooks.data.HookDeliveryMetricsData;
+import org.apache.fineract.infrastructure.hooks.domain.HookDelivery;
+
+public interface HookDeliveryService {
+
+	/**
+	 * Writes one outbox entry per active web hook listening to the event. The
+	 * entries are written in the caller's transaction, so they exist exactly
+	 * when the command that raised the event is committed.
+	 */
+	List<HookDelivery> enqueue(String entityName, String actionName,
+			String payload);
+
+	/**
+	 * Makes the first delivery attempt for entries written by
+	 * {@link #enqueue(String, String, String)} once their transaction has
+	 * committed. Entries that cannot be delivered are left for
+	 * {@link #retryDueDeliveries()}.
+	 */
+	void deliver(List<Long> deliveryIds);
+
+	void retryDueDeliveries();
+
+	HookDeliveryMetricsData retrieveDeliveryMetrics();
+
+}
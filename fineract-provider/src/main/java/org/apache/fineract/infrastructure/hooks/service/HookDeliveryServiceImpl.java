@@ -0,0 +1,285 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import static org.apache.fineract.infrastructure.hooks.api.HookApiConstants.webTemplateName;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.hooks.data.HookDeliveryMetricsData;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookDelivery;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryRepository;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatusType;
+import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
+import org.apache.fineract.infrastructure.hooks.processor.WebHookProcessor;
+import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+/**
+ * Delivers web hook events through the <code>m_hook_delivery</code> outbox.
+ * Deliveries are grouped by hook so that all events for one payload URL go
+ * out back to back over the same kept-alive connection, and once an endpoint
+ * fails the remaining events for it wait behind the failed one instead of
+ * each running into the same timeout.
+ */
+@Service
+public class HookDeliveryServiceImpl implements HookDeliveryService {
+
+	private final static Logger logger = LoggerFactory
+			.getLogger(HookDeliveryServiceImpl.class);
+
+	private final static int pageSize = 200;
+
+	private final HookDeliveryRepository hookDeliveryRepository;
+	private final HookRepository hookRepository;
+	private final HookReadPlatformService hookReadPlatformService;
+	private final WebHookProcessor webHookProcessor;
+	private final ConfigurationDomainService configurationDomainService;
+	private final JdbcTemplate jdbcTemplate;
+
+	private final ConcurrentMap<String, DeliveryCounters> countersByTenant = new ConcurrentHashMap<>();
+	private final DateTime countingSince = DateTime.now();
+
+	@Autowired
+	public HookDeliveryServiceImpl(
+			final HookDeliveryRepository hookDeliveryRepository,
+			final HookRepository hookRepository,
+			final HookReadPlatformService hookReadPlatformService,
+			final WebHookProcessor webHookProcessor,
+			final ConfigurationDomainService configurationDomainService,
+			final RoutingDataSource dataSource) {
+		this.hookDeliveryRepository = hookDeliveryRepository;
+		this.hookRepository = hookRepository;
+		this.hookReadPlatformService = hookReadPlatformService;
+		this.webHookProcessor = webHookProcessor;
+		this.configurationDomainService = configurationDomainService;
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	@Override
+	public List<HookDelivery> enqueue(final String entityName,
+			final String actionName, final String payload) {
+
+		// the retry job only picks an entry up if the attempt made after
+		// commit never completes, e.g. because the node went down in between
+		final int retryInterval = this.configurationDomainService
+				.retrieveHookDeliveryRetryIntervalInSeconds();
+		final Date nextAttemptTime = new Date(System.currentTimeMillis()
+				+ retryInterval * 1000L);
+
+		final List<HookDelivery> deliveries = new ArrayList<>();
+		for (final Hook hook : this.hookReadPlatformService
+				.retrieveHooksByEvent(entityName, actionName)) {
+			if (webTemplateName.equals(hook.getHookTemplate().getName())) {
+				deliveries.add(HookDelivery.pending(hook.getId(), entityName,
+						actionName, payload, nextAttemptTime));
+			}
+		}
+		if (!deliveries.isEmpty()) {
+			this.hookDeliveryRepository.save(deliveries);
+		}
+		return deliveries;
+	}
+
+	@Override
+	public void deliver(final List<Long> deliveryIds) {
+		final List<HookDelivery> deliveries = new ArrayList<>(
+				deliveryIds.size());
+		for (final HookDelivery delivery : this.hookDeliveryRepository
+				.findAll(deliveryIds)) {
+			// the retry job may have got to it first
+			if (delivery.isPending()) {
+				deliveries.add(delivery);
+			}
+		}
+		deliver(deliveries, new HashMap<Long, Hook>());
+	}
+
+	@Override
+	@CronTarget(jobName = JobName.RETRY_HOOK_DELIVERIES)
+	public void retryDueDeliveries() {
+		final Map<Long, Hook> hooksById = new HashMap<>();
+		final PageRequest firstPage = new PageRequest(0, pageSize);
+		List<HookDelivery> dueDeliveries;
+		do {
+			// every processed delivery is either removed or rescheduled, so
+			// the first page always holds the next due ones
+			dueDeliveries = this.hookDeliveryRepository.findDueDeliveries(
+					HookDeliveryStatusType.PENDING.getValue(), new Date(),
+					firstPage);
+			deliver(dueDeliveries, hooksById);
+		} while (dueDeliveries.size() == pageSize);
+	}
+
+	@Override
+	public HookDeliveryMetricsData retrieveDeliveryMetrics() {
+		final DeliveryCounters counters = countersForCurrentTenant();
+
+		final String sql = "select sum(case when d.status_enum = ? then 1 else 0 end) as pending, "
+				+ "sum(case when d.status_enum = ? then 1 else 0 end) as dead, "
+				+ "min(case when d.status_enum = ? then d.created_date end) as oldestPending "
+				+ "from m_hook_delivery d";
+		final Integer pending = HookDeliveryStatusType.PENDING.getValue();
+		final Integer dead = HookDeliveryStatusType.DEAD.getValue();
+
+		return this.jdbcTemplate.queryForObject(sql,
+				new RowMapper<HookDeliveryMetricsData>() {
+
+					@Override
+					public HookDeliveryMetricsData mapRow(final ResultSet rs,
+							@SuppressWarnings("unused") final int rowNum)
+							throws SQLException {
+						return HookDeliveryMetricsData.instance(
+								rs.getLong("pending"), rs.getLong("dead"),
+								JdbcSupport.getDateTime(rs, "oldestPending"),
+								counters.delivered.get(),
+								counters.failedAttempts.get(),
+								counters.deadLettered.get(),
+								HookDeliveryServiceImpl.this.countingSince);
+					}
+				}, new Object[] { pending, dead, pending });
+	}
+
+	private void deliver(final List<HookDelivery> deliveries,
+			final Map<Long, Hook> hooksById) {
+
+		final String tenantIdentifier = ThreadLocalContextUtil.getTenant()
+				.getTenantIdentifier();
+		final DeliveryCounters counters = countersForCurrentTenant();
+		final int maxAttempts = this.configurationDomainService
+				.retrieveHookDeliveryMaxAttempts();
+		final int retryInterval = this.configurationDomainService
+				.retrieveHookDeliveryRetryIntervalInSeconds();
+
+		final Map<Long, List<HookDelivery>> deliveriesByHook = new LinkedHashMap<>();
+		for (final HookDelivery delivery : deliveries) {
+			List<HookDelivery> deliveriesOfHook = deliveriesByHook.get(delivery
+					.getHookId());
+			if (deliveriesOfHook == null) {
+				deliveriesOfHook = new ArrayList<>();
+				deliveriesByHook.put(delivery.getHookId(), deliveriesOfHook);
+			}
+			deliveriesOfHook.add(delivery);
+		}
+
+		for (final Map.Entry<Long, List<HookDelivery>> entry : deliveriesByHook
+				.entrySet()) {
+			final Hook hook = resolveHook(entry.getKey(), hooksById);
+			Date postponedUntil = null;
+			for (final HookDelivery delivery : entry.getValue()) {
+				if (hook == null || !hook.isActive()) {
+					delivery.markDead("Hook is no longer active");
+					counters.deadLettered.incrementAndGet();
+					this.hookDeliveryRepository.save(delivery);
+				} else if (postponedUntil != null) {
+					delivery.postponeUntil(postponedUntil);
+					this.hookDeliveryRepository.save(delivery);
+				} else {
+					try {
+						this.webHookProcessor.deliver(hook,
+								delivery.getPayload(),
+								delivery.getEntityName(),
+								delivery.getActionName(), tenantIdentifier);
+						remove(delivery);
+						counters.delivered.incrementAndGet();
+					} catch (final RuntimeException e) {
+						counters.failedAttempts.incrementAndGet();
+						if (delivery.recordFailedAttempt(e.getMessage(),
+								maxAttempts, retryInterval)) {
+							counters.deadLettered.incrementAndGet();
+							logger.warn("Giving up on delivery "
+									+ delivery.getId() + " of hook "
+									+ hook.getId() + " for tenant "
+									+ tenantIdentifier + ": " + e.getMessage());
+							postponedUntil = new Date(
+									System.currentTimeMillis()
+											+ retryInterval * 1000L);
+						} else {
+							postponedUntil = delivery.getNextAttemptTime();
+						}
+						this.hookDeliveryRepository.save(delivery);
+					}
+				}
+			}
+		}
+	}
+
+	private Hook resolveHook(final Long hookId, final Map<Long, Hook> hooksById) {
+		if (!hooksById.containsKey(hookId)) {
+			hooksById.put(hookId, this.hookRepository.findOne(hookId));
+		}
+		return hooksById.get(hookId);
+	}
+
+	private void remove(final HookDelivery delivery) {
+		try {
+			this.hookDeliveryRepository.delete(delivery.getId());
+		} catch (final EmptyResultDataAccessException e) {
+			// already delivered by a concurrent attempt or removed together
+			// with its hook
+		}
+	}
+
+	private DeliveryCounters countersForCurrentTenant() {
+		final String tenantIdentifier = ThreadLocalContextUtil.getTenant()
+				.getTenantIdentifier();
+		DeliveryCounters counters = this.countersByTenant.get(tenantIdentifier);
+		if (counters == null) {
+			final DeliveryCounters newCounters = new DeliveryCounters();
+			counters = this.countersByTenant.putIfAbsent(tenantIdentifier,
+					newCounters);
+			if (counters == null) {
+				counters = newCounters;
+			}
+		}
+		return counters;
+	}
+
+	private static final class DeliveryCounters {
+
+		private final AtomicLong delivered = new AtomicLong();
+		private final AtomicLong failedAttempts = new AtomicLong();
+		private final AtomicLong deadLettered = new AtomicLong();
+	}
+
+}
@@ -30,7 +30,7 @@ public interface HookReadPlatformService {
 
 	HookData retrieveHook(Long hookId);
 
-    List<Hook> retrieveHooksByEvent(final String actionName, final String entityName);
+    List<Hook> retrieveHooksByEvent(final String entityName, final String actionName);
 
     HookData retrieveNewHookDetails(String templateName);
 }
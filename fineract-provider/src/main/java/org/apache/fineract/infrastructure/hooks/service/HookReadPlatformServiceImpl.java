@@ -79,12 +79,12 @@ public class HookReadPlatformServiceImpl implements HookReadPlatformService {
     }
 
     @Override
-    @Cacheable(value = "hooks", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat('HK')")
-    public List<Hook> retrieveHooksByEvent(final String actionName,
-            final String entityName) {
+    @Cacheable(value = "hooks", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#entityName + ':' + #actionName + 'HK')")
+    public List<Hook> retrieveHooksByEvent(final String entityName,
+            final String actionName) {
 
-        return this.hookRepository.findAllHooksListeningToEvent(actionName,
-                entityName);
+        return this.hookRepository.findAllHooksListeningToEvent(entityName,
+                actionName);
     }
 
     @Override
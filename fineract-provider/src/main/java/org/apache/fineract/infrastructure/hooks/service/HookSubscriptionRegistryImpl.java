@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class HookSubscriptionRegistryImpl implements HookSubscriptionRegistry {
+
+	/**
+	 * Hooks changed through another node are only seen by this one after the
+	 * subscriptions are reloaded, so they are not kept for longer than this.
+	 */
+	private static final long REFRESH_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ConcurrentMap<String, Subscriptions> subscriptionsByTenant = new ConcurrentHashMap<>();
+
+	@Autowired
+	public HookSubscriptionRegistryImpl(final RoutingDataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	@Override
+	public boolean hasSubscribers(final String entityName, final String actionName) {
+		return subscriptions().events.contains(eventKey(entityName, actionName));
+	}
+
+	@Override
+	public void invalidate() {
+		final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+		this.subscriptionsByTenant.remove(tenantIdentifier);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			// subscriptions reloaded before the change was committed would
+			// otherwise be kept until the next refresh
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+				@Override
+				public void afterCompletion(@SuppressWarnings("unused") final int status) {
+					HookSubscriptionRegistryImpl.this.subscriptionsByTenant.remove(tenantIdentifier);
+				}
+			});
+		}
+	}
+
+	private Subscriptions subscriptions() {
+		final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+		final Subscriptions current = this.subscriptionsByTenant.get(tenantIdentifier);
+		final long now = System.currentTimeMillis();
+		if (current != null && now - current.loadedAt < REFRESH_INTERVAL_MILLIS) { return current; }
+
+		final Subscriptions loaded = new Subscriptions(loadEvents(), now);
+		if (current == null) {
+			this.subscriptionsByTenant.putIfAbsent(tenantIdentifier, loaded);
+		} else {
+			this.subscriptionsByTenant.replace(tenantIdentifier, current, loaded);
+		}
+		return loaded;
+	}
+
+	private Set<String> loadEvents() {
+		final String sql = "select distinct lower(concat(e.entity_name, ':', e.action_name)) from m_hook_registered_events e "
+				+ "join m_hook h on h.id = e.hook_id where h.is_active = 1";
+		final List<String> events = this.jdbcTemplate.queryForList(sql, String.class);
+		return new HashSet<>(events);
+	}
+
+	private static String eventKey(final String entityName, final String actionName) {
+		// the listener matches events through a case insensitive comparison
+		return (entityName + ":" + actionName).toLowerCase(Locale.ENGLISH);
+	}
+
+	private static final class Subscriptions {
+
+		private final Set<String> events;
+		private final long loadedAt;
+
+		Subscriptions(final Set<String> events, final long loadedAt) {
+			this.events = events;
+			this.loadedAt = loadedAt;
+		}
+	}
+}
@@ -84,6 +84,7 @@ public class HookWritePlatformServiceJpaRepositoryImpl
     private final TemplateRepository ugdTemplateRepository;
     private final HookCommandFromApiJsonDeserializer fromApiJsonDeserializer;
     private final FromJsonHelper fromApiJsonHelper;
+    private final HookSubscriptionRegistry hookSubscriptionRegistry;
 
     @Autowired
     public HookWritePlatformServiceJpaRepositoryImpl(
@@ -92,13 +93,15 @@ public class HookWritePlatformServiceJpaRepositoryImpl
             final HookTemplateRepository hookTemplateRepository,
             final TemplateRepository ugdTemplateRepository,
             final HookCommandFromApiJsonDeserializer fromApiJsonDeserializer,
-            final FromJsonHelper fromApiJsonHelper) {
+            final FromJsonHelper fromApiJsonHelper,
+            final HookSubscriptionRegistry hookSubscriptionRegistry) {
         this.context = context;
         this.hookRepository = hookRepository;
         this.hookTemplateRepository = hookTemplateRepository;
         this.ugdTemplateRepository = ugdTemplateRepository;
         this.fromApiJsonDeserializer = fromApiJsonDeserializer;
         this.fromApiJsonHelper = fromApiJsonHelper;
+        this.hookSubscriptionRegistry = hookSubscriptionRegistry;
     }
 
     @Transactional
@@ -134,6 +137,7 @@ public class HookWritePlatformServiceJpaRepositoryImpl
             validateHookRules(template, config, allEvents);
 
             this.hookRepository.save(hook);
+            this.hookSubscriptionRegistry.invalidate();
 
             return new CommandProcessingResultBuilder()
                     .withCommandId(command.commandId())
@@ -199,6 +203,7 @@ public class HookWritePlatformServiceJpaRepositoryImpl
                 }
 
                 this.hookRepository.saveAndFlush(hook);
+                this.hookSubscriptionRegistry.invalidate();
             }
 
             return new CommandProcessingResultBuilder() //
@@ -225,6 +230,7 @@ public class HookWritePlatformServiceJpaRepositoryImpl
         final Hook hook = retrieveHookBy(hookId);
         try {
             this.hookRepository.delete(hook);
+            this.hookSubscriptionRegistry.invalidate();
         } catch (final DataIntegrityViolationException e) {
             throw new PlatformDataIntegrityException(
                     "error.msg.unknown.data.integrity.issue",
@@ -34,6 +34,7 @@ public class SchedulerJobApiConstants {
     public static final String jobActiveStatusParamName = "active";
     public static final String currentlyRunningParamName = "currentlyRunning";
     public static final String lastRunHistoryObjParamName = "lastRunHistory";
+    public static final String progressObjParamName = "progress";
 
     public static final String versionParamName = "version";
     public static final String jobRunStartTimeParamName = "jobRunStartTime";
@@ -47,7 +48,7 @@ public class SchedulerJobApiConstants {
 
     public static final Set<String> JOB_DETAIL_RESPONSE_DATA_PARAMETERS = new HashSet<>(Arrays.asList(jobIdentifierParamName,
             displayNameParamName, nextRunTimeParamName, initializingErrorParamName, cronExpressionParamName, jobActiveStatusParamName,
-            currentlyRunningParamName, lastRunHistoryObjParamName));
+            currentlyRunningParamName, lastRunHistoryObjParamName, progressObjParamName));
 
     public static final Set<String> JOB_HISTORY_RESPONSE_DATA_PARAMETERS = new HashSet<>(Arrays.asList(versionParamName,
             jobRunStartTimeParamName, jobRunEndTimeParamName, statusParamName, jobRunErrorMessageParamName, triggerTypeParamName,
@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.data;
+
+import java.util.Date;
+
+/**
+ * Snapshot of the progress of a job that fans its work out to worker
+ * threads.
+ */
+public class JobProgressData {
+
+    @SuppressWarnings("unused")
+    private final Date startTime;
+
+    @SuppressWarnings("unused")
+    private final long total;
+
+    @SuppressWarnings("unused")
+    private final long processed;
+
+    @SuppressWarnings("unused")
+    private final long failed;
+
+    @SuppressWarnings("unused")
+    private final long remaining;
+
+    public JobProgressData(final Date startTime, final long total, final long processed, final long failed) {
+        this.startTime = startTime;
+        this.total = total;
+        this.processed = processed;
+        this.failed = failed;
+        this.remaining = Math.max(0, total - processed - failed);
+    }
+}
@@ -45,7 +45,10 @@ public enum JobName {
     EXECUTE_REPORT_MAILING_JOBS("Execute Report Mailing Jobs"),
     UPDATE_SMS_OUTBOUND_WITH_CAMPAIGN_MESSAGE("Update SMS Outbound with Campaign Message"),
     SEND_MESSAGES_TO_SMS_GATEWAY("Send Messages to SMS Gateway"), 
-    GET_DELIVERY_REPORTS_FROM_SMS_GATEWAY("Get Delivery Reports from SMS Gateway");
+    GET_DELIVERY_REPORTS_FROM_SMS_GATEWAY("Get Delivery Reports from SMS Gateway"),
+    VERIFY_SAVINGS_ACCOUNT_BALANCES("Verify Savings Account Balances"),
+    RETRY_HOOK_DELIVERIES("Retry Hook Deliveries"),
+    REBUILD_SEARCH_INDEX("Rebuild Search Index");
 
     private final String name;
 
@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.fineract.infrastructure.jobs.data.JobProgressData;
+
+/**
+ * Thread safe progress counters of a single job run, updated by the job
+ * workers and read through {@link SchedulerJobProgressRegistry}.
+ */
+public class JobProgress {
+
+    private final Date startTime = new Date();
+    private final long total;
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public JobProgress(final long total) {
+        this.total = total;
+    }
+
+    public void recordProcessed() {
+        this.processed.incrementAndGet();
+    }
+
+    public void recordFailed() {
+        this.failed.incrementAndGet();
+    }
+
+    public long getProcessed() {
+        return this.processed.get();
+    }
+
+    public long getFailed() {
+        return this.failed.get();
+    }
+
+    public JobProgressData toData() {
+        return new JobProgressData(this.startTime, this.total, this.processed.get(), this.failed.get());
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.data.JobProgressData;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the progress of the latest run of each job, per tenant, so that it
+ * can be returned with the job details while the job is running and after it
+ * has completed.
+ */
+@Component
+public class SchedulerJobProgressRegistry {
+
+    private final ConcurrentMap<String, JobProgress> progressByJob = new ConcurrentHashMap<>();
+
+    public JobProgress start(final JobName jobName, final long total) {
+        final JobProgress progress = new JobProgress(total);
+        this.progressByJob.put(key(jobName.toString()), progress);
+        return progress;
+    }
+
+    public JobProgressData retrieve(final String jobName) {
+        final JobProgress progress = this.progressByJob.get(key(jobName));
+        if (progress == null) { return null; }
+        return progress.toData();
+    }
+
+    private String key(final String jobName) {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier() + "_" + jobName;
+    }
+}
@@ -29,6 +29,7 @@ import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.infrastructure.jobs.data.JobDetailData;
 import org.apache.fineract.infrastructure.jobs.data.JobDetailHistoryData;
+import org.apache.fineract.infrastructure.jobs.data.JobProgressData;
 import org.apache.fineract.infrastructure.jobs.exception.JobNotFoundException;
 import org.apache.fineract.infrastructure.jobs.exception.OperationNotAllowedException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,16 +43,19 @@ public class SchedulerJobRunnerReadServiceImpl implements SchedulerJobRunnerRead
 
     private final JdbcTemplate jdbcTemplate;
 
+    private final SchedulerJobProgressRegistry jobProgressRegistry;
+
     private final PaginationHelper<JobDetailHistoryData> paginationHelper = new PaginationHelper<>();
 
     @Autowired
-    public SchedulerJobRunnerReadServiceImpl(final RoutingDataSource dataSource) {
+    public SchedulerJobRunnerReadServiceImpl(final RoutingDataSource dataSource, final SchedulerJobProgressRegistry jobProgressRegistry) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jobProgressRegistry = jobProgressRegistry;
     }
 
     @Override
     public List<JobDetailData> findAllJobDeatils() {
-        final JobDetailMapper detailMapper = new JobDetailMapper();
+        final JobDetailMapper detailMapper = new JobDetailMapper(this.jobProgressRegistry);
         final String sql = detailMapper.schema();
         final List<JobDetailData> JobDeatils = this.jdbcTemplate.query(sql, detailMapper, new Object[] {});
         return JobDeatils;
@@ -61,7 +65,7 @@ public class SchedulerJobRunnerReadServiceImpl implements SchedulerJobRunnerRead
     @Override
     public JobDetailData retrieveOne(final Long jobId) {
         try {
-            final JobDetailMapper detailMapper = new JobDetailMapper();
+            final JobDetailMapper detailMapper = new JobDetailMapper(this.jobProgressRegistry);
             final String sql = detailMapper.schema() + " where job.id=?";
             return this.jdbcTemplate.queryForObject(sql, detailMapper, new Object[] { jobId });
         } catch (final EmptyResultDataAccessException e) {
@@ -122,11 +126,17 @@ public class SchedulerJobRunnerReadServiceImpl implements SchedulerJobRunnerRead
 
     private static final class JobDetailMapper implements RowMapper<JobDetailData> {
 
+        private final SchedulerJobProgressRegistry jobProgressRegistry;
+
         private final StringBuilder sqlBuilder = new StringBuilder("select")
-                .append(" job.id,job.display_name as displayName,job.next_run_time as nextRunTime,job.initializing_errorlog as initializingError,job.cron_expression as cronExpression,job.is_active as active,job.currently_running as currentlyRunning,")
+                .append(" job.id,job.name as jobName,job.display_name as displayName,job.next_run_time as nextRunTime,job.initializing_errorlog as initializingError,job.cron_expression as cronExpression,job.is_active as active,job.currently_running as currentlyRunning,")
                 .append(" runHistory.version,runHistory.start_time as lastRunStartTime,runHistory.end_time as lastRunEndTime,runHistory.`status`,runHistory.error_message as jobRunErrorMessage,runHistory.trigger_type as triggerType,runHistory.error_log as jobRunErrorLog ")
                 .append(" from job job  left join job_run_history runHistory ON job.id=runHistory.job_id and job.previous_run_start_time=runHistory.start_time ");
 
+        public JobDetailMapper(final SchedulerJobProgressRegistry jobProgressRegistry) {
+            this.jobProgressRegistry = jobProgressRegistry;
+        }
+
         public String schema() {
             return this.sqlBuilder.toString();
         }
@@ -134,6 +144,7 @@ public class SchedulerJobRunnerReadServiceImpl implements SchedulerJobRunnerRead
         @Override
         public JobDetailData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
             final Long id = rs.getLong("id");
+            final String jobName = rs.getString("jobName");
             final String displayName = rs.getString("displayName");
             final Date nextRunTime = rs.getTimestamp("nextRunTime");
             final String initializingError = rs.getString("initializingError");
@@ -154,8 +165,9 @@ public class SchedulerJobRunnerReadServiceImpl implements SchedulerJobRunnerRead
                 lastRunHistory = new JobDetailHistoryData(version, jobRunStartTime, jobRunEndTime, status, jobRunErrorMessage, triggerType,
                         jobRunErrorLog);
             }
+            final JobProgressData progress = this.jobProgressRegistry.retrieve(jobName);
             final JobDetailData jobDetail = new JobDetailData(id, displayName, nextRunTime, initializingError, cronExpression, active,
-                    currentlyRunning, lastRunHistory);
+                    currentlyRunning, lastRunHistory, progress);
             return jobDetail;
         }
 
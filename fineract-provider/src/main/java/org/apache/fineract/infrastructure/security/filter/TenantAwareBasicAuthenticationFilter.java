@@ -19,6 +19,14 @@
 package org.apache.fineract.infrastructure.security.filter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -37,6 +45,7 @@ import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.security.data.PlatformRequestLog;
 import org.apache.fineract.infrastructure.security.exception.InvalidTenantIdentiferException;
 import org.apache.fineract.infrastructure.security.service.BasicAuthTenantDetailsService;
+import org.apache.fineract.infrastructure.security.service.BasicAuthenticationService;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,6 +81,8 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
 
     private static boolean firstRequestProcessed = false;
     private final static Logger logger = LoggerFactory.getLogger(TenantAwareBasicAuthenticationFilter.class);
+    private static final String CREDENTIALS_DIGEST_ALGORITHM = "HmacSHA256";
+    private static final SecretKeySpec CREDENTIALS_DIGEST_KEY = generateCredentialsDigestKey();
 
     private final BasicAuthTenantDetailsService basicAuthTenantDetailsService;
     private final ToApiJsonSerializer<PlatformRequestLog> toApiJsonSerializer;
@@ -82,17 +93,57 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
     private final boolean exceptionIfHeaderMissing = true;
 
     @Autowired
-    public TenantAwareBasicAuthenticationFilter(final AuthenticationManager authenticationManager,
+    public TenantAwareBasicAuthenticationFilter(final BasicAuthenticationService basicAuthenticationService,
             final AuthenticationEntryPoint authenticationEntryPoint, final BasicAuthTenantDetailsService basicAuthTenantDetailsService,
             final ToApiJsonSerializer<PlatformRequestLog> toApiJsonSerializer, final ConfigurationDomainService configurationDomainService,
             final CacheWritePlatformService cacheWritePlatformService) {
-        super(authenticationManager, authenticationEntryPoint);
+        super(credentialsDigestingAuthenticationManager(basicAuthenticationService), authenticationEntryPoint);
         this.basicAuthTenantDetailsService = basicAuthTenantDetailsService;
         this.toApiJsonSerializer = toApiJsonSerializer;
         this.configurationDomainService = configurationDomainService;
         this.cacheWritePlatformService = cacheWritePlatformService;
     }
 
+    /**
+     * Hands the credentials of each request together with their digest to
+     * {@link BasicAuthenticationService}, which skips loading the user and
+     * checking the password for credentials it authenticated recently.
+     */
+    private static AuthenticationManager credentialsDigestingAuthenticationManager(
+            final BasicAuthenticationService basicAuthenticationService) {
+        return new AuthenticationManager() {
+
+            @Override
+            public Authentication authenticate(final Authentication authentication) {
+                return basicAuthenticationService.authenticate(digest(authentication), authentication);
+            }
+        };
+    }
+
+    /**
+     * HMAC of the credentials under a key that is generated when the
+     * application starts and never leaves it, so a cache key can not be used
+     * to test guessed passwords offline.
+     */
+    private static String digest(final Authentication authentication) {
+        try {
+            final Mac mac = Mac.getInstance(CREDENTIALS_DIGEST_ALGORITHM);
+            mac.init(CREDENTIALS_DIGEST_KEY);
+            mac.update(authentication.getName().getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) ':');
+            mac.update(String.valueOf(authentication.getCredentials()).getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(mac.doFinal());
+        } catch (final NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static SecretKeySpec generateCredentialsDigestKey() {
+        final byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return new SecretKeySpec(key, CREDENTIALS_DIGEST_ALGORITHM);
+    }
+
     @Override
     public void doFilter(final ServletRequest req, final ServletResponse res, final FilterChain chain) throws IOException, ServletException {
 
@@ -138,7 +189,9 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
                     System.setProperty("baseUrl", baseUrl);
 
                     final boolean ehcacheEnabled = this.configurationDomainService.isEhcacheEnabled();
-                    if (ehcacheEnabled) {
+                    if (this.configurationDomainService.isDistributedCacheEnabled()) {
+                        this.cacheWritePlatformService.switchToCache(CacheType.MULTI_NODE);
+                    } else if (ehcacheEnabled) {
                         this.cacheWritePlatformService.switchToCache(CacheType.SINGLE_NODE);
                     } else {
                         this.cacheWritePlatformService.switchToCache(CacheType.NO_CACHE);
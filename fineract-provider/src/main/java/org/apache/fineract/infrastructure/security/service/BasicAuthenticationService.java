@@ -0,0 +1,37 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.security.service;
+
+import org.springframework.security.core.Authentication;
+
+public interface BasicAuthenticationService {
+
+    /**
+     * Authenticates the basic auth credentials of a request, reusing the
+     * outcome of an earlier successful authentication of the same credentials
+     * for the same tenant while it is held in the
+     * <code>authenticatedPrincipals</code> cache. The returned authentication
+     * has its credentials erased.
+     * 
+     * @param credentialsDigest
+     *            a keyed digest of the credentials, so that the cache never
+     *            holds them in plain text as part of a key
+     */
+    Authentication authenticate(String credentialsDigest, Authentication authenticationRequest);
+}
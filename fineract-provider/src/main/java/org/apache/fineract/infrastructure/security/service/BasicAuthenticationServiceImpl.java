@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.security.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+/**
+ * Authenticates through the <code>authenticationManager</code> of
+ * securityContext.xml, which loads the user with its roles and permissions and
+ * checks the password hash. Successful authentications are cached with a time
+ * to live configured in ehcache.xml and evicted together with the
+ * <code>usersByUsername</code> cache whenever a user, role or permission
+ * changes. The cached authentication carries the principal and its
+ * authorities only, never the password.
+ */
+@Service
+@Profile("basicauth")
+public class BasicAuthenticationServiceImpl implements BasicAuthenticationService {
+
+    private final AuthenticationManager authenticationManager;
+
+    @Autowired
+    public BasicAuthenticationServiceImpl(final AuthenticationManager authenticationManager) {
+        this.authenticationManager = authenticationManager;
+    }
+
+    @Override
+    @Cacheable(value = "authenticatedPrincipals", key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat(#credentialsDigest+'ap')")
+    public Authentication authenticate(@SuppressWarnings("unused") final String credentialsDigest,
+            final Authentication authenticationRequest) {
+        final Authentication authentication = this.authenticationManager.authenticate(authenticationRequest);
+        final UsernamePasswordAuthenticationToken authenticated = new UsernamePasswordAuthenticationToken(authentication.getPrincipal(),
+                null, authentication.getAuthorities());
+        authenticated.setDetails(authentication.getDetails());
+        return authenticated;
+    }
+}
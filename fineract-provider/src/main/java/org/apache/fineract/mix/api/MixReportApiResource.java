@@ -18,6 +18,12 @@
  */
 package org.apache.fineract.mix.api;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
 
 import javax.ws.rs.GET;
@@ -25,6 +31,8 @@ import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.fineract.mix.data.XBRLData;
 import org.apache.fineract.mix.service.XBRLBuilder;
@@ -49,11 +57,20 @@ public class MixReportApiResource {
 
     @GET
     @Produces({ MediaType.APPLICATION_XML })
-    public String retrieveXBRLReport(@QueryParam("startDate") final Date startDate, @QueryParam("endDate") final Date endDate,
+    public Response retrieveXBRLReport(@QueryParam("startDate") final Date startDate, @QueryParam("endDate") final Date endDate,
             @QueryParam("currency") final String currency) {
 
         final XBRLData data = this.xbrlResultService.getXBRLResult(startDate, endDate, currency);
 
-        return this.xbrlBuilder.build(data);
+        final StreamingOutput result = new StreamingOutput() {
+
+            @Override
+            public void write(final OutputStream out) throws IOException {
+                final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                MixReportApiResource.this.xbrlBuilder.build(data, writer);
+                writer.flush();
+            }
+        };
+        return Response.ok().entity(result).type(MediaType.APPLICATION_XML).build();
     }
 }
\ No newline at end of file
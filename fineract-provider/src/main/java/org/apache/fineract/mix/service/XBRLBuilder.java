@@ -18,38 +18,45 @@
  */
 package org.apache.fineract.mix.service;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.sql.Date;
 import java.text.SimpleDateFormat;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.apache.fineract.mix.data.ContextData;
 import org.apache.fineract.mix.data.MixTaxonomyData;
 import org.apache.fineract.mix.data.NamespaceData;
 import org.apache.fineract.mix.data.XBRLData;
 import org.apache.fineract.mix.exception.XBRLMappingInvalidException;
-import org.dom4j.Document;
-import org.dom4j.DocumentHelper;
-import org.dom4j.Element;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Writes XBRL instance documents straight to a {@link Writer} with StAX. The
+ * namespaces and contexts the facts refer to are collected in a first pass
+ * over the facts, so nothing but the facts themselves is kept in memory.
+ */
 @Component
 public class XBRLBuilder {
 
     private static final String SCHEME_URL = "http://www.themix.org";
+    private static final String SCHEMA_REF_URL = "http://www.themix.org/sites/default/files/Taxonomy2010/dct/dc-all_2010-08-31.xsd";
     private static final String IDENTIFIER = "000000";
     private static final String UNITID_PURE = "Unit1";
     private static final String UNITID_CUR = "Unit2";
 
-    private Element root;
-    private HashMap<ContextData, String> contextMap;
-    Date startDate;
-    Date endDate;
-    private Integer instantScenarioCounter = 1;
-    private Integer durationScenarioCounter = 1;
+    private final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newInstance();
 
     @Autowired
     private NamespaceReadPlatformService readNamespaceService;
@@ -59,93 +66,124 @@ public class XBRLBuilder {
     }
 
     public String build(final Map<MixTaxonomyData, BigDecimal> map, final Date startDate, final Date endDate, final String currency) {
-        this.instantScenarioCounter = 1;
-        this.durationScenarioCounter = 1;
-        this.contextMap = new HashMap<>();
-        final Document doc = DocumentHelper.createDocument();
-        this.root = doc.addElement("xbrl");
-
-        this.root.addElement("schemaRef").addNamespace("link",
-                "http://www.themix.org/sites/default/files/Taxonomy2010/dct/dc-all_2010-08-31.xsd");
-
-        this.startDate = startDate;
-        this.endDate = endDate;
-
-        for (final Entry<MixTaxonomyData, BigDecimal> entry : map.entrySet()) {
-            final MixTaxonomyData taxonomy = entry.getKey();
-            final BigDecimal value = entry.getValue();
-            addTaxonomy(this.root, taxonomy, value);
-
+        final StringWriter writer = new StringWriter();
+        try {
+            build(map, startDate, endDate, currency, writer);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
         }
+        return writer.toString();
+    }
 
-        addContexts();
-        addCurrencyUnit(currency);
-        addNumberUnit();
-
-        doc.setXMLEncoding("UTF-8");
-
-        return doc.asXML();
+    public void build(final XBRLData xbrlData, final Writer writer) throws IOException {
+        this.build(xbrlData.getResultMap(), xbrlData.getStartDate(), xbrlData.getEndDate(), xbrlData.getCurrency(), writer);
     }
 
-    Element addTaxonomy(final Element rootElement, final MixTaxonomyData taxonomy, final BigDecimal value) {
+    public void build(final Map<MixTaxonomyData, BigDecimal> map, final Date startDate, final Date endDate, final String currency,
+            final Writer writer) throws IOException {
 
         // throw an error is start / endate is null
-        if (this.startDate == null || this.endDate == null) { throw new XBRLMappingInvalidException(
-                "start date and end date should not be null"); }
+        if (startDate == null || endDate == null) { throw new XBRLMappingInvalidException("start date and end date should not be null"); }
+
+        // <prefix, url> of the namespaces the taxonomies use
+        final Map<String, String> namespaces = new LinkedHashMap<>();
+        final Map<MixTaxonomyData, String> contextRefs = new HashMap<>();
+        final Map<ContextData, String> contexts = contextsOf(map, startDate, endDate, namespaces, contextRefs);
+
+        try {
+            final XMLStreamWriter xml = this.xmlOutputFactory.createXMLStreamWriter(writer);
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("xbrl");
+            for (final Entry<String, String> namespace : namespaces.entrySet()) {
+                xml.writeNamespace(namespace.getKey(), namespace.getValue());
+            }
 
-        final String prefix = taxonomy.getNamespace();
-        String qname = taxonomy.getName();
-        if (prefix != null && (!prefix.isEmpty())) {
-            final NamespaceData ns = this.readNamespaceService.retrieveNamespaceByPrefix(prefix);
-            if (ns != null) {
+            xml.writeEmptyElement("schemaRef");
+            xml.writeNamespace("link", SCHEMA_REF_URL);
 
-                this.root.addNamespace(prefix, ns.url());
+            for (final Entry<MixTaxonomyData, BigDecimal> entry : map.entrySet()) {
+                writeTaxonomy(xml, entry.getKey(), entry.getValue(), contextRefs.get(entry.getKey()));
             }
-            qname = prefix + ":" + taxonomy.getName();
-
-        }
-        final Element xmlElement = rootElement.addElement(qname);
 
-        final String dimension = taxonomy.getDimension();
-        final SimpleDateFormat timeFormat = new SimpleDateFormat("MM_dd_yyyy");
+            writeContexts(xml, contexts, startDate, endDate);
+            writeCurrencyUnit(xml, currency);
+            writeNumberUnit(xml);
 
-        ContextData context = null;
-        if (dimension != null) {
-            final String[] dims = dimension.split(":");
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.flush();
+        } catch (final XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
 
-            if (dims.length == 2) {
-                context = new ContextData(dims[0], dims[1], taxonomy.getType());
-                if (this.contextMap.containsKey(context)) {
+    /**
+     * Assigns every taxonomy the id of its context, creating the contexts in
+     * the order they are first used, and collects the namespaces of their
+     * prefixes.
+     */
+    private Map<ContextData, String> contextsOf(final Map<MixTaxonomyData, BigDecimal> map, final Date startDate, final Date endDate,
+            final Map<String, String> namespaces, final Map<MixTaxonomyData, String> contextRefs) {
 
-                } else {
+        final SimpleDateFormat timeFormat = new SimpleDateFormat("MM_dd_yyyy");
+        final String startDateStr = timeFormat.format(startDate);
+        final String endDateStr = timeFormat.format(endDate);
+        int instantScenarioCounter = 1;
+        int durationScenarioCounter = 1;
+
+        final Map<String, NamespaceData> namespacesByPrefix = new HashMap<>();
+        final Map<ContextData, String> contexts = new LinkedHashMap<>();
+        for (final MixTaxonomyData taxonomy : map.keySet()) {
+
+            final String prefix = taxonomy.getNamespace();
+            if (prefix != null && !prefix.isEmpty()) {
+                if (!namespacesByPrefix.containsKey(prefix)) {
+                    namespacesByPrefix.put(prefix, this.readNamespaceService.retrieveNamespaceByPrefix(prefix));
+                }
+                final NamespaceData ns = namespacesByPrefix.get(prefix);
+                if (ns != null) {
+                    namespaces.put(prefix, ns.url());
+                }
+            }
 
+            ContextData context = null;
+            final String dimension = taxonomy.getDimension();
+            if (dimension != null) {
+                final String[] dims = dimension.split(":");
+                if (dims.length == 2) {
+                    context = new ContextData(dims[0], dims[1], taxonomy.getType());
                 }
             }
-        }
+            if (context == null) {
+                context = new ContextData(null, null, taxonomy.getType());
+            }
 
-        if (context == null) {
-            context = new ContextData(null, null, taxonomy.getType());
+            String contextRefID = contexts.get(context);
+            if (contextRefID == null) {
+                contextRefID = (context.getPeriodType() == 0) ? ("As_Of_" + endDateStr + (instantScenarioCounter++))
+                        : ("Duration_" + startDateStr + "_To_" + endDateStr + (durationScenarioCounter++));
+                contexts.put(context, contextRefID);
+            }
+            contextRefs.put(taxonomy, contextRefID);
         }
+        return contexts;
+    }
 
-        if (!this.contextMap.containsKey(context)) {
-
-            final String startDateStr = timeFormat.format(this.startDate);
-            final String endDateStr = timeFormat.format(this.endDate);
-
-            final String contextRefID = (context.getPeriodType() == 0) ? ("As_Of_" + endDateStr + (this.instantScenarioCounter++))
-                    : ("Duration_" + startDateStr + "_To_" + endDateStr + (this.durationScenarioCounter++));
+    private void writeTaxonomy(final XMLStreamWriter xml, final MixTaxonomyData taxonomy, final BigDecimal value, final String contextRef)
+            throws XMLStreamException {
 
-            this.contextMap.put(context, contextRefID);
+        final String prefix = taxonomy.getNamespace();
+        String qname = taxonomy.getName();
+        if (prefix != null && (!prefix.isEmpty())) {
+            qname = prefix + ":" + taxonomy.getName();
         }
 
-        xmlElement.addAttribute("contextRef", this.contextMap.get(context));
-        xmlElement.addAttribute("unitRef", getUnitRef(taxonomy));
-        xmlElement.addAttribute("decimals", getNumberOfDecimalPlaces(value).toString());
-
-        // add the child
-        xmlElement.addText(value.toPlainString());
-
-        return xmlElement;
+        xml.writeStartElement(qname);
+        xml.writeAttribute("contextRef", contextRef);
+        xml.writeAttribute("unitRef", getUnitRef(taxonomy));
+        xml.writeAttribute("decimals", getNumberOfDecimalPlaces(value).toString());
+        xml.writeCharacters(value.toPlainString());
+        xml.writeEndElement();
     }
 
     private String getUnitRef(final MixTaxonomyData tx) {
@@ -153,53 +191,70 @@ public class XBRLBuilder {
     }
 
     /**
-     * Adds the generic number unit
+     * Writes the generic number unit
      */
-    void addNumberUnit() {
-        final Element numerUnit = this.root.addElement("unit");
-        numerUnit.addAttribute("id", UNITID_PURE);
-        final Element measure = numerUnit.addElement("measure");
-        measure.addText("xbrli:pure");
-
+    private void writeNumberUnit(final XMLStreamWriter xml) throws XMLStreamException {
+        xml.writeStartElement("unit");
+        xml.writeAttribute("id", UNITID_PURE);
+        writeTextElement(xml, "measure", "xbrli:pure");
+        xml.writeEndElement();
     }
 
     /**
-     * Adds the currency unit to the document
+     * Writes the currency unit to the document
      * 
      * @param currencyCode
      */
-    public void addCurrencyUnit(final String currencyCode) {
-        final Element currencyUnitElement = this.root.addElement("unit");
-        currencyUnitElement.addAttribute("id", UNITID_CUR);
-        final Element measure = currencyUnitElement.addElement("measure");
-        measure.addText("iso4217:" + currencyCode);
-
+    private void writeCurrencyUnit(final XMLStreamWriter xml, final String currencyCode) throws XMLStreamException {
+        xml.writeStartElement("unit");
+        xml.writeAttribute("id", UNITID_CUR);
+        writeTextElement(xml, "measure", "iso4217:" + currencyCode);
+        xml.writeEndElement();
     }
 
-    public void addContexts() {
+    private void writeContexts(final XMLStreamWriter xml, final Map<ContextData, String> contexts, final Date startDate,
+            final Date endDate) throws XMLStreamException {
         final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
-        for (final Entry<ContextData, String> entry : this.contextMap.entrySet()) {
+        for (final Entry<ContextData, String> entry : contexts.entrySet()) {
             final ContextData context = entry.getKey();
-            final Element contextElement = this.root.addElement("context");
-            contextElement.addAttribute("id", entry.getValue());
-            contextElement.addElement("entity").addElement("identifier").addAttribute("scheme", SCHEME_URL).addText(IDENTIFIER);
+            xml.writeStartElement("context");
+            xml.writeAttribute("id", entry.getValue());
 
-            final Element periodElement = contextElement.addElement("period");
+            xml.writeStartElement("entity");
+            xml.writeStartElement("identifier");
+            xml.writeAttribute("scheme", SCHEME_URL);
+            xml.writeCharacters(IDENTIFIER);
+            xml.writeEndElement();
+            xml.writeEndElement();
 
+            xml.writeStartElement("period");
             if (context.getPeriodType() == 0) {
-                periodElement.addElement("instant").addText(format.format(this.endDate));
+                writeTextElement(xml, "instant", format.format(endDate));
             } else {
-                periodElement.addElement("startDate").addText(format.format(this.startDate));
-                periodElement.addElement("endDate").addText(format.format(this.endDate));
+                writeTextElement(xml, "startDate", format.format(startDate));
+                writeTextElement(xml, "endDate", format.format(endDate));
             }
+            xml.writeEndElement();
 
             final String dimension = context.getDimension();
             final String dimType = context.getDimensionType();
             if (dimType != null && dimension != null) {
-                contextElement.addElement("scenario").addElement("explicitMember").addAttribute("dimension", dimType).addText(dimension);
+                xml.writeStartElement("scenario");
+                xml.writeStartElement("explicitMember");
+                xml.writeAttribute("dimension", dimType);
+                xml.writeCharacters(dimension);
+                xml.writeEndElement();
+                xml.writeEndElement();
             }
+
+            xml.writeEndElement();
         }
+    }
 
+    private static void writeTextElement(final XMLStreamWriter xml, final String name, final String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(text);
+        xml.writeEndElement();
     }
 
     private Integer getNumberOfDecimalPlaces(final BigDecimal bigDecimal) {
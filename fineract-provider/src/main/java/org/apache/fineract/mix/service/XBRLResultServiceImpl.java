@@ -22,7 +22,10 @@ import java.math.BigDecimal;
 import java.sql.Date;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,7 +39,9 @@ import org.apache.fineract.mix.data.MixTaxonomyMappingData;
 import org.apache.fineract.mix.data.XBRLData;
 import org.apache.fineract.mix.exception.XBRLMappingInvalidException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.stereotype.Component;
 
@@ -47,17 +52,29 @@ public class XBRLResultServiceImpl implements XBRLResultService {
 
     private static final ScriptEngine SCRIPT_ENGINE = new ScriptEngineManager().getEngineByName("JavaScript");
 
+    /*
+     * Debits minus credits per GL code over the period, in a single pass over
+     * the journal entries of the period.
+     */
+    private static final String ACCOUNT_BALANCES_SQL = "select acc_gl_account.gl_code as 'glcode', "
+            + "sum(if(acc_gl_journal_entry.type_enum = 2, acc_gl_journal_entry.amount, 0)) "
+            + "- sum(if(acc_gl_journal_entry.type_enum = 1, acc_gl_journal_entry.amount, 0)) as 'balance' "
+            + "from acc_gl_journal_entry join acc_gl_account on acc_gl_account.id = acc_gl_journal_entry.account_id "
+            + "where acc_gl_journal_entry.entry_date > :startDate and acc_gl_journal_entry.entry_date <= :endDate "
+            + "and acc_gl_account.gl_code in (:glCodes) "
+            // "and (acc_gl_journal_entry.office_id=${branch} or ${branch}=1) "
+            + "group by acc_gl_account.gl_code";
+
     private final MixTaxonomyMappingReadPlatformService readTaxonomyMappingService;
     private final MixTaxonomyReadPlatformService readTaxonomyService;
-    private final JdbcTemplate jdbcTemplate;
-    private HashMap<String, BigDecimal> accountBalanceMap;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
     @Autowired
     public XBRLResultServiceImpl(final RoutingDataSource dataSource,
             final MixTaxonomyMappingReadPlatformService readTaxonomyMappingService, final MixTaxonomyReadPlatformService readTaxonomyService) {
         this.readTaxonomyMappingService = readTaxonomyMappingService;
         this.readTaxonomyService = readTaxonomyService;
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
     }
 
     @Override
@@ -78,13 +95,25 @@ public class XBRLResultServiceImpl implements XBRLResultService {
             HashMap<String, String> configMap = new HashMap<>();
             configMap = new Gson().fromJson(config, configMap.getClass());
             if (configMap == null) { return null; }
+
+            final Set<String> glCodes = new HashSet<>();
+            for (final String mapping : configMap.values()) {
+                glCodes.addAll(getGLCodes(mapping));
+            }
+            final Map<String, BigDecimal> accountBalanceMap = retrieveAccountBalances(startDate, endDate, glCodes);
+
+            final Map<Long, MixTaxonomyData> taxonomies = new HashMap<>();
+            for (final MixTaxonomyData taxonomy : this.readTaxonomyService.retrieveAll()) {
+                taxonomies.put(taxonomy.getId(), taxonomy);
+            }
+
             // <taxonomyId, value>
             final HashMap<MixTaxonomyData, BigDecimal> resultMap = new HashMap<>();
-            setupBalanceMap(getAccountSql(startDate, endDate));
             for (final Entry<String, String> entry : configMap.entrySet()) {
-                final BigDecimal value = processMappingString(entry.getValue());
+                final BigDecimal value = processMappingString(entry.getValue(), accountBalanceMap);
                 if (value != null) {
-                    final MixTaxonomyData taxonomy = this.readTaxonomyService.retrieveOne(Long.parseLong(entry.getKey()));
+                    final MixTaxonomyData taxonomy = taxonomies.get(Long.parseLong(entry.getKey()));
+                    if (taxonomy == null) { throw new XBRLMappingInvalidException("Taxonomy " + entry.getKey() + " does not exist"); }
                     resultMap.put(taxonomy, value);
                 }
 
@@ -94,80 +123,25 @@ public class XBRLResultServiceImpl implements XBRLResultService {
         return null;
     }
 
-    private String getAccountSql(final Date startDate, final Date endDate) {
-        final String sql = "select debits.glcode as 'glcode', debits.name as 'name', (ifnull(debits.debitamount,0)-ifnull(credits.creditamount,0)) as 'balance' "
-                + "from (select acc_gl_account.gl_code as 'glcode',name,sum(amount) as 'debitamount' "
-                + "from acc_gl_journal_entry,acc_gl_account "
-                + "where acc_gl_account.id = acc_gl_journal_entry.account_id "
-                + "and acc_gl_journal_entry.type_enum=2 " + "and acc_gl_journal_entry.entry_date <= "
-                + endDate
-                + " and acc_gl_journal_entry.entry_date > "
-                + startDate
-                +
-                // "and (acc_gl_journal_entry.office_id=${branch} or ${branch}=1) "
-                // +
-                " group by glcode "
-                + "order by glcode) debits "
-                + "LEFT OUTER JOIN "
-                + "(select acc_gl_account.gl_code as 'glcode',name,sum(amount) as 'creditamount' "
-                + "from acc_gl_journal_entry,acc_gl_account "
-                + "where acc_gl_account.id = acc_gl_journal_entry.account_id "
-                + "and acc_gl_journal_entry.type_enum=1 "
-                + "and acc_gl_journal_entry.entry_date <= "
-                + endDate
-                + " and acc_gl_journal_entry.entry_date > "
-                + startDate
-                +
-                // "and (acc_gl_journal_entry.office_id=${branch} or ${branch}=1) "
-                // +
-                " group by glcode "
-                + "order by glcode) credits "
-                + "on debits.glcode=credits.glcode "
-                + "union "
-                + "select credits.glcode as 'glcode', credits.name as 'name', (ifnull(debits.debitamount,0)-ifnull(credits.creditamount,0)) as 'balance' "
-                + "from (select acc_gl_account.gl_code as 'glcode',name,sum(amount) as 'debitamount' "
-                + "from acc_gl_journal_entry,acc_gl_account "
-                + "where acc_gl_account.id = acc_gl_journal_entry.account_id "
-                + "and acc_gl_journal_entry.type_enum=2 "
-                + "and acc_gl_journal_entry.entry_date <= "
-                + endDate
-                + " and acc_gl_journal_entry.entry_date > "
-                + startDate
-                +
-                // "and (acc_gl_journal_entry.office_id=${branch} or ${branch}=1) "
-                // +
-                " group by glcode "
-                + "order by glcode) debits "
-                + "RIGHT OUTER JOIN "
-                + "(select acc_gl_account.gl_code as 'glcode',name,sum(amount) as 'creditamount' "
-                + "from acc_gl_journal_entry,acc_gl_account "
-                + "where acc_gl_account.id = acc_gl_journal_entry.account_id "
-                + "and acc_gl_journal_entry.type_enum=1 "
-                + "and acc_gl_journal_entry.entry_date <= "
-                + endDate
-                + " and acc_gl_journal_entry.entry_date > " + startDate +
-                // "and (acc_gl_journal_entry.office_id=${branch} or ${branch}=1) "
-                // +
-                " group by name " + "order by glcode) credits " + "on debits.glcode=credits.glcode;";
-        return sql;
-    }
+    private Map<String, BigDecimal> retrieveAccountBalances(final Date startDate, final Date endDate, final Set<String> glCodes) {
+        final Map<String, BigDecimal> accountBalanceMap = new HashMap<>();
+        if (glCodes.isEmpty()) { return accountBalanceMap; }
 
-    private void setupBalanceMap(final String sql) {
-        if (this.accountBalanceMap == null) {
-            this.accountBalanceMap = new HashMap<>();
-            final SqlRowSet rs = this.jdbcTemplate.queryForRowSet(sql);
-            while (rs.next()) {
-                this.accountBalanceMap.put(rs.getString("glcode"), rs.getBigDecimal("balance"));
-            }
+        final SqlParameterSource parameters = new MapSqlParameterSource().addValue("startDate", startDate).addValue("endDate", endDate)
+                .addValue("glCodes", glCodes);
+        final SqlRowSet rs = this.namedParameterJdbcTemplate.queryForRowSet(ACCOUNT_BALANCES_SQL, parameters);
+        while (rs.next()) {
+            accountBalanceMap.put(rs.getString("glcode"), rs.getBigDecimal("balance"));
         }
+        return accountBalanceMap;
     }
 
     // Calculate Taxonomy value from expression
-    private BigDecimal processMappingString(String mappingString) {
+    private BigDecimal processMappingString(String mappingString, final Map<String, BigDecimal> accountBalanceMap) {
         final ArrayList<String> glCodes = getGLCodes(mappingString);
         for (final String glcode : glCodes) {
 
-            final BigDecimal balance = this.accountBalanceMap.get(glcode);
+            final BigDecimal balance = accountBalanceMap.get(glcode);
             mappingString = mappingString.replaceAll("\\{" + glcode + "\\}", balance != null ? balance.toString() : "0");
         }
 
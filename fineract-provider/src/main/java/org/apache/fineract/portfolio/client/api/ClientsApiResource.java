@@ -128,10 +128,11 @@ public class ClientsApiResource {
             @QueryParam("lastName") final String lastname, @QueryParam("underHierarchy") final String hierarchy,
             @QueryParam("offset") final Integer offset, @QueryParam("limit") final Integer limit,
             @QueryParam("orderBy") final String orderBy, @QueryParam("sortOrder") final String sortOrder,
-            @QueryParam("orphansOnly") final Boolean orphansOnly) {
+            @QueryParam("orphansOnly") final Boolean orphansOnly, @QueryParam("keyset") final Boolean keyset,
+            @QueryParam("continuationToken") final String continuationToken, @QueryParam("countTotal") final Boolean countTotal) {
 
         return this.retrieveAll(uriInfo, sqlSearch, officeId, externalId, displayName, firstname, 
-        		lastname, hierarchy, offset, limit, orderBy, sortOrder, orphansOnly, false);
+        		lastname, hierarchy, offset, limit, orderBy, sortOrder, orphansOnly, keyset, continuationToken, countTotal, false);
     }
     
     public String retrieveAll(final UriInfo uriInfo, final String sqlSearch,
@@ -140,12 +141,14 @@ public class ClientsApiResource {
             final String lastname, final String hierarchy,
             final Integer offset, final Integer limit,
             final String orderBy, final String sortOrder,
-            final Boolean orphansOnly, final boolean isSelfUser) {
+            final Boolean orphansOnly, final Boolean keyset, final String continuationToken,
+            final Boolean countTotal, final boolean isSelfUser) {
 
         this.context.authenticatedUser().validateHasReadPermission(ClientApiConstants.CLIENT_RESOURCE_NAME);
 
         final SearchParameters searchParameters = SearchParameters.forClients(sqlSearch, officeId, externalId, displayName, firstname,
-                lastname, hierarchy, offset, limit, orderBy, sortOrder, orphansOnly, isSelfUser);
+                lastname, hierarchy, offset, limit, orderBy, sortOrder, orphansOnly, isSelfUser).withKeysetPagination(keyset,
+                continuationToken, countTotal);
 
         final Page<ClientData> clientData = this.clientReadPlatformService.retrieveAll(searchParameters);
 
@@ -18,7 +18,6 @@
  */
 package org.apache.fineract.portfolio.client.data;
 
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -42,7 +41,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.google.gson.JsonElement;
-import com.google.gson.reflect.TypeToken;
 
 @Component
 public final class ClientDataValidator {
@@ -54,18 +52,18 @@ public final class ClientDataValidator {
         this.fromApiJsonHelper = fromApiJsonHelper;
     }
 
-    public void validateForCreate(final String json) {
+    public void validateForCreate(final JsonCommand command) {
 
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+        final JsonElement element = command.parsedJson();
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, ClientApiConstants.CLIENT_CREATE_REQUEST_DATA_PARAMETERS);
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
-        
-        if (this.fromApiJsonHelper.parameterExists(ClientApiConstants.clientNonPersonDetailsParamName, element)) {
-	        final String clientNonPersonJson = this.fromApiJsonHelper.toJson(element.getAsJsonObject().get(ClientApiConstants.clientNonPersonDetailsParamName));
-	        if(clientNonPersonJson != null)
-	        	this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, clientNonPersonJson, ClientApiConstants.CLIENT_NON_PERSON_CREATE_REQUEST_DATA_PARAMETERS);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(),
+                ClientApiConstants.CLIENT_CREATE_REQUEST_DATA_PARAMETERS);
+
+        final JsonElement clientNonPersonElement = element.getAsJsonObject().get(ClientApiConstants.clientNonPersonDetailsParamName);
+        if (clientNonPersonElement != null && clientNonPersonElement.isJsonObject()) {
+            this.fromApiJsonHelper.checkForUnsupportedParameters(clientNonPersonElement.getAsJsonObject(),
+                    ClientApiConstants.CLIENT_NON_PERSON_CREATE_REQUEST_DATA_PARAMETERS);
         }
         
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
@@ -322,18 +320,18 @@ public final class ClientDataValidator {
         return StringUtils.isNotBlank(fullname);
     }
 
-    public void validateForUpdate(final String json) {
+    public void validateForUpdate(final JsonCommand command) {
 
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+        final JsonElement element = command.parsedJson();
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, ClientApiConstants.CLIENT_UPDATE_REQUEST_DATA_PARAMETERS);
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
-        
-        if (this.fromApiJsonHelper.parameterExists(ClientApiConstants.clientNonPersonDetailsParamName, element)) {
-	        final String clientNonPersonJson = this.fromApiJsonHelper.toJson(element.getAsJsonObject().get(ClientApiConstants.clientNonPersonDetailsParamName));
-	        if(clientNonPersonJson != null)
-	        	this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, clientNonPersonJson, ClientApiConstants.CLIENT_NON_PERSON_UPDATE_REQUEST_DATA_PARAMETERS);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(),
+                ClientApiConstants.CLIENT_UPDATE_REQUEST_DATA_PARAMETERS);
+
+        final JsonElement clientNonPersonElement = element.getAsJsonObject().get(ClientApiConstants.clientNonPersonDetailsParamName);
+        if (clientNonPersonElement != null && clientNonPersonElement.isJsonObject()) {
+            this.fromApiJsonHelper.checkForUnsupportedParameters(clientNonPersonElement.getAsJsonObject(),
+                    ClientApiConstants.CLIENT_NON_PERSON_UPDATE_REQUEST_DATA_PARAMETERS);
         }
 	        
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
@@ -540,19 +538,16 @@ public final class ClientDataValidator {
     }
 
     public void validateActivation(final JsonCommand command) {
-        final String json = command.json();
-
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+        final JsonElement element = command.parsedJson();
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, ClientApiConstants.ACTIVATION_REQUEST_DATA_PARAMETERS);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(),
+                ClientApiConstants.ACTIVATION_REQUEST_DATA_PARAMETERS);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors)
                 .resource(ClientApiConstants.CLIENT_RESOURCE_NAME);
 
-        final JsonElement element = command.parsedJson();
-
         final LocalDate activationDate = this.fromApiJsonHelper.extractLocalDateNamed(ClientApiConstants.activationDateParamName, element);
         baseDataValidator.reset().parameter(ClientApiConstants.activationDateParamName).value(activationDate).notNull();
 
@@ -566,16 +561,14 @@ public final class ClientDataValidator {
         }
     }
 
-    public void validateForUnassignStaff(final String json) {
+    public void validateForUnassignStaff(final JsonCommand command) {
 
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
-
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
+        final JsonElement element = command.parsedJson();
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
 
         final Set<String> supportedParametersUnassignStaff = new HashSet<>(Arrays.asList(ClientApiConstants.staffIdParamName));
 
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, supportedParametersUnassignStaff);
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(), supportedParametersUnassignStaff);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
 
@@ -590,16 +583,14 @@ public final class ClientDataValidator {
 
     }
 
-    public void validateForAssignStaff(final String json) {
-
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+    public void validateForAssignStaff(final JsonCommand command) {
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
+        final JsonElement element = command.parsedJson();
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
 
         final Set<String> supportedParametersUnassignStaff = new HashSet<>(Arrays.asList(ClientApiConstants.staffIdParamName));
 
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, supportedParametersUnassignStaff);
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(), supportedParametersUnassignStaff);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
 
@@ -616,19 +607,16 @@ public final class ClientDataValidator {
 
     public void validateClose(final JsonCommand command) {
 
-        final String json = command.json();
-
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+        final JsonElement element = command.parsedJson();
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, ClientApiConstants.CLIENT_CLOSE_REQUEST_DATA_PARAMETERS);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(),
+                ClientApiConstants.CLIENT_CLOSE_REQUEST_DATA_PARAMETERS);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors)
                 .resource(ClientApiConstants.CLIENT_RESOURCE_NAME);
 
-        final JsonElement element = command.parsedJson();
-
         final LocalDate closureDate = this.fromApiJsonHelper.extractLocalDateNamed(ClientApiConstants.closureDateParamName, element);
         baseDataValidator.reset().parameter(ClientApiConstants.closureDateParamName).value(closureDate).notNull();
 
@@ -639,16 +627,14 @@ public final class ClientDataValidator {
         throwExceptionIfValidationWarningsExist(dataValidationErrors);
     }
 
-    public void validateForSavingsAccount(final String json) {
+    public void validateForSavingsAccount(final JsonCommand command) {
 
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
-
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
+        final JsonElement element = command.parsedJson();
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
 
         final Set<String> supportedParameters = new HashSet<>(Arrays.asList(ClientApiConstants.savingsAccountIdParamName));
 
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, supportedParameters);
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(), supportedParameters);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
 
@@ -665,19 +651,15 @@ public final class ClientDataValidator {
 
     public void validateRejection(final JsonCommand command) {
 
-        final String json = command.json();
-
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+        final JsonElement element = command.parsedJson();
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, ClientApiConstants.CLIENT_REJECT_DATA_PARAMETERS);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(), ClientApiConstants.CLIENT_REJECT_DATA_PARAMETERS);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors)
                 .resource(ClientApiConstants.CLIENT_RESOURCE_NAME);
 
-        final JsonElement element = command.parsedJson();
-
         final LocalDate rejectionDate = this.fromApiJsonHelper.extractLocalDateNamed(ClientApiConstants.rejectionDateParamName, element);
         baseDataValidator.reset().parameter(ClientApiConstants.rejectionDateParamName).value(rejectionDate).notNull();
 
@@ -691,19 +673,15 @@ public final class ClientDataValidator {
 
     public void validateWithdrawn(final JsonCommand command) {
 
-        final String json = command.json();
-
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+        final JsonElement element = command.parsedJson();
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, ClientApiConstants.CLIENT_WITHDRAW_DATA_PARAMETERS);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(), ClientApiConstants.CLIENT_WITHDRAW_DATA_PARAMETERS);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors)
                 .resource(ClientApiConstants.CLIENT_RESOURCE_NAME);
 
-        final JsonElement element = command.parsedJson();
-
         final LocalDate withdrawalDate = this.fromApiJsonHelper.extractLocalDateNamed(ClientApiConstants.withdrawalDateParamName, element);
         baseDataValidator.reset().parameter(ClientApiConstants.withdrawalDateParamName).value(withdrawalDate).notNull();
 
@@ -717,19 +695,16 @@ public final class ClientDataValidator {
 
     public void validateReactivate(final JsonCommand command) {
 
-        final String json = command.json();
-
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+        final JsonElement element = command.parsedJson();
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, ClientApiConstants.REACTIVATION_REQUEST_DATA_PARAMETERS);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(),
+                ClientApiConstants.REACTIVATION_REQUEST_DATA_PARAMETERS);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors)
                 .resource(ClientApiConstants.CLIENT_RESOURCE_NAME);
 
-        final JsonElement element = command.parsedJson();
-
         final LocalDate reactivationDate = this.fromApiJsonHelper.extractLocalDateNamed(ClientApiConstants.reactivationDateParamName,
                 element);
         baseDataValidator.reset().parameter(ClientApiConstants.reactivationDateParamName).value(reactivationDate).notNull();
@@ -741,19 +716,16 @@ public final class ClientDataValidator {
     
     public void validateUndoRejection(final JsonCommand command) {
 
-        final String json = command.json();
-
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+        final JsonElement element = command.parsedJson();
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, ClientApiConstants.UNDOREJECTION_REQUEST_DATA_PARAMETERS);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(),
+                ClientApiConstants.UNDOREJECTION_REQUEST_DATA_PARAMETERS);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors)
                 .resource(ClientApiConstants.CLIENT_RESOURCE_NAME);
 
-        final JsonElement element = command.parsedJson();
-
         final LocalDate undoRejectionDate = this.fromApiJsonHelper.extractLocalDateNamed(ClientApiConstants.reopenedDateParamName,
                 element);
 		baseDataValidator.reset().parameter(ClientApiConstants.reopenedDateParamName).value(undoRejectionDate).notNull()
@@ -764,19 +736,16 @@ public final class ClientDataValidator {
     }
     public void validateUndoWithDrawn(final JsonCommand command) {
 
-        final String json = command.json();
-
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+        final JsonElement element = command.parsedJson();
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, ClientApiConstants.UNDOWITHDRAWN_REQUEST_DATA_PARAMETERS);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(),
+                ClientApiConstants.UNDOWITHDRAWN_REQUEST_DATA_PARAMETERS);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors)
                 .resource(ClientApiConstants.CLIENT_RESOURCE_NAME);
 
-        final JsonElement element = command.parsedJson();
-
         final LocalDate undoWithdrawnDate = this.fromApiJsonHelper.extractLocalDateNamed(ClientApiConstants.reopenedDateParamName,
                 element);
 		baseDataValidator.reset().parameter(ClientApiConstants.reopenedDateParamName).value(undoWithdrawnDate).notNull()
@@ -22,7 +22,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.fineract.infrastructure.codes.data.CodeValueData;
@@ -32,6 +34,7 @@ import org.apache.fineract.infrastructure.configuration.service.ConfigurationRea
 import org.apache.fineract.infrastructure.core.api.ApiParameterHelper;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.service.KeysetPagination;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
@@ -70,6 +73,16 @@ import org.springframework.util.CollectionUtils;
 @Service
 public class ClientReadPlatformServiceImpl implements ClientReadPlatformService {
 
+    private final static Map<String, String> keysetSortColumns = new HashMap<>();
+
+    static {
+        keysetSortColumns.put("id", "c.id");
+        keysetSortColumns.put("accountNo", "c.account_no");
+        keysetSortColumns.put("displayName", "c.display_name");
+        keysetSortColumns.put("externalId", "c.external_id");
+        keysetSortColumns.put("officeId", "c.office_id");
+    }
+
     private final JdbcTemplate jdbcTemplate;
     private final PlatformSecurityContext context;
     private final OfficeReadPlatformService officeReadPlatformService;
@@ -176,8 +189,15 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
         // underHierarchySearchString = searchParameters.getHierarchy() + "%";
         // }
 
+        final KeysetPagination keysetPagination = searchParameters.isKeysetPaged() ? KeysetPagination.from(searchParameters, "clients",
+                "c.id", keysetSortColumns, "id", "ASC") : null;
+
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        if (keysetPagination != null) {
+            sqlBuilder.append("select ").append(keysetPagination.selectSql());
+        } else {
+            sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        }
         sqlBuilder.append(this.clientMapper.schema());
         sqlBuilder.append(" where (o.hierarchy like ? or transferToOffice.hierarchy like ?) ");
         
@@ -191,6 +211,17 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
             sqlBuilder.append(" and (").append(extraCriteria).append(")");
         }
 
+        Object[] params = new Object[] {underHierarchySearchString, underHierarchySearchString };
+        if(searchParameters.isSelfUser()){
+            params = new Object[] {underHierarchySearchString, underHierarchySearchString, appUserID };
+        }
+
+        if (keysetPagination != null) {
+            sqlBuilder.append(keysetPagination.predicateSql(" and "));
+            sqlBuilder.append(keysetPagination.orderByAndLimitSql());
+            return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), params, this.clientMapper, keysetPagination);
+        }
+
         if (searchParameters.isOrderByRequested()) {
             sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
 
@@ -207,10 +238,6 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
         }
 
         final String sqlCountRows = "SELECT FOUND_ROWS()";
-        Object[] params = new Object[] {underHierarchySearchString, underHierarchySearchString };
-        if(searchParameters.isSelfUser()){
-            params = new Object[] {underHierarchySearchString, underHierarchySearchString, appUserID };
-        }
         return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, sqlBuilder.toString(), params, this.clientMapper);
     }
 
@@ -223,7 +223,7 @@ public class ClientWritePlatformServiceJpaRepositoryImpl implements ClientWriteP
         try {
             final AppUser currentUser = this.context.authenticatedUser();
 
-            this.fromApiJsonDeserializer.validateForCreate(command.json());
+            this.fromApiJsonDeserializer.validateForCreate(command);
             
 			final GlobalConfigurationPropertyData configuration = this.configurationReadPlatformService
 					.retrieveGlobalConfiguration("Enable-Address");
@@ -396,7 +396,7 @@ public class ClientWritePlatformServiceJpaRepositoryImpl implements ClientWriteP
     public CommandProcessingResult updateClient(final Long clientId, final JsonCommand command) {
 
         try {
-            this.fromApiJsonDeserializer.validateForUpdate(command.json());
+            this.fromApiJsonDeserializer.validateForUpdate(command);
 
             final Client clientForUpdate = this.clientRepository.findOneWithNotFoundDetection(clientId);
             final String clientHierarchy = clientForUpdate.getOffice().getHierarchy();
@@ -604,7 +604,7 @@ public class ClientWritePlatformServiceJpaRepositoryImpl implements ClientWriteP
 
         final Map<String, Object> actualChanges = new LinkedHashMap<>(5);
 
-        this.fromApiJsonDeserializer.validateForUnassignStaff(command.json());
+        this.fromApiJsonDeserializer.validateForUnassignStaff(command);
 
         final Client clientForUpdate = this.clientRepository.findOneWithNotFoundDetection(clientId);
 
@@ -636,7 +636,7 @@ public class ClientWritePlatformServiceJpaRepositoryImpl implements ClientWriteP
 
         final Map<String, Object> actualChanges = new LinkedHashMap<>(5);
 
-        this.fromApiJsonDeserializer.validateForAssignStaff(command.json());
+        this.fromApiJsonDeserializer.validateForAssignStaff(command);
 
         final Client clientForUpdate = this.clientRepository.findOneWithNotFoundDetection(clientId);
         Staff staff = null;
@@ -738,7 +738,7 @@ public class ClientWritePlatformServiceJpaRepositoryImpl implements ClientWriteP
 
         final Map<String, Object> actualChanges = new LinkedHashMap<>(5);
 
-        this.fromApiJsonDeserializer.validateForSavingsAccount(command.json());
+        this.fromApiJsonDeserializer.validateForSavingsAccount(command);
 
         final Client clientForUpdate = this.clientRepository.findOneWithNotFoundDetection(clientId);
 
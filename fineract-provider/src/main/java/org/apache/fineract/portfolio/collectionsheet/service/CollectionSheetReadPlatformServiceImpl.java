@@ -30,8 +30,12 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.fineract.infrastructure.codes.data.CodeValueData;
@@ -124,103 +128,190 @@ public class CollectionSheetReadPlatformServiceImpl implements CollectionSheetRe
     /*
      * Reads all the loans which are due for disbursement or collection and
      * builds hierarchical data structure for collections sheet with hierarchy
-     * Groups >> Clients >> Loans.
+     * Groups >> Clients >> Loans, then adds the mandatory savings due of the
+     * same groups and clients to it.
      */
-    @SuppressWarnings("null")
-    private JLGCollectionSheetData buildJLGCollectionSheet(final LocalDate dueDate,
-            final Collection<JLGCollectionSheetFlatData> jlgCollectionSheetFlatData) {
-
-        boolean firstTime = true;
-        Long prevGroupId = null;
-        Long prevClientId = null;
-        final Collection<PaymentTypeData> paymentOptions = this.paymentTypeReadPlatformService.retrieveAllPaymentTypes();
-                
+    private JLGCollectionSheetData generateJLGCollectionSheet(final LocalDate dueDate, final boolean isCenterCollection,
+            final Long meetingEntityId, final MapSqlParameterSource namedParameters) {
+
+        // amounts due are aggregated per loan on their own, without the
+        // group and client columns, and joined to the loans in memory
+        final Map<Long, LoanScheduleDue> scheduleDues = this.namedParameterjdbcTemplate.query(
+                LoanScheduleDueExtractor.schema(isCenterCollection), namedParameters, new LoanScheduleDueExtractor());
+        final Map<Long, BigDecimal> chargesDues = this.namedParameterjdbcTemplate.query(
+                LoanChargesDueExtractor.schema(isCenterCollection), namedParameters, new LoanChargesDueExtractor());
+        Map<Long, Integer> attendanceTypes = new HashMap<>();
+        if (meetingEntityId != null) {
+            namedParameters.addValue("meetingEntityId", meetingEntityId);
+            attendanceTypes = this.namedParameterjdbcTemplate.query(ClientAttendanceExtractor.SCHEMA, namedParameters,
+                    new ClientAttendanceExtractor());
+        }
 
-        final List<JLGGroupData> jlgGroupsData = new ArrayList<>();
-        List<JLGClientData> clientsData = new ArrayList<>();
-        List<LoanDueData> loansDueData = new ArrayList<>();
+        final JLGCollectionSheetFaltDataMapper mapper = new JLGCollectionSheetFaltDataMapper(scheduleDues, chargesDues, attendanceTypes);
+        final Collection<JLGCollectionSheetFlatData> jlgCollectionSheetFlatData = this.namedParameterjdbcTemplate.query(
+                mapper.collectionSheetSchema(isCenterCollection), namedParameters, mapper);
 
-        JLGCollectionSheetData jlgCollectionSheetData = null;
-        JLGCollectionSheetFlatData prevCollectioSheetFlatData = null;
-        JLGCollectionSheetFlatData corrCollectioSheetFlatData = null;
         final Set<LoanProductData> loanProducts = new HashSet<>();
-        if (jlgCollectionSheetFlatData != null) {
+        final Map<Long, JLGGroupData> groups = new LinkedHashMap<>();
+        final Map<Long, Map<Long, JLGClientData>> clientsByGroup = new HashMap<>();
+        for (final JLGCollectionSheetFlatData collectionSheetFlatData : jlgCollectionSheetFlatData) {
 
-            for (final JLGCollectionSheetFlatData collectionSheetFlatData : jlgCollectionSheetFlatData) {
+            if (collectionSheetFlatData.getProductId() != null) {
+                loanProducts.add(LoanProductData.lookupWithCurrency(collectionSheetFlatData.getProductId(),
+                        collectionSheetFlatData.getProductShortName(), collectionSheetFlatData.getCurrency()));
+            }
 
-                if (collectionSheetFlatData.getProductId() != null) {
-                    loanProducts.add(LoanProductData.lookupWithCurrency(collectionSheetFlatData.getProductId(),
-                            collectionSheetFlatData.getProductShortName(), collectionSheetFlatData.getCurrency()));
-                }
-                corrCollectioSheetFlatData = collectionSheetFlatData;
-
-                if (firstTime || collectionSheetFlatData.getGroupId().equals(prevGroupId)) {
-                    if (firstTime || collectionSheetFlatData.getClientId().equals(prevClientId)) {
-                        if (collectionSheetFlatData.getLoanId() != null) {
-                            loansDueData.add(collectionSheetFlatData.getLoanDueData());
-                        }
-                    } else {
-                        final JLGClientData clientData = prevCollectioSheetFlatData.getClientData();
-                        clientData.setLoans(loansDueData);
-                        clientsData.add(clientData);
-                        loansDueData = new ArrayList<>();
-
-                        if (collectionSheetFlatData.getLoanId() != null) {
-                            loansDueData.add(collectionSheetFlatData.getLoanDueData());
-                        }
-
-                    }
+            final Long groupId = collectionSheetFlatData.getGroupId();
+            Map<Long, JLGClientData> clients = clientsByGroup.get(groupId);
+            if (clients == null) {
+                groups.put(groupId, collectionSheetFlatData.getJLGGroupData());
+                clients = new LinkedHashMap<>();
+                clientsByGroup.put(groupId, clients);
+            }
+
+            JLGClientData client = clients.get(collectionSheetFlatData.getClientId());
+            if (client == null) {
+                client = collectionSheetFlatData.getClientData();
+                client.setLoans(new ArrayList<LoanDueData>());
+                clients.put(client.getClientId(), client);
+            }
+            client.getLoans().add(collectionSheetFlatData.getLoanDueData());
+        }
+
+        // mandatory savings data for collection sheet
+        final Collection<JLGGroupData> groupsWithSavingsData = this.namedParameterjdbcTemplate.query(
+                this.mandatorySavingsExtractor.collectionSheetSchema(isCenterCollection), namedParameters, this.mandatorySavingsExtractor);
+
+        // merge savings data into loan data
+        for (final JLGGroupData groupSavingsData : groupsWithSavingsData) {
+            final Map<Long, JLGClientData> clients = clientsByGroup.get(groupSavingsData.getGroupId());
+            if (clients == null) {
+                groups.put(groupSavingsData.getGroupId(), groupSavingsData);
+                continue;
+            }
+            for (final JLGClientData clientSavingsData : groupSavingsData.getClients()) {
+                final JLGClientData clientLoanData = clients.get(clientSavingsData.getClientId());
+                if (clientLoanData == null) {
+                    clients.put(clientSavingsData.getClientId(), clientSavingsData);
                 } else {
+                    clientLoanData.setSavings(clientSavingsData.getSavings());
+                }
+            }
+        }
 
-                    final JLGClientData clientData = prevCollectioSheetFlatData.getClientData();
-                    clientData.setLoans(loansDueData);
-                    clientsData.add(clientData);
+        for (final Map.Entry<Long, Map<Long, JLGClientData>> clients : clientsByGroup.entrySet()) {
+            groups.get(clients.getKey()).setClients(new ArrayList<>(clients.getValue().values()));
+        }
 
-                    final JLGGroupData jlgGroupData = prevCollectioSheetFlatData.getJLGGroupData();
-                    jlgGroupData.setClients(clientsData);
+        final Collection<PaymentTypeData> paymentOptions = this.paymentTypeReadPlatformService.retrieveAllPaymentTypes();
+        final JLGCollectionSheetData collectionSheetData = JLGCollectionSheetData.instance(dueDate, loanProducts,
+                new ArrayList<>(groups.values()), this.attendanceDropdownReadPlatformService.retrieveAttendanceTypeOptions(),
+                paymentOptions);
 
-                    jlgGroupsData.add(jlgGroupData);
+        return JLGCollectionSheetData.withSavingsProducts(collectionSheetData, retrieveSavingsProducts(groupsWithSavingsData));
+    }
 
-                    loansDueData = new ArrayList<>();
-                    clientsData = new ArrayList<>();
+    /*
+     * Loans of the groups of a center, or of a single group, the collection
+     * sheet is generated for.
+     */
+    private static String groupLoansCriteria(final boolean isCenterCollection) {
+        if (isCenterCollection) { return "JOIN m_group gp ON gp.id = ln.group_id WHERE gp.parent_id = :centerId "; }
+        return "WHERE ln.group_id = :groupId ";
+    }
 
-                    if (collectionSheetFlatData.getLoanId() != null) {
-                        loansDueData.add(collectionSheetFlatData.getLoanDueData());
-                    }
-                }
+    private static final class LoanScheduleDue {
 
-                prevClientId = collectionSheetFlatData.getClientId();
-                prevGroupId = collectionSheetFlatData.getGroupId();
-                prevCollectioSheetFlatData = collectionSheetFlatData;
-                firstTime = false;
-            }
+        private final BigDecimal principalDue;
+        private final BigDecimal interestDue;
 
-            // FIXME Need to check last loan is added under previous
-            // client/group or new client / previous group or new client / new
-            // group
-            if (corrCollectioSheetFlatData != null) {
-                final JLGClientData lastClientData = corrCollectioSheetFlatData.getClientData();
-                lastClientData.setLoans(loansDueData);
-                clientsData.add(lastClientData);
-
-                final JLGGroupData jlgGroupData = corrCollectioSheetFlatData.getJLGGroupData();
-                jlgGroupData.setClients(clientsData);
-                jlgGroupsData.add(jlgGroupData);
+        LoanScheduleDue(final BigDecimal principalDue, final BigDecimal interestDue) {
+            this.principalDue = principalDue;
+            this.interestDue = interestDue;
+        }
+    }
+
+    private static final class LoanScheduleDueExtractor implements ResultSetExtractor<Map<Long, LoanScheduleDue>> {
+
+        public static String schema(final boolean isCenterCollection) {
+            final StringBuilder sql = new StringBuilder(400);
+            sql.append("SELECT ln.id As loanId, ")
+                    .append("sum(ifnull(ls.principal_amount, 0.0) - ifnull(ls.principal_completed_derived, 0.0)) As principalDue, ")
+                    .append("sum(ifnull(ls.interest_amount, 0.0) - ifnull(ls.interest_completed_derived, 0.0)) As interestDue ")
+                    .append("FROM m_loan ln ")
+                    .append("JOIN m_loan_repayment_schedule ls ON ls.loan_id = ln.id AND ls.completed_derived = 0 AND ls.duedate <= :dueDate ")
+                    .append(groupLoansCriteria(isCenterCollection)).append("AND ln.loan_status_id = 300 ")
+                    .append("GROUP BY ln.id ");
+            return sql.toString();
+        }
+
+        @Override
+        public Map<Long, LoanScheduleDue> extractData(final ResultSet rs) throws SQLException, DataAccessException {
+            final Map<Long, LoanScheduleDue> scheduleDues = new HashMap<>();
+            while (rs.next()) {
+                scheduleDues.put(rs.getLong("loanId"), new LoanScheduleDue(rs.getBigDecimal("principalDue"), rs.getBigDecimal("interestDue")));
             }
+            return scheduleDues;
+        }
+    }
+
+    private static final class LoanChargesDueExtractor implements ResultSetExtractor<Map<Long, BigDecimal>> {
 
-            jlgCollectionSheetData = JLGCollectionSheetData.instance(dueDate, loanProducts, jlgGroupsData,
-                    this.attendanceDropdownReadPlatformService.retrieveAttendanceTypeOptions(), paymentOptions);
+        public static String schema(final boolean isCenterCollection) {
+            final StringBuilder sql = new StringBuilder(400);
+            sql.append("SELECT ln.id As loanId, sum(lc.amount_outstanding_derived) As chargesDue ")
+                    .append("FROM m_loan ln ")
+                    .append("JOIN m_loan_charge lc ON lc.loan_id = ln.id AND lc.is_paid_derived = 0 AND lc.is_active = 1 ")
+                    .append("AND ( lc.due_for_collection_as_of_date  <= :dueDate OR lc.charge_time_enum = 1) ")
+                    .append(groupLoansCriteria(isCenterCollection)).append("AND ln.loan_status_id = 300 ")
+                    .append("GROUP BY ln.id ");
+            return sql.toString();
         }
 
-        return jlgCollectionSheetData;
+        @Override
+        public Map<Long, BigDecimal> extractData(final ResultSet rs) throws SQLException, DataAccessException {
+            final Map<Long, BigDecimal> chargesDues = new HashMap<>();
+            while (rs.next()) {
+                chargesDues.put(rs.getLong("loanId"), rs.getBigDecimal("chargesDue"));
+            }
+            return chargesDues;
+        }
+    }
+
+    private static final class ClientAttendanceExtractor implements ResultSetExtractor<Map<Long, Integer>> {
+
+        public static final String SCHEMA = "SELECT ca.client_id As clientId, ca.attendance_type_enum as attendanceTypeId "
+                + "FROM m_calendar_instance ci "
+                + "JOIN m_meeting mt ON ci.id = mt.calendar_instance_id AND mt.meeting_date = :dueDate "
+                + "JOIN m_client_attendance ca ON ca.meeting_id = mt.id "
+                + "WHERE ci.entity_id = :meetingEntityId AND ci.entity_type_enum = :entityTypeId ";
+
+        @Override
+        public Map<Long, Integer> extractData(final ResultSet rs) throws SQLException, DataAccessException {
+            final Map<Long, Integer> attendanceTypes = new HashMap<>();
+            while (rs.next()) {
+                attendanceTypes.put(rs.getLong("clientId"), rs.getInt("attendanceTypeId"));
+            }
+            return attendanceTypes;
+        }
     }
 
     private static final class JLGCollectionSheetFaltDataMapper implements RowMapper<JLGCollectionSheetFlatData> {
 
+        private final Map<Long, LoanScheduleDue> scheduleDues;
+        private final Map<Long, BigDecimal> chargesDues;
+        private final Map<Long, Integer> attendanceTypes;
+
+        JLGCollectionSheetFaltDataMapper(final Map<Long, LoanScheduleDue> scheduleDues, final Map<Long, BigDecimal> chargesDues,
+                final Map<Long, Integer> attendanceTypes) {
+            this.scheduleDues = scheduleDues;
+            this.chargesDues = chargesDues;
+            this.attendanceTypes = attendanceTypes;
+        }
+
         public String collectionSheetSchema(final boolean isCenterCollection) {
             StringBuffer sql = new StringBuffer(400);
-            sql.append("SELECT loandata.*, sum(lc.amount_outstanding_derived) as chargesDue from ")
-                    .append("(SELECT gp.display_name As groupName, ")
+            sql.append("SELECT gp.display_name As groupName, ")
                     .append("gp.id As groupId, ")
                     .append("cl.display_name As clientName, ")
                     .append("sf.id As staffId, ")
@@ -234,40 +325,27 @@ public class CollectionSheetReadPlatformServiceImpl implements CollectionSheetRe
                     .append("pl.short_name As productShortName, ")
                     .append("ln.product_id As productId, ")
                     .append("ln.currency_code as currencyCode, ln.currency_digits as currencyDigits, ln.currency_multiplesof as inMultiplesOf, rc.`name` as currencyName, rc.display_symbol as currencyDisplaySymbol, rc.internationalized_name_code as currencyNameCode, ")
-                    .append("if(ln.loan_status_id = 200 , ln.principal_amount , null) As disbursementAmount, ")
-                    .append("sum(ifnull(if(ln.loan_status_id = 300, ls.principal_amount, 0.0), 0.0) - ifnull(if(ln.loan_status_id = 300, ls.principal_completed_derived, 0.0), 0.0)) As principalDue, ")
                     .append("ln.principal_repaid_derived As principalPaid, ")
-                    .append("sum(ifnull(if(ln.loan_status_id = 300, ls.interest_amount, 0.0), 0.0) - ifnull(if(ln.loan_status_id = 300, ls.interest_completed_derived, 0.0), 0.0)) As interestDue, ")
-                    .append("ln.interest_repaid_derived As interestPaid, ")
-                    .append("ca.attendance_type_enum as attendanceTypeId ")
+                    .append("ln.interest_repaid_derived As interestPaid ")
                     .append("FROM m_group gp ")
                     .append("LEFT JOIN m_office of ON of.id = gp.office_id AND of.hierarchy like :officeHierarchy ")
                     .append("JOIN m_group_level gl ON gl.id = gp.level_Id ")
                     .append("LEFT JOIN m_staff sf ON sf.id = gp.staff_id ")
                     .append("JOIN m_group_client gc ON gc.group_id = gp.id ")
                     .append("JOIN m_client cl ON cl.id = gc.client_id ")
-                    .append("LEFT JOIN m_loan ln ON cl.id = ln.client_id  and ln.group_id=gp.id AND ln.group_id is not null AND ( ln.loan_status_id = 300 ) ")
+                    .append("JOIN m_loan ln ON cl.id = ln.client_id and ln.group_id = gp.id AND ln.loan_status_id = 300 ")
                     .append("LEFT JOIN m_product_loan pl ON pl.id = ln.product_id ")
-                    .append("LEFT JOIN m_currency rc on rc.`code` = ln.currency_code ")
-                    .append("LEFT JOIN m_loan_repayment_schedule ls ON ls.loan_id = ln.id AND ls.completed_derived = 0 AND ls.duedate <= :dueDate ")
-                    .append("left join m_calendar_instance ci on gp.parent_id = ci.entity_id and ci.entity_type_enum =:entityTypeId ")
-                    .append("left join m_meeting mt on ci.id = mt.calendar_instance_id and mt.meeting_date =:dueDate ")
-                    .append("left join m_client_attendance ca on ca.meeting_id=mt.id and ca.client_id=cl.id ");
+                    .append("LEFT JOIN m_currency rc on rc.`code` = ln.currency_code ");
 
             if (isCenterCollection) {
                 sql.append("WHERE gp.parent_id = :centerId ");
             } else {
                 sql.append("WHERE gp.id = :groupId ");
             }
-            sql.append("and (ln.loan_status_id != 200 AND ln.loan_status_id != 100) ");
-            
+
             sql.append("and (gp.status_enum = 300 or (gp.status_enum = 600 and gp.closedon_date >= :dueDate)) ")
                     .append("and (cl.status_enum = 300 or (cl.status_enum = 600 and cl.closedon_date >= :dueDate)) ")
-                    .append("GROUP BY gp.id ,cl.id , ln.id ORDER BY gp.id , cl.id , ln.id ").append(") loandata ")
-                    .append("LEFT JOIN m_loan_charge lc ON lc.loan_id = loandata.loanId AND lc.is_paid_derived = 0 AND lc.is_active = 1 ")
-                    .append("AND ( lc.due_for_collection_as_of_date  <= :dueDate OR lc.charge_time_enum = 1) ")
-                    .append("GROUP BY loandata.groupId, ").append("loandata.clientId, ").append("loandata.loanId ")
-                    .append("ORDER BY loandata.groupId, ").append("loandata.clientId, ").append("loandata.loanId ");
+                    .append("ORDER BY gp.id , cl.id , ln.id ");
 
             return sql.toString();
 
@@ -302,14 +380,16 @@ public class CollectionSheetReadPlatformServiceImpl implements CollectionSheetRe
                         currencyNameCode);
             }
 
-            final BigDecimal disbursementAmount = rs.getBigDecimal("disbursementAmount");
-            final BigDecimal principalDue = rs.getBigDecimal("principalDue");
+            // only active loans are listed, which have nothing left to disburse
+            final BigDecimal disbursementAmount = null;
+            final LoanScheduleDue scheduleDue = this.scheduleDues.get(loanId);
+            final BigDecimal principalDue = scheduleDue == null ? BigDecimal.ZERO : scheduleDue.principalDue;
             final BigDecimal principalPaid = rs.getBigDecimal("principalPaid");
-            final BigDecimal interestDue = rs.getBigDecimal("interestDue");
+            final BigDecimal interestDue = scheduleDue == null ? BigDecimal.ZERO : scheduleDue.interestDue;
             final BigDecimal interestPaid = rs.getBigDecimal("interestPaid");
-            final BigDecimal chargesDue = rs.getBigDecimal("chargesDue");
+            final BigDecimal chargesDue = this.chargesDues.get(loanId);
 
-            final Integer attendanceTypeId = rs.getInt("attendanceTypeId");
+            final Integer attendanceTypeId = this.attendanceTypes.containsKey(clientId) ? this.attendanceTypes.get(clientId) : 0;
             final EnumOptionData attendanceType = AttendanceEnumerations.attendanceType(attendanceTypeId);
 
             return new JLGCollectionSheetFlatData(groupName, groupId, staffId, staffName, levelId, levelName, clientName, clientId, loanId,
@@ -362,84 +442,22 @@ public class CollectionSheetReadPlatformServiceImpl implements CollectionSheetRe
 
         
 
-        final JLGCollectionSheetFaltDataMapper mapper = new JLGCollectionSheetFaltDataMapper();
-
-
-        final SqlParameterSource namedParameters = new MapSqlParameterSource().addValue("dueDate", transactionDateStr)
+        final MapSqlParameterSource namedParameters = new MapSqlParameterSource().addValue("dueDate", transactionDateStr)
                 .addValue("groupId", group.getId()).addValue("officeHierarchy", officeHierarchy)
                 .addValue("entityTypeId", entityType.getValue());
 
-        final Collection<JLGCollectionSheetFlatData> collectionSheetFlatDatas = this.namedParameterjdbcTemplate.query(
-                mapper.collectionSheetSchema(false), namedParameters, mapper);
-
-        // loan data for collection sheet
-        JLGCollectionSheetData collectionSheetData = buildJLGCollectionSheet(transactionDate, collectionSheetFlatDatas);
-
-        // mandatory savings data for collection sheet
-        Collection<JLGGroupData> groupsWithSavingsData = this.namedParameterjdbcTemplate.query(
-                mandatorySavingsExtractor.collectionSheetSchema(false), namedParameters, mandatorySavingsExtractor);
-
-        // merge savings data into loan data
-        mergeSavingsGroupDataIntoCollectionsheetData(groupsWithSavingsData, collectionSheetData);
-
-        collectionSheetData = JLGCollectionSheetData.withSavingsProducts(collectionSheetData,
-                retrieveSavingsProducts(groupsWithSavingsData));
-
-        return collectionSheetData;
-    }
-
-    private void mergeSavingsGroupDataIntoCollectionsheetData(final Collection<JLGGroupData> groupsWithSavingsData,
-            final JLGCollectionSheetData collectionSheetData) {
-        final List<JLGGroupData> groupsWithLoanData = (List<JLGGroupData>) collectionSheetData.getGroups();
-        for (JLGGroupData groupSavingsData : groupsWithSavingsData) {
-            if (groupsWithLoanData.contains(groupSavingsData)) {
-                mergeGroup(groupSavingsData, groupsWithLoanData);
-            } else {
-                groupsWithLoanData.add(groupSavingsData);
-            }
-        }
-
-    }
-
-    private void mergeGroup(final JLGGroupData groupSavingsData, final List<JLGGroupData> groupsWithLoanData) {
-        final int index = groupsWithLoanData.indexOf(groupSavingsData);
-
-        if (index < 0) return;
-
-        JLGGroupData groupLoanData = groupsWithLoanData.get(index);
-        List<JLGClientData> clientsLoanData = (List<JLGClientData>) groupLoanData.getClients();
-        List<JLGClientData> clientsSavingsData = (List<JLGClientData>) groupSavingsData.getClients();
-
-        for (JLGClientData clientSavingsData : clientsSavingsData) {
-            if (clientsLoanData.contains(clientSavingsData)) {
-                mergeClient(clientSavingsData, clientsLoanData);
-            } else {
-                clientsLoanData.add(clientSavingsData);
-            }
-        }
-    }
-
-    private void mergeClient(final JLGClientData clientSavingsData, List<JLGClientData> clientsLoanData) {
-        final int index = clientsLoanData.indexOf(clientSavingsData);
-
-        if (index < 0) return;
-
-        JLGClientData clientLoanData = clientsLoanData.get(index);
-        clientLoanData.setSavings(clientSavingsData.getSavings());
+        // attendance is recorded against the meetings of the parent center
+        return generateJLGCollectionSheet(transactionDate, false, group.getParentId(), namedParameters);
     }
 
     private Collection<SavingsProductData> retrieveSavingsProducts(Collection<JLGGroupData> groupsWithSavingsData) {
-        List<SavingsProductData> savingsProducts = new ArrayList<>();
+        final Set<SavingsProductData> savingsProducts = new LinkedHashSet<>();
         for (JLGGroupData groupSavingsData : groupsWithSavingsData) {
             Collection<JLGClientData> clientsSavingsData = groupSavingsData.getClients();
             for (JLGClientData clientSavingsData : clientsSavingsData) {
                 Collection<SavingsDueData> savingsDatas = clientSavingsData.getSavings();
                 for (SavingsDueData savingsDueData : savingsDatas) {
-                    final SavingsProductData savingsProduct = SavingsProductData.lookup(savingsDueData.productId(),
-                            savingsDueData.productName());
-                    if (!savingsProducts.contains(savingsProduct)) {
-                        savingsProducts.add(savingsProduct);
-                    }
+                    savingsProducts.add(SavingsProductData.lookup(savingsDueData.productId(), savingsDueData.productName()));
                 }
             }
         }
@@ -461,31 +479,11 @@ public class CollectionSheetReadPlatformServiceImpl implements CollectionSheetRe
         final DateFormat df = new SimpleDateFormat("yyyy-MM-dd");
         final String dueDateStr = df.format(transactionDate.toDate());
 
-        final JLGCollectionSheetFaltDataMapper mapper = new JLGCollectionSheetFaltDataMapper();
-
-        StringBuilder sql = new StringBuilder(mapper.collectionSheetSchema(true));
-
-        final SqlParameterSource namedParameters = new MapSqlParameterSource().addValue("dueDate", dueDateStr)
+        final MapSqlParameterSource namedParameters = new MapSqlParameterSource().addValue("dueDate", dueDateStr)
                 .addValue("centerId", center.getId()).addValue("officeHierarchy", officeHierarchy)
                 .addValue("entityTypeId", CalendarEntityType.CENTERS.getValue());
 
-        final Collection<JLGCollectionSheetFlatData> collectionSheetFlatDatas = this.namedParameterjdbcTemplate.query(sql.toString(),
-                namedParameters, mapper);
-
-        // loan data for collection sheet
-        JLGCollectionSheetData collectionSheetData = buildJLGCollectionSheet(transactionDate, collectionSheetFlatDatas);
-
-        // mandatory savings data for collection sheet
-        Collection<JLGGroupData> groupsWithSavingsData = this.namedParameterjdbcTemplate.query(
-                mandatorySavingsExtractor.collectionSheetSchema(true), namedParameters, mandatorySavingsExtractor);
-
-        // merge savings data into loan data
-        mergeSavingsGroupDataIntoCollectionsheetData(groupsWithSavingsData, collectionSheetData);
-
-        collectionSheetData = JLGCollectionSheetData.withSavingsProducts(collectionSheetData,
-                retrieveSavingsProducts(groupsWithSavingsData));
-
-        return collectionSheetData;
+        return generateJLGCollectionSheet(transactionDate, true, center.getId(), namedParameters);
     }
 
     private static final class MandatorySavingsCollectionsheetExtractor implements ResultSetExtractor<Collection<JLGGroupData>> {
@@ -870,22 +868,22 @@ public class CollectionSheetReadPlatformServiceImpl implements CollectionSheetRe
 
     private void mergeLoanData(final Collection<IndividualCollectionSheetLoanFlatData> loanFlatDatas, List<IndividualClientData> clientDatas) {
 
-        IndividualClientData clientSavingsData = null;
+        final Map<Long, IndividualClientData> clientsById = new HashMap<>();
+        for (final IndividualClientData clientData : clientDatas) {
+            clientsById.put(clientData.getClientId(), clientData);
+        }
+
         for (IndividualCollectionSheetLoanFlatData loanFlatData : loanFlatDatas) {
-            IndividualClientData clientData = loanFlatData.getClientData();
-            if (clientSavingsData == null || !clientSavingsData.equals(clientData)) {
-                if (clientDatas.contains(clientData)) {
-                    final int index = clientDatas.indexOf(clientData);
-                    if (index < 0) return;
-                    clientSavingsData = clientDatas.get(index);
-                    clientSavingsData.setLoans(new ArrayList<LoanDueData>());
-                } else {
-                    clientSavingsData = clientData;
-                    clientSavingsData.setLoans(new ArrayList<LoanDueData>());
-                    clientDatas.add(clientSavingsData);
-                }
+            IndividualClientData clientData = clientsById.get(loanFlatData.getClientId());
+            if (clientData == null) {
+                clientData = loanFlatData.getClientData();
+                clientDatas.add(clientData);
+                clientsById.put(clientData.getClientId(), clientData);
+            }
+            if (clientData.getLoans() == null) {
+                clientData.setLoans(new ArrayList<LoanDueData>());
             }
-            clientSavingsData.addLoans(loanFlatData.getLoanDueData());
+            clientData.addLoans(loanFlatData.getLoanDueData());
         }
     }
 }
@@ -21,8 +21,10 @@ package org.apache.fineract.portfolio.collectionsheet.service;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
@@ -40,6 +42,7 @@ import org.apache.fineract.portfolio.paymentdetail.domain.PaymentDetailAssembler
 import org.apache.fineract.portfolio.paymentdetail.service.PaymentDetailWritePlatformService;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionDTO;
 import org.apache.fineract.portfolio.savings.domain.DepositAccountAssembler;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
 import org.apache.fineract.portfolio.savings.service.DepositAccountWritePlatformService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -155,10 +158,21 @@ public class CollectionSheetWritePlatformServiceJpaRepositoryImpl implements Col
         final Map<String, Object> changes = new HashMap<>();
         final Collection<SavingsAccountTransactionDTO> savingsTransactions = this.accountAssembler
                 .assembleBulkMandatorySavingsAccountTransactionDTOs(command, paymentDetail);
+
+        // loads the accounts of the sheet with their transactions and charges
+        // in a few queries instead of several per deposit
+        final Set<Long> savingsIds = new HashSet<>();
+        for (final SavingsAccountTransactionDTO savingsAccountTransactionDTO : savingsTransactions) {
+            savingsIds.add(savingsAccountTransactionDTO.getSavingsAccountId());
+        }
+        final Map<Long, SavingsAccount> savingsAccounts = this.accountAssembler.assembleFrom(savingsIds);
+
         List<Long> depositTransactionIds = new ArrayList<>();
         for (SavingsAccountTransactionDTO savingsAccountTransactionDTO : savingsTransactions) {
             try {
-                SavingsAccountTransaction savingsAccountTransaction =  this.accountWritePlatformService.mandatorySavingsAccountDeposit(savingsAccountTransactionDTO);
+                final SavingsAccount savingsAccount = savingsAccounts.get(savingsAccountTransactionDTO.getSavingsAccountId());
+                SavingsAccountTransaction savingsAccountTransaction = this.accountWritePlatformService.mandatorySavingsAccountDeposit(
+                        savingsAccount, savingsAccountTransactionDTO);
                 depositTransactionIds.add(savingsAccountTransaction.getId());
             } catch (Exception e) {
                 // TODO: handle exception
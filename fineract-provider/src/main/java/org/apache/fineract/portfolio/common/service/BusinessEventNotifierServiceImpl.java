@@ -22,17 +22,100 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.service.TenantAwareCallable;
 import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BUSINESS_ENTITY;
 import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BUSINESS_EVENTS;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Persistable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Post listeners are called synchronously within the transaction of the
+ * Business Event unless the <code>async-business-event-dispatch</code>
+ * configuration is enabled. In that case only
+ * {@link TransactionalBusinessEventListner}s are called inline, all others are
+ * handed to a background lane once the transaction has committed.
+ * 
+ * A listener always receives the events of one entity on the same lane, so it
+ * sees them in the order they happened. Lanes have bounded queues, callers
+ * block when the queue of their lane is full. The entities of the request are
+ * not handed to the lanes: a lane reloads them by id and calls the listener
+ * inside a transaction of its own.
+ */
 @Service
 public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierService {
 
+    private final static Logger logger = LoggerFactory.getLogger(BusinessEventNotifierServiceImpl.class);
+
+    private static final int DISPATCH_QUEUE_CAPACITY = 1000;
+
     private final Map<BUSINESS_EVENTS, List<BusinessEventListner>> preListners = new HashMap<>(5);
     private final Map<BUSINESS_EVENTS, List<BusinessEventListner>> postListners = new HashMap<>(5);
 
+    private final ConfigurationDomainService configurationDomainService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor[] dispatchLanes;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public BusinessEventNotifierServiceImpl(final ConfigurationDomainService configurationDomainService,
+            final PlatformTransactionManager transactionManager) {
+        this.configurationDomainService = configurationDomainService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dispatchLanes = new ThreadPoolExecutor[Runtime.getRuntime().availableProcessors()];
+        final ThreadFactory threadFactory = new ThreadFactory() {
+
+            private final AtomicInteger threadNumber = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "business-event-dispatch-" + this.threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+        final RejectedExecutionHandler waitForSpace = new RejectedExecutionHandler() {
+
+            @Override
+            public void rejectedExecution(final Runnable runnable, final ThreadPoolExecutor lane) {
+                if (lane.isShutdown()) { throw new RejectedExecutionException("Business event dispatch is shut down"); }
+                try {
+                    lane.getQueue().put(runnable);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException(e);
+                }
+            }
+        };
+        for (int i = 0; i < this.dispatchLanes.length; i++) {
+            this.dispatchLanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(
+                    DISPATCH_QUEUE_CAPACITY), threadFactory, waitForSpace);
+        }
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -67,10 +150,84 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
     public void notifyBusinessEventWasExecuted(BUSINESS_EVENTS businessEvent, Map<BUSINESS_ENTITY, Object> businessEventEntity) {
         List<BusinessEventListner> businessEventListners = this.postListners.get(businessEvent);
         if (businessEventListners != null) {
+            if (!this.configurationDomainService.isAsyncBusinessEventDispatchEnabled()) {
+                for (BusinessEventListner eventListner : businessEventListners) {
+                    eventListner.businessEventWasExecuted(businessEventEntity);
+                }
+                return;
+            }
+
+            final Map<BUSINESS_ENTITY, Object> entities = new HashMap<>(businessEventEntity);
+            final List<BusinessEventListner> asyncListners = new ArrayList<>();
             for (BusinessEventListner eventListner : businessEventListners) {
-                eventListner.businessEventWasExecuted(businessEventEntity);
+                if (eventListner instanceof TransactionalBusinessEventListner) {
+                    eventListner.businessEventWasExecuted(businessEventEntity);
+                } else {
+                    asyncListners.add(eventListner);
+                }
+            }
+            if (!asyncListners.isEmpty()) {
+                dispatchAfterCommit(businessEvent, asyncListners, entities);
+            }
+        }
+    }
+
+    private void dispatchAfterCommit(final BUSINESS_EVENTS businessEvent, final List<BusinessEventListner> eventListners,
+            final Map<BUSINESS_ENTITY, Object> entities) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // nothing is delivered for a rolled back transaction
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCommit() {
+                    dispatch(businessEvent, eventListners, entities);
+                }
+            });
+        } else {
+            dispatch(businessEvent, eventListners, entities);
+        }
+    }
+
+    /*
+     * Runs once the transaction has committed, when every entity of the event
+     * has its id.
+     */
+    private void dispatch(final BUSINESS_EVENTS businessEvent, final List<BusinessEventListner> eventListners,
+            final Map<BUSINESS_ENTITY, Object> entities) {
+        final Long orderingKey = orderingKey(entities);
+        final Map<BUSINESS_ENTITY, Object> references = new HashMap<>();
+        for (final Map.Entry<BUSINESS_ENTITY, Object> entity : entities.entrySet()) {
+            references.put(entity.getKey(), EntityReference.of(entity.getValue()));
+        }
+        for (final BusinessEventListner eventListner : eventListners) {
+            final BusinessEventDispatch dispatch = new BusinessEventDispatch(businessEvent, eventListner, references, orderingKey);
+            final int hash = 31 * System.identityHashCode(dispatch.eventListner)
+                    + (dispatch.orderingKey == null ? 0 : dispatch.orderingKey.hashCode());
+            this.dispatchLanes[(hash & Integer.MAX_VALUE) % this.dispatchLanes.length].execute(dispatch);
+        }
+    }
+
+    /**
+     * The id of the first entity of the event, in {@link BUSINESS_ENTITY}
+     * order, so that events of the same loan, client or savings account share
+     * a lane.
+     */
+    private static Long orderingKey(final Map<BUSINESS_ENTITY, Object> businessEventEntity) {
+        for (final BUSINESS_ENTITY entityType : BUSINESS_ENTITY.values()) {
+            final Object entity = businessEventEntity.get(entityType);
+            if (entity instanceof Persistable) {
+                final Object id = ((Persistable<?>) entity).getId();
+                if (id instanceof Long) { return (Long) id; }
             }
         }
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (final ThreadPoolExecutor lane : this.dispatchLanes) {
+            lane.shutdown();
+        }
     }
 
     /*
@@ -113,4 +270,79 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
         businessEventListners.add(businessEventListner);
     }
 
+    /**
+     * Identifies a persisted entity of an event so that a lane can load its own
+     * copy. Values that are not persisted entities are carried as they are.
+     */
+    private static final class EntityReference {
+
+        private final Class<?> entityType;
+        private final Object id;
+
+        private EntityReference(final Class<?> entityType, final Object id) {
+            this.entityType = entityType;
+            this.id = id;
+        }
+
+        static Object of(final Object entity) {
+            if (entity instanceof Persistable) {
+                final Object id = ((Persistable<?>) entity).getId();
+                if (id != null) { return new EntityReference(entity.getClass(), id); }
+            }
+            return entity;
+        }
+    }
+
+    private final class BusinessEventDispatch extends TenantAwareCallable<Void> implements Runnable {
+
+        private final BUSINESS_EVENTS businessEvent;
+        private final BusinessEventListner eventListner;
+        private final Map<BUSINESS_ENTITY, Object> businessEventEntity;
+        private final Long orderingKey;
+
+        BusinessEventDispatch(final BUSINESS_EVENTS businessEvent, final BusinessEventListner eventListner,
+                final Map<BUSINESS_ENTITY, Object> businessEventEntity, final Long orderingKey) {
+            this.businessEvent = businessEvent;
+            this.eventListner = eventListner;
+            this.businessEventEntity = businessEventEntity;
+            this.orderingKey = orderingKey;
+        }
+
+        @Override
+        public void run() {
+            try {
+                call();
+            } catch (final Exception e) {
+                logger.error("Listener " + this.eventListner.getClass().getName() + " failed for business event " + this.businessEvent
+                        + " with message " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        protected Void doCall() {
+            BusinessEventNotifierServiceImpl.this.transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+                @Override
+                protected void doInTransactionWithoutResult(@SuppressWarnings("unused") final TransactionStatus status) {
+                    BusinessEventDispatch.this.eventListner.businessEventWasExecuted(loadEntities());
+                }
+            });
+            return null;
+        }
+
+        private Map<BUSINESS_ENTITY, Object> loadEntities() {
+            final Map<BUSINESS_ENTITY, Object> entities = new HashMap<>();
+            for (final Map.Entry<BUSINESS_ENTITY, Object> entry : this.businessEventEntity.entrySet()) {
+                Object entity = entry.getValue();
+                if (entity instanceof EntityReference) {
+                    final EntityReference reference = (EntityReference) entity;
+                    entity = BusinessEventNotifierServiceImpl.this.entityManager.find(reference.entityType, reference.id);
+                }
+                if (entity != null) {
+                    entities.put(entry.getKey(), entity);
+                }
+            }
+            return entities;
+        }
+    }
 }
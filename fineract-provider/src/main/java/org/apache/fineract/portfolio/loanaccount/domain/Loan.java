@@ -3105,6 +3105,19 @@ public class Loan extends AbstractPersistableCustom<Long> {
         return repaymentsOrWaivers;
     }
 
+    /**
+     * Returns true if any active transaction of this loan is allocated against
+     * the repayment schedule by the transaction processor. When there is none,
+     * replaying the transactions cannot change the schedule or the summary.
+     */
+    public boolean hasTransactionsAllocatedToRepaymentSchedule() {
+        for (final LoanTransaction transaction : retreiveListOfTransactionsPostDisbursement()) {
+            if (transaction.isRepayment() || transaction.isInterestWaiver() || transaction.isRecoveryRepayment()
+                    || transaction.isChargePayment() || transaction.isWriteOff() || transaction.isRefundForActiveLoan()) { return true; }
+        }
+        return false;
+    }
+
     public List<LoanTransaction> retreiveListOfTransactionsPostDisbursementExcludeAccruals() {
         final List<LoanTransaction> repaymentsOrWaivers = new ArrayList<>();
         for (final LoanTransaction transaction : this.loanTransactions) {
@@ -22,7 +22,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.fineract.portfolio.loanaccount.exception.LoanNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -60,6 +62,24 @@ public class LoanRepositoryWrapper {
         return loan;
     }
     
+    /**
+     * Bulk counterpart of {@link #findOneWithNotFoundDetection(Long, boolean)}
+     * with lazy collections loaded, which selects all loans and each of their
+     * collections in one query.
+     */
+    @Transactional(readOnly=true)
+    public Map<Long, Loan> findAllWithNotFoundDetection(final Collection<Long> ids) {
+        final Map<Long, Loan> loans = new HashMap<>();
+        if (ids.isEmpty()) { return loans; }
+        for (final Loan loan : this.repository.findAllWithCollectionsByIds(ids)) {
+            loans.put(loan.getId(), loan);
+        }
+        for (final Long id : ids) {
+            if (!loans.containsKey(id)) { throw new LoanNotFoundException(id); }
+        }
+        return loans;
+    }
+
     //Root Entities are enough
     public Collection<Loan> findActiveLoansByLoanIdAndGroupId(Long clientId, Long groupId) {
         final Collection<Integer> loanStatuses = new ArrayList<>(Arrays.asList(LoanStatus.SUBMITTED_AND_PENDING_APPROVAL.getValue(),
@@ -40,8 +40,8 @@ import org.apache.fineract.portfolio.account.domain.AccountTransferType;
 import org.apache.fineract.portfolio.account.service.AccountTransfersWritePlatformService;
 import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BUSINESS_ENTITY;
 import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BUSINESS_EVENTS;
-import org.apache.fineract.portfolio.common.service.BusinessEventListner;
 import org.apache.fineract.portfolio.common.service.BusinessEventNotifierService;
+import org.apache.fineract.portfolio.common.service.TransactionalBusinessEventListner;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
 import org.apache.fineract.portfolio.loanaccount.guarantor.GuarantorConstants;
@@ -514,7 +514,7 @@ public class GuarantorDomainServiceImpl implements GuarantorDomainService {
         }
     }
 
-    private class ValidateOnBusinessEvent implements BusinessEventListner {
+    private class ValidateOnBusinessEvent implements TransactionalBusinessEventListner {
 
         @Override
         public void businessEventToBeExecuted(@SuppressWarnings("unused") Map<BUSINESS_ENTITY, Object> businessEventEntity) {}
@@ -529,7 +529,7 @@ public class GuarantorDomainServiceImpl implements GuarantorDomainService {
         }
     }
 
-    private class HoldFundsOnBusinessEvent implements BusinessEventListner {
+    private class HoldFundsOnBusinessEvent implements TransactionalBusinessEventListner {
 
         @Override
         public void businessEventToBeExecuted(@SuppressWarnings("unused") Map<BUSINESS_ENTITY, Object> businessEventEntity) {}
@@ -544,7 +544,7 @@ public class GuarantorDomainServiceImpl implements GuarantorDomainService {
         }
     }
 
-    private class ReleaseFundsOnBusinessEvent implements BusinessEventListner {
+    private class ReleaseFundsOnBusinessEvent implements TransactionalBusinessEventListner {
 
         @Override
         public void businessEventToBeExecuted(@SuppressWarnings("unused") Map<BUSINESS_ENTITY, Object> businessEventEntity) {}
@@ -563,7 +563,7 @@ public class GuarantorDomainServiceImpl implements GuarantorDomainService {
         }
     }
 
-    private class ReverseFundsOnBusinessEvent implements BusinessEventListner {
+    private class ReverseFundsOnBusinessEvent implements TransactionalBusinessEventListner {
 
         @Override
         public void businessEventToBeExecuted(@SuppressWarnings("unused") Map<BUSINESS_ENTITY, Object> businessEventEntity) {}
@@ -580,7 +580,7 @@ public class GuarantorDomainServiceImpl implements GuarantorDomainService {
         }
     }
 
-    private class AdjustFundsOnBusinessEvent implements BusinessEventListner {
+    private class AdjustFundsOnBusinessEvent implements TransactionalBusinessEventListner {
 
         @Override
         public void businessEventToBeExecuted(@SuppressWarnings("unused") Map<BUSINESS_ENTITY, Object> businessEventEntity) {}
@@ -602,7 +602,7 @@ public class GuarantorDomainServiceImpl implements GuarantorDomainService {
         }
     }
 
-    private class ReverseAllFundsOnBusinessEvent implements BusinessEventListner {
+    private class ReverseAllFundsOnBusinessEvent implements TransactionalBusinessEventListner {
 
         @Override
         public void businessEventToBeExecuted(@SuppressWarnings("unused") Map<BUSINESS_ENTITY, Object> businessEventEntity) {}
@@ -619,7 +619,7 @@ public class GuarantorDomainServiceImpl implements GuarantorDomainService {
         }
     }
 
-    private class UndoAllFundTransactions implements BusinessEventListner {
+    private class UndoAllFundTransactions implements TransactionalBusinessEventListner {
 
         @Override
         public void businessEventToBeExecuted(@SuppressWarnings("unused") Map<BUSINESS_ENTITY, Object> businessEventEntity) {}
@@ -634,7 +634,7 @@ public class GuarantorDomainServiceImpl implements GuarantorDomainService {
         }
     }
 
-    private class ReleaseAllFunds implements BusinessEventListner {
+    private class ReleaseAllFunds implements TransactionalBusinessEventListner {
 
         @Override
         public void businessEventToBeExecuted(@SuppressWarnings("unused") Map<BUSINESS_ENTITY, Object> businessEventEntity) {}
@@ -112,7 +112,7 @@ public class LoanScheduleCalculationPlatformServiceImpl implements LoanScheduleC
 
         if (validateParams) {
             boolean isMeetingMandatoryForJLGLoans = configurationDomainService.isMeetingMandatoryForJLGLoans();
-            this.loanApiJsonDeserializer.validateForCreate(query.json(), isMeetingMandatoryForJLGLoans, loanProduct);
+            this.loanApiJsonDeserializer.validateForCreate(query.parsedJson(), isMeetingMandatoryForJLGLoans, loanProduct);
         }
         this.fromApiJsonDeserializer.validate(query.json());
 
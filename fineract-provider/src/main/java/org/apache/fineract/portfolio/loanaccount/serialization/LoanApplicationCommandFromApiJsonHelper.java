@@ -18,14 +18,12 @@
  */
 package org.apache.fineract.portfolio.loanaccount.serialization;
 
-import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
@@ -53,7 +51,6 @@ import org.springframework.stereotype.Component;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.reflect.TypeToken;
 
 @Component
 public final class LoanApplicationCommandFromApiJsonHelper {
@@ -105,17 +102,14 @@ public final class LoanApplicationCommandFromApiJsonHelper {
         this.apiJsonHelper = apiJsonHelper;
     }
 
-    public void validateForCreate(final String json, final boolean isMeetingMandatoryForJLGLoans, final LoanProduct loanProduct) {
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+    public void validateForCreate(final JsonElement element, final boolean isMeetingMandatoryForJLGLoans, final LoanProduct loanProduct) {
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, this.supportedParameters);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(), this.supportedParameters);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors).resource("loan");
 
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
-
         final String loanTypeParameterName = "loanType";
         final String loanTypeStr = this.fromApiJsonHelper.extractStringNamed(loanTypeParameterName, element);
         baseDataValidator.reset().parameter(loanTypeParameterName).value(loanTypeStr).notNull();
@@ -395,7 +389,6 @@ public final class LoanApplicationCommandFromApiJsonHelper {
             final Locale locale = this.fromApiJsonHelper.extractLocaleParameter(topLevelJsonElement);
 
             if (topLevelJsonElement.get(chargesParameterName).isJsonArray()) {
-                final Type arrayObjectParameterTypeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
                 final Set<String> supportedParameters = new HashSet<>(Arrays.asList("id", "chargeId", "amount", "chargeTimeType",
                         "chargeCalculationType", "dueDate"));
 
@@ -403,9 +396,7 @@ public final class LoanApplicationCommandFromApiJsonHelper {
                 for (int i = 1; i <= array.size(); i++) {
 
                     final JsonObject loanChargeElement = array.get(i - 1).getAsJsonObject();
-                    final String arrayObjectJson = this.fromApiJsonHelper.toJson(loanChargeElement);
-                    this.fromApiJsonHelper.checkForUnsupportedParameters(arrayObjectParameterTypeOfMap, arrayObjectJson,
-                            supportedParameters);
+                    this.fromApiJsonHelper.checkForUnsupportedParameters(loanChargeElement, supportedParameters);
 
                     final Long chargeId = this.fromApiJsonHelper.extractLongNamed("chargeId", loanChargeElement);
                     baseDataValidator.reset().parameter("charges").parameterAtIndexArray("chargeId", i).value(chargeId).notNull()
@@ -427,14 +418,12 @@ public final class LoanApplicationCommandFromApiJsonHelper {
             final Locale locale = this.fromApiJsonHelper.extractLocaleParameter(topLevelJsonElement);
             if (topLevelJsonElement.get("collateral").isJsonArray()) {
 
-                final Type collateralParameterTypeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
                 final Set<String> supportedParameters = new HashSet<>(Arrays.asList("id", "type", "value", "description"));
                 final JsonArray array = topLevelJsonElement.get("collateral").getAsJsonArray();
                 for (int i = 1; i <= array.size(); i++) {
                     final JsonObject collateralItemElement = array.get(i - 1).getAsJsonObject();
 
-                    final String collateralJson = this.fromApiJsonHelper.toJson(collateralItemElement);
-                    this.fromApiJsonHelper.checkForUnsupportedParameters(collateralParameterTypeOfMap, collateralJson, supportedParameters);
+                    this.fromApiJsonHelper.checkForUnsupportedParameters(collateralItemElement, supportedParameters);
 
                     final Long collateralTypeId = this.fromApiJsonHelper.extractLongNamed("type", collateralItemElement);
                     baseDataValidator.reset().parameter("collateral").parameterAtIndexArray("type", i).value(collateralTypeId).notNull()
@@ -493,15 +482,13 @@ public final class LoanApplicationCommandFromApiJsonHelper {
         if (!dataValidationErrors.isEmpty()) { throw new PlatformApiDataValidationException(dataValidationErrors); }
     }
 
-    public void validateForModify(final String json, final LoanProduct loanProduct, final Loan existingLoanApplication) {
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+    public void validateForModify(final JsonElement element, final LoanProduct loanProduct, final Loan existingLoanApplication) {
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, this.supportedParameters);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(), this.supportedParameters);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors).resource("loan");
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
         boolean atLeastOneParameterPassedForUpdate = false;
 
         final String clientIdParameterName = "clientId";
@@ -817,7 +804,6 @@ public final class LoanApplicationCommandFromApiJsonHelper {
             final Locale locale = this.fromApiJsonHelper.extractLocaleParameter(topLevelJsonElement);
 
             if (topLevelJsonElement.get(chargesParameterName).isJsonArray()) {
-                final Type arrayObjectParameterTypeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
                 final Set<String> supportedParameters = new HashSet<>(Arrays.asList("id", "chargeId", "amount", "chargeTimeType",
                         "chargeCalculationType", "dueDate"));
 
@@ -825,9 +811,7 @@ public final class LoanApplicationCommandFromApiJsonHelper {
                 for (int i = 1; i <= array.size(); i++) {
 
                     final JsonObject loanChargeElement = array.get(i - 1).getAsJsonObject();
-                    final String arrayObjectJson = this.fromApiJsonHelper.toJson(loanChargeElement);
-                    this.fromApiJsonHelper.checkForUnsupportedParameters(arrayObjectParameterTypeOfMap, arrayObjectJson,
-                            supportedParameters);
+                    this.fromApiJsonHelper.checkForUnsupportedParameters(loanChargeElement, supportedParameters);
 
                     final Long chargeId = this.fromApiJsonHelper.extractLongNamed("chargeId", loanChargeElement);
                     baseDataValidator.reset().parameter("charges").parameterAtIndexArray("chargeId", i).value(chargeId).notNull()
@@ -849,14 +833,12 @@ public final class LoanApplicationCommandFromApiJsonHelper {
             final Locale locale = this.fromApiJsonHelper.extractLocaleParameter(topLevelJsonElement);
             if (topLevelJsonElement.get("collateral").isJsonArray()) {
 
-                final Type collateralParameterTypeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
                 final Set<String> supportedParameters = new HashSet<>(Arrays.asList("id", "type", "value", "description"));
                 final JsonArray array = topLevelJsonElement.get("collateral").getAsJsonArray();
                 for (int i = 1; i <= array.size(); i++) {
                     final JsonObject collateralItemElement = array.get(i - 1).getAsJsonObject();
 
-                    final String collateralJson = this.fromApiJsonHelper.toJson(collateralItemElement);
-                    this.fromApiJsonHelper.checkForUnsupportedParameters(collateralParameterTypeOfMap, collateralJson, supportedParameters);
+                    this.fromApiJsonHelper.checkForUnsupportedParameters(collateralItemElement, supportedParameters);
 
                     final Long collateralTypeId = this.fromApiJsonHelper.extractLongNamed("type", collateralItemElement);
                     baseDataValidator.reset().parameter("collateral").parameterAtIndexArray("type", i).value(collateralTypeId).notNull()
@@ -938,16 +920,14 @@ public final class LoanApplicationCommandFromApiJsonHelper {
                 "Validation errors exist.", dataValidationErrors); }
     }
 
-    public void validateForUndo(final String json) {
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+    public void validateForUndo(final JsonElement element) {
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
 
         final Set<String> undoSupportedParameters = new HashSet<>(Arrays.asList("note"));
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, undoSupportedParameters);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(), undoSupportedParameters);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors).resource("loanapplication.undo");
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
 
         final String note = "note";
         if (this.fromApiJsonHelper.parameterExists(note, element)) {
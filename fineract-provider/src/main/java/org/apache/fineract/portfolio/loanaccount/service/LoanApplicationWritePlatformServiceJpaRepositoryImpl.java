@@ -233,7 +233,7 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
                             officeSpecificLoanProductValidation( productId,group.getOffice().getId());
                         }
             
-            this.fromApiJsonDeserializer.validateForCreate(command.json(), isMeetingMandatoryForJLGLoans, loanProduct);
+            this.fromApiJsonDeserializer.validateForCreate(command.parsedJson(), isMeetingMandatoryForJLGLoans, loanProduct);
 
             final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
             final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors).resource("loan");
@@ -547,7 +547,7 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
 
             LoanProduct loanProductForValidations = newLoanProduct == null ? existingLoanApplication.loanProduct() : newLoanProduct;
 
-            this.fromApiJsonDeserializer.validateForModify(command.json(), loanProductForValidations, existingLoanApplication);
+            this.fromApiJsonDeserializer.validateForModify(command.parsedJson(), loanProductForValidations, existingLoanApplication);
 
             checkClientOrGroupActive(existingLoanApplication);
 
@@ -1162,7 +1162,7 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
 
         AppUser currentUser = getAppUserIfPresent();
 
-        this.fromApiJsonDeserializer.validateForUndo(command.json());
+        this.fromApiJsonDeserializer.validateForUndo(command.parsedJson());
 
         final Loan loan = retrieveLoanBy(loanId);
         checkClientOrGroupActive(loan);
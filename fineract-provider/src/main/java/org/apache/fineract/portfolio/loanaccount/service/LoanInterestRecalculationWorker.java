@@ -0,0 +1,151 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import java.util.Random;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.fineract.infrastructure.core.service.TenantAwareCallable;
+import org.apache.fineract.infrastructure.jobs.service.JobProgress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Recalculates interest for the loans of one shard of the Recalculate Interest
+ * For Loans job.
+ * 
+ * Loans that hit lock contention are put back on the worker's own delay queue
+ * with an exponential backoff instead of sleeping on the worker thread, so the
+ * worker carries on with the other loans of its shard while the contended
+ * loan waits. As every loan of a client is assigned to the same shard, retries
+ * never run concurrently with another worker touching the same client.
+ */
+public class LoanInterestRecalculationWorker extends TenantAwareCallable<String> {
+
+    private final static Logger logger = LoggerFactory.getLogger(LoanInterestRecalculationWorker.class);
+
+    private final DelayQueue<PendingLoan> pendingLoans = new DelayQueue<>();
+    private final Random random = new Random();
+    private final int maxNumberOfRetries;
+    private final int maxIntervalBetweenRetries;
+    private final LoanWritePlatformService loanWritePlatformService;
+    private final JobProgress progress;
+
+    public LoanInterestRecalculationWorker(final int maxNumberOfRetries, final int maxIntervalBetweenRetries,
+            final LoanWritePlatformService loanWritePlatformService, final JobProgress progress) {
+        this.maxNumberOfRetries = maxNumberOfRetries;
+        this.maxIntervalBetweenRetries = maxIntervalBetweenRetries;
+        this.loanWritePlatformService = loanWritePlatformService;
+        this.progress = progress;
+    }
+
+    public void addLoan(final Long loanId) {
+        this.pendingLoans.add(new PendingLoan(loanId, 0, 0));
+    }
+
+    @Override
+    protected String doCall() {
+        final StringBuilder sb = new StringBuilder();
+        while (!this.pendingLoans.isEmpty()) {
+            final PendingLoan pendingLoan;
+            try {
+                pendingLoan = this.pendingLoans.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                sb.append("Interest recalculation for loans was interrupted with ").append(this.pendingLoans.size())
+                        .append(" loan(s) pending");
+                break;
+            }
+            final Long loanId = pendingLoan.getLoanId();
+            try {
+                this.loanWritePlatformService.recalculateInterest(loanId);
+                this.progress.recordProcessed();
+            } catch (CannotAcquireLockException | ObjectOptimisticLockingFailureException exception) {
+                if (pendingLoan.getAttempt() >= this.maxNumberOfRetries) {
+                    logger.warn("Recalulate interest job has been retried for the max allowed attempts of " + pendingLoan.getAttempt()
+                            + " for loan " + loanId + " and will be rolled back");
+                    sb.append("Recalulate interest job has been retried for the max allowed attempts of ").append(pendingLoan.getAttempt())
+                            .append(" for account:").append(loanId).append(" and will be rolled back");
+                    this.progress.recordFailed();
+                } else {
+                    final int attempt = pendingLoan.getAttempt() + 1;
+                    logger.info("Recalulate interest for loan " + loanId + " has been retried " + attempt + " time(s)");
+                    this.pendingLoans.add(new PendingLoan(loanId, attempt, backoffInMillis(attempt)));
+                }
+            } catch (Exception e) {
+                Throwable realCause = e;
+                if (e.getCause() != null) {
+                    realCause = e.getCause();
+                }
+                logger.error("Interest recalculation for loans failed for account:" + loanId + " with message " + realCause.getMessage());
+                sb.append("Interest recalculation for loans failed for account:").append(loanId).append(" with message ")
+                        .append(realCause.getMessage());
+                this.progress.recordFailed();
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * One second doubled on every attempt, capped at the tenant's maximum
+     * interval between retries, plus up to half a second of jitter so that
+     * contending workers do not retry in lock step.
+     */
+    private long backoffInMillis(final int attempt) {
+        final long maxIntervalInMillis = Math.max(1, this.maxIntervalBetweenRetries) * 1000L;
+        final long backoff = Math.min(maxIntervalInMillis, 1000L << Math.min(attempt - 1, 20));
+        return backoff + this.random.nextInt(500);
+    }
+
+    private static final class PendingLoan implements Delayed {
+
+        private final Long loanId;
+        private final int attempt;
+        private final long dueAtNanos;
+
+        PendingLoan(final Long loanId, final int attempt, final long delayInMillis) {
+            this.loanId = loanId;
+            this.attempt = attempt;
+            this.dueAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayInMillis);
+        }
+
+        Long getLoanId() {
+            return this.loanId;
+        }
+
+        int getAttempt() {
+            return this.attempt;
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            return unit.convert(this.dueAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed other) {
+            final long difference = getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+            return difference < 0 ? -1 : (difference > 0 ? 1 : 0);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.exception.AbstractPlatformDomainRuleException;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.TenantAwareCallable;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.OverdueLoanScheduleData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies overdue charges to a batch of loans on a job worker thread. Each
+ * loan is handled in its own transaction by
+ * {@link LoanWritePlatformService#applyOverdueChargesForLoan(Long, Collection)}
+ * so a failing loan does not affect the rest of the batch. Returns the failure
+ * messages of the batch, empty when every loan succeeded.
+ */
+public class LoanOverdueChargeApplier extends TenantAwareCallable<String> {
+
+    private final static Logger logger = LoggerFactory.getLogger(LoanOverdueChargeApplier.class);
+
+    private final List<Long> loanIds;
+    private final Map<Long, Collection<OverdueLoanScheduleData>> overdueScheduleData;
+    private final LoanWritePlatformService loanWritePlatformService;
+
+    public LoanOverdueChargeApplier(final List<Long> loanIds, final Map<Long, Collection<OverdueLoanScheduleData>> overdueScheduleData,
+            final LoanWritePlatformService loanWritePlatformService) {
+        this.loanIds = loanIds;
+        this.overdueScheduleData = overdueScheduleData;
+        this.loanWritePlatformService = loanWritePlatformService;
+    }
+
+    @Override
+    protected String doCall() {
+        final StringBuilder sb = new StringBuilder();
+        for (final Long loanId : this.loanIds) {
+            try {
+                this.loanWritePlatformService.applyOverdueChargesForLoan(loanId, this.overdueScheduleData.get(loanId));
+
+            } catch (final PlatformApiDataValidationException e) {
+                final List<ApiParameterError> errors = e.getErrors();
+                for (final ApiParameterError error : errors) {
+                    logger.error("Apply Charges due for overdue loans failed for account:" + loanId + " with message "
+                            + error.getDeveloperMessage());
+                    sb.append("Apply Charges due for overdue loans failed for account:").append(loanId).append(" with message ")
+                            .append(error.getDeveloperMessage());
+                }
+            } catch (final AbstractPlatformDomainRuleException ex) {
+                logger.error("Apply Charges due for overdue loans failed for account:" + loanId + " with message "
+                        + ex.getDefaultUserMessage());
+                sb.append("Apply Charges due for overdue loans failed for account:").append(loanId).append(" with message ")
+                        .append(ex.getDefaultUserMessage());
+            } catch (Exception e) {
+                Throwable realCause = e;
+                if (e.getCause() != null) {
+                    realCause = e.getCause();
+                }
+                logger.error("Apply Charges due for overdue loans failed for account:" + loanId + " with message "
+                        + realCause.getMessage());
+                sb.append("Apply Charges due for overdue loans failed for account:").append(loanId).append(" with message ")
+                        .append(realCause.getMessage());
+            }
+        }
+        return sb.toString();
+    }
+}
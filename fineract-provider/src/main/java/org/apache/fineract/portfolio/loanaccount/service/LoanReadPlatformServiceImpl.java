@@ -28,6 +28,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -39,6 +40,7 @@ import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDoma
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.KeysetPagination;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
@@ -123,6 +125,7 @@ import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
@@ -131,6 +134,15 @@ import org.springframework.util.CollectionUtils;
 @Service
 public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
 
+    private final static Map<String, String> keysetSortColumns = new HashMap<>();
+
+    static {
+        keysetSortColumns.put("id", "l.id");
+        keysetSortColumns.put("accountNo", "l.account_no");
+        keysetSortColumns.put("externalId", "l.external_id");
+        keysetSortColumns.put("clientId", "l.client_id");
+    }
+
     private final JdbcTemplate jdbcTemplate;
     private final PlatformSecurityContext context;
     private final LoanRepositoryWrapper loanRepositoryWrapper ;
@@ -262,8 +274,15 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
         final String hierarchy = currentUser.getOffice().getHierarchy();
         final String hierarchySearchString = hierarchy + "%";
 
+        final KeysetPagination keysetPagination = searchParameters.isKeysetPaged() ? KeysetPagination.from(searchParameters, "loans",
+                "l.id", keysetSortColumns, "id", "ASC") : null;
+
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        if (keysetPagination != null) {
+            sqlBuilder.append("select ").append(keysetPagination.selectSql());
+        } else {
+            sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        }
         sqlBuilder.append(this.loaanLoanMapper.loanSchema());
 
         // TODO - for time being this will data scope list of loans returned to
@@ -298,6 +317,13 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
             arrayPos = arrayPos + 1;
         }
 
+        if (keysetPagination != null) {
+            sqlBuilder.append(keysetPagination.predicateSql(" and "));
+            sqlBuilder.append(keysetPagination.orderByAndLimitSql());
+            return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), extraCriterias.toArray(),
+                    this.loaanLoanMapper, keysetPagination);
+        }
+
         if (searchParameters.isOrderByRequested()) {
             sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
 
@@ -1740,9 +1766,24 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
     }
 
     @Override
-    public Collection<Long> fetchLoansForInterestRecalculation() {
+    public Map<Long, Long> fetchLoansForInterestRecalculationWithShardKey() {
+        // loans of the same client (or, for group loans, of the same group)
+        // share the shard key so that they are never recalculated concurrently
+        final String sql = loansForInterestRecalculationSql();
+        final Map<Long, Long> shardKeysByLoanId = new LinkedHashMap<>();
+        this.jdbcTemplate.query(sql, new RowCallbackHandler() {
+
+            @Override
+            public void processRow(final ResultSet rs) throws SQLException {
+                shardKeysByLoanId.put(rs.getLong("loanId"), rs.getLong("shardKey"));
+            }
+        }, loansForInterestRecalculationParams());
+        return shardKeysByLoanId;
+    }
+
+    private String loansForInterestRecalculationSql() {
         StringBuilder sqlBuilder = new StringBuilder();
-        sqlBuilder.append("SELECT ml.id FROM m_loan ml ");
+        sqlBuilder.append("SELECT ml.id as loanId, ifnull(ml.client_id, ml.group_id) as shardKey FROM m_loan ml ");
         sqlBuilder.append(" INNER JOIN m_loan_repayment_schedule mr on mr.loan_id = ml.id ");
         sqlBuilder.append(" LEFT JOIN m_loan_disbursement_detail dd on dd.loan_id=ml.id and dd.disbursedon_date is null ");
         // For Floating rate changes
@@ -1770,15 +1811,14 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
         sqlBuilder.append("and lrr.loan_id is null");
         sqlBuilder.append(" ))");
         sqlBuilder.append(" group by ml.id");
-        try {
-            String currentdate = formatter.print(DateUtils.getLocalDateOfTenant());
-            // will look only for yesterday modified rates
-            String yesterday = formatter.print(DateUtils.getLocalDateOfTenant().minusDays(1));
-            return this.jdbcTemplate.queryForList(sqlBuilder.toString(), Long.class, new Object[] { yesterday,
-                    LoanStatus.ACTIVE.getValue(), currentdate, currentdate, currentdate, yesterday });
-        } catch (final EmptyResultDataAccessException e) {
-            return null;
-        }
+        return sqlBuilder.toString();
+    }
+
+    private Object[] loansForInterestRecalculationParams() {
+        String currentdate = formatter.print(DateUtils.getLocalDateOfTenant());
+        // will look only for yesterday modified rates
+        String yesterday = formatter.print(DateUtils.getLocalDateOfTenant().minusDays(1));
+        return new Object[] { yesterday, LoanStatus.ACTIVE.getValue(), currentdate, currentdate, currentdate, yesterday };
     }
 
     @Override
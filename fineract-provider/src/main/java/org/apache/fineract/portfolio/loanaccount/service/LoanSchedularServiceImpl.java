@@ -23,22 +23,23 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
-import org.apache.fineract.infrastructure.core.data.ApiParameterError;
-import org.apache.fineract.infrastructure.core.exception.AbstractPlatformDomainRuleException;
-import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.TenantAwareExecutors;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.jobs.service.JobProgress;
+import org.apache.fineract.infrastructure.jobs.service.SchedulerJobProgressRegistry;
 import org.apache.fineract.portfolio.loanaccount.loanschedule.data.OverdueLoanScheduleData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.CannotAcquireLockException;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -48,13 +49,18 @@ public class LoanSchedularServiceImpl implements LoanSchedularService {
     private final ConfigurationDomainService configurationDomainService;
     private final LoanReadPlatformService loanReadPlatformService;
     private final LoanWritePlatformService loanWritePlatformService;
+    private final SchedulerJobProgressRegistry jobProgressRegistry;
+    private final RoutingDataSource dataSource;
 
     @Autowired
     public LoanSchedularServiceImpl(final ConfigurationDomainService configurationDomainService,
-            final LoanReadPlatformService loanReadPlatformService, final LoanWritePlatformService loanWritePlatformService) {
+            final LoanReadPlatformService loanReadPlatformService, final LoanWritePlatformService loanWritePlatformService,
+            final SchedulerJobProgressRegistry jobProgressRegistry, final RoutingDataSource dataSource) {
         this.configurationDomainService = configurationDomainService;
         this.loanReadPlatformService = loanReadPlatformService;
         this.loanWritePlatformService = loanWritePlatformService;
+        this.jobProgressRegistry = jobProgressRegistry;
+        this.dataSource = dataSource;
     }
 
     @Override
@@ -79,109 +85,89 @@ public class LoanSchedularServiceImpl implements LoanSchedularService {
                 }
             }
 
-            for (final Long loanId : overdueScheduleData.keySet()) {
-                try {
-                    this.loanWritePlatformService.applyOverdueChargesForLoan(loanId, overdueScheduleData.get(loanId));
-
-                } catch (final PlatformApiDataValidationException e) {
-                    final List<ApiParameterError> errors = e.getErrors();
-                    for (final ApiParameterError error : errors) {
-                        logger.error("Apply Charges due for overdue loans failed for account:" + loanId + " with message "
-                                + error.getDeveloperMessage());
-                        sb.append("Apply Charges due for overdue loans failed for account:").append(loanId).append(" with message ")
-                                .append(error.getDeveloperMessage());
-                    }
-                } catch (final AbstractPlatformDomainRuleException ex) {
-                    logger.error("Apply Charges due for overdue loans failed for account:" + loanId + " with message "
-                            + ex.getDefaultUserMessage());
-                    sb.append("Apply Charges due for overdue loans failed for account:").append(loanId).append(" with message ")
-                            .append(ex.getDefaultUserMessage());
-                } catch (Exception e) {
-                    Throwable realCause = e;
-                    if (e.getCause() != null) {
-                        realCause = e.getCause();
+            // independent loans are handed out to the workers in batches,
+            // every loan is still charged in its own transaction
+            final int batchSize = this.configurationDomainService.retrieveOverdueChargesBatchSize();
+            final int threadPoolSize = this.configurationDomainService.retrieveOverdueChargesThreadPoolSize();
+            final ExecutorService executorService = TenantAwareExecutors.newFixedThreadPoolForCurrentTenant(this.dataSource,
+                    threadPoolSize);
+            try {
+                final List<Future<String>> results = new ArrayList<>();
+                final List<Long> loanIds = new ArrayList<>(overdueScheduleData.keySet());
+                for (int fromIndex = 0; fromIndex < loanIds.size(); fromIndex += batchSize) {
+                    final int toIndex = Math.min(fromIndex + batchSize, loanIds.size());
+                    results.add(executorService.submit(new LoanOverdueChargeApplier(new ArrayList<>(loanIds.subList(fromIndex, toIndex)),
+                            overdueScheduleData, this.loanWritePlatformService)));
+                }
+                for (final Future<String> result : results) {
+                    try {
+                        sb.append(result.get());
+                    } catch (final ExecutionException e) {
+                        final Throwable realCause = e.getCause() == null ? e : e.getCause();
+                        logger.error("Apply Charges due for overdue loans failed with message " + realCause.getMessage());
+                        sb.append("Apply Charges due for overdue loans failed with message ").append(realCause.getMessage());
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        sb.append("Apply Charges due for overdue loans was interrupted");
+                        break;
                     }
-                    logger.error("Apply Charges due for overdue loans failed for account:" + loanId + " with message "
-                            + realCause.getMessage());
-                    sb.append("Apply Charges due for overdue loans failed for account:").append(loanId).append(" with message ")
-                            .append(realCause.getMessage());
                 }
+            } finally {
+                executorService.shutdownNow();
             }
             if (sb.length() > 0) { throw new JobExecutionException(sb.toString()); }
         }
     }
 
-	@Override
-	@CronTarget(jobName = JobName.RECALCULATE_INTEREST_FOR_LOAN)
-	public void recalculateInterest() throws JobExecutionException {
-		Integer maxNumberOfRetries = ThreadLocalContextUtil.getTenant()
-				.getConnection().getMaxRetriesOnDeadlock();
-		Integer maxIntervalBetweenRetries = ThreadLocalContextUtil.getTenant()
-				.getConnection().getMaxIntervalBetweenRetries();
-		Collection<Long> loanIds = this.loanReadPlatformService
-				.fetchLoansForInterestRecalculation();
-		int i = 0;
-		if (!loanIds.isEmpty()) {
-			final StringBuilder sb = new StringBuilder();
-			for (Long loanId : loanIds) {
-				logger.info("Loan ID " + loanId);
-				Integer numberOfRetries = 0;
-				while (numberOfRetries <= maxNumberOfRetries) {
-					try {
-						this.loanWritePlatformService
-								.recalculateInterest(loanId);
-						numberOfRetries = maxNumberOfRetries + 1;
-					} catch (CannotAcquireLockException
-							| ObjectOptimisticLockingFailureException exception) {
-						logger.info("Recalulate interest job has been retried  "
-								+ numberOfRetries + " time(s)");
-						/***
-						 * Fail if the transaction has been retired for
-						 * maxNumberOfRetries
-						 **/
-						if (numberOfRetries >= maxNumberOfRetries) {
-							logger.warn("Recalulate interest job has been retried for the max allowed attempts of "
-									+ numberOfRetries
-									+ " and will be rolled back");
-							sb.append("Recalulate interest job has been retried for the max allowed attempts of "
-									+ numberOfRetries
-									+ " and will be rolled back");
-							break;
-						}
-						/***
-						 * Else sleep for a random time (between 1 to 10
-						 * seconds) and continue
-						 **/
-						try {
-							Random random = new Random();
-							int randomNum = random
-									.nextInt(maxIntervalBetweenRetries + 1);
-							Thread.sleep(1000 + (randomNum * 1000));
-							numberOfRetries = numberOfRetries + 1;
-						} catch (InterruptedException e) {
-							sb.append("Interest recalculation for loans failed " + exception.getMessage()) ;
-							break;
-						}
-					} catch (Exception e) {
-						Throwable realCause = e;
-						if (e.getCause() != null) {
-							realCause = e.getCause();
-						}
-						logger.error("Interest recalculation for loans failed for account:"	+ loanId + " with message "
-								+ realCause.getMessage());
-						sb.append("Interest recalculation for loans failed for account:").append(loanId).append(" with message ")
-                        .append(realCause.getMessage());
-						numberOfRetries = maxNumberOfRetries + 1;
-					}
-					i++;
-				}
-				logger.info("Loans count " + i);
-			}
-			if (sb.length() > 0) {
-				throw new JobExecutionException(sb.toString());
-			}
-		}
+    @Override
+    @CronTarget(jobName = JobName.RECALCULATE_INTEREST_FOR_LOAN)
+    public void recalculateInterest() throws JobExecutionException {
+        final int maxNumberOfRetries = ThreadLocalContextUtil.getTenant().getConnection().getMaxRetriesOnDeadlock();
+        final int maxIntervalBetweenRetries = ThreadLocalContextUtil.getTenant().getConnection().getMaxIntervalBetweenRetries();
+        final Map<Long, Long> shardKeysByLoanId = this.loanReadPlatformService.fetchLoansForInterestRecalculationWithShardKey();
+        if (shardKeysByLoanId.isEmpty()) { return; }
+        final JobProgress progress = this.jobProgressRegistry.start(JobName.RECALCULATE_INTEREST_FOR_LOAN, shardKeysByLoanId.size());
+
+        // every loan of a client goes to the same worker, so no two workers
+        // ever lock the same client's loans
+        final int threadPoolSize = TenantAwareExecutors.poolSizeForCurrentTenant(this.dataSource,
+                this.configurationDomainService.retrieveInterestRecalculationThreadPoolSize());
+        final LoanInterestRecalculationWorker[] workers = new LoanInterestRecalculationWorker[threadPoolSize];
+        for (int i = 0; i < threadPoolSize; i++) {
+            workers[i] = new LoanInterestRecalculationWorker(maxNumberOfRetries, maxIntervalBetweenRetries, this.loanWritePlatformService,
+                    progress);
+        }
+        for (final Map.Entry<Long, Long> loan : shardKeysByLoanId.entrySet()) {
+            final int shard = (int) Math.abs(loan.getValue() % threadPoolSize);
+            workers[shard].addLoan(loan.getKey());
+        }
 
-	}
+        final StringBuilder sb = new StringBuilder();
+        final ExecutorService executorService = TenantAwareExecutors.newFixedThreadPoolForCurrentTenant(this.dataSource, threadPoolSize);
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            for (final LoanInterestRecalculationWorker worker : workers) {
+                results.add(executorService.submit(worker));
+            }
+            for (final Future<String> result : results) {
+                try {
+                    sb.append(result.get());
+                } catch (final ExecutionException e) {
+                    final Throwable realCause = e.getCause() == null ? e : e.getCause();
+                    logger.error("Interest recalculation for loans failed with message " + realCause.getMessage());
+                    sb.append("Interest recalculation for loans failed with message ").append(realCause.getMessage());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    sb.append("Interest recalculation for loans was interrupted");
+                    break;
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        logger.info("Interest recalculation for loans processed " + progress.getProcessed() + " and failed " + progress.getFailed()
+                + " of " + shardKeysByLoanId.size() + " loans");
+        if (sb.length() > 0) { throw new JobExecutionException(sb.toString()); }
+    }
 
 }
@@ -549,10 +549,16 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
         final LocalDate nextPossibleRepaymentDate = null;
         final Date rescheduledRepaymentDate = null;
 
+        final Set<Long> loanIds = new HashSet<>();
+        for (final SingleDisbursalCommand singleLoanDisbursalCommand : disbursalCommand) {
+            loanIds.add(singleLoanDisbursalCommand.getLoanId());
+        }
+        final Map<Long, Loan> loans = this.loanAssembler.assembleFrom(loanIds);
+
         for (int i = 0; i < disbursalCommand.length; i++) {
             final SingleDisbursalCommand singleLoanDisbursalCommand = disbursalCommand[i];
 
-            final Loan loan = this.loanAssembler.assembleFrom(singleLoanDisbursalCommand.getLoanId());
+            final Loan loan = loans.get(singleLoanDisbursalCommand.getLoanId());
             final LocalDate actualDisbursementDate = command.localDateValueOfParameterNamed("actualDisbursementDate");
             
             // validate ActualDisbursement Date Against Expected Disbursement Date
@@ -763,9 +769,20 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
         HolidayDetailDTO holidayDetailDTO = null;
         Boolean isHolidayValidationDone = false;
         final boolean allowTransactionsOnHoliday = this.configurationDomainService.allowTransactionsOnHolidayEnabled();
+
+        // loads every loan of the sheet with its schedule, transactions and
+        // charges in a few queries instead of several per loan
+        final Set<Long> loanIds = new HashSet<>();
+        for (final SingleRepaymentCommand singleLoanRepaymentCommand : repaymentCommand) {
+            if (singleLoanRepaymentCommand != null) {
+                loanIds.add(singleLoanRepaymentCommand.getLoanId());
+            }
+        }
+        final Map<Long, Loan> loans = this.loanAssembler.assembleFrom(loanIds);
+
         for (final SingleRepaymentCommand singleLoanRepaymentCommand : repaymentCommand) {
             if (singleLoanRepaymentCommand != null) {
-                Loan loan = this.loanRepositoryWrapper.findOneWithNotFoundDetection(singleLoanRepaymentCommand.getLoanId());
+                Loan loan = loans.get(singleLoanRepaymentCommand.getLoanId());
                 final List<Holiday> holidays = this.holidayRepository.findByOfficeIdAndGreaterThanDate(loan.getOfficeId(),
                         singleLoanRepaymentCommand.getTransactionDate().toDate());
                 final WorkingDays workingDays = this.workingDaysRepository.findOne();
@@ -783,20 +800,29 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
             }
 
         }
-        for (final SingleRepaymentCommand singleLoanRepaymentCommand : repaymentCommand) {
-            if (singleLoanRepaymentCommand != null) {
-                final Loan loan = this.loanAssembler.assembleFrom(singleLoanRepaymentCommand.getLoanId());
-                final PaymentDetail paymentDetail = singleLoanRepaymentCommand.getPaymentDetail();
-                if (paymentDetail != null && paymentDetail.getId() == null) {
-                    this.paymentDetailWritePlatformService.persistPaymentDetail(paymentDetail);
+
+        // the journal entries of all repayments are written with one JDBC
+        // batch once the sheet has been processed
+        this.journalEntryWritePlatformService.startBatchingLoanJournalEntries();
+        try {
+            for (final SingleRepaymentCommand singleLoanRepaymentCommand : repaymentCommand) {
+                if (singleLoanRepaymentCommand != null) {
+                    final Loan loan = loans.get(singleLoanRepaymentCommand.getLoanId());
+                    final PaymentDetail paymentDetail = singleLoanRepaymentCommand.getPaymentDetail();
+                    if (paymentDetail != null && paymentDetail.getId() == null) {
+                        this.paymentDetailWritePlatformService.persistPaymentDetail(paymentDetail);
+                    }
+                    final CommandProcessingResultBuilder commandProcessingResultBuilder = new CommandProcessingResultBuilder();
+                    LoanTransaction loanTransaction = this.loanAccountDomainService.makeRepayment(loan, commandProcessingResultBuilder,
+                            bulkRepaymentCommand.getTransactionDate(), singleLoanRepaymentCommand.getTransactionAmount(), paymentDetail,
+                            bulkRepaymentCommand.getNote(), null, isRecoveryRepayment, isAccountTransfer, holidayDetailDTO,
+                            isHolidayValidationDone);
+                    transactionIds.add(loanTransaction.getId());
                 }
-                final CommandProcessingResultBuilder commandProcessingResultBuilder = new CommandProcessingResultBuilder();
-                LoanTransaction loanTransaction = this.loanAccountDomainService.makeRepayment(loan, commandProcessingResultBuilder,
-                        bulkRepaymentCommand.getTransactionDate(), singleLoanRepaymentCommand.getTransactionAmount(), paymentDetail,
-                        bulkRepaymentCommand.getNote(), null, isRecoveryRepayment, isAccountTransfer, holidayDetailDTO,
-                        isHolidayValidationDone);
-                transactionIds.add(loanTransaction.getId());
             }
+            this.journalEntryWritePlatformService.insertBatchedLoanJournalEntries();
+        } finally {
+            this.journalEntryWritePlatformService.stopBatchingLoanJournalEntries();
         }
         changes.put("loanTransactions", transactionIds);
         return changes;
@@ -2330,6 +2356,15 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
                 updateOriginalSchedule(loan);
             }
 
+            if (reprocessRequired && !isInstallmentRequiredForPenaltyAppliedAfterLastDueDate(loan, lastChargeDate)
+                    && !loan.hasTransactionsAllocatedToRepaymentSchedule()) {
+                // addLoanCharge has already spread the new charges over the
+                // schedule and nothing is allocated against it, so a full
+                // replay of the transactions would not change anything
+                saveLoanWithDataIntegrityViolationChecks(loan);
+                reprocessRequired = false;
+            }
+
             if (reprocessRequired) {
                 addInstallmentIfPenaltyAppliedAfterLastDueDate(loan, lastChargeDate);
                 ChangedTransactionDetail changedTransactionDetail = loan.reprocessTransactions();
@@ -2357,6 +2392,13 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
         }
     }
 
+    private boolean isInstallmentRequiredForPenaltyAppliedAfterLastDueDate(final Loan loan, final LocalDate lastChargeDate) {
+        if (lastChargeDate == null) { return false; }
+        final List<LoanRepaymentScheduleInstallment> installments = loan.getRepaymentScheduleInstallments();
+        final LoanRepaymentScheduleInstallment lastInstallment = loan.fetchRepaymentScheduleInstallment(installments.size());
+        return lastChargeDate.isAfter(lastInstallment.getDueDate());
+    }
+
     private void addInstallmentIfPenaltyAppliedAfterLastDueDate(Loan loan, LocalDate lastChargeDate) {
         if (lastChargeDate != null) {
             List<LoanRepaymentScheduleInstallment> installments = loan.getRepaymentScheduleInstallments();
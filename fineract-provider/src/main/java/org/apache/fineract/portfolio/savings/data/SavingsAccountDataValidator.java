@@ -45,17 +45,16 @@ import static org.apache.fineract.portfolio.savings.SavingsApiConstants.submitte
 import static org.apache.fineract.portfolio.savings.SavingsApiConstants.withHoldTaxParamName;
 import static org.apache.fineract.portfolio.savings.SavingsApiConstants.withdrawalFeeForTransfersParamName;
 
-import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.ApiParameterError;
 import org.apache.fineract.infrastructure.core.data.DataValidatorBuilder;
 import org.apache.fineract.infrastructure.core.exception.InvalidJsonException;
@@ -74,7 +73,6 @@ import org.springframework.stereotype.Component;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.reflect.TypeToken;
 
 @Component
 public class SavingsAccountDataValidator {
@@ -86,18 +84,18 @@ public class SavingsAccountDataValidator {
         this.fromApiJsonHelper = fromApiJsonHelper;
     }
 
-    public void validateForSubmit(final String json) {
+    public void validateForSubmit(final JsonCommand command) {
 
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+        final JsonElement element = command.parsedJson();
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, SavingsApiConstants.SAVINGS_ACCOUNT_REQUEST_DATA_PARAMETERS);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(),
+                SavingsApiConstants.SAVINGS_ACCOUNT_REQUEST_DATA_PARAMETERS);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors)
                 .resource(SavingsApiConstants.SAVINGS_ACCOUNT_RESOURCE_NAME);
 
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
         final Long clientId = this.fromApiJsonHelper.extractLongNamed(clientIdParamName, element);
         if (clientId != null) {
             baseDataValidator.reset().parameter(clientIdParamName).value(clientId).longGreaterThanZero();
@@ -262,19 +260,18 @@ public class SavingsAccountDataValidator {
         }
     }
 
-    public void validateForUpdate(final String json) {
+    public void validateForUpdate(final JsonCommand command) {
 
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+        final JsonElement element = command.parsedJson();
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, SavingsApiConstants.SAVINGS_ACCOUNT_REQUEST_DATA_PARAMETERS);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(),
+                SavingsApiConstants.SAVINGS_ACCOUNT_REQUEST_DATA_PARAMETERS);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors)
                 .resource(SavingsApiConstants.SAVINGS_ACCOUNT_RESOURCE_NAME);
 
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
-
         Long clientId = null;
         if (this.fromApiJsonHelper.parameterExists(clientIdParamName, element)) {
             clientId = this.fromApiJsonHelper.extractLongNamed(clientIdParamName, element);
@@ -432,20 +429,18 @@ public class SavingsAccountDataValidator {
 
     }
 
-    public void validateForAssignSavingsOfficer(final String json) {
+    public void validateForAssignSavingsOfficer(final JsonCommand command) {
 
-        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+        final JsonElement element = command.parsedJson();
+        if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
         
         final Set<String> supportedParameters = new HashSet<>(Arrays.asList("fromSavingsOfficerId","toSavingsOfficerId","assignmentDate","locale","dateFormat"));
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, supportedParameters);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(), supportedParameters);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors).resource(SavingsApiConstants.SAVINGS_ACCOUNT_RESOURCE_NAME);
 
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
-
         final Long toSavingsOfficerId = this.fromApiJsonHelper.extractLongNamed("toSavingsOfficerId", element);
         baseDataValidator.reset().parameter("toSavingsOfficerId").value(toSavingsOfficerId).notNull().integerGreaterThanZero();
 
@@ -461,19 +456,17 @@ public class SavingsAccountDataValidator {
 
     }
 
-    public void validateForUnAssignSavingsOfficer(final String json) {
-    	if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+    public void validateForUnAssignSavingsOfficer(final JsonCommand command) {
+    	final JsonElement element = command.parsedJson();
+    	if (element == null || !element.isJsonObject()) { throw new InvalidJsonException(); }
         
         final Set<String> supportedParameters = new HashSet<>(Arrays.asList("unassignedDate","locale","dateFormat"));
 
-        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
-        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, supportedParameters);
+        this.fromApiJsonHelper.checkForUnsupportedParameters(element.getAsJsonObject(), supportedParameters);
 
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors).resource(SavingsApiConstants.SAVINGS_ACCOUNT_RESOURCE_NAME);
 
-        final JsonElement element = this.fromApiJsonHelper.parse(json);
-
         final String unassignedDateStr = this.fromApiJsonHelper.extractStringNamed("unassignedDate", element);
         baseDataValidator.reset().parameter("unassignedDate").value(unassignedDateStr).notBlank();
 
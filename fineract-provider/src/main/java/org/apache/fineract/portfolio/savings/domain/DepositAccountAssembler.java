@@ -57,6 +57,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
@@ -350,6 +351,14 @@ public class DepositAccountAssembler {
         return account;
     }
 
+    public Map<Long, SavingsAccount> assembleFrom(final Collection<Long> savingsIds) {
+        final Map<Long, SavingsAccount> accounts = this.savingsAccountRepository.findAllWithNotFoundDetection(savingsIds);
+        for (final SavingsAccount account : accounts.values()) {
+            account.setHelpers(this.savingsAccountTransactionSummaryWrapper, this.savingsHelper);
+        }
+        return accounts;
+    }
+
     public void assignSavingAccountHelpers(final SavingsAccount savingsAccount) {
         savingsAccount.setHelpers(this.savingsAccountTransactionSummaryWrapper, this.savingsHelper);
     }
@@ -308,6 +308,10 @@ public class SavingsAccount extends AbstractPersistableCustom<Long> {
     protected SavingsAccountTransactionSummaryWrapper savingsAccountTransactionSummaryWrapper;
     @Transient
     protected SavingsHelper savingsHelper;
+    @Transient
+    private List<SavingsAccountTransaction> appendedTransactions;
+    @Transient
+    private boolean appendToLoadedTransactions;
 
     @Column(name = "deposit_type_enum", insertable = false, updatable = false)
     private Integer depositType;
@@ -803,30 +807,10 @@ public class SavingsAccount extends AbstractPersistableCustom<Long> {
             if (transaction.isReversed()) {
                 transaction.zeroBalanceFields();
             } else {
-                Money overdraftAmount = Money.zero(this.currency);
-                Money transactionAmount = Money.zero(this.currency);
-                if (transaction.isCredit()) {
-                    if (runningBalance.isLessThanZero()) {
-                        Money diffAmount = transaction.getAmount(this.currency).plus(runningBalance);
-                        if (diffAmount.isGreaterThanZero()) {
-                            overdraftAmount = transaction.getAmount(this.currency).minus(diffAmount);
-                        } else {
-                            overdraftAmount = transaction.getAmount(this.currency);
-                        }
-                    }
-                    transactionAmount = transactionAmount.plus(transaction.getAmount(this.currency));
-                } else if (transaction.isDebit()) {
-                    if (runningBalance.isLessThanZero()) {
-                        overdraftAmount = transaction.getAmount(this.currency);
-                    }
-                    transactionAmount = transactionAmount.minus(transaction.getAmount(this.currency));
-                }
-
-                runningBalance = runningBalance.plus(transactionAmount);
+                final Money previousRunningBalance = runningBalance;
+                runningBalance = runningBalance.plus(deriveBalanceMovement(transaction));
                 transaction.updateRunningBalance(runningBalance);
-                if (overdraftAmount.isZero() && runningBalance.isLessThanZero()) {
-                    overdraftAmount = overdraftAmount.plus(runningBalance.getAmount().negate());
-                }
+                final Money overdraftAmount = deriveOverdraftAmount(transaction, previousRunningBalance, runningBalance);
                 if (transaction.getId() == null && overdraftAmount.isGreaterThanZero()) {
                     transaction.updateOverdraftAmount(overdraftAmount.getAmount());
                 } else if (overdraftAmount.isNotEqualTo(transaction.getOverdraftAmount(getCurrency()))) {
@@ -849,6 +833,133 @@ public class SavingsAccount extends AbstractPersistableCustom<Long> {
         resetAccountTransactionsEndOfDayBalances(accountTransactionsSorted, interestPostingUpToDate);
     }
 
+    private Money deriveBalanceMovement(final SavingsAccountTransaction transaction) {
+        Money transactionAmount = Money.zero(this.currency);
+        if (transaction.isCredit()) {
+            transactionAmount = transactionAmount.plus(transaction.getAmount(this.currency));
+        } else if (transaction.isDebit()) {
+            transactionAmount = transactionAmount.minus(transaction.getAmount(this.currency));
+        }
+        return transactionAmount;
+    }
+
+    private Money deriveOverdraftAmount(final SavingsAccountTransaction transaction, final Money previousRunningBalance,
+            final Money runningBalance) {
+        Money overdraftAmount = Money.zero(this.currency);
+        if (transaction.isCredit()) {
+            if (previousRunningBalance.isLessThanZero()) {
+                Money diffAmount = transaction.getAmount(this.currency).plus(previousRunningBalance);
+                if (diffAmount.isGreaterThanZero()) {
+                    overdraftAmount = transaction.getAmount(this.currency).minus(diffAmount);
+                } else {
+                    overdraftAmount = transaction.getAmount(this.currency);
+                }
+            }
+        } else if (transaction.isDebit()) {
+            if (previousRunningBalance.isLessThanZero()) {
+                overdraftAmount = transaction.getAmount(this.currency);
+            }
+        }
+        if (overdraftAmount.isZero() && runningBalance.isLessThanZero()) {
+            overdraftAmount = overdraftAmount.plus(runningBalance.getAmount().negate());
+        }
+        return overdraftAmount;
+    }
+
+    /**
+     * Whether a transaction dated on <code>transactionDate</code> may be
+     * appended after the latest transaction of the account, deriving its
+     * running balance and the account summary from that transaction instead
+     * of replaying the whole history. Callers still have to check that the
+     * latest transaction is not dated after it.
+     */
+    public boolean isIncrementalBalanceUpdatePossible(final LocalDate transactionDate) {
+        return depositAccountType().isSavingsDeposit() && !transactionDate.isBefore(DateUtils.getLocalDateOfTenant());
+    }
+
+    /**
+     * Transactions are loaded ordered by date, created date and id, so the
+     * latest transaction is found by walking back past reversed ones. Only
+     * meant for accounts whose transactions are loaded already.
+     */
+    SavingsAccountTransaction findLatestNotReversedTransaction() {
+        for (int i = this.transactions.size() - 1; i >= 0; i--) {
+            final SavingsAccountTransaction transaction = this.transactions.get(i);
+            if (transaction.isNotReversed()) { return transaction; }
+        }
+        return null;
+    }
+
+    /**
+     * Latest transaction that ends a day balance, interest postings do not.
+     * Only meant for accounts whose transactions are loaded already.
+     */
+    SavingsAccountTransaction findLatestEndOfDayBalanceTransaction() {
+        for (int i = this.transactions.size() - 1; i >= 0; i--) {
+            final SavingsAccountTransaction transaction = this.transactions.get(i);
+            if (transaction.isNotReversed()
+                    && !(transaction.isInterestPostingAndNotReversed() || transaction.isOverdraftInterestAndNotReversed())) {
+                return transaction;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Collects the transactions added from now on, see
+     * {@link #getAppendedTransactions()}. Unless
+     * <code>transactionsLoaded</code>, they are not added to
+     * {@link #transactions}, as that would load the whole history; the caller
+     * saves them instead.
+     */
+    public void startAppendingTransactions(final boolean transactionsLoaded) {
+        this.appendedTransactions = new ArrayList<>();
+        this.appendToLoadedTransactions = transactionsLoaded;
+    }
+
+    public List<SavingsAccountTransaction> getAppendedTransactions() {
+        return this.appendedTransactions;
+    }
+
+    public void stopAppendingTransactions() {
+        this.appendedTransactions = null;
+    }
+
+    /**
+     * Incremental counterpart of
+     * {@link #recalculateDailyBalances(Money, LocalDate)} and
+     * {@link SavingsAccountSummary#updateSummary(MonetaryCurrency, SavingsAccountTransactionSummaryWrapper, List)}
+     * for <code>appendedTransactions</code> added after
+     * <code>latestTransaction</code>, the latest not reversed transaction of
+     * the account. <code>latestEndOfDayBalanceTransaction</code> is the latest
+     * transaction ending a day balance, which is
+     * <code>latestTransaction</code> unless that is an interest posting.
+     */
+    protected void updateBalancesForAppendedTransactions(final List<SavingsAccountTransaction> appendedTransactions,
+            final SavingsAccountTransaction latestTransaction, final SavingsAccountTransaction latestEndOfDayBalanceTransaction,
+            final LocalDate interestPostingUpToDate) {
+        Money runningBalance = latestTransaction.getRunningBalance(this.currency);
+        SavingsAccountTransaction endOfDayBalanceTransaction = latestEndOfDayBalanceTransaction;
+
+        for (final SavingsAccountTransaction transaction : appendedTransactions) {
+            final Money previousRunningBalance = runningBalance;
+            runningBalance = runningBalance.plus(deriveBalanceMovement(transaction));
+            transaction.updateRunningBalance(runningBalance);
+            final Money overdraftAmount = deriveOverdraftAmount(transaction, previousRunningBalance, runningBalance);
+            if (overdraftAmount.isGreaterThanZero()) {
+                transaction.updateOverdraftAmount(overdraftAmount.getAmount());
+            }
+            // this transactions transaction date is end of balance date for
+            // previous transaction.
+            if (endOfDayBalanceTransaction != null) {
+                endOfDayBalanceTransaction.updateCumulativeBalanceAndDates(this.currency, transaction.transactionLocalDate().minusDays(1));
+            }
+            endOfDayBalanceTransaction = transaction;
+            this.summary.updateSummaryForAppendedTransaction(this.currency, transaction);
+        }
+        endOfDayBalanceTransaction.updateCumulativeBalanceAndDates(this.currency, interestPostingUpToDate);
+    }
+
     protected void resetAccountTransactionsEndOfDayBalances(final List<SavingsAccountTransaction> accountTransactionsSorted,
             final LocalDate interestPostingUpToDate) {
         // loop over transactions in reverse
@@ -920,7 +1031,11 @@ public class SavingsAccount extends AbstractPersistableCustom<Long> {
                 transactionDTO.getTransactionDate(), amount, transactionDTO.getCreatedDate(), transactionDTO.getAppUser(),
                 savingsAccountTransactionType);
         addTransaction(transaction);
-        this.summary.updateSummary(this.currency, this.savingsAccountTransactionSummaryWrapper, this.transactions);
+        // appended transactions update the summary through
+        // updateBalancesForAppendedTransactions
+        if (this.appendedTransactions == null) {
+            this.summary.updateSummary(this.currency, this.savingsAccountTransactionSummaryWrapper, this.transactions);
+        }
         
         if(this.sub_status.equals(SavingsAccountSubStatusEnum.INACTIVE.getValue())
         		|| this.sub_status.equals(SavingsAccountSubStatusEnum.DORMANT.getValue())){
@@ -1090,6 +1205,40 @@ public class SavingsAccount extends AbstractPersistableCustom<Long> {
         }
     }
 
+    /**
+     * Counterpart of
+     * {@link #validateAccountBalanceDoesNotBecomeNegative(BigDecimal, boolean, List)}
+     * for transactions whose balances were appended through
+     * {@link #updateBalancesForAppendedTransactions}; the balances of the
+     * existing transactions were validated when they were made, so only the
+     * appended transactions are checked.
+     */
+    public void validateAppendedTransactionsDoNotMakeBalanceNegative(final List<SavingsAccountTransaction> appendedTransactions,
+            final BigDecimal transactionAmount, final boolean isException,
+            final List<DepositAccountOnHoldTransaction> depositAccountOnHoldTransactions) {
+        if (isException) { return; }
+        for (final SavingsAccountTransaction transaction : appendedTransactions) {
+            if (transaction.isNotReversed() && transaction.canProcessBalanceCheck()) {
+                Money minRequiredBalance = minRequiredBalanceDerived(getCurrency());
+                if (depositAccountOnHoldTransactions != null) {
+                    for (final DepositAccountOnHoldTransaction onHoldTransaction : depositAccountOnHoldTransactions) {
+                        if (!onHoldTransaction.getTransactionDate().isAfter(transaction.transactionLocalDate())) {
+                            if (onHoldTransaction.getTransactionType().isHold()) {
+                                minRequiredBalance = minRequiredBalance.plus(onHoldTransaction.getAmountMoney(this.currency));
+                            } else {
+                                minRequiredBalance = minRequiredBalance.minus(onHoldTransaction.getAmountMoney(this.currency));
+                            }
+                        }
+                    }
+                }
+                final BigDecimal withdrawalFee = null;
+                final Money runningBalance = transaction.getRunningBalance(this.currency);
+                if (runningBalance.minus(minRequiredBalance).isLessThanZero()) { throw new InsufficientAccountBalanceException(
+                        "transactionAmount", getAccountBalance(), withdrawalFee, transactionAmount); }
+            }
+        }
+    }
+
     public void validateAccountBalanceDoesNotBecomeNegative(final String transactionAction,
             final List<DepositAccountOnHoldTransaction> depositAccountOnHoldTransactions) {
 
@@ -1415,15 +1564,6 @@ public class SavingsAccount extends AbstractPersistableCustom<Long> {
     public Map<String, Object> deriveAccountingBridgeData(final CurrencyData currencyData, final Set<Long> existingTransactionIds,
             final Set<Long> existingReversedTransactionIds, boolean isAccountTransfer) {
 
-        final Map<String, Object> accountingBridgeData = new LinkedHashMap<>();
-        accountingBridgeData.put("savingsId", getId());
-        accountingBridgeData.put("savingsProductId", productId());
-        accountingBridgeData.put("currency", currencyData);
-        accountingBridgeData.put("officeId", officeId());
-        accountingBridgeData.put("cashBasedAccountingEnabled", isCashBasedAccountingEnabledOnSavingsProduct());
-        accountingBridgeData.put("accrualBasedAccountingEnabled", isAccrualBasedAccountingEnabledOnSavingsProduct());
-        accountingBridgeData.put("isAccountTransfer", isAccountTransfer);
-
         final List<Map<String, Object>> newSavingsTransactions = new ArrayList<>();
         List<SavingsAccountTransaction> trans = getTransactions() ;
         for (final SavingsAccountTransaction transaction : trans) {
@@ -1434,6 +1574,36 @@ public class SavingsAccount extends AbstractPersistableCustom<Long> {
             }
         }
 
+        return deriveAccountingBridgeData(currencyData, newSavingsTransactions, isAccountTransfer);
+    }
+
+    /**
+     * Accounting bridge data for transactions collected since
+     * {@link #startAppendingTransactions(boolean)}, without going through the
+     * rest of the history.
+     */
+    public Map<String, Object> deriveAccountingBridgeDataForAppendedTransactions(final CurrencyData currencyData,
+            final List<SavingsAccountTransaction> appendedTransactions, final boolean isAccountTransfer) {
+
+        final List<Map<String, Object>> newSavingsTransactions = new ArrayList<>();
+        for (final SavingsAccountTransaction transaction : appendedTransactions) {
+            newSavingsTransactions.add(transaction.toMapData(currencyData));
+        }
+
+        return deriveAccountingBridgeData(currencyData, newSavingsTransactions, isAccountTransfer);
+    }
+
+    private Map<String, Object> deriveAccountingBridgeData(final CurrencyData currencyData,
+            final List<Map<String, Object>> newSavingsTransactions, final boolean isAccountTransfer) {
+
+        final Map<String, Object> accountingBridgeData = new LinkedHashMap<>();
+        accountingBridgeData.put("savingsId", getId());
+        accountingBridgeData.put("savingsProductId", productId());
+        accountingBridgeData.put("currency", currencyData);
+        accountingBridgeData.put("officeId", officeId());
+        accountingBridgeData.put("cashBasedAccountingEnabled", isCashBasedAccountingEnabledOnSavingsProduct());
+        accountingBridgeData.put("accrualBasedAccountingEnabled", isAccrualBasedAccountingEnabledOnSavingsProduct());
+        accountingBridgeData.put("isAccountTransfer", isAccountTransfer);
         accountingBridgeData.put("newSavingsTransactions", newSavingsTransactions);
         return accountingBridgeData;
     }
@@ -2288,6 +2458,10 @@ public class SavingsAccount extends AbstractPersistableCustom<Long> {
     }
 
     public void addTransaction(final SavingsAccountTransaction transaction) {
+        if (this.appendedTransactions != null) {
+            this.appendedTransactions.add(transaction);
+            if (!this.appendToLoadedTransactions) { return; }
+        }
         this.transactions.add(transaction);
     }
     
@@ -2577,7 +2751,7 @@ public class SavingsAccount extends AbstractPersistableCustom<Long> {
         final SavingsAccountChargePaidBy chargePaidBy = SavingsAccountChargePaidBy.instance(transaction, savingsAccountCharge, transaction
                 .getAmount(this.getCurrency()).getAmount());
         transaction.getSavingsAccountChargesPaid().add(chargePaidBy);
-        this.transactions.add(transaction);
+        addTransaction(transaction);
     }
 
     private SavingsAccountCharge getCharge(final Long savingsAccountChargeId) {
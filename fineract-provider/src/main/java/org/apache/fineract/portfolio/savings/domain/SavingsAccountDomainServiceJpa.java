@@ -37,11 +37,14 @@ import org.apache.fineract.useradministration.domain.AppUser;
 import org.joda.time.LocalDate;
 import org.joda.time.format.DateTimeFormatter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -49,9 +52,20 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
 @Service
 public class SavingsAccountDomainServiceJpa implements SavingsAccountDomainService {
 
+    private static final Pageable LATEST = new PageRequest(0, 1);
+
+    /**
+     * Interest postings do not end the balance of a day.
+     */
+    private static final List<Integer> NOT_ENDING_DAY_BALANCE = Arrays.asList(SavingsAccountTransactionType.INTEREST_POSTING.getValue(),
+            SavingsAccountTransactionType.OVERDRAFT_INTEREST.getValue());
+
     private final PlatformSecurityContext context;
     private final SavingsAccountRepositoryWrapper savingsAccountRepository;
     private final SavingsAccountTransactionRepository savingsAccountTransactionRepository;
@@ -61,6 +75,9 @@ public class SavingsAccountDomainServiceJpa implements SavingsAccountDomainServi
     private final DepositAccountOnHoldTransactionRepository depositAccountOnHoldTransactionRepository;
     private final BusinessEventNotifierService businessEventNotifierService;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     public SavingsAccountDomainServiceJpa(final SavingsAccountRepositoryWrapper savingsAccountRepository,
             final SavingsAccountTransactionRepository savingsAccountTransactionRepository,
@@ -91,37 +108,66 @@ public class SavingsAccountDomainServiceJpa implements SavingsAccountDomainServi
         final Integer financialYearBeginningMonth = this.configurationDomainService.retrieveFinancialYearBeginningMonth();
         if (transactionBooleanValues.isRegularTransaction() && !account.allowWithdrawal()) { throw new DepositAccountTransactionNotAllowedException(
                 account.getId(), "withdraw", account.depositAccountType()); }
-        final Set<Long> existingTransactionIds = new HashSet<>();
-        final LocalDate postInterestOnDate = null;
-        final Set<Long> existingReversedTransactionIds = new HashSet<>();
-        updateExistingTransactionsDetails(account, existingTransactionIds, existingReversedTransactionIds);
         final SavingsAccountTransactionDTO transactionDTO = new SavingsAccountTransactionDTO(fmt, transactionDate, transactionAmount,
                 paymentDetail, new Date(), user);
-        final SavingsAccountTransaction withdrawal = account.withdraw(transactionDTO, transactionBooleanValues.isApplyWithdrawFee());
-        final MathContext mc = MathContext.DECIMAL64;
-        if (account.isBeforeLastPostingPeriod(transactionDate)) {
-            final LocalDate today = DateUtils.getLocalDateOfTenant();
-            account.postInterest(mc, today, transactionBooleanValues.isInterestTransfer(), isSavingsInterestPostingAtCurrentPeriodEnd,
-                    financialYearBeginningMonth, postInterestOnDate);
+        final SavingsAccountTransaction withdrawal;
+        final SavingsAccountTransaction latestTransaction = findLatestTransactionToAppendTo(account, transactionDate);
+        if (latestTransaction != null) {
+            withdrawal = appendWithdrawal(account, transactionDTO, transactionBooleanValues, latestTransaction);
         } else {
-            final LocalDate today = DateUtils.getLocalDateOfTenant();
-            account.calculateInterestUsing(mc, today, transactionBooleanValues.isInterestTransfer(),
-                    isSavingsInterestPostingAtCurrentPeriodEnd, financialYearBeginningMonth, postInterestOnDate);
+            final Set<Long> existingTransactionIds = new HashSet<>();
+            final LocalDate postInterestOnDate = null;
+            final Set<Long> existingReversedTransactionIds = new HashSet<>();
+            updateExistingTransactionsDetails(account, existingTransactionIds, existingReversedTransactionIds);
+            withdrawal = account.withdraw(transactionDTO, transactionBooleanValues.isApplyWithdrawFee());
+            final MathContext mc = MathContext.DECIMAL64;
+            if (account.isBeforeLastPostingPeriod(transactionDate)) {
+                final LocalDate today = DateUtils.getLocalDateOfTenant();
+                account.postInterest(mc, today, transactionBooleanValues.isInterestTransfer(), isSavingsInterestPostingAtCurrentPeriodEnd,
+                        financialYearBeginningMonth, postInterestOnDate);
+            } else {
+                final LocalDate today = DateUtils.getLocalDateOfTenant();
+                account.calculateInterestUsing(mc, today, transactionBooleanValues.isInterestTransfer(),
+                        isSavingsInterestPostingAtCurrentPeriodEnd, financialYearBeginningMonth, postInterestOnDate);
+            }
+            account.validateAccountBalanceDoesNotBecomeNegative(transactionAmount, transactionBooleanValues.isExceptionForBalanceCheck(),
+                    findOnHoldTransactions(account));
+            saveTransactionToGenerateTransactionId(withdrawal);
+            this.savingsAccountRepository.save(account);
+
+            postJournalEntries(account, existingTransactionIds, existingReversedTransactionIds,
+                    transactionBooleanValues.isAccountTransfer());
+        }
+        this.businessEventNotifierService.notifyBusinessEventWasExecuted(BUSINESS_EVENTS.SAVINGS_WITHDRAWAL,
+                constructEntityMap(BUSINESS_ENTITY.SAVINGS_TRANSACTION, withdrawal));
+        return withdrawal;
+    }
+
+    private SavingsAccountTransaction appendWithdrawal(final SavingsAccount account, final SavingsAccountTransactionDTO transactionDTO,
+            final SavingsTransactionBooleanValues transactionBooleanValues, final SavingsAccountTransaction latestTransaction) {
+        final SavingsAccountTransaction withdrawal;
+        final List<SavingsAccountTransaction> appendedTransactions;
+        account.startAppendingTransactions(isTransactionsLoaded(account));
+        try {
+            withdrawal = account.withdraw(transactionDTO, transactionBooleanValues.isApplyWithdrawFee());
+            appendedTransactions = account.getAppendedTransactions();
+        } finally {
+            account.stopAppendingTransactions();
         }
+        updateBalancesForAppendedTransactions(account, appendedTransactions, latestTransaction);
+        account.validateAppendedTransactionsDoNotMakeBalanceNegative(appendedTransactions, transactionDTO.getTransactionAmount(),
+                transactionBooleanValues.isExceptionForBalanceCheck(), findOnHoldTransactions(account));
+        saveAppendedTransactions(account, appendedTransactions, transactionBooleanValues.isAccountTransfer());
+        return withdrawal;
+    }
+
+    private List<DepositAccountOnHoldTransaction> findOnHoldTransactions(final SavingsAccount account) {
         List<DepositAccountOnHoldTransaction> depositAccountOnHoldTransactions = null;
         if (account.getOnHoldFunds().compareTo(BigDecimal.ZERO) == 1) {
             depositAccountOnHoldTransactions = this.depositAccountOnHoldTransactionRepository
                     .findBySavingsAccountAndReversedFalseOrderByCreatedDateAsc(account);
         }
-        account.validateAccountBalanceDoesNotBecomeNegative(transactionAmount, transactionBooleanValues.isExceptionForBalanceCheck(),
-                depositAccountOnHoldTransactions);
-        saveTransactionToGenerateTransactionId(withdrawal);
-        this.savingsAccountRepository.save(account);
-
-        postJournalEntries(account, existingTransactionIds, existingReversedTransactionIds, transactionBooleanValues.isAccountTransfer());
-        this.businessEventNotifierService.notifyBusinessEventWasExecuted(BUSINESS_EVENTS.SAVINGS_WITHDRAWAL,
-                constructEntityMap(BUSINESS_ENTITY.SAVINGS_TRANSACTION, withdrawal));
-        return withdrawal;
+        return depositAccountOnHoldTransactions;
     }
 
     private AppUser getAppUserIfPresent() {
@@ -154,34 +200,57 @@ public class SavingsAccountDomainServiceJpa implements SavingsAccountDomainServi
         if (isRegularTransaction && !account.allowDeposit()) { throw new DepositAccountTransactionNotAllowedException(account.getId(),
                 "deposit", account.depositAccountType()); }
         boolean isInterestTransfer = false;
-        final Set<Long> existingTransactionIds = new HashSet<>();
-        final Set<Long> existingReversedTransactionIds = new HashSet<>();
-        updateExistingTransactionsDetails(account, existingTransactionIds, existingReversedTransactionIds);
         final SavingsAccountTransactionDTO transactionDTO = new SavingsAccountTransactionDTO(fmt, transactionDate, transactionAmount,
                 paymentDetail, new Date(), user);
-        final SavingsAccountTransaction deposit = account.deposit(transactionDTO, savingsAccountTransactionType);
-        final LocalDate postInterestOnDate = null;
-        final MathContext mc = MathContext.DECIMAL64;
-        if (account.isBeforeLastPostingPeriod(transactionDate)) {
-            final LocalDate today = DateUtils.getLocalDateOfTenant();
-            account.postInterest(mc, today, isInterestTransfer, isSavingsInterestPostingAtCurrentPeriodEnd, financialYearBeginningMonth,
-            		postInterestOnDate);
+        final SavingsAccountTransaction deposit;
+        final SavingsAccountTransaction latestTransaction = findLatestTransactionToAppendTo(account, transactionDate);
+        if (latestTransaction != null) {
+            deposit = appendDeposit(account, transactionDTO, savingsAccountTransactionType, isAccountTransfer, latestTransaction);
         } else {
-            final LocalDate today = DateUtils.getLocalDateOfTenant();
-            account.calculateInterestUsing(mc, today, isInterestTransfer, isSavingsInterestPostingAtCurrentPeriodEnd,
-                    financialYearBeginningMonth, postInterestOnDate);
-        }
+            final Set<Long> existingTransactionIds = new HashSet<>();
+            final Set<Long> existingReversedTransactionIds = new HashSet<>();
+            updateExistingTransactionsDetails(account, existingTransactionIds, existingReversedTransactionIds);
+            deposit = account.deposit(transactionDTO, savingsAccountTransactionType);
+            final LocalDate postInterestOnDate = null;
+            final MathContext mc = MathContext.DECIMAL64;
+            if (account.isBeforeLastPostingPeriod(transactionDate)) {
+                final LocalDate today = DateUtils.getLocalDateOfTenant();
+                account.postInterest(mc, today, isInterestTransfer, isSavingsInterestPostingAtCurrentPeriodEnd,
+                        financialYearBeginningMonth, postInterestOnDate);
+            } else {
+                final LocalDate today = DateUtils.getLocalDateOfTenant();
+                account.calculateInterestUsing(mc, today, isInterestTransfer, isSavingsInterestPostingAtCurrentPeriodEnd,
+                        financialYearBeginningMonth, postInterestOnDate);
+            }
 
-        saveTransactionToGenerateTransactionId(deposit);
+            saveTransactionToGenerateTransactionId(deposit);
 
-        this.savingsAccountRepository.save(account);
+            this.savingsAccountRepository.save(account);
 
-        postJournalEntries(account, existingTransactionIds, existingReversedTransactionIds, isAccountTransfer);
+            postJournalEntries(account, existingTransactionIds, existingReversedTransactionIds, isAccountTransfer);
+        }
         this.businessEventNotifierService.notifyBusinessEventWasExecuted(BUSINESS_EVENTS.SAVINGS_DEPOSIT,
                 constructEntityMap(BUSINESS_ENTITY.SAVINGS_TRANSACTION, deposit));
         return deposit;
     }
 
+    private SavingsAccountTransaction appendDeposit(final SavingsAccount account, final SavingsAccountTransactionDTO transactionDTO,
+            final SavingsAccountTransactionType savingsAccountTransactionType, final boolean isAccountTransfer,
+            final SavingsAccountTransaction latestTransaction) {
+        final SavingsAccountTransaction deposit;
+        final List<SavingsAccountTransaction> appendedTransactions;
+        account.startAppendingTransactions(isTransactionsLoaded(account));
+        try {
+            deposit = account.deposit(transactionDTO, savingsAccountTransactionType);
+            appendedTransactions = account.getAppendedTransactions();
+        } finally {
+            account.stopAppendingTransactions();
+        }
+        updateBalancesForAppendedTransactions(account, appendedTransactions, latestTransaction);
+        saveAppendedTransactions(account, appendedTransactions, isAccountTransfer);
+        return deposit;
+    }
+
     @Override
     public SavingsAccountTransaction handleDividendPayout(final SavingsAccount account, final LocalDate transactionDate,
             final BigDecimal transactionAmount) {
@@ -194,6 +263,71 @@ public class SavingsAccountDomainServiceJpa implements SavingsAccountDomainServi
                 savingsAccountTransactionType);
     }
 
+    /**
+     * Transactions dated on or after the latest transaction of the account
+     * only move the running balance forward, so when enabled they skip the
+     * replay of the full history done by
+     * {@link SavingsAccount#calculateInterestUsing}. Returns the latest not
+     * reversed transaction to carry the balances forward from, or
+     * <code>null</code> when the history has to be replayed, as for backdated
+     * transactions. Unless the transactions of the account are loaded
+     * already, the latest transaction is queried instead of loading them.
+     */
+    SavingsAccountTransaction findLatestTransactionToAppendTo(final SavingsAccount account, final LocalDate transactionDate) {
+        if (!this.configurationDomainService.isSavingsIncrementalBalanceUpdateEnabled()
+                || !account.isIncrementalBalanceUpdatePossible(transactionDate)) { return null; }
+        final SavingsAccountTransaction latestTransaction;
+        if (isTransactionsLoaded(account)) {
+            latestTransaction = account.findLatestNotReversedTransaction();
+        } else {
+            latestTransaction = first(this.savingsAccountTransactionRepository.findLatestNotReversed(account, LATEST));
+        }
+        if (latestTransaction == null || !latestTransaction.hasRunningBalance()
+                || latestTransaction.isAfter(transactionDate)) { return null; }
+        return latestTransaction;
+    }
+
+    private void updateBalancesForAppendedTransactions(final SavingsAccount account,
+            final List<SavingsAccountTransaction> appendedTransactions, final SavingsAccountTransaction latestTransaction) {
+        SavingsAccountTransaction endOfDayBalanceTransaction = latestTransaction;
+        if (latestTransaction.isInterestPostingAndNotReversed() || latestTransaction.isOverdraftInterestAndNotReversed()) {
+            if (isTransactionsLoaded(account)) {
+                endOfDayBalanceTransaction = account.findLatestEndOfDayBalanceTransaction();
+            } else {
+                endOfDayBalanceTransaction = first(this.savingsAccountTransactionRepository.findLatestNotReversedExcludingTypes(account,
+                        NOT_ENDING_DAY_BALANCE, LATEST));
+            }
+        }
+        account.updateBalancesForAppendedTransactions(appendedTransactions, latestTransaction, endOfDayBalanceTransaction,
+                DateUtils.getLocalDateOfTenant());
+    }
+
+    /**
+     * Appended transactions are not part of the transactions collection of an
+     * account that was not loaded, so they are saved one by one.
+     */
+    private void saveAppendedTransactions(final SavingsAccount account, final List<SavingsAccountTransaction> appendedTransactions,
+            final boolean isAccountTransfer) {
+        for (final SavingsAccountTransaction transaction : appendedTransactions) {
+            saveTransactionToGenerateTransactionId(transaction);
+        }
+        this.savingsAccountRepository.save(account);
+
+        final MonetaryCurrency currency = account.getCurrency();
+        final ApplicationCurrency applicationCurrency = this.applicationCurrencyRepositoryWrapper.findOneWithNotFoundDetection(currency);
+        final Map<String, Object> accountingBridgeData = account.deriveAccountingBridgeDataForAppendedTransactions(
+                applicationCurrency.toData(), appendedTransactions, isAccountTransfer);
+        this.journalEntryWritePlatformService.createJournalEntriesForSavings(accountingBridgeData);
+    }
+
+    private boolean isTransactionsLoaded(final SavingsAccount account) {
+        return this.entityManager.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(account, "transactions");
+    }
+
+    private static SavingsAccountTransaction first(final List<SavingsAccountTransaction> transactions) {
+        return transactions.isEmpty() ? null : transactions.get(0);
+    }
+
     private Long saveTransactionToGenerateTransactionId(final SavingsAccountTransaction transaction) {
         this.savingsAccountTransactionRepository.save(transaction);
         return transaction.getId();
@@ -26,7 +26,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 //Use SavingsAccountRepositoryWrapper.
-public interface SavingsAccountRepository extends JpaRepository<SavingsAccount, Long>, JpaSpecificationExecutor<SavingsAccount> {
+public interface SavingsAccountRepository extends JpaRepository<SavingsAccount, Long>, JpaSpecificationExecutor<SavingsAccount>,
+        SavingsAccountRepositoryCustom {
 
     @Query("select s_acc from SavingsAccount s_acc where s_acc.client.id = :clientId")
     List<SavingsAccount> findSavingAccountByClientId(@Param("clientId") Long clientId);
@@ -34,6 +35,10 @@ public interface SavingsAccountRepository extends JpaRepository<SavingsAccount,
     @Query("select s_acc from SavingsAccount s_acc where s_acc.status = :status")
     List<SavingsAccount> findSavingAccountByStatus(@Param("status") Integer status);
 
+    @Query("select s_acc from SavingsAccount s_acc where s_acc.status = :status and s_acc.id between :fromId and :toId order by s_acc.id")
+    List<SavingsAccount> findSavingAccountByStatusAndIdRange(@Param("status") Integer status, @Param("fromId") Long fromId,
+            @Param("toId") Long toId);
+
     @Query("select sa from SavingsAccount sa where sa.client.id = :clientId and sa.group.id = :groupId")
     List<SavingsAccount> findByClientIdAndGroupId(@Param("clientId") Long clientId, @Param("groupId") Long groupId);
 
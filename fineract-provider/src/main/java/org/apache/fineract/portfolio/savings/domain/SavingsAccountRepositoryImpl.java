@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+
+import org.apache.openjpa.persistence.OpenJPAPersistence;
+import org.apache.openjpa.persistence.OpenJPAQuery;
+import org.apache.openjpa.persistence.jdbc.FetchMode;
+import org.apache.openjpa.persistence.jdbc.JDBCFetchPlan;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class SavingsAccountRepositoryImpl implements SavingsAccountRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SavingsAccount> findAllWithCollectionsByIds(final Collection<Long> ids) {
+        final TypedQuery<SavingsAccount> query = this.entityManager
+                .createQuery("select sa from SavingsAccount sa where sa.id in :ids", SavingsAccount.class).setParameter("ids", ids);
+
+        final OpenJPAQuery<SavingsAccount> openJPAQuery = OpenJPAPersistence.cast(query);
+        final JDBCFetchPlan fetchPlan = (JDBCFetchPlan) openJPAQuery.getFetchPlan();
+        fetchPlan.setEagerFetchMode(FetchMode.PARALLEL);
+        fetchPlan.addFields(SavingsAccount.class, "transactions", "charges", "savingsOfficerHistory");
+
+        return openJPAQuery.getResultList();
+    }
+}
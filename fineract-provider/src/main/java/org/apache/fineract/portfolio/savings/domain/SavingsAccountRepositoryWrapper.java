@@ -18,7 +18,10 @@
  */
 package org.apache.fineract.portfolio.savings.domain;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.fineract.portfolio.savings.DepositAccountType;
 import org.apache.fineract.portfolio.savings.exception.SavingsAccountNotFoundException;
@@ -50,6 +53,23 @@ public class SavingsAccountRepositoryWrapper {
         this.repository = repository;
     }
 
+    /**
+     * Loads the accounts with their lazy collections in one query for the
+     * accounts and one per collection, rather than one of each per account.
+     */
+    @Transactional(readOnly=true)
+    public Map<Long, SavingsAccount> findAllWithNotFoundDetection(final Collection<Long> savingsIds) {
+        final Map<Long, SavingsAccount> accounts = new HashMap<>();
+        if (savingsIds.isEmpty()) { return accounts; }
+        for (final SavingsAccount account : this.repository.findAllWithCollectionsByIds(savingsIds)) {
+            accounts.put(account.getId(), account);
+        }
+        for (final Long savingsId : savingsIds) {
+            if (!accounts.containsKey(savingsId)) { throw new SavingsAccountNotFoundException(savingsId); }
+        }
+        return accounts;
+    }
+
     @Transactional(readOnly=true)
     public SavingsAccount findOneWithNotFoundDetection(final Long savingsId) {
         final SavingsAccount account = this.repository.findOne(savingsId);
@@ -80,6 +100,14 @@ public class SavingsAccountRepositoryWrapper {
         return accounts ;
     }
 
+    @Transactional(readOnly=true)
+    public List<SavingsAccount> findSavingAccountByStatusAndIdRange(@Param("status") Integer status, @Param("fromId") Long fromId,
+            @Param("toId") Long toId) {
+        List<SavingsAccount> accounts = this.repository.findSavingAccountByStatusAndIdRange(status, fromId, toId) ;
+        loadLazyCollections(accounts); 
+        return accounts ;
+    }
+
     //Root Entities are enough
     public List<SavingsAccount> findByClientIdAndGroupId(@Param("clientId") Long clientId, @Param("groupId") Long groupId) {
         return this.repository.findByClientIdAndGroupId(clientId, groupId) ;
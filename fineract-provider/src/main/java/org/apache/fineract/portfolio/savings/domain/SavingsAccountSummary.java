@@ -110,6 +110,59 @@ public final class SavingsAccountSummary {
                 .minus(totalOverdraftInterestDerived).minus(totalWithholdTax).getAmount();
     }
 
+    /**
+     * Adds a single transaction to the totals that
+     * {@link #updateSummary(MonetaryCurrency, SavingsAccountTransactionSummaryWrapper, List)}
+     * would otherwise derive from the complete transaction history. Only valid
+     * for transactions appended after all existing ones while the persisted
+     * totals are correct.
+     */
+    public void updateSummaryForAppendedTransaction(final MonetaryCurrency currency, final SavingsAccountTransaction transaction) {
+
+        final Money amount = transaction.getAmount(currency);
+        if (transaction.isDepositAndNotReversed() || transaction.isDividendPayoutAndNotReversed()) {
+            this.totalDeposits = plus(currency, this.totalDeposits, amount);
+        }
+        if (transaction.isWithdrawal() && transaction.isNotReversed()) {
+            this.totalWithdrawals = plus(currency, this.totalWithdrawals, amount);
+        }
+        if (transaction.isInterestPostingAndNotReversed()) {
+            this.totalInterestPosted = plus(currency, this.totalInterestPosted, amount);
+        }
+        if (transaction.isWithdrawalFeeAndNotReversed()) {
+            this.totalWithdrawalFees = plus(currency, this.totalWithdrawalFees, amount);
+        }
+        if (transaction.isAnnualFeeAndNotReversed()) {
+            this.totalAnnualFees = plus(currency, this.totalAnnualFees, amount);
+        }
+        if (transaction.isFeeChargeAndNotReversed()) {
+            this.totalFeeCharge = plus(currency, this.totalFeeCharge, amount);
+        }
+        if (transaction.isPenaltyChargeAndNotReversed()) {
+            this.totalPenaltyCharge = plus(currency, this.totalPenaltyCharge, amount);
+        }
+        if (transaction.isWaiveFeeChargeAndNotReversed()) {
+            this.totalFeeChargesWaived = plus(currency, this.totalFeeChargesWaived, amount);
+        }
+        if (transaction.isWaivePenaltyChargeAndNotReversed()) {
+            this.totalPenaltyChargesWaived = plus(currency, this.totalPenaltyChargesWaived, amount);
+        }
+        if (transaction.isOverdraftInterestAndNotReversed()) {
+            this.totalOverdraftInterestDerived = plus(currency, this.totalOverdraftInterestDerived, amount);
+        }
+        if (transaction.isWithHoldTaxAndNotReversed()) {
+            this.totalWithholdTax = plus(currency, this.totalWithholdTax, amount);
+        }
+
+        this.accountBalance = Money.of(currency, this.totalDeposits).plus(this.totalInterestPosted).minus(this.totalWithdrawals)
+                .minus(this.totalWithdrawalFees).minus(this.totalAnnualFees).minus(this.totalFeeCharge).minus(this.totalPenaltyCharge)
+                .minus(totalOverdraftInterestDerived).minus(totalWithholdTax).getAmount();
+    }
+
+    private static BigDecimal plus(final MonetaryCurrency currency, final BigDecimal total, final Money amount) {
+        return Money.of(currency, total).plus(amount).getAmountDefaultedToNullIfZero();
+    }
+
     public void updateFromInterestPeriodSummaries(final MonetaryCurrency currency, final List<PostingPeriod> allPostingPeriods) {
 
         Money totalEarned = Money.zero(currency);
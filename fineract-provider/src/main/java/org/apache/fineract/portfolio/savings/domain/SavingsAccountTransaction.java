@@ -393,6 +393,10 @@ public final class SavingsAccountTransaction extends AbstractPersistableCustom<L
         this.balanceNumberOfDays = null;
     }
 
+    public boolean hasRunningBalance() {
+        return this.runningBalance != null;
+    }
+
     public void updateRunningBalance(final Money balance) {
         this.runningBalance = balance.getAmount();
     }
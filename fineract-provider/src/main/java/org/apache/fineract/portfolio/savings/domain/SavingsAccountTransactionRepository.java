@@ -18,12 +18,25 @@
  */
 package org.apache.fineract.portfolio.savings.domain;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface SavingsAccountTransactionRepository extends JpaRepository<SavingsAccountTransaction, Long>,
         JpaSpecificationExecutor<SavingsAccountTransaction> {
 
     SavingsAccountTransaction findOneByIdAndSavingsAccountId(Long transactionId, Long savingsId);
 
-}
\ No newline at end of file
+    @Query("select transaction from SavingsAccountTransaction transaction where transaction.savingsAccount = :savingsAccount and transaction.reversed = false order by transaction.dateOf desc, transaction.createdDate desc, transaction.id desc")
+    List<SavingsAccountTransaction> findLatestNotReversed(@Param("savingsAccount") SavingsAccount savingsAccount, Pageable pageable);
+
+    @Query("select transaction from SavingsAccountTransaction transaction where transaction.savingsAccount = :savingsAccount and transaction.reversed = false and transaction.typeOf not in :excludedTypes order by transaction.dateOf desc, transaction.createdDate desc, transaction.id desc")
+    List<SavingsAccountTransaction> findLatestNotReversedExcludingTypes(@Param("savingsAccount") SavingsAccount savingsAccount,
+            @Param("excludedTypes") Collection<Integer> excludedTypes, Pageable pageable);
+
+}
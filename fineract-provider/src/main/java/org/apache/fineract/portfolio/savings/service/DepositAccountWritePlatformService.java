@@ -25,6 +25,7 @@ import org.apache.fineract.organisation.office.domain.Office;
 import org.apache.fineract.organisation.staff.domain.Staff;
 import org.apache.fineract.portfolio.savings.DepositAccountType;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionDTO;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
 import org.joda.time.LocalDate;
 
@@ -90,4 +91,12 @@ public interface DepositAccountWritePlatformService {
     void transferInterestToSavings() throws JobExecutionException;
 
     SavingsAccountTransaction mandatorySavingsAccountDeposit(final SavingsAccountTransactionDTO accountTransactionDTO);
+
+    /**
+     * Variant of {@link #mandatorySavingsAccountDeposit(SavingsAccountTransactionDTO)}
+     * for an account that was already loaded, for example together with the
+     * other accounts of a collection sheet.
+     */
+    SavingsAccountTransaction mandatorySavingsAccountDeposit(final SavingsAccount account,
+            final SavingsAccountTransactionDTO accountTransactionDTO);
 }
\ No newline at end of file
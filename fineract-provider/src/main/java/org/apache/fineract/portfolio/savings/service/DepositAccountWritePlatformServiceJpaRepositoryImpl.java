@@ -107,6 +107,7 @@ import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransactionRepository;
 import org.apache.fineract.portfolio.savings.exception.DepositAccountTransactionNotAllowedException;
 import org.apache.fineract.portfolio.savings.exception.InsufficientAccountBalanceException;
+import org.apache.fineract.portfolio.savings.exception.SavingsAccountNotFoundException;
 import org.apache.fineract.portfolio.savings.exception.SavingsAccountTransactionNotFoundException;
 import org.apache.fineract.portfolio.savings.exception.TransactionUpdateNotAllowedException;
 import org.apache.fineract.useradministration.domain.AppUser;
@@ -1357,9 +1358,18 @@ public class DepositAccountWritePlatformServiceJpaRepositoryImpl implements Depo
     @Transactional
     @Override
     public SavingsAccountTransaction mandatorySavingsAccountDeposit(final SavingsAccountTransactionDTO accountTransactionDTO) {
+        final SavingsAccount account = this.depositAccountAssembler.assembleFrom(accountTransactionDTO.getSavingsAccountId(),
+                DepositAccountType.RECURRING_DEPOSIT);
+        return mandatorySavingsAccountDeposit(account, accountTransactionDTO);
+    }
+
+    @Transactional
+    @Override
+    public SavingsAccountTransaction mandatorySavingsAccountDeposit(final SavingsAccount savingsAccount,
+            final SavingsAccountTransactionDTO accountTransactionDTO) {
+        if (!(savingsAccount instanceof RecurringDepositAccount)) { throw new SavingsAccountNotFoundException(savingsAccount.getId()); }
         boolean isRegularTransaction = false;
-        final RecurringDepositAccount account = (RecurringDepositAccount) this.depositAccountAssembler.assembleFrom(
-                accountTransactionDTO.getSavingsAccountId(), DepositAccountType.RECURRING_DEPOSIT);
+        final RecurringDepositAccount account = (RecurringDepositAccount) savingsAccount;
         final PaymentDetail paymentDetail = accountTransactionDTO.getPaymentDetail();
         if (paymentDetail != null && paymentDetail.getId() == null) {
             this.paymentDetailWritePlatformService.persistPaymentDetail(paymentDetail);
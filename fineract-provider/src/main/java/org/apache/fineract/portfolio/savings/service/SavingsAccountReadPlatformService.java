@@ -58,6 +58,11 @@ public interface SavingsAccountReadPlatformService {
     List<Long> retrieveSavingsIdsPendingDormant(LocalDate tenantLocalDate);
 
     List<Long> retrieveSavingsIdsPendingEscheat(LocalDate tenantLocalDate);
+
+    List<Long> retrieveActiveSavingsAccountIdsAfter(Long lastSavingsId, int limit);
+
+    List<Long> retrieveSavingsIdsWithBalanceDrift(Long fromSavingsId, Long toSavingsId);
+
     boolean isAccountBelongsToClient(final Long clientId, final Long accountId, final DepositAccountType depositAccountType, final String currencyCode) ;
     
 }
\ No newline at end of file
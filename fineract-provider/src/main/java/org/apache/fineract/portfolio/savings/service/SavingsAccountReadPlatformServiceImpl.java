@@ -24,12 +24,15 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.KeysetPagination;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
@@ -87,6 +90,15 @@ import org.springframework.util.CollectionUtils;
 @Service
 public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountReadPlatformService {
 
+    private final static Map<String, String> keysetSortColumns = new HashMap<>();
+
+    static {
+        keysetSortColumns.put("id", "sa.id");
+        keysetSortColumns.put("accountNo", "sa.account_no");
+        keysetSortColumns.put("externalId", "sa.external_id");
+        keysetSortColumns.put("clientId", "sa.client_id");
+    }
+
     private final PlatformSecurityContext context;
     private final JdbcTemplate jdbcTemplate;
     private final ClientReadPlatformService clientReadPlatformService;
@@ -166,8 +178,15 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
         final String hierarchy = currentUser.getOffice().getHierarchy();
         final String hierarchySearchString = hierarchy + "%";
 
+        final KeysetPagination keysetPagination = searchParameters.isKeysetPaged() ? KeysetPagination.from(searchParameters,
+                "savingsaccounts", "sa.id", keysetSortColumns, "id", "ASC") : null;
+
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        if (keysetPagination != null) {
+            sqlBuilder.append("select ").append(keysetPagination.selectSql());
+        } else {
+            sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        }
         sqlBuilder.append(this.savingAccountMapper.schema());
 
         sqlBuilder.append(" join m_office o on o.id = c.office_id");
@@ -189,6 +208,13 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
             arrayPos = arrayPos + 1;
         }
 
+        if (keysetPagination != null) {
+            sqlBuilder.append(keysetPagination.predicateSql(" and "));
+            sqlBuilder.append(keysetPagination.orderByAndLimitSql());
+            return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), Arrays.copyOf(objectArray, arrayPos),
+                    this.savingAccountMapper, keysetPagination);
+        }
+
         if (searchParameters.isOrderByRequested()) {
             sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
 
@@ -1127,6 +1153,47 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
 		return ret;
 	}
 
+	@Override
+	public List<Long> retrieveActiveSavingsAccountIdsAfter(final Long lastSavingsId, final int limit) {
+		// keyset pagination on the primary key, so that every page costs the
+		// same regardless of how far into the portfolio the caller is
+		final StringBuilder sql = new StringBuilder("select sa.id ");
+		sql.append(" from m_savings_account as sa ");
+		sql.append(" where sa.status_enum = ? ");
+		sql.append(" and sa.id > ? ");
+		sql.append(" order by sa.id limit ? ");
+
+		final Long fromId = lastSavingsId == null ? Long.valueOf(0) : lastSavingsId;
+		return this.jdbcTemplate.queryForList(sql.toString(), Long.class,
+				new Object[] { SavingsAccountStatusType.ACTIVE.getValue(), fromId, limit });
+	}
+
+	@Override
+	public List<Long> retrieveSavingsIdsWithBalanceDrift(final Long fromSavingsId, final Long toSavingsId) {
+		// derive the balance and the deposit and withdrawal totals from the
+		// transactions that are not reversed and compare them with the
+		// values maintained on the account
+		final StringBuilder sql = new StringBuilder("select sa.id ");
+		sql.append(" from m_savings_account as sa ");
+		sql.append(" left join (select sat.savings_account_id as savingsId, ");
+		sql.append(" sum(case when sat.transaction_type_enum in (1,3,8) then sat.amount ");
+		sql.append(" when sat.transaction_type_enum in (2,4,5,7,17,18) then -sat.amount else 0 end) as balance, ");
+		sql.append(" sum(case when sat.transaction_type_enum in (1,8) then sat.amount else 0 end) as deposits, ");
+		sql.append(" sum(case when sat.transaction_type_enum = 2 then sat.amount else 0 end) as withdrawals ");
+		sql.append(" from m_savings_account_transaction as sat ");
+		sql.append(" where sat.is_reversed = 0 and sat.savings_account_id between ? and ? ");
+		sql.append(" group by sat.savings_account_id) as t on t.savingsId = sa.id ");
+		sql.append(" where sa.status_enum = ? ");
+		sql.append(" and sa.id between ? and ? ");
+		sql.append(" and (ifnull(sa.account_balance_derived, 0) <> ifnull(t.balance, 0) ");
+		sql.append(" or ifnull(sa.total_deposits_derived, 0) <> ifnull(t.deposits, 0) ");
+		sql.append(" or ifnull(sa.total_withdrawals_derived, 0) <> ifnull(t.withdrawals, 0)) ");
+		sql.append(" order by sa.id ");
+
+		return this.jdbcTemplate.queryForList(sql.toString(), Long.class, new Object[] { fromSavingsId, toSavingsId,
+				SavingsAccountStatusType.ACTIVE.getValue(), fromSavingsId, toSavingsId });
+	}
+
 	@Override
 	public List<Long> retrieveSavingsIdsPendingDormant(
 			LocalDate tenantLocalDate) {
@@ -1186,7 +1186,7 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
 
         Staff fromSavingsOfficer = null;
         Staff toSavingsOfficer = null;
-        this.fromApiJsonDeserializer.validateForAssignSavingsOfficer(command.json());
+        this.fromApiJsonDeserializer.validateForAssignSavingsOfficer(command);
 
         final SavingsAccount savingsForUpdate = this.savingAccountRepositoryWrapper.findOneWithNotFoundDetection(savingsAccountId);
         final Long fromSavingsOfficerId = command.longValueOfParameterNamed("fromSavingsOfficerId");
@@ -1225,7 +1225,7 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
         this.context.authenticatedUser();
 
         final Map<String, Object> actualChanges = new LinkedHashMap<>(5);
-        this.fromApiJsonDeserializer.validateForUnAssignSavingsOfficer(command.json());
+        this.fromApiJsonDeserializer.validateForUnAssignSavingsOfficer(command);
 
         final SavingsAccount savingsForUpdate = this.savingAccountRepositoryWrapper.findOneWithNotFoundDetection(savingsAccountId);
         if (savingsForUpdate.getSavingsOfficer() == null) { throw new SavingsOfficerUnassignmentException(savingsAccountId); }
@@ -163,7 +163,7 @@ public class SavingsApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
     @Override
     public CommandProcessingResult submitApplication(final JsonCommand command) {
         try {
-            this.savingsAccountDataValidator.validateForSubmit(command.json());
+            this.savingsAccountDataValidator.validateForSubmit(command);
             final AppUser submittedBy = this.context.authenticatedUser();
 
             final SavingsAccount account = this.savingAccountAssembler.assembleFrom(command, submittedBy);
@@ -212,7 +212,7 @@ public class SavingsApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
     @Override
     public CommandProcessingResult modifyApplication(final Long savingsId, final JsonCommand command) {
         try {
-            this.savingsAccountDataValidator.validateForUpdate(command.json());
+            this.savingsAccountDataValidator.validateForUpdate(command);
 
             final Map<String, Object> changes = new LinkedHashMap<>(20);
 
@@ -0,0 +1,171 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.fineract.infrastructure.core.service.TenantAwareCallable;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountAssembler;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepositoryWrapper;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType;
+import org.joda.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Posts interest for all active savings accounts whose id falls in the range
+ * <code>[fromId, toId]</code>.
+ * 
+ * The whole range is posted in a single transaction. If that transaction
+ * fails on a lock timeout or deadlock it is retried up to
+ * <code>maxNumberOfRetries</code> times; on any other failure, or once the
+ * retries are exhausted, every account of the range is posted in its own
+ * transaction so that a single bad account does not prevent the rest of the
+ * range from being posted. The returned list holds one failure message per
+ * account that could not be posted.
+ */
+public class SavingsSchedularInterestPoster extends TenantAwareCallable<List<String>> {
+
+    private final static Logger logger = LoggerFactory.getLogger(SavingsSchedularInterestPoster.class);
+
+    private final Long fromId;
+    private final Long toId;
+    private final int maxNumberOfRetries;
+    private final SavingsAccountAssembler savingAccountAssembler;
+    private final SavingsAccountWritePlatformService savingsAccountWritePlatformService;
+    private final SavingsAccountRepositoryWrapper savingAccountRepositoryWrapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public SavingsSchedularInterestPoster(final Long fromId, final Long toId, final int maxNumberOfRetries,
+            final SavingsAccountAssembler savingAccountAssembler,
+            final SavingsAccountWritePlatformService savingsAccountWritePlatformService,
+            final SavingsAccountRepositoryWrapper savingAccountRepositoryWrapper, final TransactionTemplate transactionTemplate) {
+        this.fromId = fromId;
+        this.toId = toId;
+        this.maxNumberOfRetries = maxNumberOfRetries;
+        this.savingAccountAssembler = savingAccountAssembler;
+        this.savingsAccountWritePlatformService = savingsAccountWritePlatformService;
+        this.savingAccountRepositoryWrapper = savingAccountRepositoryWrapper;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    protected List<String> doCall() {
+        int numberOfRetries = 0;
+        while (true) {
+            try {
+                this.transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+                    @Override
+                    protected void doInTransactionWithoutResult(@SuppressWarnings("unused") final TransactionStatus status) {
+                        final List<SavingsAccount> savingsAccounts = SavingsSchedularInterestPoster.this.savingAccountRepositoryWrapper
+                                .findSavingAccountByStatusAndIdRange(SavingsAccountStatusType.ACTIVE.getValue(),
+                                        SavingsSchedularInterestPoster.this.fromId, SavingsSchedularInterestPoster.this.toId);
+                        for (final SavingsAccount savingsAccount : savingsAccounts) {
+                            postInterest(savingsAccount);
+                        }
+                    }
+                });
+                return new ArrayList<>();
+            } catch (Exception e) {
+                if (!isLockFailure(e)) {
+                    logger.warn("Post interest for savings with ids between " + this.fromId + " and " + this.toId
+                            + " failed with message " + e.getMessage() + ", posting accounts one at a time");
+                    return postInterestForEachAccount();
+                }
+                if (numberOfRetries >= this.maxNumberOfRetries) {
+                    logger.warn("Post interest for savings with ids between " + this.fromId + " and " + this.toId
+                            + " failed after " + numberOfRetries + " retries, posting accounts one at a time");
+                    return postInterestForEachAccount();
+                }
+                numberOfRetries++;
+                logger.info("Post interest for savings with ids between " + this.fromId + " and " + this.toId + " has been retried "
+                        + numberOfRetries + " time(s)");
+            }
+        }
+    }
+
+    private List<String> postInterestForEachAccount() {
+        final List<String> failures = new ArrayList<>();
+        final List<Long> savingsIds = this.transactionTemplate.execute(new TransactionCallback<List<Long>>() {
+
+            @Override
+            public List<Long> doInTransaction(@SuppressWarnings("unused") final TransactionStatus status) {
+                final List<Long> ids = new ArrayList<>();
+                for (final SavingsAccount savingsAccount : SavingsSchedularInterestPoster.this.savingAccountRepositoryWrapper
+                        .findSavingAccountByStatusAndIdRange(SavingsAccountStatusType.ACTIVE.getValue(),
+                                SavingsSchedularInterestPoster.this.fromId, SavingsSchedularInterestPoster.this.toId)) {
+                    ids.add(savingsAccount.getId());
+                }
+                return ids;
+            }
+        });
+
+        for (final Long savingsId : savingsIds) {
+            try {
+                this.transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+                    @Override
+                    protected void doInTransactionWithoutResult(@SuppressWarnings("unused") final TransactionStatus status) {
+                        final List<SavingsAccount> savingsAccounts = SavingsSchedularInterestPoster.this.savingAccountRepositoryWrapper
+                                .findSavingAccountByStatusAndIdRange(SavingsAccountStatusType.ACTIVE.getValue(), savingsId, savingsId);
+                        for (final SavingsAccount savingsAccount : savingsAccounts) {
+                            postInterest(savingsAccount);
+                        }
+                    }
+                });
+            } catch (Exception e) {
+                Throwable realCause = e;
+                if (e.getCause() != null) {
+                    realCause = e.getCause();
+                }
+                logger.error("failed to post interest for Savings with id " + savingsId + " with message " + realCause.getMessage());
+                failures.add("failed to post interest for Savings with id " + savingsId + " with message " + realCause.getMessage());
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Only lock timeouts and deadlocks are worth retrying for the whole range;
+     * {@link PessimisticLockingFailureException} is the parent of both
+     * {@link org.springframework.dao.CannotAcquireLockException} and
+     * {@link org.springframework.dao.DeadlockLoserDataAccessException}.
+     */
+    private static boolean isLockFailure(final Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PessimisticLockingFailureException) { return true; }
+        }
+        return false;
+    }
+
+    private void postInterest(final SavingsAccount savingsAccount) {
+        this.savingAccountAssembler.assignSavingAccountHelpers(savingsAccount);
+        final boolean postInterestAsOn = false;
+        final LocalDate transactionDate = null;
+        this.savingsAccountWritePlatformService.postInterest(savingsAccount, postInterestAsOn, transactionDate);
+    }
+}
@@ -18,62 +18,129 @@
  */
 package org.apache.fineract.portfolio.savings.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.TenantAwareExecutors;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
-import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountAssembler;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepositoryWrapper;
-import org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType;
 import org.joda.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class SavingsSchedularServiceImpl implements SavingsSchedularService {
 
+    private final static Logger logger = LoggerFactory.getLogger(SavingsSchedularServiceImpl.class);
+
+    private static final int BALANCE_VERIFICATION_PAGE_SIZE = 1000;
+
     private final SavingsAccountAssembler savingAccountAssembler;
     private final SavingsAccountWritePlatformService savingsAccountWritePlatformService;
     private final SavingsAccountRepositoryWrapper savingAccountRepositoryWrapper;
     private final SavingsAccountReadPlatformService savingAccountReadPlatformService;
+    private final ConfigurationDomainService configurationDomainService;
+    private final TransactionTemplate transactionTemplate;
+    private final RoutingDataSource dataSource;
 
     @Autowired
     public SavingsSchedularServiceImpl(final SavingsAccountAssembler savingAccountAssembler,
             final SavingsAccountWritePlatformService savingsAccountWritePlatformService,
             final SavingsAccountRepositoryWrapper savingAccountRepositoryWrapper,
-            final SavingsAccountReadPlatformService savingAccountReadPlatformService) {
+            final SavingsAccountReadPlatformService savingAccountReadPlatformService,
+            final ConfigurationDomainService configurationDomainService, final TransactionTemplate transactionTemplate,
+            final RoutingDataSource dataSource) {
         this.savingAccountAssembler = savingAccountAssembler;
         this.savingsAccountWritePlatformService = savingsAccountWritePlatformService;
         this.savingAccountRepositoryWrapper = savingAccountRepositoryWrapper;
         this.savingAccountReadPlatformService = savingAccountReadPlatformService;
+        this.configurationDomainService = configurationDomainService;
+        this.transactionTemplate = transactionTemplate;
+        this.dataSource = dataSource;
     }
 
     @CronTarget(jobName = JobName.POST_INTEREST_FOR_SAVINGS)
     @Override
     public void postInterestForAccounts() throws JobExecutionException {
-        final List<SavingsAccount> savingsAccounts = this.savingAccountRepositoryWrapper.findSavingAccountByStatus(SavingsAccountStatusType.ACTIVE
-                .getValue());
-        StringBuffer sb = new StringBuffer();
-        for (final SavingsAccount savingsAccount : savingsAccounts) {
-            try {
-                this.savingAccountAssembler.assignSavingAccountHelpers(savingsAccount);
-                boolean postInterestAsOn = false;
-                LocalDate transactionDate = null;
-                this.savingsAccountWritePlatformService.postInterest(savingsAccount, postInterestAsOn, transactionDate);
-            } catch (Exception e) {
-                Throwable realCause = e;
-                if (e.getCause() != null) {
-                    realCause = e.getCause();
+        final int batchSize = this.configurationDomainService.retrieveSavingsInterestPostingBatchSize();
+        final int threadPoolSize = this.configurationDomainService.retrieveSavingsInterestPostingThreadPoolSize();
+        final int maxNumberOfRetries = ThreadLocalContextUtil.getTenant().getConnection().getMaxRetriesOnDeadlock();
+
+        final ExecutorService executorService = TenantAwareExecutors.newFixedThreadPoolForCurrentTenant(this.dataSource, threadPoolSize);
+        final List<Future<List<String>>> postings = new ArrayList<>();
+        try {
+            // split the active accounts into id ranges of at most batchSize
+            // accounts; each range is loaded and posted by a worker in its own
+            // transaction
+            Long lastSavingsId = null;
+            List<Long> savingsIds = this.savingAccountReadPlatformService.retrieveActiveSavingsAccountIdsAfter(lastSavingsId, batchSize);
+            while (!savingsIds.isEmpty()) {
+                final Long fromId = savingsIds.get(0);
+                lastSavingsId = savingsIds.get(savingsIds.size() - 1);
+                postings.add(executorService.submit(new SavingsSchedularInterestPoster(fromId, lastSavingsId, maxNumberOfRetries,
+                        this.savingAccountAssembler, this.savingsAccountWritePlatformService, this.savingAccountRepositoryWrapper,
+                        this.transactionTemplate)));
+                savingsIds = this.savingAccountReadPlatformService.retrieveActiveSavingsAccountIdsAfter(lastSavingsId, batchSize);
+            }
+
+            final StringBuffer sb = new StringBuffer();
+            for (final Future<List<String>> posting : postings) {
+                try {
+                    for (final String failure : posting.get()) {
+                        sb.append(failure);
+                    }
+                } catch (ExecutionException e) {
+                    final Throwable realCause = e.getCause() == null ? e : e.getCause();
+                    sb.append("failed to post interest for Savings with message " + realCause.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    sb.append("post interest for Savings was interrupted");
+                    break;
                 }
-                sb.append("failed to post interest for Savings with id " + savingsAccount.getId() + " with message "
-                        + realCause.getMessage());
             }
+
+            if (sb.length() > 0) { throw new JobExecutionException(sb.toString()); }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @CronTarget(jobName = JobName.VERIFY_SAVINGS_ACCOUNT_BALANCES)
+    @Override
+    public void verifySavingsAccountBalances() throws JobExecutionException {
+        // balances maintained incrementally on deposit and withdrawal are
+        // compared with the transactions one page of active accounts at a time
+        final List<Long> savingsIdsWithDrift = new ArrayList<>();
+        Long lastSavingsId = null;
+        List<Long> savingsIds = this.savingAccountReadPlatformService.retrieveActiveSavingsAccountIdsAfter(lastSavingsId,
+                BALANCE_VERIFICATION_PAGE_SIZE);
+        while (!savingsIds.isEmpty()) {
+            final Long fromId = savingsIds.get(0);
+            lastSavingsId = savingsIds.get(savingsIds.size() - 1);
+            savingsIdsWithDrift.addAll(this.savingAccountReadPlatformService.retrieveSavingsIdsWithBalanceDrift(fromId, lastSavingsId));
+            savingsIds = this.savingAccountReadPlatformService.retrieveActiveSavingsAccountIdsAfter(lastSavingsId,
+                    BALANCE_VERIFICATION_PAGE_SIZE);
+        }
+
+        if (!savingsIdsWithDrift.isEmpty()) {
+            logger.warn("Balances of " + savingsIdsWithDrift.size() + " savings accounts do not match their transactions: "
+                    + savingsIdsWithDrift);
+            throw new JobExecutionException("Balances of savings accounts with ids " + savingsIdsWithDrift
+                    + " do not match their transactions");
         }
-        
-        if (sb.length() > 0) { throw new JobExecutionException(sb.toString()); }
     }
 
     @CronTarget(jobName = JobName.UPDATE_SAVINGS_DORMANT_ACCOUNTS)
@@ -30,11 +30,13 @@ public class SearchConditions {
 	private final Boolean savingSeach;
     private final Boolean clientIdentifierSearch;
     private  Boolean exactMatch;
+    private final Boolean fuzzy;
 
-    public SearchConditions(final String searchQueryParam, final String searchResource, Boolean exactMatch) {
+    public SearchConditions(final String searchQueryParam, final String searchResource, Boolean exactMatch, final Boolean fuzzy) {
         this.searchQuery = searchQueryParam;
         this.searchResource = searchResource;
         this.exactMatch=exactMatch;
+        this.fuzzy = fuzzy;
         this.clientSearch = (null == searchResource || searchResource.toLowerCase().contains(
                 SEARCH_SUPPORTED_RESOURCES.CLIENTS.name().toLowerCase())) ? true : false;
         this.groupSearch = (null == searchResource || searchResource.toLowerCase().contains(
@@ -57,6 +59,7 @@ public class SearchConditions {
 		this.savingSeach = savingSeach;
         this.clientIdentifierSearch = clientIdentifierSearch;
         this.exactMatch=exactMatch;
+        this.fuzzy = false;
     }
 
     public String getSearchQuery() {
@@ -69,6 +72,10 @@ public class SearchConditions {
     public Boolean getExactMatch() {
     	return this.exactMatch;
     }
+
+    public Boolean isFuzzy() {
+        return this.fuzzy;
+    }
     public Boolean isClientSearch() {
         return this.clientSearch;
     }
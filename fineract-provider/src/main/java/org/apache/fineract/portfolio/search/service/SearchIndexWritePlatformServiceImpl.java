@@ -0,0 +1,234 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains <code>m_search_index</code>, one row per searchable term (account
+ * number, external id, mobile number, identifier key, name part) of a client,
+ * group, loan, savings account or client identifier. Terms are stored lower
+ * case together with their SOUNDEX code for fuzzy matches and the office
+ * hierarchy used to restrict results to the offices of the user.
+ * 
+ * Entries are derived with INSERT ... SELECT from the source tables, so that
+ * the full rebuild and the updates made for single commands share the same
+ * definition of what is indexed.
+ */
+@Service
+public class SearchIndexWritePlatformServiceImpl implements SearchIndexWritePlatformService {
+
+    private final static Logger logger = LoggerFactory.getLogger(SearchIndexWritePlatformServiceImpl.class);
+
+    private final static int rebuildChunkSize = 10000;
+
+    private static final IndexedEntity CLIENT = new IndexedEntity("CLIENT", "m_client", "c", " join m_office o on o.id = c.office_id ",
+            new String[] { "c.account_no", withoutLeadingZeros("c.account_no"), "c.external_id", "c.mobile_no" }, new String[] {
+                    "c.display_name", "c.firstname", "c.middlename", "c.lastname", "c.fullname" });
+
+    private static final IndexedEntity GROUP = new IndexedEntity("GROUP", "m_group", "g", " join m_office o on o.id = g.office_id ",
+            new String[] { "g.account_no", withoutLeadingZeros("g.account_no"), "g.external_id", "cast(g.id as char)" },
+            new String[] { "g.display_name" });
+
+    private static final IndexedEntity LOAN = new IndexedEntity("LOAN", "m_loan", "l",
+            " left join m_client c on c.id = l.client_id left join m_office o on o.id = c.office_id ", new String[] { "l.account_no",
+                    withoutLeadingZeros("l.account_no"), "l.external_id" }, new String[0]);
+
+    private static final IndexedEntity SAVING = new IndexedEntity("SAVING", "m_savings_account", "s",
+            " left join m_client c on c.id = s.client_id left join m_office o on o.id = c.office_id ", new String[] { "s.account_no",
+                    withoutLeadingZeros("s.account_no"), "s.external_id" }, new String[0]);
+
+    private static final IndexedEntity CLIENT_IDENTIFIER = new IndexedEntity("CLIENTIDENTIFIER", "m_client_identifier", "ci",
+            " join m_client c on c.id = ci.client_id join m_office o on o.id = c.office_id ", new String[] { "ci.document_key" },
+            new String[0]);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConfigurationDomainService configurationDomainService;
+    private final TransactionTemplate chunkTransactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public SearchIndexWritePlatformServiceImpl(final RoutingDataSource dataSource,
+            final ConfigurationDomainService configurationDomainService, final PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.configurationDomainService = configurationDomainService;
+        this.chunkTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void updateIndexForCommand(final String entityName, final String actionName, final CommandProcessingResult result) {
+        if (!this.configurationDomainService.isSearchIndexEnabled()) { return; }
+
+        final boolean accountChange = "CREATE".equals(actionName) || "UPDATE".equals(actionName) || "DELETE".equals(actionName);
+
+        if ("CLIENT".equals(entityName)) {
+            final Long clientId = result.getClientId() != null ? result.getClientId() : result.resourceId();
+            if (clientId == null) { return; }
+            // transfers move the loans, savings and identifiers of the client
+            // to another office hierarchy as well
+            reindex(CLIENT, clientId);
+            reindexChildren(CLIENT_IDENTIFIER, "ci.client_id", clientId);
+            reindexChildren(LOAN, "l.client_id", clientId);
+            reindexChildren(SAVING, "s.client_id", clientId);
+        } else if ("CLIENTIDENTIFIER".equals(entityName)) {
+            reindex(CLIENT_IDENTIFIER, result.resourceId());
+        } else if ("GROUP".equals(entityName) || "CENTER".equals(entityName)) {
+            reindex(GROUP, result.getGroupId() != null ? result.getGroupId() : result.resourceId());
+        } else if ("LOAN".equals(entityName) && accountChange) {
+            reindex(LOAN, result.getLoanId() != null ? result.getLoanId() : result.resourceId());
+        } else if (("SAVINGSACCOUNT".equals(entityName) || "FIXEDDEPOSITACCOUNT".equals(entityName) || "RECURRINGDEPOSITACCOUNT"
+                .equals(entityName)) && accountChange) {
+            // deposit accounts are rows of m_savings_account as well
+            reindex(SAVING, result.getSavingsId() != null ? result.getSavingsId() : result.resourceId());
+        }
+    }
+
+    @Override
+    @CronTarget(jobName = JobName.REBUILD_SEARCH_INDEX)
+    public void rebuildIndex() {
+        for (final IndexedEntity entity : new IndexedEntity[] { CLIENT, GROUP, LOAN, SAVING, CLIENT_IDENTIFIER }) {
+            final Long maxId = this.jdbcTemplate.queryForObject("select max(" + entity.alias + ".id) from " + entity.table + " "
+                    + entity.alias, Long.class);
+            final long lastId = maxId == null ? 0 : maxId;
+            // chunks keep transactions small and the rest of the index
+            // searchable while the rebuild is running
+            for (long fromId = 1; fromId <= lastId; fromId += rebuildChunkSize) {
+                rebuildChunk(entity, fromId, fromId + rebuildChunkSize - 1);
+            }
+            this.jdbcTemplate.update("delete from m_search_index where entity_type = ? and entity_id > ?", entity.type, lastId);
+            logger.info("Rebuilt search index for " + entity.type + " up to id " + lastId);
+        }
+    }
+
+    /**
+     * Replaces the entries of one id range in a transaction of its own, so
+     * that searches never see the range half deleted.
+     */
+    private void rebuildChunk(final IndexedEntity entity, final long fromId, final long toId) {
+        this.chunkTransactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+            @Override
+            protected void doInTransactionWithoutResult(@SuppressWarnings("unused") final TransactionStatus status) {
+                SearchIndexWritePlatformServiceImpl.this.jdbcTemplate.update(
+                        "delete from m_search_index where entity_type = ? and entity_id between ? and ?", entity.type, fromId, toId);
+                insert(entity, entity.alias + ".id between ? and ?", fromId, toId);
+            }
+        });
+    }
+
+    private void reindex(final IndexedEntity entity, final Long id) {
+        if (id == null) { return; }
+        flush();
+        this.jdbcTemplate.update("delete from m_search_index where entity_type = ? and entity_id = ?", entity.type, id);
+        insert(entity, entity.alias + ".id = ?", id);
+    }
+
+    private void reindexChildren(final IndexedEntity entity, final String parentColumn, final Long parentId) {
+        this.jdbcTemplate.update("delete si from m_search_index si join " + entity.table + " " + entity.alias + " on "
+                + entity.alias + ".id = si.entity_id where si.entity_type = ? and " + parentColumn + " = ?", entity.type, parentId);
+        insert(entity, parentColumn + " = ?", parentId);
+    }
+
+    private void insert(final IndexedEntity entity, final String filter, final Object... filterArgs) {
+        final StringBuilder sql = new StringBuilder(
+                "insert ignore into m_search_index (entity_type, entity_id, search_term, term_soundex, office_hierarchy) ");
+        final List<Object> args = new ArrayList<>();
+        String separator = "";
+        for (final String term : entity.terms) {
+            sql.append(separator).append(entity.selectTerm(term, false, filter));
+            addAll(args, filterArgs);
+            separator = " union all ";
+        }
+        for (final String term : entity.nameTerms) {
+            sql.append(separator).append(entity.selectTerm(term, true, filter));
+            addAll(args, filterArgs);
+            separator = " union all ";
+        }
+        this.jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    /**
+     * Writes pending changes of the command to the connection shared with the
+     * JDBC statements, so that the INSERT ... SELECT sees them.
+     */
+    private void flush() {
+        this.entityManager.flush();
+    }
+
+    private static void addAll(final List<Object> args, final Object[] values) {
+        for (final Object value : values) {
+            args.add(value);
+        }
+    }
+
+    private static String withoutLeadingZeros(final String column) {
+        return "trim(leading '0' from " + column + ")";
+    }
+
+    private static final class IndexedEntity {
+
+        final String type;
+        final String table;
+        final String alias;
+        final String joins;
+        final String[] terms;
+        final String[] nameTerms;
+
+        IndexedEntity(final String type, final String table, final String alias, final String joins, final String[] terms,
+                final String[] nameTerms) {
+            this.type = type;
+            this.table = table;
+            this.alias = alias;
+            this.joins = joins;
+            this.terms = terms;
+            this.nameTerms = nameTerms;
+        }
+
+        String selectTerm(final String term, final boolean withSoundex, final String filter) {
+            final String soundex = withSoundex ? "nullif(soundex(" + term + "), '')" : "null";
+            return "select '" + this.type + "', " + this.alias + ".id, left(lower(" + term + "), 150), " + soundex
+                    + ", o.hierarchy from " + this.table + " " + this.alias + this.joins + " where " + term + " is not null and "
+                    + term + " <> '' and " + filter;
+        }
+    }
+
+}
@@ -25,6 +25,7 @@ import java.sql.SQLException;
 import java.util.Collection;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
@@ -56,14 +57,17 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
     private final PlatformSecurityContext context;
     private final LoanProductReadPlatformService loanProductReadPlatformService;
     private final OfficeReadPlatformService officeReadPlatformService;
+    private final ConfigurationDomainService configurationDomainService;
 
     @Autowired
     public SearchReadPlatformServiceImpl(final PlatformSecurityContext context, final RoutingDataSource dataSource,
-            final LoanProductReadPlatformService loanProductReadPlatformService, final OfficeReadPlatformService officeReadPlatformService) {
+            final LoanProductReadPlatformService loanProductReadPlatformService, final OfficeReadPlatformService officeReadPlatformService,
+            final ConfigurationDomainService configurationDomainService) {
         this.context = context;
         this.namedParameterjdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
         this.loanProductReadPlatformService = loanProductReadPlatformService;
         this.officeReadPlatformService = officeReadPlatformService;
+        this.configurationDomainService = configurationDomainService;
     }
 
     @Override
@@ -71,11 +75,17 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
         final AppUser currentUser = this.context.authenticatedUser();
         final String hierarchy = currentUser.getOffice().getHierarchy();
 
-        final SearchMapper rm = new SearchMapper();
+        final boolean useIndex = this.configurationDomainService.isSearchIndexEnabled();
+        final SearchMapper rm = new SearchMapper(useIndex);
 
         final MapSqlParameterSource params = new MapSqlParameterSource();
         params.addValue("hierarchy", hierarchy + "%");
-        if(searchConditions.getExactMatch()){
+        if (useIndex) {
+            // index terms are whole values or name parts, matched by prefix
+            final String term = StringUtils.trimToEmpty(searchConditions.getSearchQuery()).toLowerCase();
+            params.addValue("query", term);
+            params.addValue("search", searchConditions.getExactMatch() ? term : term + "%");
+        } else if(searchConditions.getExactMatch()){
        	 params.addValue("search", searchConditions.getSearchQuery());
        	}else{
        	 params.addValue("search", "%" + searchConditions.getSearchQuery() + "%");
@@ -85,30 +95,59 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
 
     private static final class SearchMapper implements RowMapper<SearchData> {
 
+        private final boolean useIndex;
+
+        SearchMapper(final boolean useIndex) {
+            this.useIndex = useIndex;
+        }
+
+        /**
+         * Restricts the rows of an entity to the ids whose
+         * <code>m_search_index</code> terms match, or returns an empty string
+         * when searching the source tables directly.
+         */
+        private String indexMatch(final String entityType, final String idColumn, final SearchConditions searchConditions) {
+            if (!this.useIndex) { return ""; }
+            final StringBuilder match = new StringBuilder(" join (select distinct si.entity_id from m_search_index si where si.entity_type = '")
+                    .append(entityType).append("' and (si.office_hierarchy is null or si.office_hierarchy like :hierarchy) and ");
+            if (searchConditions.getExactMatch()) {
+                match.append("(si.search_term = :search");
+            } else {
+                match.append("(si.search_term like :search");
+            }
+            if (searchConditions.isFuzzy()) {
+                match.append(" or si.term_soundex = soundex(:query)");
+            }
+            return match.append(")) matched on matched.entity_id = ").append(idColumn).append(" ").toString();
+        }
+
         public String searchSchema(final SearchConditions searchConditions) {
 
             final String union = " union ";
             final String clientMatchSql = " (select 'CLIENT' as entityType, c.id as entityId, c.display_name as entityName, c.external_id as entityExternalId, c.account_no as entityAccountNo "
                     + " , c.office_id as parentId, o.name as parentName, c.mobile_no as entityMobileNo,c.status_enum as entityStatusEnum, null as parentType "
-                    + " from m_client c join m_office o on o.id = c.office_id where o.hierarchy like :hierarchy and (c.account_no like :search or c.display_name like :search or c.external_id like :search or c.mobile_no like :search)) ";
+                    + " from m_client c " + indexMatch("CLIENT", "c.id", searchConditions) + " join m_office o on o.id = c.office_id where o.hierarchy like :hierarchy "
+                    + (this.useIndex ? "" : " and (c.account_no like :search or c.display_name like :search or c.external_id like :search or c.mobile_no like :search)") + ") ";
 
             final String loanMatchSql = " (select 'LOAN' as entityType, l.id as entityId, pl.name as entityName, l.external_id as entityExternalId, l.account_no as entityAccountNo "
                     + " , IFNULL(c.id,g.id) as parentId, IFNULL(c.display_name,g.display_name) as parentName, null as entityMobileNo, l.loan_status_id as entityStatusEnum, IF(g.id is null, 'client', 'group') as parentType "
-                    + " from m_loan l left join m_client c on l.client_id = c.id left join m_group g ON l.group_id = g.id left join m_office o on o.id = c.office_id left join m_product_loan pl on pl.id=l.product_id where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and (l.account_no like :search or l.external_id like :search)) ";
+                    + " from m_loan l " + indexMatch("LOAN", "l.id", searchConditions) + " left join m_client c on l.client_id = c.id left join m_group g ON l.group_id = g.id left join m_office o on o.id = c.office_id left join m_product_loan pl on pl.id=l.product_id where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) "
+                    + (this.useIndex ? "" : " and (l.account_no like :search or l.external_id like :search)") + ") ";
 
 
             final String savingMatchSql = " (select 'SAVING' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId, s.account_no as entityAccountNo "
                     + " , IFNULL(c.id,g.id) as parentId, IFNULL(c.display_name,g.display_name) as parentName, null as entityMobileNo, s.status_enum as entityStatusEnum, IF(g.id is null, 'client', 'group') as parentType "
-                    + " from m_savings_account s left join m_client c on s.client_id = c.id left join m_group g ON s.group_id = g.id left join m_office o on o.id = c.office_id left join m_savings_product sp on sp.id=s.product_id "
-                    + " where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) and (s.account_no like :search or s.external_id like :search)) ";
+                    + " from m_savings_account s " + indexMatch("SAVING", "s.id", searchConditions) + " left join m_client c on s.client_id = c.id left join m_group g ON s.group_id = g.id left join m_office o on o.id = c.office_id left join m_savings_product sp on sp.id=s.product_id "
+                    + " where (o.hierarchy IS NULL OR o.hierarchy like :hierarchy) " + (this.useIndex ? "" : " and (s.account_no like :search or s.external_id like :search)") + ") ";
             
             final String clientIdentifierMatchSql = " (select 'CLIENTIDENTIFIER' as entityType, ci.id as entityId, ci.document_key as entityName, "
                     + " null as entityExternalId, null as entityAccountNo, c.id as parentId, c.display_name as parentName,null as entityMobileNo, c.status_enum as entityStatusEnum, null as parentType "
-                    + " from m_client_identifier ci join m_client c on ci.client_id=c.id join m_office o on o.id = c.office_id "
-                    + " where o.hierarchy like :hierarchy and ci.document_key like :search ) ";
+                    + " from m_client_identifier ci " + indexMatch("CLIENTIDENTIFIER", "ci.id", searchConditions) + " join m_client c on ci.client_id=c.id join m_office o on o.id = c.office_id "
+                    + " where o.hierarchy like :hierarchy " + (this.useIndex ? "" : " and ci.document_key like :search") + " ) ";
             final String groupMatchSql = " (select IF(g.level_id=1,'CENTER','GROUP') as entityType, g.id as entityId, g.display_name as entityName, g.external_id as entityExternalId, g.account_no as entityAccountNo "
                     + " , g.office_id as parentId, o.name as parentName, null as entityMobileNo, g.status_enum as entityStatusEnum, null as parentType "
-                    + " from m_group g join m_office o on o.id = g.office_id where o.hierarchy like :hierarchy and (g.account_no like :search or g.display_name like :search or g.external_id like :search or g.id like :search )) ";
+                    + " from m_group g " + indexMatch("GROUP", "g.id", searchConditions) + " join m_office o on o.id = g.office_id where o.hierarchy like :hierarchy "
+                    + (this.useIndex ? "" : " and (g.account_no like :search or g.display_name like :search or g.external_id like :search or g.id like :search )") + ") ";
             final StringBuffer sql = new StringBuffer();
 
             if (searchConditions.isClientSearch()) {
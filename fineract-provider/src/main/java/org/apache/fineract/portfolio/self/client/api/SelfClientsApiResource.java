@@ -92,9 +92,13 @@ public class SelfClientsApiResource {
 		final String externalId = null;
 		final String hierarchy = null;
 		final Boolean orphansOnly = null;
+		final Boolean keyset = null;
+		final String continuationToken = null;
+		final Boolean countTotal = null;
 		return this.clientApiResource.retrieveAll(uriInfo, sqlSearch, officeId,
 				externalId, displayName, firstname, lastname, hierarchy,
-				offset, limit, orderBy, sortOrder, orphansOnly, true);
+				offset, limit, orderBy, sortOrder, orphansOnly, keyset,
+				continuationToken, countTotal, true);
 	}
 
 	@GET
@@ -41,6 +41,8 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import org.apache.fineract.commands.domain.CommandWrapper;
@@ -58,6 +60,7 @@ import org.apache.fineract.template.domain.TemplateType;
 import org.apache.fineract.template.service.TemplateDomainService;
 import org.apache.fineract.template.service.TemplateMergeService;
 import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.type.TypeReference;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
@@ -195,6 +198,32 @@ public class TemplatesApiResource {
         @SuppressWarnings("unchecked")
         final HashMap<String, Object> result = new ObjectMapper().readValue(apiRequestBodyAsJson, HashMap.class);
 
+        final Map<String, Object> parametersMap = parametersFrom(uriInfo);
+        parametersMap.putAll(result);
+        return this.templateMergeService.compile(template, parametersMap, uriInfo);
+    }
+
+    /**
+     * Merges the template for every object of the JSON array in the request
+     * body and streams the merged documents back as a JSON array of strings.
+     */
+    @POST
+    @Path("{templateId}/merge")
+    public Response mergeTemplates(@PathParam("templateId") final Long templateId, @Context final UriInfo uriInfo,
+            final String apiRequestBodyAsJson) throws IOException {
+
+        this.context.authenticatedUser().validateHasReadPermission(this.RESOURCE_NAME_FOR_PERMISSION);
+
+        final Template template = this.templateService.findOneById(templateId);
+
+        final List<HashMap<String, Object>> documents = new ObjectMapper().readValue(apiRequestBodyAsJson,
+                new TypeReference<List<HashMap<String, Object>>>() {});
+
+        final StreamingOutput result = this.templateMergeService.compileAll(template, parametersFrom(uriInfo), documents, uriInfo);
+        return Response.ok().entity(result).type(MediaType.APPLICATION_JSON).build();
+    }
+
+    private static Map<String, Object> parametersFrom(final UriInfo uriInfo) {
         final MultivaluedMap<String, String> parameters = uriInfo.getQueryParameters();
         final Map<String, Object> parametersMap = new HashMap<>();
         for (final Map.Entry<String, List<String>> entry : parameters.entrySet()) {
@@ -207,7 +236,6 @@ public class TemplatesApiResource {
         }
 
         parametersMap.put("BASE_URI", uriInfo.getBaseUri());
-        parametersMap.putAll(result);
-        return this.templateMergeService.compile(template, parametersMap);
+        return parametersMap;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.template.service;
+
+import java.io.IOException;
+import java.util.Map;
+
+import javax.ws.rs.core.UriInfo;
+
+/**
+ * Resolves the data a {@link org.apache.fineract.template.domain.TemplateMapper}
+ * points to inside this application, without an HTTP round trip to its own
+ * REST API.
+ */
+public interface TemplateMapperResolver {
+
+    /**
+     * @param relativeUrl
+     *            the mapper URL relative to the API base URI, e.g.
+     *            <code>loans/1?associations=all</code>
+     * @param requestUriInfo
+     *            the {@link UriInfo} of the request that merges the template
+     * @return the JSON the API returns for the URL as a map, or
+     *         <code>null</code> if the URL can not be resolved in-process
+     */
+    Map<String, Object> resolve(String relativeUrl, UriInfo requestUriInfo) throws IOException;
+}
@@ -0,0 +1,232 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.template.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.PathSegment;
+import javax.ws.rs.core.UriBuilder;
+import javax.ws.rs.core.UriInfo;
+
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.client.api.ClientsApiResource;
+import org.apache.fineract.portfolio.group.api.GroupsApiResource;
+import org.apache.fineract.portfolio.loanaccount.api.LoansApiResource;
+import org.apache.fineract.portfolio.savings.api.SavingsAccountsApiResource;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.sun.jersey.core.util.MultivaluedMapImpl;
+
+/**
+ * Resolves mappers for single clients, groups, loans and savings accounts by
+ * calling the same API resource methods the HTTP request would reach, so the
+ * data is identical to what the mapper got over HTTP. The calls run as the
+ * currently authenticated user of the current tenant, within the request
+ * that merges the template.
+ */
+@Service
+public class TemplateMapperResolverImpl implements TemplateMapperResolver {
+
+    private static final Pattern RESOURCE_URL = Pattern
+            .compile("^/?(?:api/v1/)?(clients|groups|loans|savingsaccounts)/(\\d+)/?(?:\\?(.*))?$");
+
+    private final ClientsApiResource clientsApiResource;
+    private final GroupsApiResource groupsApiResource;
+    private final LoansApiResource loansApiResource;
+    private final SavingsAccountsApiResource savingsAccountsApiResource;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    public TemplateMapperResolverImpl(final ClientsApiResource clientsApiResource, final GroupsApiResource groupsApiResource,
+            final LoansApiResource loansApiResource, final SavingsAccountsApiResource savingsAccountsApiResource) {
+        this.clientsApiResource = clientsApiResource;
+        this.groupsApiResource = groupsApiResource;
+        this.loansApiResource = loansApiResource;
+        this.savingsAccountsApiResource = savingsAccountsApiResource;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Map<String, Object> resolve(final String relativeUrl, final UriInfo requestUriInfo) throws IOException {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (requestUriInfo == null || tenant == null || SecurityContextHolder.getContext().getAuthentication() == null) { return null; }
+
+        final Matcher matcher = RESOURCE_URL.matcher(relativeUrl);
+        if (!matcher.matches()) { return null; }
+
+        final MultivaluedMap<String, String> queryParameters = parseQuery(matcher.group(3));
+        final String tenantIdentifier = queryParameters.getFirst("tenantIdentifier");
+        if (tenantIdentifier != null && !tenantIdentifier.equals(tenant.getTenantIdentifier())) { return null; }
+
+        final String resource = matcher.group(1);
+        final Long id = Long.valueOf(matcher.group(2));
+        final boolean staffInSelectedOfficeOnly = Boolean.parseBoolean(queryParameters.getFirst("staffInSelectedOfficeOnly"));
+        final UriInfo uriInfo = new MapperUriInfo(requestUriInfo, queryParameters);
+
+        final String json;
+        if ("clients".equals(resource)) {
+            json = this.clientsApiResource.retrieveOne(id, uriInfo, staffInSelectedOfficeOnly);
+        } else if ("groups".equals(resource)) {
+            final String roleId = queryParameters.getFirst("roleId");
+            json = this.groupsApiResource.retrieveOne(uriInfo, id, staffInSelectedOfficeOnly, roleId == null ? null : Long.valueOf(roleId));
+        } else if ("loans".equals(resource)) {
+            json = this.loansApiResource.retrieveLoan(id, staffInSelectedOfficeOnly, uriInfo);
+        } else {
+            final String chargeStatus = queryParameters.getFirst("chargeStatus");
+            json = this.savingsAccountsApiResource.retrieveOne(id, staffInSelectedOfficeOnly, chargeStatus == null ? "all" : chargeStatus,
+                    uriInfo);
+        }
+
+        return this.objectMapper.readValue(json, HashMap.class);
+    }
+
+    private static MultivaluedMap<String, String> parseQuery(final String query) throws IOException {
+        final MultivaluedMap<String, String> parameters = new MultivaluedMapImpl();
+        if (query == null || query.isEmpty()) { return parameters; }
+
+        final String encoding = StandardCharsets.UTF_8.name();
+        for (final String parameter : query.split("&")) {
+            if (parameter.isEmpty()) {
+                continue;
+            }
+            final int separator = parameter.indexOf('=');
+            if (separator < 0) {
+                parameters.add(URLDecoder.decode(parameter, encoding), "");
+            } else {
+                parameters.add(URLDecoder.decode(parameter.substring(0, separator), encoding),
+                        URLDecoder.decode(parameter.substring(separator + 1), encoding));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * The {@link UriInfo} of the request that merges the template with the
+     * query parameters of the mapper URL in place of its own. Everything else
+     * is answered by the request's Jersey implementation.
+     */
+    private static final class MapperUriInfo implements UriInfo {
+
+        private final UriInfo requestUriInfo;
+        private final MultivaluedMap<String, String> queryParameters;
+
+        MapperUriInfo(final UriInfo requestUriInfo, final MultivaluedMap<String, String> queryParameters) {
+            this.requestUriInfo = requestUriInfo;
+            this.queryParameters = queryParameters;
+        }
+
+        @Override
+        public MultivaluedMap<String, String> getQueryParameters() {
+            return this.queryParameters;
+        }
+
+        @Override
+        public MultivaluedMap<String, String> getQueryParameters(final boolean decode) {
+            return this.queryParameters;
+        }
+
+        @Override
+        public String getPath() {
+            return this.requestUriInfo.getPath();
+        }
+
+        @Override
+        public String getPath(final boolean decode) {
+            return this.requestUriInfo.getPath(decode);
+        }
+
+        @Override
+        public List<PathSegment> getPathSegments() {
+            return this.requestUriInfo.getPathSegments();
+        }
+
+        @Override
+        public List<PathSegment> getPathSegments(final boolean decode) {
+            return this.requestUriInfo.getPathSegments(decode);
+        }
+
+        @Override
+        public URI getRequestUri() {
+            return this.requestUriInfo.getRequestUri();
+        }
+
+        @Override
+        public UriBuilder getRequestUriBuilder() {
+            return this.requestUriInfo.getRequestUriBuilder();
+        }
+
+        @Override
+        public URI getAbsolutePath() {
+            return this.requestUriInfo.getAbsolutePath();
+        }
+
+        @Override
+        public UriBuilder getAbsolutePathBuilder() {
+            return this.requestUriInfo.getAbsolutePathBuilder();
+        }
+
+        @Override
+        public URI getBaseUri() {
+            return this.requestUriInfo.getBaseUri();
+        }
+
+        @Override
+        public UriBuilder getBaseUriBuilder() {
+            return this.requestUriInfo.getBaseUriBuilder();
+        }
+
+        @Override
+        public MultivaluedMap<String, String> getPathParameters() {
+            return this.requestUriInfo.getPathParameters();
+        }
+
+        @Override
+        public MultivaluedMap<String, String> getPathParameters(final boolean decode) {
+            return this.requestUriInfo.getPathParameters(decode);
+        }
+
+        @Override
+        public List<String> getMatchedURIs() {
+            return this.requestUriInfo.getMatchedURIs();
+        }
+
+        @Override
+        public List<String> getMatchedURIs(final boolean decode) {
+            return this.requestUriInfo.getMatchedURIs(decode);
+        }
+
+        @Override
+        public List<Object> getMatchedResources() {
+            return this.requestUriInfo.getMatchedResources();
+        }
+    }
+}
@@ -19,100 +19,206 @@
 package org.apache.fineract.template.service;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringReader;
 import java.io.StringWriter;
-import java.net.Authenticator;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
-import java.net.PasswordAuthentication;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
+
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.template.domain.Template;
 import org.apache.fineract.template.domain.TemplateFunctions;
 import org.codehaus.jackson.map.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
 import org.springframework.stereotype.Service;
 
 import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
 import com.github.mustachejava.MustacheFactory;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.gson.stream.JsonWriter;
 
 @Service
 public class TemplateMergeService {
 	private final static Logger logger = LoggerFactory.getLogger(TemplateMergeService.class);
-	
-
-    // private final FromJsonHelper fromApiJsonHelper;
-    private Map<String, Object> scopes;
-    private String authToken;
 
-    // @Autowired
-    // public TemplateMergeService(final FromJsonHelper fromApiJsonHelper) {
-    // this.fromApiJsonHelper = fromApiJsonHelper;
-    //
+    private final MustacheFactory mustacheFactory = new DefaultMustacheFactory();
+    private final Cache<String, CompiledTemplate> compiledTemplates = CacheBuilder.newBuilder().maximumSize(500).build();
+    private final TemplateMapperResolver mapperResolver;
 
-    public void setAuthToken(final String authToken) {
-        //final String auth = ThreadLocalContextUtil.getAuthToken();
-    	this.authToken =  authToken;
+    @Autowired
+    public TemplateMergeService(final TemplateMapperResolver mapperResolver) {
+        this.mapperResolver = mapperResolver;
     }
-    
 
     public String compile(final Template template, final Map<String, Object> scopes) throws MalformedURLException, IOException {
-        this.scopes = scopes;
-        this.scopes.put("static", new TemplateFunctions());
-        
-        final MustacheFactory mf = new DefaultMustacheFactory();
-        final Mustache mustache = mf.compile(new StringReader(template.getText()), template.getName());
+        return merge(template, scopes, null, null);
+    }
+
+    /**
+     * @param authToken
+     *            authentication token to fetch the mappers over HTTP with, for
+     *            callers that run outside of an authenticated request
+     */
+    public String compile(final Template template, final Map<String, Object> scopes, final String authToken)
+            throws MalformedURLException, IOException {
+        return merge(template, scopes, authToken, null);
+    }
+
+    /**
+     * @param requestUriInfo
+     *            the {@link UriInfo} of the request that merges the template;
+     *            the mappers the {@link TemplateMapperResolver} knows are
+     *            resolved in-process within this request, the others are
+     *            fetched over HTTP as the currently authenticated user
+     */
+    public String compile(final Template template, final Map<String, Object> scopes, final UriInfo requestUriInfo)
+            throws MalformedURLException, IOException {
+        return merge(template, scopes, null, requestUriInfo);
+    }
 
-        final Map<String, Object> mappers = getCompiledMapFromMappers(template.getMappersAsMap());
-        this.scopes.putAll(mappers);
+    /**
+     * Merges the template once per document and streams the results as a JSON
+     * array of strings, in the order of the documents. The scopes of each
+     * document are the shared parameters overlaid with its own values; the
+     * template is compiled only once for all of them. A document that fails to
+     * merge is written as an error object in its place, so the array always
+     * holds one entry per document.
+     */
+    public StreamingOutput compileAll(final Template template, final Map<String, Object> parameters,
+            final List<? extends Map<String, Object>> documents, final UriInfo requestUriInfo) {
+        return new StreamingOutput() {
+
+            @Override
+            public void write(final OutputStream out) throws IOException {
+                final JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+                writer.beginArray();
+                for (final Map<String, Object> document : documents) {
+                    final Map<String, Object> scopes = new HashMap<>(parameters);
+                    scopes.putAll(document);
+                    String merged = null;
+                    String failure = null;
+                    try {
+                        merged = merge(template, scopes, null, requestUriInfo);
+                    } catch (final IOException | RuntimeException e) {
+                        logger.error("compileAll() failed to merge a document", e);
+                        failure = e.getMessage();
+                    }
+                    if (failure == null) {
+                        writer.value(merged);
+                    } else {
+                        writer.beginObject();
+                        writer.name("userMessageGlobalisationCode").value("error.msg.template.merge.failed");
+                        writer.name("defaultUserMessage").value(failure);
+                        writer.endObject();
+                    }
+                }
+                writer.endArray();
+                writer.flush();
+            }
+        };
+    }
+
+    private String merge(final Template template, final Map<String, Object> scopes, final String authToken,
+            final UriInfo requestUriInfo) throws MalformedURLException, IOException {
+        scopes.put("static", new TemplateFunctions());
+
+        final CompiledTemplate compiledTemplate = compiledTemplateFor(template);
+
+        final Map<String, Object> mappers = getCompiledMapFromMappers(compiledTemplate.mappers, scopes, authToken, requestUriInfo);
+        scopes.putAll(mappers);
 
         expandMapArrays(scopes);
 
         final StringWriter stringWriter = new StringWriter();
-        mustache.execute(stringWriter, this.scopes);
+        compiledTemplate.mustache.execute(stringWriter, scopes);
 
         return stringWriter.toString();
     }
 
-	private Map<String, Object> getCompiledMapFromMappers(final Map<String, String> data) {
-        final MustacheFactory mf = new DefaultMustacheFactory();
+    /**
+     * Returns the compiled form of the template, compiling it only if it was
+     * not compiled before or its text or mappers have changed since. Templates
+     * that have not been saved yet are compiled every time.
+     */
+    private CompiledTemplate compiledTemplateFor(final Template template) {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (template.getId() == null || tenant == null) { return compileTemplate(template); }
+
+        final String key = tenant.getTenantIdentifier() + ":" + template.getId();
+        CompiledTemplate compiledTemplate = this.compiledTemplates.getIfPresent(key);
+        if (compiledTemplate == null || !compiledTemplate.isCompiledFrom(template)) {
+            compiledTemplate = compileTemplate(template);
+            this.compiledTemplates.put(key, compiledTemplate);
+        }
+        return compiledTemplate;
+    }
+
+    private CompiledTemplate compileTemplate(final Template template) {
+        final Map<String, String> mapperUrls = template.getMappersAsMap();
+        final Map<String, Mustache> mappers = new LinkedHashMap<>();
+        for (final Map.Entry<String, String> entry : mapperUrls.entrySet()) {
+            mappers.put(entry.getKey(), this.mustacheFactory.compile(new StringReader(entry.getValue()), ""));
+        }
+        final Mustache mustache = this.mustacheFactory.compile(new StringReader(template.getText()), template.getName());
+        return new CompiledTemplate(template.getName(), template.getText(), mapperUrls, mustache, mappers);
+    }
 
-        if (data != null) {
-            for (final Map.Entry<String, String> entry : data.entrySet()) {
-                final Mustache mappersMustache = mf.compile(new StringReader(entry.getValue()), "");
-                final StringWriter stringWriter = new StringWriter();
+    private Map<String, Object> getCompiledMapFromMappers(final Map<String, Mustache> mappers, final Map<String, Object> scopes,
+            final String authToken, final UriInfo requestUriInfo) {
+        for (final Map.Entry<String, Mustache> entry : mappers.entrySet()) {
+            final StringWriter stringWriter = new StringWriter();
 
-                mappersMustache.execute(stringWriter, this.scopes);
-                String url = stringWriter.toString();
+            entry.getValue().execute(stringWriter, scopes);
+            String url = stringWriter.toString();
+            try {
+                Map<String, Object> mapperData = null;
                 if (!url.startsWith("http")) {
-                    url = this.scopes.get("BASE_URI") + url;
+                    if (authToken == null && requestUriInfo != null) {
+                        mapperData = this.mapperResolver.resolve(url, requestUriInfo);
+                    }
+                    url = scopes.get("BASE_URI") + url;
                 }
-                try {
-                    this.scopes.put(entry.getKey(), getMapFromUrl(url));
-                } catch (final IOException e) {
-                	logger.error("getCompiledMapFromMappers() failed", e);
+                if (mapperData == null) {
+                    mapperData = getMapFromUrl(url, authToken);
                 }
+                scopes.put(entry.getKey(), mapperData);
+            } catch (final IOException | RuntimeException e) {
+            	logger.error("getCompiledMapFromMappers() failed", e);
             }
         }
-        return this.scopes;
+        return scopes;
     }
 
     @SuppressWarnings("unchecked")
-    private Map<String, Object> getMapFromUrl(final String url) throws MalformedURLException, IOException {
-        final HttpURLConnection connection = getConnection(url);
+    private Map<String, Object> getMapFromUrl(final String url, final String authToken) throws MalformedURLException, IOException {
+        final HttpURLConnection connection = getConnection(url, authToken);
 
         final String response = getStringFromInputStream(connection.getInputStream());
         HashMap<String, Object> result = new HashMap<>();
@@ -124,24 +230,22 @@ public class TemplateMergeService {
         return result;
     }
 
-    private HttpURLConnection getConnection(final String url) {
-        if (this.authToken == null) {
-            final String name = SecurityContextHolder.getContext().getAuthentication().getName();
-            final String password = SecurityContextHolder.getContext().getAuthentication().getCredentials().toString();
-
-            Authenticator.setDefault(new Authenticator() {
-                @Override
-                protected PasswordAuthentication getPasswordAuthentication() {
-                    return new PasswordAuthentication(name, password.toCharArray());
-                }
-            });
-        }
+    /**
+     * Connects with the given authentication token or, when there is none,
+     * with the token the current request was authenticated with. The scheme
+     * follows the active authentication: OAuth requests carry a bearer token,
+     * all others a basic authentication token.
+     */
+    private HttpURLConnection getConnection(final String url, final String authToken) {
+        final String token = authToken != null ? authToken : ThreadLocalContextUtil.getAuthToken();
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        final String scheme = authentication instanceof OAuth2Authentication ? "Bearer " : "Basic ";
 
         HttpURLConnection connection = null;
         try {
             connection = (HttpURLConnection) new URL(url).openConnection();
-            if (this.authToken != null) {
-                connection.setRequestProperty("Authorization", "Basic " + this.authToken);
+            if (token != null) {
+                connection.setRequestProperty("Authorization", scheme + token);
             }
             TrustModifier.relaxHostChecking(connection);
 
@@ -210,4 +314,26 @@ public class TemplateMergeService {
 		}		
 	}
 
+    private static final class CompiledTemplate {
+
+        private final String name;
+        private final String text;
+        private final Map<String, String> mapperUrls;
+        private final Mustache mustache;
+        private final Map<String, Mustache> mappers;
+
+        CompiledTemplate(final String name, final String text, final Map<String, String> mapperUrls, final Mustache mustache,
+                final Map<String, Mustache> mappers) {
+            this.name = name;
+            this.text = text;
+            this.mapperUrls = mapperUrls;
+            this.mustache = mustache;
+            this.mappers = mappers;
+        }
+
+        boolean isCompiledFrom(final Template template) {
+            return Objects.equals(this.name, template.getName()) && Objects.equals(this.text, template.getText())
+                    && this.mapperUrls.equals(template.getMappersAsMap());
+        }
+    }
 }
@@ -19,6 +19,7 @@
 package org.apache.fineract.useradministration.domain;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
@@ -39,6 +40,7 @@ import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
+import javax.persistence.Transient;
 import javax.persistence.UniqueConstraint;
 
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
@@ -124,6 +126,13 @@ public class AppUser extends AbstractPersistableCustom<Long> implements Platform
     @JoinColumn(name = "appuser_id", referencedColumnName= "id", nullable = false)
     private Set<AppUserClientMapping> appUserClientMappings = new HashSet<>();
 
+    /**
+     * Union of the permission ordinals of {@link #roles}, built on first
+     * permission check and dropped whenever the roles change.
+     */
+    @Transient
+    private volatile BitSet permissionOrdinals;
+
 	public static AppUser fromJson(final Office userOffice, final Staff linkedStaff, final Set<Role> allRoles, 
 			final Collection<Client> clients, final JsonCommand command) {
 
@@ -217,6 +226,7 @@ public class AppUser extends AbstractPersistableCustom<Long> implements Platform
         if (!allRoles.isEmpty()) {
             this.roles.clear();
             this.roles = allRoles;
+            this.permissionOrdinals = null;
         }
     }
 
@@ -352,6 +362,7 @@ public class AppUser extends AbstractPersistableCustom<Long> implements Platform
         this.firstTimeLoginRemaining = true;
         this.username = getId() + "_DELETED_" + this.username;
         this.roles.clear();
+        this.permissionOrdinals = null;
     }
 
     public boolean isDeleted() {
@@ -506,27 +517,30 @@ public class AppUser extends AbstractPersistableCustom<Long> implements Platform
     }
 
     private boolean hasPermissionTo(final String permissionCode) {
-        boolean hasPermission = hasAllFunctionsPermission();
+        final BitSet ordinals = permissionOrdinals();
+        boolean hasPermission = hasAllFunctionsPermission(ordinals);
         if (!hasPermission) {
-            for (final Role role : this.roles) {
-                if (role.hasPermissionTo(permissionCode)) {
-                    hasPermission = true;
-                    break;
-                }
-            }
+            final int ordinal = PermissionCodeOrdinals.ordinalOf(permissionCode);
+            hasPermission = ordinal != PermissionCodeOrdinals.UNKNOWN && ordinals.get(ordinal);
         }
         return hasPermission;
     }
 
-    private boolean hasAllFunctionsPermission() {
-        boolean match = false;
-        for (final Role role : this.roles) {
-            if (role.hasPermissionTo("ALL_FUNCTIONS")) {
-                match = true;
-                break;
+    private boolean hasAllFunctionsPermission(final BitSet ordinals) {
+        final int ordinal = PermissionCodeOrdinals.ordinalOf("ALL_FUNCTIONS");
+        return ordinal != PermissionCodeOrdinals.UNKNOWN && ordinals.get(ordinal);
+    }
+
+    private BitSet permissionOrdinals() {
+        BitSet ordinals = this.permissionOrdinals;
+        if (ordinals == null) {
+            ordinals = new BitSet();
+            for (final Role role : this.roles) {
+                ordinals.or(role.permissionOrdinals());
             }
+            this.permissionOrdinals = ordinals;
         }
-        return match;
+        return ordinals;
     }
 
     public boolean hasIdOf(final Long userId) {
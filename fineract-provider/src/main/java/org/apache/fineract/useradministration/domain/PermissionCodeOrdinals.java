@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.useradministration.domain;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Numbers permission codes so that the permissions of a {@link Role} and of an
+ * {@link AppUser} can be held as bit sets. Codes are matched ignoring case like
+ * {@link Permission#hasCode(String)} does.
+ * 
+ * An ordinal only names a code and never changes once given out, so a single
+ * table serves every tenant and never has to be rebuilt. Only codes of
+ * permissions held by a role are registered; looking up any other code does
+ * not grow the table.
+ */
+final class PermissionCodeOrdinals {
+
+    static final int UNKNOWN = -1;
+
+    private static final ConcurrentMap<String, Integer> ordinalsByCode = new ConcurrentHashMap<>();
+    private static int nextOrdinal = 0;
+
+    private PermissionCodeOrdinals() {
+        //
+    }
+
+    static int register(final String code) {
+        final Integer ordinal = ordinalsByCode.get(code);
+        if (ordinal != null) { return ordinal; }
+
+        final String normalisedCode = normalise(code);
+        synchronized (ordinalsByCode) {
+            Integer registered = ordinalsByCode.get(normalisedCode);
+            if (registered == null) {
+                registered = nextOrdinal++;
+                ordinalsByCode.put(normalisedCode, registered);
+            }
+            ordinalsByCode.putIfAbsent(code, registered);
+            return registered;
+        }
+    }
+
+    static int ordinalOf(final String code) {
+        Integer ordinal = ordinalsByCode.get(code);
+        if (ordinal == null) {
+            ordinal = ordinalsByCode.get(normalise(code));
+        }
+        return ordinal == null ? UNKNOWN : ordinal;
+    }
+
+    private static String normalise(final String code) {
+        return code.toUpperCase(Locale.ENGLISH);
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.useradministration.domain;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -31,6 +32,7 @@ import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 import javax.persistence.UniqueConstraint;
 
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
@@ -54,6 +56,13 @@ public class Role extends AbstractPersistableCustom<Long> {
     @JoinTable(name = "m_role_permission", joinColumns = @JoinColumn(name = "role_id"), inverseJoinColumns = @JoinColumn(name = "permission_id"))
     private Set<Permission> permissions = new HashSet<>();
 
+    /**
+     * Ordinals of {@link #permissions} in {@link PermissionCodeOrdinals}, built
+     * on first use and dropped whenever the permissions change.
+     */
+    @Transient
+    private volatile BitSet permissionOrdinals;
+
     public static Role fromJson(final JsonCommand command) {
         final String name = command.stringValueOfParameterNamed("name");
         final String description = command.stringValueOfParameterNamed("description");
@@ -98,6 +107,9 @@ public class Role extends AbstractPersistableCustom<Long> {
         } else {
             changed = removePermission(permission);
         }
+        if (changed) {
+            this.permissionOrdinals = null;
+        }
 
         return changed;
     }
@@ -115,14 +127,24 @@ public class Role extends AbstractPersistableCustom<Long> {
     }
 
     public boolean hasPermissionTo(final String permissionCode) {
-        boolean match = false;
-        for (final Permission permission : this.permissions) {
-            if (permission.hasCode(permissionCode)) {
-                match = true;
-                break;
+        final BitSet ordinals = permissionOrdinals();
+        final int ordinal = PermissionCodeOrdinals.ordinalOf(permissionCode);
+        return ordinal != PermissionCodeOrdinals.UNKNOWN && ordinals.get(ordinal);
+    }
+
+    /**
+     * The returned bit set is shared and must not be modified.
+     */
+    BitSet permissionOrdinals() {
+        BitSet ordinals = this.permissionOrdinals;
+        if (ordinals == null) {
+            ordinals = new BitSet();
+            for (final Permission permission : this.permissions) {
+                ordinals.set(PermissionCodeOrdinals.register(permission.getCode()));
             }
+            this.permissionOrdinals = ordinals;
         }
-        return match;
+        return ordinals;
     }
 
     public RoleData toData() {
@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
@@ -43,16 +44,20 @@ public class PermissionWritePlatformServiceJpaRepositoryImpl implements Permissi
     private final PlatformSecurityContext context;
     private final PermissionRepository permissionRepository;
     private final PermissionsCommandFromApiJsonDeserializer fromApiJsonDeserializer;
+    private final ConfigurationDomainService configurationDomainService;
 
     @Autowired
     public PermissionWritePlatformServiceJpaRepositoryImpl(final PlatformSecurityContext context,
-            final PermissionRepository permissionRepository, final PermissionsCommandFromApiJsonDeserializer fromApiJsonDeserializer) {
+            final PermissionRepository permissionRepository, final PermissionsCommandFromApiJsonDeserializer fromApiJsonDeserializer,
+            final ConfigurationDomainService configurationDomainService) {
         this.context = context;
         this.permissionRepository = permissionRepository;
         this.fromApiJsonDeserializer = fromApiJsonDeserializer;
+        this.configurationDomainService = configurationDomainService;
     }
 
-    @Caching(evict = { @CacheEvict(value = "users", allEntries = true), @CacheEvict(value = "usersByUsername", allEntries = true) })
+    @Caching(evict = { @CacheEvict(value = "users", allEntries = true), @CacheEvict(value = "usersByUsername", allEntries = true),
+            @CacheEvict(value = "authenticatedPrincipals", allEntries = true) })
     @Transactional
     @Override
     public CommandProcessingResult updateMakerCheckerPermissions(final JsonCommand command) {
@@ -81,6 +86,7 @@ public class PermissionWritePlatformServiceJpaRepositoryImpl implements Permissi
         }
 
         if (!changedPermissions.isEmpty()) {
+            this.configurationDomainService.removeMakerCheckerPermissionsFromCache();
             changes.put("permissions", changedPermissions);
         }
 
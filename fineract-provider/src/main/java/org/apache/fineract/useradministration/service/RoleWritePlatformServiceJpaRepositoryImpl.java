@@ -118,7 +118,8 @@ public class RoleWritePlatformServiceJpaRepositoryImpl implements RoleWritePlatf
         logger.error(dve.getMessage(), dve);
     }
 
-    @Caching(evict = { @CacheEvict(value = "users", allEntries = true), @CacheEvict(value = "usersByUsername", allEntries = true) })
+    @Caching(evict = { @CacheEvict(value = "users", allEntries = true), @CacheEvict(value = "usersByUsername", allEntries = true),
+            @CacheEvict(value = "authenticatedPrincipals", allEntries = true) })
     @Transactional
     @Override
     public CommandProcessingResult updateRole(final Long roleId, final JsonCommand command) {
@@ -154,7 +155,8 @@ public class RoleWritePlatformServiceJpaRepositoryImpl implements RoleWritePlatf
         }
     }
 
-    @Caching(evict = { @CacheEvict(value = "users", allEntries = true), @CacheEvict(value = "usersByUsername", allEntries = true) })
+    @Caching(evict = { @CacheEvict(value = "users", allEntries = true), @CacheEvict(value = "usersByUsername", allEntries = true),
+            @CacheEvict(value = "authenticatedPrincipals", allEntries = true) })
     @Transactional
     @Override
     public CommandProcessingResult updateRolePermissions(final Long roleId, final JsonCommand command) {
@@ -205,6 +207,8 @@ public class RoleWritePlatformServiceJpaRepositoryImpl implements RoleWritePlatf
     /**
      * Method for Delete Role
      */
+    @Caching(evict = { @CacheEvict(value = "users", allEntries = true), @CacheEvict(value = "usersByUsername", allEntries = true),
+            @CacheEvict(value = "authenticatedPrincipals", allEntries = true) })
     @Transactional
     @Override
     public CommandProcessingResult deleteRole(Long roleId) {
@@ -233,6 +237,8 @@ public class RoleWritePlatformServiceJpaRepositoryImpl implements RoleWritePlatf
     /**
      * Method for disabling the role
      */
+    @Caching(evict = { @CacheEvict(value = "users", allEntries = true), @CacheEvict(value = "usersByUsername", allEntries = true),
+            @CacheEvict(value = "authenticatedPrincipals", allEntries = true) })
     @Transactional
     @Override
     public CommandProcessingResult disableRole(Long roleId) {
@@ -266,6 +272,8 @@ public class RoleWritePlatformServiceJpaRepositoryImpl implements RoleWritePlatf
     /**
      * Method for Enabling the role
      */
+    @Caching(evict = { @CacheEvict(value = "users", allEntries = true), @CacheEvict(value = "usersByUsername", allEntries = true),
+            @CacheEvict(value = "authenticatedPrincipals", allEntries = true) })
     @Transactional
     @Override
     public CommandProcessingResult enableRole(Long roleId) {
@@ -0,0 +1,30 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+CREATE TABLE `acc_gl_running_balance_checkpoint` (
+	`name` VARCHAR(50) NOT NULL,
+	`entry_date` DATE NOT NULL,
+	`journal_entry_id` BIGINT(20) NOT NULL,
+	PRIMARY KEY (`name`)
+)
+COLLATE='utf8_general_ci'
+ENGINE=InnoDB;
+
+ALTER TABLE `acc_gl_journal_entry`
+	ADD INDEX `IND_acc_gl_journal_entry_entry_date_id` (`entry_date`, `id`);
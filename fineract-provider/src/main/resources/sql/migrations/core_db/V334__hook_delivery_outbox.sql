@@ -0,0 +1,40 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+CREATE TABLE `m_hook_delivery` (
+  `id` BIGINT(20) NOT NULL AUTO_INCREMENT,
+  `hook_id` BIGINT(20) NOT NULL,
+  `entity_name` VARCHAR(45) NOT NULL,
+  `action_name` VARCHAR(45) NOT NULL,
+  `payload` LONGTEXT NOT NULL,
+  `status_enum` SMALLINT(5) NOT NULL,
+  `attempts` INT(11) NOT NULL DEFAULT 0,
+  `next_attempt_time` DATETIME NULL DEFAULT NULL,
+  `last_error` VARCHAR(500) NULL DEFAULT NULL,
+  `created_date` DATETIME NOT NULL,
+  PRIMARY KEY (`id`),
+  INDEX `IND_m_hook_delivery_status_next_attempt` (`status_enum`, `next_attempt_time`),
+  CONSTRAINT `FK_m_hook_delivery_hook_id` FOREIGN KEY (`hook_id`) REFERENCES `m_hook` (`id`) ON DELETE CASCADE
+)
+COLLATE='utf8_general_ci'
+ENGINE=InnoDB;
+
+INSERT INTO `c_configuration` (`name`, `value`, `date_value`, `enabled`, `is_trap_door`, `description`) VALUES ('hook-delivery-max-attempts', 8, NULL, 1, 0, 'Number of attempts made to deliver a web hook event before the delivery is moved to the dead letter state');
+INSERT INTO `c_configuration` (`name`, `value`, `date_value`, `enabled`, `is_trap_door`, `description`) VALUES ('hook-delivery-retry-interval', 60, NULL, 1, 0, 'Seconds to wait before retrying a failed web hook delivery. The interval doubles with every further failed attempt');
+
+INSERT INTO `job` (`name`, `display_name`, `cron_expression`, `create_time`, `task_priority`, `group_name`, `previous_run_start_time`, `next_run_time`, `job_key`, `initializing_errorlog`, `is_active`, `currently_running`, `updates_allowed`, `scheduler_group`, `is_misfired`) VALUES ('Retry Hook Deliveries', 'Retry Hook Deliveries', '0 0/1 * 1/1 * ? *', now(), 5, NULL, NULL, NULL, NULL, NULL, 1, 0, 1, 0, 0);
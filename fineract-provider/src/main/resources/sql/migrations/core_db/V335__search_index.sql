@@ -0,0 +1,36 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+CREATE TABLE `m_search_index` (
+  `id` BIGINT(20) NOT NULL AUTO_INCREMENT,
+  `entity_type` VARCHAR(20) NOT NULL,
+  `entity_id` BIGINT(20) NOT NULL,
+  `search_term` VARCHAR(150) NOT NULL,
+  `term_soundex` VARCHAR(50) NULL DEFAULT NULL,
+  `office_hierarchy` VARCHAR(100) NULL DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE INDEX `UQ_m_search_index_entity_term` (`entity_type`, `entity_id`, `search_term`),
+  INDEX `IND_m_search_index_term` (`entity_type`, `search_term`),
+  INDEX `IND_m_search_index_soundex` (`entity_type`, `term_soundex`)
+)
+COLLATE='utf8_general_ci'
+ENGINE=InnoDB;
+
+INSERT INTO `c_configuration` (`name`, `value`, `date_value`, `enabled`, `is_trap_door`, `description`) VALUES ('search-index', NULL, NULL, 0, 0, 'Serve /search from the m_search_index table kept up to date by client, group, loan and savings commands. Run the Rebuild Search Index job once before enabling');
+
+INSERT INTO `job` (`name`, `display_name`, `cron_expression`, `create_time`, `task_priority`, `group_name`, `previous_run_start_time`, `next_run_time`, `job_key`, `initializing_errorlog`, `is_active`, `currently_running`, `updates_allowed`, `scheduler_group`, `is_misfired`) VALUES ('Rebuild Search Index', 'Rebuild Search Index', '0 0 3 ? * SUN *', now(), 5, NULL, NULL, NULL, NULL, NULL, 0, 0, 1, 0, 0);
@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class RunningBalanceMapTest {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    @Test
+    public void missingKeysAreNotFound() {
+        final RunningBalanceMap map = new RunningBalanceMap();
+        assertNull(map.get(0L));
+        assertNull(map.get(42L));
+
+        map.put(42L, BigDecimal.ONE);
+        assertNull(map.get(0L));
+        assertNull(map.get(43L));
+        assertNull(map.get(-42L));
+    }
+
+    @Test
+    public void zeroAndNegativeKeysAreStored() {
+        final RunningBalanceMap map = new RunningBalanceMap();
+        map.put(0L, BigDecimal.ONE);
+        map.put(-1L, BigDecimal.TEN);
+        map.put(Long.MIN_VALUE, BigDecimal.ZERO);
+
+        assertEquals(BigDecimal.ONE, map.get(0L));
+        assertEquals(BigDecimal.TEN, map.get(-1L));
+        assertEquals(BigDecimal.ZERO, map.get(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void putReplacesExistingBalance() {
+        final RunningBalanceMap map = new RunningBalanceMap();
+        map.put(7L, BigDecimal.ONE);
+        map.put(7L, new BigDecimal("12.50"));
+
+        assertEquals(new BigDecimal("12.50"), map.get(7L));
+    }
+
+    @Test
+    public void nullBalanceIsRejected() {
+        final RunningBalanceMap map = new RunningBalanceMap();
+        try {
+            map.put(7L, null);
+            fail("Expected a null running balance to be rejected");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+        assertNull(map.get(7L));
+    }
+
+    @Test
+    public void collidingKeysAreKeptApart() throws Exception {
+        // keys hashing to the last slot probe past the end of the table
+        final List<Long> keys = keysInSlot(DEFAULT_CAPACITY - 1, 4);
+        final RunningBalanceMap map = new RunningBalanceMap();
+        for (int i = 0; i < 3; i++) {
+            map.put(keys.get(i), BigDecimal.valueOf(i));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(BigDecimal.valueOf(i), map.get(keys.get(i)));
+        }
+        assertNull(map.get(keys.get(3)));
+
+        map.put(keys.get(1), BigDecimal.TEN);
+        assertEquals(BigDecimal.ZERO, map.get(keys.get(0)));
+        assertEquals(BigDecimal.TEN, map.get(keys.get(1)));
+        assertEquals(BigDecimal.valueOf(2), map.get(keys.get(2)));
+    }
+
+    @Test
+    public void resizingKeepsAllBalances() throws Exception {
+        final List<Long> collidingKeys = keysInSlot(5, 8);
+        final RunningBalanceMap map = new RunningBalanceMap();
+        for (final Long key : collidingKeys) {
+            map.put(key, BigDecimal.valueOf(key));
+        }
+        for (long officeId = 1; officeId <= 20; officeId++) {
+            for (long accountId = 1; accountId <= 500; accountId++) {
+                map.put(RunningBalanceMap.officeAccountKey(officeId, accountId), BigDecimal.valueOf(officeId * 1000 + accountId));
+            }
+        }
+
+        assertTrue(capacity(map) >= 2 * (collidingKeys.size() + 20 * 500));
+        for (final Long key : collidingKeys) {
+            assertEquals(BigDecimal.valueOf(key), map.get(key));
+        }
+        for (long officeId = 1; officeId <= 20; officeId++) {
+            for (long accountId = 1; accountId <= 500; accountId++) {
+                final long key = RunningBalanceMap.officeAccountKey(officeId, accountId);
+                assertEquals(BigDecimal.valueOf(officeId * 1000 + accountId), map.get(key));
+            }
+        }
+        assertNull(map.get(RunningBalanceMap.officeAccountKey(21, 1)));
+        assertNull(map.get(RunningBalanceMap.officeAccountKey(1, 501)));
+    }
+
+    @Test
+    public void officeAccountKeysAreDistinct() {
+        assertTrue(RunningBalanceMap.officeAccountKey(1, 2) != RunningBalanceMap.officeAccountKey(2, 1));
+        assertTrue(RunningBalanceMap.officeAccountKey(1, 0) != RunningBalanceMap.officeAccountKey(0, 1));
+        assertEquals(0xFFFFFFFFL, RunningBalanceMap.officeAccountKey(0, 0xFFFFFFFFL));
+    }
+
+    /**
+     * Finds keys that all hash to the given slot of a table with the default
+     * capacity.
+     */
+    private static List<Long> keysInSlot(final int slot, final int count) throws Exception {
+        final Method indexOf = RunningBalanceMap.class.getDeclaredMethod("indexOf", long.class, int.class);
+        indexOf.setAccessible(true);
+        final List<Long> keys = new ArrayList<>();
+        for (long key = 1; keys.size() < count; key++) {
+            if ((Integer) indexOf.invoke(null, key, DEFAULT_CAPACITY) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static int capacity(final RunningBalanceMap map) throws Exception {
+        final Field keys = RunningBalanceMap.class.getDeclaredField("keys");
+        keys.setAccessible(true);
+        return ((long[]) keys.get(map)).length;
+    }
+}
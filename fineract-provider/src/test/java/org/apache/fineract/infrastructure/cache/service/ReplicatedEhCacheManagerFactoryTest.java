@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Properties;
+
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import net.sf.ehcache.store.MemoryStoreEvictionPolicy;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.ehcache.EhCacheCacheManager;
+
+/**
+ * Runs two replicated cache managers as a fixed peer group inside this JVM.
+ */
+public class ReplicatedEhCacheManagerFactoryTest {
+
+    private net.sf.ehcache.CacheManager template;
+    private EhCacheCacheManager nodeA;
+    private EhCacheCacheManager nodeB;
+
+    @Before
+    public void setUpPeerGroup() throws IOException {
+        final Configuration configuration = new Configuration().name("replicationTestTemplate");
+        configuration.addCache(new CacheConfiguration("users", 100).eternal(true));
+        configuration.addCache(new CacheConfiguration("codes", 50).timeToLiveSeconds(600).timeToIdleSeconds(300)
+                .memoryStoreEvictionPolicy(MemoryStoreEvictionPolicy.FIFO));
+        this.template = new net.sf.ehcache.CacheManager(configuration);
+
+        final int portA = freePort();
+        final int portB = freePort();
+        this.nodeA = ReplicatedEhCacheManagerFactory.create(this.template, peer("nodeA", portA, portB));
+        this.nodeB = ReplicatedEhCacheManagerFactory.create(this.template, peer("nodeB", portB, portA));
+    }
+
+    @After
+    public void shutDownPeerGroup() {
+        this.nodeA.getCacheManager().shutdown();
+        this.nodeB.getCacheManager().shutdown();
+        this.template.shutdown();
+    }
+
+    @Test
+    public void updateOnOneNodeInvalidatesPeer() {
+        final Cache usersOnA = this.nodeA.getCache("users");
+        final Cache usersOnB = this.nodeB.getCache("users");
+
+        usersOnA.put("mifos", "v1");
+        usersOnB.put("mifos", "v1");
+        usersOnA.put("mifos", "v2");
+
+        assertEquals("v2", usersOnA.get("mifos").get());
+        assertNull(usersOnB.get("mifos"));
+    }
+
+    @Test
+    public void clearOnOneNodeClearsPeer() {
+        this.nodeA.getCache("users").put("mifos", "v1");
+        this.nodeB.getCache("users").put("mifos", "v1");
+
+        this.nodeA.getCache("users").clear();
+
+        assertNull(this.nodeB.getCache("users").get("mifos"));
+    }
+
+    @Test
+    public void replicatedCacheKeepsExpiryAndEvictionOfTemplate() {
+        final CacheConfiguration codes = this.nodeA.getCacheManager().getCache("codes").getCacheConfiguration();
+
+        assertEquals(50, codes.getMaxEntriesLocalHeap());
+        assertFalse(codes.isEternal());
+        assertEquals(600, codes.getTimeToLiveSeconds());
+        assertEquals(300, codes.getTimeToIdleSeconds());
+        assertEquals(MemoryStoreEvictionPolicy.FIFO, codes.getMemoryStoreEvictionPolicy());
+    }
+
+    private static int freePort() throws IOException {
+        try (final ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Properties peer(final String name, final int listenerPort, final int peerPort) {
+        final Properties properties = new Properties();
+        properties.setProperty(ReplicatedEhCacheManagerFactory.NAME, name);
+        properties.setProperty(ReplicatedEhCacheManagerFactory.LISTENER_HOST_NAME, "localhost");
+        properties.setProperty(ReplicatedEhCacheManagerFactory.LISTENER_PORT, String.valueOf(listenerPort));
+        properties.setProperty(ReplicatedEhCacheManagerFactory.PEERS, "localhost:" + peerPort);
+        properties.setProperty(ReplicatedEhCacheManagerFactory.REPLICATE_ASYNCHRONOUSLY, "false");
+        return properties;
+    }
+}
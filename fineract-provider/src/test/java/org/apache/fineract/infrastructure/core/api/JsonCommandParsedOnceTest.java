@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.apache.fineract.infrastructure.core.exception.UnsupportedParameterException;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.portfolio.client.data.ClientDataValidator;
+import org.apache.fineract.portfolio.loanaccount.serialization.LoanApplicationCommandFromApiJsonHelper;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountDataValidator;
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+
+/**
+ * The command source service parses the request body into the
+ * {@link JsonCommand}; the validators work on that tree and must not parse
+ * the body again.
+ */
+public class JsonCommandParsedOnceTest {
+
+    private static class CountingFromJsonHelper extends FromJsonHelper {
+
+        private int parses;
+
+        @Override
+        public JsonElement parse(final String json) {
+            this.parses++;
+            return super.parse(json);
+        }
+    }
+
+    private final CountingFromJsonHelper fromApiJsonHelper = new CountingFromJsonHelper();
+
+    private JsonCommand command(final String json) {
+        final JsonElement parsedCommand = this.fromApiJsonHelper.parse(json);
+        return JsonCommand.from(json, parsedCommand, this.fromApiJsonHelper, null, 1L, null, null, null, null, null, null, null, null);
+    }
+
+    @Test
+    public void clientValidationDoesNotParseAgain() {
+        final JsonCommand command = command("{\"staffId\": 3}");
+
+        new ClientDataValidator(this.fromApiJsonHelper).validateForAssignStaff(command);
+
+        assertEquals(1, this.fromApiJsonHelper.parses);
+    }
+
+    @Test
+    public void savingsValidationDoesNotParseAgain() {
+        final JsonCommand command = command("{\"fromSavingsOfficerId\": 2, \"toSavingsOfficerId\": 3, "
+                + "\"assignmentDate\": \"01 March 2016\", \"locale\": \"en\", \"dateFormat\": \"dd MMMM yyyy\"}");
+
+        new SavingsAccountDataValidator(this.fromApiJsonHelper).validateForAssignSavingsOfficer(command);
+
+        assertEquals(1, this.fromApiJsonHelper.parses);
+    }
+
+    @Test
+    public void loanApplicationValidationDoesNotParseAgain() {
+        final JsonCommand command = command("{\"note\": \"undone by the branch\"}");
+
+        new LoanApplicationCommandFromApiJsonHelper(this.fromApiJsonHelper, null).validateForUndo(command.parsedJson());
+
+        assertEquals(1, this.fromApiJsonHelper.parses);
+    }
+
+    @Test
+    public void unsupportedParametersAreReportedFromTheParsedTree() {
+        final JsonCommand command = command("{\"staffId\": 3, \"officeId\": 1}");
+
+        try {
+            new ClientDataValidator(this.fromApiJsonHelper).validateForAssignStaff(command);
+            fail("officeId is not supported when assigning staff");
+        } catch (final UnsupportedParameterException e) {
+            assertEquals(1, e.getUnsupportedParameters().size());
+            assertEquals("officeId", e.getUnsupportedParameters().get(0));
+        }
+
+        assertEquals(1, this.fromApiJsonHelper.parses);
+    }
+}
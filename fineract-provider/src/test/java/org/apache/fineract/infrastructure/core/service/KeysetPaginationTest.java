@@ -0,0 +1,259 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.fineract.infrastructure.core.data.PaginationParameters;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.KeysetPagination.KeysetRowMapper;
+import org.junit.Test;
+import org.springframework.jdbc.core.RowMapper;
+
+public class KeysetPaginationTest {
+
+    private static final String RESOURCE = "client";
+    private static final String ID_COLUMN = "c.id";
+    private static final String NAME_COLUMN = "c.display_name";
+    private static final Object[] QUERY_ARGS = new Object[] { 1L, "%.1.%" };
+
+    private static final Map<String, String> SORT_COLUMNS = new HashMap<>();
+    static {
+        SORT_COLUMNS.put("id", ID_COLUMN);
+        SORT_COLUMNS.put("displayName", NAME_COLUMN);
+    }
+
+    @Test
+    public void firstPageHasNoPredicateAndKeepsArguments() {
+        final KeysetPagination pagination = pagination("displayName", "ASC", 2, null);
+
+        assertEquals("", pagination.predicateSql(" where "));
+        assertArrayEquals(QUERY_ARGS, pagination.arguments(QUERY_ARGS));
+        assertEquals(" order by c.display_name ASC, c.id ASC limit 3", pagination.orderByAndLimitSql());
+    }
+
+    @Test
+    public void ascendingContinuesAfterNonNullValue() throws SQLException {
+        final KeysetPagination pagination = pagination("displayName", "ASC", 2, tokenFor("displayName", "ASC", "Doe", 42L));
+
+        assertEquals(" and (c.display_name >= ? and (c.display_name > ? or c.id > ?))", pagination.predicateSql(" and "));
+        assertArrayEquals(new Object[] { 1L, "%.1.%", "Doe", "Doe", 42L }, pagination.arguments(QUERY_ARGS));
+    }
+
+    @Test
+    public void ascendingContinuesAfterNullValue() throws SQLException {
+        final KeysetPagination pagination = pagination("displayName", "ASC", 2, tokenFor("displayName", "ASC", null, 42L));
+
+        // nulls sort first in ascending order, so every non null value follows
+        assertEquals(" where (c.display_name is not null or c.id > ?)", pagination.predicateSql(" where "));
+        assertArrayEquals(new Object[] { 1L, "%.1.%", 42L }, pagination.arguments(QUERY_ARGS));
+    }
+
+    @Test
+    public void descendingContinuesAfterNonNullValue() throws SQLException {
+        final KeysetPagination pagination = pagination("displayName", "DESC", 2, tokenFor("displayName", "DESC", "Doe", 42L));
+
+        assertEquals(" and (c.display_name is null or (c.display_name <= ? and (c.display_name < ? or c.id < ?)))",
+                pagination.predicateSql(" and "));
+        assertArrayEquals(new Object[] { 1L, "%.1.%", "Doe", "Doe", 42L }, pagination.arguments(QUERY_ARGS));
+        assertEquals(" order by c.display_name DESC, c.id DESC limit 3", pagination.orderByAndLimitSql());
+    }
+
+    @Test
+    public void descendingContinuesAfterNullValue() throws SQLException {
+        final KeysetPagination pagination = pagination("displayName", "DESC", 2, tokenFor("displayName", "DESC", null, 42L));
+
+        // nulls sort last in descending order, so only the remaining nulls follow
+        assertEquals(" and (c.display_name is null and c.id < ?)", pagination.predicateSql(" and "));
+        assertArrayEquals(new Object[] { 1L, "%.1.%", 42L }, pagination.arguments(QUERY_ARGS));
+    }
+
+    @Test
+    public void orderingOnIdAloneNeedsNoTieBreaker() throws SQLException {
+        final KeysetPagination first = pagination("id", "ASC", 2, null);
+        assertEquals("c.id as keysetId, ", first.selectSql());
+        assertEquals(" order by c.id ASC limit 3", first.orderByAndLimitSql());
+
+        final KeysetRowMapper<Long> mapper = first.rowMapper(idMapper());
+        final List<Long> rows = mapRows(mapper, 3, null);
+        assertEquals(Arrays.asList(1L, 2L), mapper.pageItems(rows));
+
+        final KeysetPagination next = pagination("id", "ASC", 2, mapper.continuationToken());
+        assertEquals(" where (c.id > ?)", next.predicateSql(" where "));
+        assertArrayEquals(new Object[] { 1L, "%.1.%", 2L }, next.arguments(QUERY_ARGS));
+    }
+
+    @Test
+    public void tokenRoundTripsTimestampValue() throws SQLException {
+        final Timestamp value = new Timestamp(1476612345678L);
+        assertEquals(value, afterValue(tokenFor("displayName", "ASC", value, 7L)));
+    }
+
+    @Test
+    public void tokenRoundTripsDateValue() throws SQLException {
+        final Date value = Date.valueOf("2016-10-16");
+        assertEquals(value, afterValue(tokenFor("displayName", "ASC", value, 7L)));
+    }
+
+    @Test
+    public void tokenRoundTripsNumberValue() throws SQLException {
+        assertEquals(new BigDecimal("1250.50"), afterValue(tokenFor("displayName", "ASC", new BigDecimal("1250.50"), 7L)));
+        assertEquals(new BigDecimal("12"), afterValue(tokenFor("displayName", "ASC", 12L, 7L)));
+    }
+
+    @Test
+    public void tokenRoundTripsStringValue() throws SQLException {
+        final String value = "Ana \"Mar\u00eda\" \u00d1\u00fa\u00f1ez";
+        assertEquals(value, afterValue(tokenFor("displayName", "ASC", value, 7L)));
+    }
+
+    @Test
+    public void tokenIsRejectedForDifferentSortOrder() throws SQLException {
+        assertRejected("displayName", "DESC", tokenFor("displayName", "ASC", "Doe", 42L),
+                "validation.msg.client.continuationToken.does.not.match.ordering");
+    }
+
+    @Test
+    public void tokenIsRejectedForDifferentOrderBy() throws SQLException {
+        assertRejected("id", "ASC", tokenFor("displayName", "ASC", "Doe", 42L),
+                "validation.msg.client.continuationToken.does.not.match.ordering");
+    }
+
+    @Test
+    public void malformedTokenIsRejected() {
+        assertRejected("displayName", "ASC", "not-a-token", "validation.msg.client.continuationToken.is.invalid");
+    }
+
+    @Test
+    public void rowMapperWithFewerRowsThanLimitHasNoNextPage() throws SQLException {
+        final KeysetRowMapper<Long> mapper = pagination("displayName", "ASC", 3, null).rowMapper(idMapper());
+        final List<Long> rows = mapRows(mapper, 2, "Doe");
+
+        assertEquals(Arrays.asList(1L, 2L), mapper.pageItems(rows));
+        assertNull(mapper.continuationToken());
+    }
+
+    @Test
+    public void rowMapperWithExactlyLimitRowsHasNoNextPage() throws SQLException {
+        final KeysetRowMapper<Long> mapper = pagination("displayName", "ASC", 3, null).rowMapper(idMapper());
+        final List<Long> rows = mapRows(mapper, 3, "Doe");
+
+        assertEquals(Arrays.asList(1L, 2L, 3L), mapper.pageItems(rows));
+        assertNull(mapper.continuationToken());
+    }
+
+    @Test
+    public void rowMapperWithOneRowBeyondLimitContinuesAfterLastPageRow() throws SQLException {
+        final KeysetRowMapper<Long> mapper = pagination("displayName", "ASC", 3, null).rowMapper(idMapper());
+        final List<Long> rows = mapRows(mapper, 4, "Doe");
+
+        assertEquals(Arrays.asList(1L, 2L, 3L), mapper.pageItems(rows));
+        assertNotNull(mapper.continuationToken());
+
+        // the token points at the last row of the page, not at the extra row
+        final KeysetPagination next = pagination("displayName", "ASC", 3, mapper.continuationToken());
+        assertArrayEquals(new Object[] { 1L, "%.1.%", "Doe", "Doe", 3L }, next.arguments(QUERY_ARGS));
+    }
+
+    private static KeysetPagination pagination(final String orderBy, final String sortOrder, final Integer limit,
+            final String continuationToken) {
+        final PaginationParameters parameters = PaginationParameters.instance(true, null, limit, orderBy, sortOrder)
+                .withKeysetPagination(true, continuationToken, false);
+        return KeysetPagination.from(parameters, RESOURCE, ID_COLUMN, SORT_COLUMNS, "id", "ASC");
+    }
+
+    /**
+     * Issues a continuation token the way a page ending on the given row
+     * would.
+     */
+    private static String tokenFor(final String orderBy, final String sortOrder, final Object sortValue, final Long id)
+            throws SQLException {
+        final KeysetRowMapper<Long> mapper = pagination(orderBy, sortOrder, 1, null).rowMapper(idMapper());
+        mapper.mapRow(row(sortValue, id), 0);
+        mapper.mapRow(row(sortValue, id + 1), 1);
+        final String token = mapper.continuationToken();
+        assertNotNull(token);
+        return token;
+    }
+
+    private static Object afterValue(final String continuationToken) {
+        final Object[] arguments = pagination("displayName", "ASC", 2, continuationToken).arguments(new Object[0]);
+        assertEquals(3, arguments.length);
+        assertEquals(arguments[0], arguments[1]);
+        assertEquals(7L, arguments[2]);
+        return arguments[0];
+    }
+
+    private static void assertRejected(final String orderBy, final String sortOrder, final String continuationToken,
+            final String expectedCode) {
+        try {
+            pagination(orderBy, sortOrder, 2, continuationToken);
+            fail("Expected the continuation token to be rejected");
+        } catch (final PlatformApiDataValidationException e) {
+            assertEquals(expectedCode, e.getErrors().get(0).getUserMessageGlobalisationCode());
+        }
+    }
+
+    /**
+     * Maps <code>count</code> rows with ids 1..count the way
+     * <code>JdbcTemplate</code> collects them.
+     */
+    private static List<Long> mapRows(final KeysetRowMapper<Long> mapper, final int count, final Object sortValue)
+            throws SQLException {
+        final List<Long> rows = new ArrayList<>();
+        for (int rowNum = 0; rowNum < count; rowNum++) {
+            rows.add(mapper.mapRow(row(sortValue, rowNum + 1L), rowNum));
+        }
+        return rows;
+    }
+
+    private static ResultSet row(final Object sortValue, final Long id) throws SQLException {
+        final ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject("keysetSortValue")).thenReturn(sortValue);
+        when(rs.getLong("keysetId")).thenReturn(id);
+        return rs;
+    }
+
+    private static RowMapper<Long> idMapper() {
+        return new RowMapper<Long>() {
+
+            @Override
+            public Long mapRow(final ResultSet rs, final int rowNum) throws SQLException {
+                return rs.getLong("keysetId");
+            }
+        };
+    }
+}
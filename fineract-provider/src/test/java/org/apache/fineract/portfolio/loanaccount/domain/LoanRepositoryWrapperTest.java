@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.fineract.portfolio.loanaccount.exception.LoanNotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LoanRepositoryWrapperTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    private LoanRepositoryWrapper loanRepositoryWrapper;
+
+    @Before
+    public void setUp() {
+        this.loanRepositoryWrapper = new LoanRepositoryWrapper(this.loanRepository);
+    }
+
+    @Test
+    public void findAllWithNotFoundDetectionMapsLoadedLoansById() {
+        final Loan first = loan(1L);
+        final Loan second = loan(2L);
+        when(this.loanRepository.findAllWithCollectionsByIds(anyCollectionOf(Long.class))).thenReturn(
+                Arrays.asList(second, first));
+
+        final Map<Long, Loan> loans = this.loanRepositoryWrapper.findAllWithNotFoundDetection(Arrays.asList(1L, 2L));
+
+        assertEquals(2, loans.size());
+        assertSame(first, loans.get(1L));
+        assertSame(second, loans.get(2L));
+    }
+
+    @Test
+    public void findAllWithNotFoundDetectionRejectsMissingLoan() {
+        final Loan first = loan(1L);
+        when(this.loanRepository.findAllWithCollectionsByIds(anyCollectionOf(Long.class))).thenReturn(Arrays.asList(first));
+
+        try {
+            this.loanRepositoryWrapper.findAllWithNotFoundDetection(Arrays.asList(1L, 3L));
+            fail("Expected a LoanNotFoundException for loan 3");
+        } catch (final LoanNotFoundException e) {
+            assertEquals(Long.valueOf(3L), e.getDefaultUserMessageArgs()[0]);
+        }
+    }
+
+    @Test
+    public void findAllWithNotFoundDetectionSkipsQueryForNoIds() {
+        final Map<Long, Loan> loans = this.loanRepositoryWrapper.findAllWithNotFoundDetection(Collections.<Long> emptyList());
+
+        assertTrue(loans.isEmpty());
+        verifyZeroInteractions(this.loanRepository);
+    }
+
+    private static Loan loan(final Long id) {
+        final Loan loan = mock(Loan.class);
+        when(loan.getId()).thenReturn(id);
+        return loan;
+    }
+}
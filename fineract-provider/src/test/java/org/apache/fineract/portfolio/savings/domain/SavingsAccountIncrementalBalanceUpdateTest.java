@@ -0,0 +1,444 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnitUtil;
+
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.savings.DepositAccountType;
+import org.joda.time.LocalDate;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Appends the same transactions to two copies of an account, one through
+ * {@link SavingsAccount#updateBalancesForAppendedTransactions} and one through the full replay of
+ * {@link SavingsAccount#recalculateDailyBalances(Money, LocalDate)} and
+ * {@link SavingsAccountSummary#updateSummary}, and expects identical balances.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SavingsAccountIncrementalBalanceUpdateTest {
+
+    private final MonetaryCurrency usDollars = new MonetaryCurrency("USD", 2, null);
+    private final SavingsAccountTransactionSummaryWrapper summaryWrapper = new SavingsAccountTransactionSummaryWrapper();
+    private LocalDate today;
+
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private SavingsAccountTransactionRepository savingsAccountTransactionRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private PersistenceUnitUtil persistenceUnitUtil;
+
+    @Before
+    public void setUpForEachTestCase() throws Exception {
+        Field field = MoneyHelper.class.getDeclaredField("roundingMode");
+        field.setAccessible(true);
+        field.set(null, RoundingMode.HALF_EVEN);
+        ThreadLocalContextUtil.clearTenant();
+        this.today = DateUtils.getLocalDateOfTenant();
+    }
+
+    @Test
+    public void depositsWithdrawalsAndFeesMatchFullRecalculation() {
+        assertIncrementalUpdateMatchesFullRecalculation(new History(), new TransactionsFactory() {
+
+            @Override
+            public List<SavingsAccountTransaction> create(final SavingsAccount account) {
+                final List<SavingsAccountTransaction> transactions = new ArrayList<>();
+                transactions.add(deposit(account, SavingsAccountIncrementalBalanceUpdateTest.this.today, "250.50"));
+                transactions.add(withdrawal(account, SavingsAccountIncrementalBalanceUpdateTest.this.today, "120.25"));
+                transactions.add(SavingsAccountTransaction.withdrawalFee(account, null, SavingsAccountIncrementalBalanceUpdateTest.this.today,
+                        money("2.40"), null));
+                transactions.add(SavingsAccountTransaction.annualFee(account, null, SavingsAccountIncrementalBalanceUpdateTest.this.today,
+                        money("15"), null));
+                return transactions;
+            }
+        });
+    }
+
+    @Test
+    public void withdrawalsIntoOverdraftAndBackMatchFullRecalculation() {
+        assertIncrementalUpdateMatchesFullRecalculation(new History(), new TransactionsFactory() {
+
+            @Override
+            public List<SavingsAccountTransaction> create(final SavingsAccount account) {
+                final List<SavingsAccountTransaction> transactions = new ArrayList<>();
+                // history leaves 765, so this goes 235 into overdraft
+                transactions.add(withdrawal(account, SavingsAccountIncrementalBalanceUpdateTest.this.today, "1000"));
+                transactions.add(withdrawal(account, SavingsAccountIncrementalBalanceUpdateTest.this.today, "40"));
+                transactions.add(SavingsAccountTransaction.withdrawalFee(account, null, SavingsAccountIncrementalBalanceUpdateTest.this.today,
+                        money("1"), null));
+                // partly and then fully out of overdraft again
+                transactions.add(deposit(account, SavingsAccountIncrementalBalanceUpdateTest.this.today, "100"));
+                transactions.add(deposit(account, SavingsAccountIncrementalBalanceUpdateTest.this.today, "500"));
+                return transactions;
+            }
+        });
+    }
+
+    @Test
+    public void historyEndingInOverdraftMatchesFullRecalculation() {
+        assertIncrementalUpdateMatchesFullRecalculation(new History() {
+
+            @Override
+            public List<SavingsAccountTransaction> create(final SavingsAccount account) {
+                final List<SavingsAccountTransaction> transactions = super.create(account);
+                transactions.add(withdrawal(account, SavingsAccountIncrementalBalanceUpdateTest.this.today.minusDays(2), "800"));
+                return transactions;
+            }
+        }, new TransactionsFactory() {
+
+            @Override
+            public List<SavingsAccountTransaction> create(final SavingsAccount account) {
+                final List<SavingsAccountTransaction> transactions = new ArrayList<>();
+                transactions.add(withdrawal(account, SavingsAccountIncrementalBalanceUpdateTest.this.today, "10"));
+                transactions.add(deposit(account, SavingsAccountIncrementalBalanceUpdateTest.this.today, "20"));
+                return transactions;
+            }
+        });
+    }
+
+    @Test
+    public void reversedLatestTransactionIsSkippedAndMatchesFullRecalculation() {
+        assertIncrementalUpdateMatchesFullRecalculation(new History() {
+
+            @Override
+            public List<SavingsAccountTransaction> create(final SavingsAccount account) {
+                final List<SavingsAccountTransaction> transactions = super.create(account);
+                final SavingsAccountTransaction reversed = deposit(account, SavingsAccountIncrementalBalanceUpdateTest.this.today
+                        .minusDays(1), "5000");
+                reversed.reverse();
+                transactions.add(reversed);
+                return transactions;
+            }
+        }, new TransactionsFactory() {
+
+            @Override
+            public List<SavingsAccountTransaction> create(final SavingsAccount account) {
+                final List<SavingsAccountTransaction> transactions = new ArrayList<>();
+                transactions.add(withdrawal(account, SavingsAccountIncrementalBalanceUpdateTest.this.today, "65"));
+                return transactions;
+            }
+        });
+    }
+
+    @Test
+    public void backdatedTransactionIsNotAppendedIncrementally() {
+        final SavingsAccount account = accountWith(new History());
+        final SavingsAccountDomainServiceJpa domainService = domainService(true);
+
+        assertNull(domainService.findLatestTransactionToAppendTo(account, this.today.minusDays(1)));
+        assertSame(lastTransaction(account), domainService.findLatestTransactionToAppendTo(account, this.today));
+    }
+
+    @Test
+    public void transactionBeforeLatestTransactionIsNotAppendedIncrementally() {
+        final SavingsAccount account = accountWith(new History() {
+
+            @Override
+            public List<SavingsAccountTransaction> create(final SavingsAccount savingsAccount) {
+                final List<SavingsAccountTransaction> transactions = super.create(savingsAccount);
+                transactions.add(deposit(savingsAccount, SavingsAccountIncrementalBalanceUpdateTest.this.today.plusDays(1), "10"));
+                return transactions;
+            }
+        });
+
+        assertNull(domainService(true).findLatestTransactionToAppendTo(account, this.today));
+    }
+
+    @Test
+    public void accountWithoutTransactionsIsNotUpdatedIncrementally() {
+        final SavingsAccount account = newAccount(DepositAccountType.SAVINGS_DEPOSIT);
+
+        assertNull(domainService(true).findLatestTransactionToAppendTo(account, this.today));
+    }
+
+    @Test
+    public void latestTransactionWithoutDerivedBalanceIsNotUpdatedIncrementally() {
+        final SavingsAccount account = newAccount(DepositAccountType.SAVINGS_DEPOSIT);
+        for (final SavingsAccountTransaction transaction : new History().create(account)) {
+            account.addTransaction(transaction);
+        }
+
+        assertNull(domainService(true).findLatestTransactionToAppendTo(account, this.today));
+    }
+
+    @Test
+    public void fixedAndRecurringDepositsAreNotUpdatedIncrementally() {
+        final SavingsAccountDomainServiceJpa domainService = domainService(true);
+
+        assertNull(domainService.findLatestTransactionToAppendTo(accountWith(DepositAccountType.FIXED_DEPOSIT, new History()), this.today));
+        assertNull(domainService.findLatestTransactionToAppendTo(accountWith(DepositAccountType.RECURRING_DEPOSIT, new History()),
+                this.today));
+    }
+
+    @Test
+    public void domainServiceUpdatesIncrementallyOnlyWhenEnabled() {
+        final SavingsAccountDomainServiceJpa domainService = domainService(true);
+        final SavingsAccount account = accountWith(new History());
+
+        when(this.configurationDomainService.isSavingsIncrementalBalanceUpdateEnabled()).thenReturn(false);
+        assertNull(domainService.findLatestTransactionToAppendTo(account, this.today));
+
+        when(this.configurationDomainService.isSavingsIncrementalBalanceUpdateEnabled()).thenReturn(true);
+        assertSame(lastTransaction(account), domainService.findLatestTransactionToAppendTo(account, this.today));
+    }
+
+    @Test
+    public void latestTransactionIsQueriedWhenTransactionsAreNotLoaded() {
+        final SavingsAccount account = accountWith(new History());
+        final SavingsAccountTransaction latestTransaction = lastTransaction(account);
+        when(this.savingsAccountTransactionRepository.findLatestNotReversed(eq(account), any(Pageable.class))).thenReturn(
+                Collections.singletonList(latestTransaction));
+
+        assertSame(latestTransaction, domainService(false).findLatestTransactionToAppendTo(account, this.today));
+        assertNull(domainService(false).findLatestTransactionToAppendTo(account, this.today.minusDays(1)));
+    }
+
+    @Test
+    public void latestTransactionIsNotQueriedWhenTransactionsAreLoaded() {
+        final SavingsAccount account = accountWith(new History());
+
+        domainService(true).findLatestTransactionToAppendTo(account, this.today);
+
+        verify(this.savingsAccountTransactionRepository, never()).findLatestNotReversed(any(SavingsAccount.class), any(Pageable.class));
+    }
+
+    @Test
+    public void appendedTransactionsAreOnlyAddedToLoadedTransactions() {
+        final SavingsAccount notLoaded = accountWith(new History());
+        final int historySize = notLoaded.transactions.size();
+        notLoaded.startAppendingTransactions(false);
+        final SavingsAccountTransaction deposit = deposit(notLoaded, this.today, "10");
+        notLoaded.addTransaction(deposit);
+
+        assertEquals(Collections.singletonList(deposit), notLoaded.getAppendedTransactions());
+        assertEquals(historySize, notLoaded.transactions.size());
+        notLoaded.stopAppendingTransactions();
+        assertNull(notLoaded.getAppendedTransactions());
+
+        final SavingsAccount loaded = accountWith(new History());
+        loaded.startAppendingTransactions(true);
+        final SavingsAccountTransaction withdrawal = withdrawal(loaded, this.today, "10");
+        loaded.addTransaction(withdrawal);
+
+        assertEquals(Collections.singletonList(withdrawal), loaded.getAppendedTransactions());
+        assertSame(withdrawal, lastTransaction(loaded));
+    }
+
+    private void assertIncrementalUpdateMatchesFullRecalculation(final TransactionsFactory history, final TransactionsFactory appended) {
+        final SavingsAccount incremental = accountWith(history);
+        final SavingsAccountTransaction latestTransaction = domainService(true).findLatestTransactionToAppendTo(incremental, this.today);
+        final SavingsAccountTransaction endOfDayBalanceTransaction = incremental.findLatestEndOfDayBalanceTransaction();
+        final List<SavingsAccountTransaction> appendedTransactions = appended.create(incremental);
+        for (final SavingsAccountTransaction transaction : appendedTransactions) {
+            incremental.addTransaction(transaction);
+        }
+        incremental.updateBalancesForAppendedTransactions(appendedTransactions, latestTransaction, endOfDayBalanceTransaction,
+                this.today);
+
+        final SavingsAccount recalculated = accountWith(history);
+        for (final SavingsAccountTransaction transaction : appended.create(recalculated)) {
+            recalculated.addTransaction(transaction);
+        }
+        recalculate(recalculated);
+
+        assertEquals(recalculated.transactions.size(), incremental.transactions.size());
+        for (int i = 0; i < recalculated.transactions.size(); i++) {
+            final SavingsAccountTransaction expected = recalculated.transactions.get(i);
+            final SavingsAccountTransaction actual = incremental.transactions.get(i);
+            final String transaction = "transaction " + i;
+            assertEquals(transaction + " reversed", expected.isReversed(), actual.isReversed());
+            assertAmountEquals(transaction + " running balance", (BigDecimal) fieldValue(expected, "runningBalance"),
+                    (BigDecimal) fieldValue(actual, "runningBalance"));
+            assertAmountEquals(transaction + " overdraft", expected.getOverdraftAmount(this.usDollars).getAmount(), actual
+                    .getOverdraftAmount(this.usDollars).getAmount());
+            assertAmountEquals(transaction + " cumulative balance", (BigDecimal) fieldValue(expected, "cumulativeBalance"),
+                    (BigDecimal) fieldValue(actual, "cumulativeBalance"));
+            assertEquals(transaction + " balance end date", fieldValue(expected, "balanceEndDate"), fieldValue(actual, "balanceEndDate"));
+            assertEquals(transaction + " balance days", fieldValue(expected, "balanceNumberOfDays"),
+                    fieldValue(actual, "balanceNumberOfDays"));
+        }
+
+        for (final Field field : SavingsAccountSummary.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && field.getType().equals(BigDecimal.class)) {
+                assertAmountEquals("summary " + field.getName(), (BigDecimal) fieldValue(recalculated.summary, field.getName()),
+                        (BigDecimal) fieldValue(incremental.summary, field.getName()));
+            }
+        }
+    }
+
+    /**
+     * An account in the state it is loaded in: the history has gone through a
+     * full recalculation and every transaction has an id.
+     */
+    private SavingsAccount accountWith(final TransactionsFactory history) {
+        return accountWith(DepositAccountType.SAVINGS_DEPOSIT, history);
+    }
+
+    private SavingsAccount accountWith(final DepositAccountType depositAccountType, final TransactionsFactory history) {
+        final SavingsAccount account = newAccount(depositAccountType);
+        for (final SavingsAccountTransaction transaction : history.create(account)) {
+            account.addTransaction(transaction);
+        }
+        recalculate(account);
+        long id = 1;
+        for (final SavingsAccountTransaction transaction : account.transactions) {
+            assignId(transaction, id++);
+        }
+        return account;
+    }
+
+    private SavingsAccountDomainServiceJpa domainService(final boolean transactionsLoaded) {
+        when(this.configurationDomainService.isSavingsIncrementalBalanceUpdateEnabled()).thenReturn(true);
+        when(this.entityManager.getEntityManagerFactory()).thenReturn(this.entityManagerFactory);
+        when(this.entityManagerFactory.getPersistenceUnitUtil()).thenReturn(this.persistenceUnitUtil);
+        when(this.persistenceUnitUtil.isLoaded(any(), eq("transactions"))).thenReturn(transactionsLoaded);
+        final SavingsAccountDomainServiceJpa domainService = new SavingsAccountDomainServiceJpa(null,
+                this.savingsAccountTransactionRepository, null, null, this.configurationDomainService, null, null, null);
+        setFieldValue(SavingsAccountDomainServiceJpa.class, domainService, "entityManager", this.entityManager);
+        return domainService;
+    }
+
+    private static SavingsAccountTransaction lastTransaction(final SavingsAccount account) {
+        return account.transactions.get(account.transactions.size() - 1);
+    }
+
+    private void recalculate(final SavingsAccount account) {
+        account.recalculateDailyBalances(Money.zero(this.usDollars), this.today);
+        account.summary.updateSummary(this.usDollars, this.summaryWrapper, account.transactions);
+    }
+
+    private SavingsAccount newAccount(final DepositAccountType depositAccountType) {
+        final SavingsAccount account = new SavingsAccount();
+        account.currency = this.usDollars;
+        account.summary = new SavingsAccountSummary();
+        account.setHelpers(this.summaryWrapper, null);
+        setFieldValue(SavingsAccount.class, account, "depositType", depositAccountType.getValue());
+        return account;
+    }
+
+    private SavingsAccountTransaction deposit(final SavingsAccount account, final LocalDate date, final String amount) {
+        return SavingsAccountTransaction.deposit(account, null, null, date, money(amount), new Date(), null);
+    }
+
+    private SavingsAccountTransaction withdrawal(final SavingsAccount account, final LocalDate date, final String amount) {
+        return SavingsAccountTransaction.withdrawal(account, null, null, date, money(amount), new Date(), null);
+    }
+
+    private Money money(final String amount) {
+        return Money.of(this.usDollars, new BigDecimal(amount));
+    }
+
+    private static void assertAmountEquals(final String message, final BigDecimal expected, final BigDecimal actual) {
+        final BigDecimal expectedAmount = expected == null ? BigDecimal.ZERO : expected;
+        final BigDecimal actualAmount = actual == null ? BigDecimal.ZERO : actual;
+        assertTrue(message + ": expected " + expectedAmount + " but was " + actualAmount, expectedAmount.compareTo(actualAmount) == 0);
+    }
+
+    private static void assignId(final SavingsAccountTransaction transaction, final Long id) {
+        try {
+            final Method setId = AbstractPersistableCustom.class.getDeclaredMethod("setId", Long.class);
+            setId.setAccessible(true);
+            setId.invoke(transaction, id);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object fieldValue(final Object target, final String name) {
+        try {
+            final Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            return field.get(target);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void setFieldValue(final Class<?> type, final Object target, final String name, final Object value) {
+        try {
+            final Field field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface TransactionsFactory {
+
+        List<SavingsAccountTransaction> create(SavingsAccount account);
+    }
+
+    /**
+     * Deposits 1000, withdraws 200 with a 5 fee and charges a 30 annual fee
+     * over the last ten days, leaving a balance of 765.
+     */
+    private class History implements TransactionsFactory {
+
+        @Override
+        public List<SavingsAccountTransaction> create(final SavingsAccount account) {
+            final LocalDate today = SavingsAccountIncrementalBalanceUpdateTest.this.today;
+            final List<SavingsAccountTransaction> transactions = new ArrayList<>();
+            transactions.add(deposit(account, today.minusDays(10), "1000"));
+            transactions.add(withdrawal(account, today.minusDays(7), "200"));
+            transactions.add(SavingsAccountTransaction.withdrawalFee(account, null, today.minusDays(7), money("5"), null));
+            transactions.add(SavingsAccountTransaction.annualFee(account, null, today.minusDays(5), money("30"), null));
+            return transactions;
+        }
+    }
+}
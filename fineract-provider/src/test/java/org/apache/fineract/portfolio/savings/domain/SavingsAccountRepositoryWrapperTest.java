@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.fineract.portfolio.savings.exception.SavingsAccountNotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SavingsAccountRepositoryWrapperTest {
+
+    @Mock
+    private SavingsAccountRepository savingsAccountRepository;
+
+    private SavingsAccountRepositoryWrapper savingsAccountRepositoryWrapper;
+
+    @Before
+    public void setUp() {
+        this.savingsAccountRepositoryWrapper = new SavingsAccountRepositoryWrapper(this.savingsAccountRepository);
+    }
+
+    @Test
+    public void findAllWithNotFoundDetectionMapsLoadedAccountsById() {
+        final SavingsAccount first = account(1L);
+        final SavingsAccount second = account(2L);
+        when(this.savingsAccountRepository.findAllWithCollectionsByIds(anyCollectionOf(Long.class))).thenReturn(
+                Arrays.asList(second, first));
+
+        final Map<Long, SavingsAccount> accounts = this.savingsAccountRepositoryWrapper
+                .findAllWithNotFoundDetection(Arrays.asList(1L, 2L));
+
+        assertEquals(2, accounts.size());
+        assertSame(first, accounts.get(1L));
+        assertSame(second, accounts.get(2L));
+    }
+
+    @Test
+    public void findAllWithNotFoundDetectionRejectsMissingAccount() {
+        final SavingsAccount first = account(1L);
+        when(this.savingsAccountRepository.findAllWithCollectionsByIds(anyCollectionOf(Long.class))).thenReturn(Arrays.asList(first));
+
+        try {
+            this.savingsAccountRepositoryWrapper.findAllWithNotFoundDetection(Arrays.asList(1L, 3L));
+            fail("Expected a SavingsAccountNotFoundException for account 3");
+        } catch (final SavingsAccountNotFoundException e) {
+            assertEquals(Long.valueOf(3L), e.getDefaultUserMessageArgs()[0]);
+        }
+    }
+
+    @Test
+    public void findAllWithNotFoundDetectionSkipsQueryForNoIds() {
+        final Map<Long, SavingsAccount> accounts = this.savingsAccountRepositoryWrapper
+                .findAllWithNotFoundDetection(Collections.<Long> emptyList());
+
+        assertTrue(accounts.isEmpty());
+        verifyZeroInteractions(this.savingsAccountRepository);
+    }
+
+    private static SavingsAccount account(final Long id) {
+        final SavingsAccount account = mock(SavingsAccount.class);
+        when(account.getId()).thenReturn(id);
+        return account;
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import org.apache.fineract.portfolio.paymentdetail.domain.PaymentDetail;
+import org.apache.fineract.portfolio.paymentdetail.service.PaymentDetailWritePlatformService;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionDTO;
+import org.apache.fineract.portfolio.savings.domain.DepositAccountDomainService;
+import org.apache.fineract.portfolio.savings.domain.RecurringDepositAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
+import org.apache.fineract.portfolio.savings.exception.SavingsAccountNotFoundException;
+import org.joda.time.LocalDate;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * Covers the overload of
+ * {@link DepositAccountWritePlatformServiceJpaRepositoryImpl#mandatorySavingsAccountDeposit(SavingsAccount, SavingsAccountTransactionDTO)}
+ * used by the collection sheet with accounts that were loaded in bulk.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MandatorySavingsAccountDepositTest {
+
+    private final DateTimeFormatter formatter = DateTimeFormat.forPattern("dd MMMM yyyy");
+    private final LocalDate transactionDate = new LocalDate(2016, 3, 14);
+    private final BigDecimal transactionAmount = BigDecimal.valueOf(250);
+
+    @Mock
+    private PaymentDetailWritePlatformService paymentDetailWritePlatformService;
+    @Mock
+    private DepositAccountDomainService depositAccountDomainService;
+
+    private DepositAccountWritePlatformServiceJpaRepositoryImpl depositAccountWritePlatformService;
+
+    @Before
+    public void setUp() {
+        this.depositAccountWritePlatformService = new DepositAccountWritePlatformServiceJpaRepositoryImpl(null, null, null, null, null,
+                null, this.paymentDetailWritePlatformService, null, null, this.depositAccountDomainService, null, null, null, null, null,
+                null, null, null, null, null, null, null);
+    }
+
+    @Test
+    public void depositsIntoRecurringDepositAccount() {
+        final RecurringDepositAccount account = mock(RecurringDepositAccount.class);
+        final SavingsAccountTransaction deposit = mock(SavingsAccountTransaction.class);
+        final PaymentDetail paymentDetail = mock(PaymentDetail.class);
+        when(paymentDetail.getId()).thenReturn(null);
+        when(this.depositAccountDomainService.handleRDDeposit(account, this.formatter, this.transactionDate, this.transactionAmount,
+                paymentDetail, false)).thenReturn(deposit);
+
+        final SavingsAccountTransaction transaction = this.depositAccountWritePlatformService.mandatorySavingsAccountDeposit(account,
+                transactionDTO(paymentDetail, 11L));
+
+        assertSame(deposit, transaction);
+        verify(this.paymentDetailWritePlatformService).persistPaymentDetail(paymentDetail);
+    }
+
+    @Test
+    public void rejectsAccountThatIsNotRecurringDeposit() {
+        final SavingsAccount account = mock(SavingsAccount.class);
+        when(account.getId()).thenReturn(12L);
+
+        try {
+            this.depositAccountWritePlatformService.mandatorySavingsAccountDeposit(account, transactionDTO(null, 12L));
+            fail("Expected a SavingsAccountNotFoundException for a savings account that is not a recurring deposit");
+        } catch (final SavingsAccountNotFoundException e) {
+            assertEquals(Long.valueOf(12L), e.getDefaultUserMessageArgs()[0]);
+        }
+
+        verifyZeroInteractions(this.paymentDetailWritePlatformService);
+        verify(this.depositAccountDomainService, never()).handleRDDeposit(any(RecurringDepositAccount.class),
+                any(DateTimeFormatter.class), any(LocalDate.class), any(BigDecimal.class), any(PaymentDetail.class), anyBoolean());
+    }
+
+    private SavingsAccountTransactionDTO transactionDTO(final PaymentDetail paymentDetail, final Long savingsAccountId) {
+        return new SavingsAccountTransactionDTO(this.formatter, this.transactionDate, this.transactionAmount, paymentDetail, new Date(),
+                savingsAccountId, null);
+    }
+}
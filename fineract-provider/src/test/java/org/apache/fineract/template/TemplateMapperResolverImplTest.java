@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.template;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.Map;
+
+import javax.ws.rs.core.UriInfo;
+
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.client.api.ClientsApiResource;
+import org.apache.fineract.portfolio.group.api.GroupsApiResource;
+import org.apache.fineract.portfolio.loanaccount.api.LoansApiResource;
+import org.apache.fineract.portfolio.savings.api.SavingsAccountsApiResource;
+import org.apache.fineract.template.service.TemplateMapperResolverImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TemplateMapperResolverImplTest {
+
+    @Mock
+    private ClientsApiResource clientsApiResource;
+    @Mock
+    private GroupsApiResource groupsApiResource;
+    @Mock
+    private LoansApiResource loansApiResource;
+    @Mock
+    private SavingsAccountsApiResource savingsAccountsApiResource;
+    @Mock
+    private UriInfo requestUriInfo;
+
+    private TemplateMapperResolverImpl resolver;
+
+    @Before
+    public void setUp() {
+        this.resolver = new TemplateMapperResolverImpl(this.clientsApiResource, this.groupsApiResource, this.loansApiResource,
+                this.savingsAccountsApiResource);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        SecurityContextHolder.getContext().setAuthentication(mock(Authentication.class));
+    }
+
+    @After
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void resolvesLoanWithTheQueryParametersOfTheMapperUrl() throws Exception {
+        final URI baseUri = URI.create("https://localhost:8443/fineract-provider/api/v1/");
+        when(this.requestUriInfo.getBaseUri()).thenReturn(baseUri);
+        when(this.loansApiResource.retrieveLoan(eq(7L), eq(true), any(UriInfo.class))).thenReturn("{\"accountNo\":\"000000007\"}");
+
+        final Map<String, Object> loan = this.resolver.resolve("loans/7?associations=all&staffInSelectedOfficeOnly=true",
+                this.requestUriInfo);
+
+        assertEquals("000000007", loan.get("accountNo"));
+        final ArgumentCaptor<UriInfo> uriInfo = ArgumentCaptor.forClass(UriInfo.class);
+        verify(this.loansApiResource).retrieveLoan(eq(7L), eq(true), uriInfo.capture());
+        assertEquals("all", uriInfo.getValue().getQueryParameters().getFirst("associations"));
+        assertEquals(baseUri, uriInfo.getValue().getBaseUri());
+    }
+
+    @Test
+    public void resolvesApiPrefixedClientUrl() throws Exception {
+        when(this.clientsApiResource.retrieveOne(eq(3L), any(UriInfo.class), eq(false))).thenReturn("{\"displayName\":\"Ann\"}");
+
+        final Map<String, Object> client = this.resolver.resolve("/api/v1/clients/3", this.requestUriInfo);
+
+        assertEquals("Ann", client.get("displayName"));
+    }
+
+    @Test
+    public void resolvesSavingsAccountWithDefaultChargeStatus() throws Exception {
+        when(this.savingsAccountsApiResource.retrieveOne(eq(4L), eq(false), eq("all"), any(UriInfo.class))).thenReturn(
+                "{\"accountNo\":\"000000004\"}");
+
+        final Map<String, Object> account = this.resolver.resolve("savingsaccounts/4/", this.requestUriInfo);
+
+        assertEquals("000000004", account.get("accountNo"));
+    }
+
+    @Test
+    public void resolvesUrlOfTheCurrentTenant() throws Exception {
+        when(this.groupsApiResource.retrieveOne(any(UriInfo.class), eq(5L), eq(false), eq((Long) null))).thenReturn(
+                "{\"name\":\"Center\"}");
+
+        final Map<String, Object> group = this.resolver.resolve("groups/5?tenantIdentifier=default", this.requestUriInfo);
+
+        assertEquals("Center", group.get("name"));
+    }
+
+    @Test
+    public void leavesUrlOfAnotherTenantToHttp() throws Exception {
+        assertNull(this.resolver.resolve("loans/7?tenantIdentifier=other", this.requestUriInfo));
+        verifyZeroInteractions(this.loansApiResource);
+    }
+
+    @Test
+    public void leavesUnknownUrlsToHttp() throws Exception {
+        assertNull(this.resolver.resolve("loans/7/transactions/1", this.requestUriInfo));
+        assertNull(this.resolver.resolve("offices/1", this.requestUriInfo));
+        assertNull(this.resolver.resolve("loans/abc", this.requestUriInfo));
+        assertNull(this.resolver.resolve("http://example.com/loans/7", this.requestUriInfo));
+        verifyZeroInteractions(this.loansApiResource);
+    }
+
+    @Test
+    public void leavesUrlsToHttpOutsideOfAnAuthenticatedTenantRequest() throws Exception {
+        assertNull(this.resolver.resolve("loans/7", null));
+
+        SecurityContextHolder.clearContext();
+        assertNull(this.resolver.resolve("loans/7", this.requestUriInfo));
+
+        SecurityContextHolder.getContext().setAuthentication(mock(Authentication.class));
+        ThreadLocalContextUtil.clearTenant();
+        assertNull(this.resolver.resolve("loans/7", this.requestUriInfo));
+
+        verify(this.loansApiResource, never()).retrieveLoan(anyLong(), anyBoolean(), any(UriInfo.class));
+    }
+}
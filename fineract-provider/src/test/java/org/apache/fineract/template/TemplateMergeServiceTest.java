@@ -19,18 +19,31 @@
 package org.apache.fineract.template;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
 import java.math.RoundingMode;
 import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.ws.rs.core.UriInfo;
+
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
 import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
 import org.apache.fineract.portfolio.loanaccount.LoanScheduleTestDataHelper;
@@ -38,21 +51,34 @@ import org.apache.fineract.portfolio.loanaccount.MonetaryCurrencyBuilder;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
 import org.apache.fineract.template.domain.Template;
 import org.apache.fineract.template.domain.TemplateMapper;
+import org.apache.fineract.template.service.TemplateMapperResolver;
 import org.apache.fineract.template.service.TemplateMergeService;
 import org.joda.time.LocalDate;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
 
 import com.google.common.base.Charsets;
+import com.google.common.cache.Cache;
 import com.google.common.io.Resources;
 import com.google.common.reflect.TypeToken;
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
 
+@RunWith(MockitoJUnitRunner.class)
 public class TemplateMergeServiceTest {
 
-    private TemplateMergeService tms = new TemplateMergeService();
+    @Mock
+    private TemplateMapperResolver mapperResolver;
+    @Mock
+    private UriInfo uriInfo;
+
+    private TemplateMergeService tms;
     
     @Before
     public void setUpForEachTestCase() throws Exception {
@@ -60,6 +86,14 @@ public class TemplateMergeServiceTest {
         Field field = MoneyHelper.class.getDeclaredField("roundingMode");
         field.setAccessible(true);
         field.set(null, RoundingMode.HALF_EVEN);
+
+        this.tms = new TemplateMergeService(this.mapperResolver);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+    }
+
+    @After
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
     }
 
     
@@ -119,6 +153,109 @@ public class TemplateMergeServiceTest {
         assertEquals(expectedOutput, output);
     }
 
+    @Test
+    public void savedTemplateIsCompiledOnceWhileUnchanged() throws Exception {
+        final Template template = savedTemplate(1L, "Hello {{name}}!", new ArrayList<TemplateMapper>());
+
+        assertEquals("Hello Ann!", this.tms.compile(template, scopes("name", "Ann")));
+        final Object compiled = cachedTemplate("default:1");
+        assertEquals("Hello Bob!", this.tms.compile(template, scopes("name", "Bob")));
+
+        assertSame(compiled, cachedTemplate("default:1"));
+    }
+
+    @Test
+    public void savedTemplateIsRecompiledWhenItsTextChanges() throws Exception {
+        assertEquals("Hello Ann!", this.tms.compile(savedTemplate(1L, "Hello {{name}}!", new ArrayList<TemplateMapper>()),
+                scopes("name", "Ann")));
+
+        assertEquals("Bye Ann!", this.tms.compile(savedTemplate(1L, "Bye {{name}}!", new ArrayList<TemplateMapper>()),
+                scopes("name", "Ann")));
+    }
+
+    @Test
+    public void savedTemplateIsRecompiledWhenItsMappersChange() throws Exception {
+        when(this.mapperResolver.resolve(eq("loans/7"), any(UriInfo.class))).thenReturn(loanMapper("L-7"));
+        when(this.mapperResolver.resolve(eq("clients/7/loans/7"), any(UriInfo.class))).thenReturn(loanMapper("C-7"));
+        final String text = "Loan {{loan.accountNo}}";
+
+        assertEquals("Loan L-7", this.tms.compile(savedTemplate(1L, text, mappers("loan", "loans/{{loanId}}")),
+                scopes("loanId", "7"), this.uriInfo));
+
+        assertEquals("Loan C-7", this.tms.compile(savedTemplate(1L, text, mappers("loan", "clients/{{loanId}}/loans/{{loanId}}")),
+                scopes("loanId", "7"), this.uriInfo));
+    }
+
+    @Test
+    public void compileAllMergesEveryDocumentInOrder() throws Exception {
+        final Template template = savedTemplate(1L, "{{greeting}} {{name}}", new ArrayList<TemplateMapper>());
+        final List<Map<String, Object>> documents = Arrays.asList(scopes("name", "Ann"), scopes("name", "Bob"));
+
+        final JsonArray merged = compileAll(template, scopes("greeting", "Hi"), documents);
+
+        assertEquals(2, merged.size());
+        assertEquals("Hi Ann", merged.get(0).getAsString());
+        assertEquals("Hi Bob", merged.get(1).getAsString());
+    }
+
+    @Test
+    public void compileAllWritesAnErrorEntryForADocumentThatFailsToMerge() throws Exception {
+        final Template template = savedTemplate(1L, "Hello {{name}}", new ArrayList<TemplateMapper>());
+        final Map<String, Object> failing = scopes("name", new Object() {
+
+            @Override
+            public String toString() {
+                throw new IllegalStateException("name is not available");
+            }
+        });
+        final List<Map<String, Object>> documents = Arrays.asList(scopes("name", "Ann"), failing, scopes("name", "Bob"));
+
+        final JsonArray merged = compileAll(template, new HashMap<String, Object>(), documents);
+
+        assertEquals(3, merged.size());
+        assertEquals("Hello Ann", merged.get(0).getAsString());
+        assertEquals("error.msg.template.merge.failed",
+                merged.get(1).getAsJsonObject().get("userMessageGlobalisationCode").getAsString());
+        assertEquals("Hello Bob", merged.get(2).getAsString());
+    }
+
+    private JsonArray compileAll(final Template template, final Map<String, Object> parameters,
+            final List<Map<String, Object>> documents) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.tms.compileAll(template, parameters, documents, this.uriInfo).write(out);
+        return new JsonParser().parse(new String(out.toByteArray(), StandardCharsets.UTF_8)).getAsJsonArray();
+    }
+
+    private Object cachedTemplate(final String key) throws Exception {
+        final Field field = TemplateMergeService.class.getDeclaredField("compiledTemplates");
+        field.setAccessible(true);
+        return ((Cache<?, ?>) field.get(this.tms)).asMap().get(key);
+    }
+
+    private static Template savedTemplate(final Long id, final String text, final List<TemplateMapper> mappers) throws Exception {
+        final Template template = new Template("TemplateName", text, null, null, mappers);
+        final Field field = AbstractPersistableCustom.class.getDeclaredField("id");
+        field.setAccessible(true);
+        field.set(template, id);
+        return template;
+    }
+
+    private static List<TemplateMapper> mappers(final String key, final String url) {
+        return Collections.singletonList(new TemplateMapper(0, key, url));
+    }
+
+    private static Map<String, Object> scopes(final String key, final Object value) {
+        final Map<String, Object> scopes = new HashMap<>();
+        scopes.put(key, value);
+        return scopes;
+    }
+
+    private static Map<String, Object> loanMapper(final String accountNo) {
+        final Map<String, Object> loan = new HashMap<>();
+        loan.put("accountNo", accountNo);
+        return loan;
+    }
+
     protected String compileTemplateText(String templateText, Map<String, Object> scope) throws MalformedURLException, IOException {
         List<TemplateMapper> mappers = new ArrayList<>();
         Template template = new Template("TemplateName", templateText, null, null, mappers);